@@ -18,6 +18,7 @@ import io.atomix.protocols.raft.partition.RaftPartitionGroup.Builder;
 import io.atomix.utils.net.Address;
 import io.zeebe.broker.Loggers;
 import io.zeebe.broker.clustering.base.partitions.Partition;
+import io.zeebe.broker.engine.impl.StateReplication;
 import io.zeebe.broker.logstreams.restore.BrokerRestoreFactory;
 import io.zeebe.broker.system.configuration.BrokerCfg;
 import io.zeebe.broker.system.configuration.ClusterCfg;
@@ -70,6 +71,7 @@ public class AtomixService implements Service<Atomix> {
             .withClusterId(clusterCfg.getClusterName())
             .withMemberId(localMemberId)
             .withAddress(Address.from(host, port))
+            .withProperty(StateReplication.COMPRESSED_CHUNKS_PROPERTY, Boolean.TRUE.toString())
             .withMembershipProvider(discoveryProvider);
 
     final DataCfg dataConfiguration = configuration.getData();
@@ -86,6 +86,7 @@ public class BootstrapPartitions implements Service<Void> {
         new PartitionInstallService(
             partition,
             atomix.getEventService(),
+            atomix.getMembershipService(),
             atomix.getCommunicationService(),
             configuration,
             brokerCfg);
@@ -7,6 +7,7 @@
  */
 package io.zeebe.broker.clustering.base.partitions;
 
+import io.atomix.cluster.ClusterMembershipService;
 import io.atomix.cluster.messaging.ClusterEventService;
 import io.zeebe.broker.Loggers;
 import io.zeebe.broker.engine.EngineServiceNames;
@@ -21,7 +22,9 @@ import io.zeebe.db.ZeebeDb;
 import io.zeebe.distributedlog.StorageConfiguration;
 import io.zeebe.engine.state.DefaultZeebeDbFactory;
 import io.zeebe.engine.state.StateStorageFactory;
+import io.zeebe.engine.state.ZeebeState;
 import io.zeebe.logstreams.impl.delete.DeletionService;
+import io.zeebe.logstreams.log.BufferedLogStreamReader;
 import io.zeebe.logstreams.log.LogStream;
 import io.zeebe.logstreams.state.NoneSnapshotReplication;
 import io.zeebe.logstreams.state.SnapshotReplication;
@@ -48,11 +51,13 @@ public class Partition implements Service<Partition> {
   private final Injector<LogStream> logStreamInjector = new Injector<>();
 
   private final ClusterEventService clusterEventService;
+  private final ClusterMembershipService membershipService;
   private final int partitionId;
   private final RaftState state;
   private final StorageConfiguration configuration;
   private final BrokerCfg brokerCfg;
   private final BrokerRestoreServer restoreServer;
+  private final boolean hasStandbyState;
 
   private StateSnapshotController snapshotController;
   private SnapshotReplication stateReplication;
@@ -63,15 +68,43 @@ public class Partition implements Service<Partition> {
       final StorageConfiguration configuration,
       BrokerCfg brokerCfg,
       ClusterEventService clusterEventService,
+      ClusterMembershipService membershipService,
       int partitionId,
       RaftState state,
       BrokerRestoreServer restoreServer) {
+    this(
+        configuration,
+        brokerCfg,
+        clusterEventService,
+        membershipService,
+        partitionId,
+        state,
+        restoreServer,
+        false);
+  }
+
+  /**
+   * @param hasStandbyState true if the runtime state was kept up to date by a hot standby follower
+   *     of this partition before, in which case the state is taken over instead of being recovered
+   *     from the latest snapshot
+   */
+  public Partition(
+      final StorageConfiguration configuration,
+      BrokerCfg brokerCfg,
+      ClusterEventService clusterEventService,
+      ClusterMembershipService membershipService,
+      int partitionId,
+      RaftState state,
+      BrokerRestoreServer restoreServer,
+      boolean hasStandbyState) {
     this.configuration = configuration;
     this.brokerCfg = brokerCfg;
     this.clusterEventService = clusterEventService;
+    this.membershipService = membershipService;
     this.partitionId = partitionId;
     this.state = state;
     this.restoreServer = restoreServer;
+    this.hasStandbyState = hasStandbyState;
   }
 
   @Override
@@ -92,6 +125,10 @@ public class Partition implements Service<Partition> {
 
       snapshotController.setDeletionService(deletionService);
       snapshotController.consumeReplicatedSnapshots();
+
+      if (isHotStandby()) {
+        zeebeDb = recoverDb();
+      }
     } else {
       final LeaderLogStreamDeletionService leaderDeletionService =
           new LeaderLogStreamDeletionService(logStream);
@@ -105,22 +142,73 @@ public class Partition implements Service<Partition> {
       deletionService = leaderDeletionService;
       snapshotController.setDeletionService(deletionService);
 
-      try {
-        snapshotController.recover();
-        zeebeDb = snapshotController.openDb();
-      } catch (Exception e) {
-        throw new IllegalStateException(
-            String.format(
-                "Unexpected error occurred while recovering snapshot controller during leader partition install for partition %d",
-                partitionId),
-            e);
-      }
+      zeebeDb = hasStandbyState ? takeOverStandbyDb() : recoverDb();
     }
 
     startRestoreServer(startedFuture);
     startContext.async(startedFuture, true);
   }
 
+  private ZeebeDb recoverDb() {
+    try {
+      snapshotController.recover();
+      return snapshotController.openDb();
+    } catch (Exception e) {
+      throw new IllegalStateException(
+          String.format(
+              "Unexpected error occurred while recovering snapshot controller during %s partition install for partition %d",
+              state.name().toLowerCase(), partitionId),
+          e);
+    }
+  }
+
+  private ZeebeDb takeOverStandbyDb() {
+    try {
+      final ZeebeDb db = snapshotController.openDb();
+      final ZeebeState zeebeState = new ZeebeState(partitionId, db, db.createContext());
+      final long processedPosition = zeebeState.getLastSuccessfulProcessedRecordPosition();
+
+      if (processedPosition >= snapshotController.getLastValidSnapshotPosition()
+          && isOnLogStream(processedPosition)) {
+        LOG.info(
+            "Take over hot standby state of partition {} processed until position {}",
+            partitionId,
+            processedPosition);
+        return db;
+      }
+
+      LOG.info(
+          "Hot standby state of partition {} processed until position {} is outdated, recover from latest snapshot instead",
+          partitionId,
+          processedPosition);
+    } catch (Exception e) {
+      LOG.warn(
+          "Failed to take over hot standby state of partition {}, recover from latest snapshot instead",
+          partitionId,
+          e);
+    }
+
+    try {
+      snapshotController.close();
+    } catch (Exception e) {
+      LOG.warn("Unexpected error on closing hot standby state of partition {}", partitionId, e);
+    }
+    return recoverDb();
+  }
+
+  private boolean isOnLogStream(long position) {
+    final BufferedLogStreamReader reader = new BufferedLogStreamReader(logStream);
+    try {
+      return reader.seekToNextEvent(position);
+    } finally {
+      reader.close();
+    }
+  }
+
+  public boolean isHotStandby() {
+    return state == RaftState.FOLLOWER && brokerCfg.getData().isHotStandby();
+  }
+
   private void startRestoreServer(CompletableActorFuture<Void> startedFuture) {
     restoreServer
         .start(logStream, snapshotController)
@@ -146,7 +234,7 @@ public class Partition implements Service<Partition> {
 
     stateReplication =
         shouldReplicateSnapshots()
-            ? new StateReplication(clusterEventService, partitionId)
+            ? new StateReplication(clusterEventService, membershipService, partitionId)
             : new NoneSnapshotReplication();
 
     return new StateSnapshotController(
@@ -19,6 +19,7 @@ import static io.zeebe.broker.clustering.base.partitions.PartitionServiceNames.l
 import static io.zeebe.broker.clustering.base.partitions.PartitionServiceNames.partitionLeaderElectionServiceName;
 import static io.zeebe.logstreams.impl.service.LogStreamServiceNames.distributedLogPartitionServiceName;
 
+import io.atomix.cluster.ClusterMembershipService;
 import io.atomix.cluster.messaging.ClusterCommunicationService;
 import io.atomix.cluster.messaging.ClusterEventService;
 import io.atomix.protocols.raft.partition.RaftPartition;
@@ -53,6 +54,7 @@ public class PartitionInstallService extends Actor
   private final StorageConfiguration configuration;
   private final int partitionId;
   private final ClusterEventService clusterEventService;
+  private final ClusterMembershipService membershipService;
   private final ClusterCommunicationService communicationService;
   private final BrokerCfg brokerCfg;
   private final RaftPartition partition;
@@ -67,10 +69,12 @@ public class PartitionInstallService extends Actor
   private ActorFuture<PartitionLeaderElection> leaderElectionInstallFuture;
   private PartitionLeaderElection leaderElection;
   private ActorFuture<Void> transitionFuture;
+  private Partition followerPartition;
 
   public PartitionInstallService(
       RaftPartition partition,
       ClusterEventService clusterEventService,
+      ClusterMembershipService membershipService,
       ClusterCommunicationService communicationService,
       final StorageConfiguration configuration,
       BrokerCfg brokerCfg) {
@@ -78,6 +82,7 @@ public class PartitionInstallService extends Actor
     this.configuration = configuration;
     this.partitionId = configuration.getPartitionId();
     this.clusterEventService = clusterEventService;
+    this.membershipService = membershipService;
     this.communicationService = communicationService;
     this.brokerCfg = brokerCfg;
   }
@@ -205,9 +210,11 @@ public class PartitionInstallService extends Actor
             configuration,
             brokerCfg,
             clusterEventService,
+            membershipService,
             partitionId,
             RaftState.LEADER,
-            restoreServer);
+            restoreServer,
+            hasStandbyState());
 
     final CompositeServiceBuilder leaderInstallService =
         startContext.createComposite(leaderInstallRootServiceName);
@@ -249,9 +256,11 @@ public class PartitionInstallService extends Actor
             configuration,
             brokerCfg,
             clusterEventService,
+            membershipService,
             partitionId,
             RaftState.FOLLOWER,
             restoreServer);
+    followerPartition = partition;
 
     return startContext
         .createService(followerPartitionServiceName, partition)
@@ -260,6 +269,12 @@ public class PartitionInstallService extends Actor
         .install();
   }
 
+  private boolean hasStandbyState() {
+    final boolean hasStandbyState = followerPartition != null && followerPartition.isHotStandby();
+    followerPartition = null;
+    return hasStandbyState;
+  }
+
   private ActorFuture<Void> removeFollowerPartitionService() {
     LOG.debug("Removing follower partition service for partition {}", partitionId);
     return startContext.removeService(followerPartitionServiceName);
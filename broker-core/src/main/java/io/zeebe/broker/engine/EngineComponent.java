@@ -43,6 +43,9 @@ public class EngineComponent implements Component {
         .groupReference(
             ClusterBaseLayerServiceNames.LEADER_PARTITION_GROUP_NAME,
             streamProcessorService.getPartitionsGroupReference())
+        .groupReference(
+            ClusterBaseLayerServiceNames.FOLLOWER_PARTITION_GROUP_NAME,
+            streamProcessorService.getFollowerPartitionsGroupReference())
         .install();
 
     final SubscriptionApiCommandMessageHandlerService messageHandlerService =
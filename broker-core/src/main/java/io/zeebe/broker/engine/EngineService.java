@@ -14,6 +14,7 @@ import io.zeebe.broker.clustering.base.topology.TopologyPartitionListenerImpl;
 import io.zeebe.broker.engine.impl.DeploymentDistributorImpl;
 import io.zeebe.broker.engine.impl.LongPollingJobNotification;
 import io.zeebe.broker.engine.impl.PartitionCommandSenderImpl;
+import io.zeebe.broker.engine.impl.StandbyDeploymentDistributor;
 import io.zeebe.broker.system.configuration.BrokerCfg;
 import io.zeebe.broker.system.configuration.ClusterCfg;
 import io.zeebe.broker.system.configuration.DataCfg;
@@ -60,6 +61,8 @@ public class EngineService implements Service<EngineService> {
   private Atomix atomix;
   private final ServiceGroupReference<Partition> partitionsGroupReference =
       ServiceGroupReference.<Partition>create().onAdd(this::startEngineForPartition).build();
+  private final ServiceGroupReference<Partition> followerPartitionsGroupReference =
+      ServiceGroupReference.<Partition>create().onAdd(this::startStandbyForPartition).build();
 
   public EngineService(ServiceContainer serviceContainer, BrokerCfg brokerCfg) {
     clusterCfg = brokerCfg.getCluster();
@@ -79,7 +82,21 @@ public class EngineService implements Service<EngineService> {
 
   public void startEngineForPartition(
       final ServiceName<Partition> partitionServiceName, final Partition partition) {
+    installStreamProcessor(partitionServiceName, partition, false);
+    createAsyncSnapshotDirectorService(partition);
+  }
+
+  public void startStandbyForPartition(
+      final ServiceName<Partition> partitionServiceName, final Partition partition) {
+    if (partition.isHotStandby()) {
+      installStreamProcessor(partitionServiceName, partition, true);
+    }
+  }
 
+  private void installStreamProcessor(
+      final ServiceName<Partition> partitionServiceName,
+      final Partition partition,
+      final boolean hotStandby) {
     final LogStream logStream = partition.getLogStream();
     StreamProcessor.builder()
         .logStream(logStream)
@@ -89,15 +106,16 @@ public class EngineService implements Service<EngineService> {
         .zeebeDb(partition.getZeebeDb())
         .serviceContainer(serviceContainer)
         .commandResponseWriter(new CommandResponseWriterImpl(commandApiTransport.getOutput()))
+        .hotStandby(hotStandby)
         .streamProcessorFactory(
             (processingContext) -> {
               final ActorControl actor = processingContext.getActor();
               final ZeebeState zeebeState = processingContext.getZeebeState();
-              return createTypedStreamProcessor(actor, zeebeState, processingContext);
+              return hotStandby
+                  ? createReplayOnlyStreamProcessor(zeebeState, processingContext)
+                  : createTypedStreamProcessor(actor, zeebeState, processingContext);
             })
         .build();
-
-    createAsyncSnapshotDirectorService(partition);
   }
 
   private void createAsyncSnapshotDirectorService(final Partition partition) {
@@ -152,6 +170,27 @@ public class EngineService implements Service<EngineService> {
         jobsAvailableNotification::onJobsAvailable);
   }
 
+  /**
+   * Creates the processors of a hot standby follower. They only replay the committed records to
+   * keep the state up to date, so they don't register at the topology and don't talk to other
+   * partitions or clients: partition commands and deployment responses are dropped, and deployments
+   * are only recorded as pending, to be distributed by the leader which takes over the state.
+   */
+  public TypedRecordProcessors createReplayOnlyStreamProcessor(
+      ZeebeState zeebeState, ProcessingContext processingContext) {
+    final int partitionId = processingContext.getLogStream().getPartitionId();
+    final SubscriptionCommandSender subscriptionCommandSender =
+        new SubscriptionCommandSender(partitionId, (receiverPartitionId, command) -> true);
+
+    return EngineProcessors.createEngineProcessors(
+        processingContext,
+        clusterCfg.getPartitionsCount(),
+        subscriptionCommandSender,
+        new StandbyDeploymentDistributor(clusterCfg, zeebeState.getDeploymentState()),
+        (deploymentKey, deploymentPartitionId) -> {},
+        jobType -> {});
+  }
+
   @Override
   public EngineService get() {
     return this;
@@ -165,6 +204,10 @@ public class EngineService implements Service<EngineService> {
     return partitionsGroupReference;
   }
 
+  public ServiceGroupReference<Partition> getFollowerPartitionsGroupReference() {
+    return followerPartitionsGroupReference;
+  }
+
   public Injector<TopologyManager> getTopologyManagerInjector() {
     return topologyManagerInjector;
   }
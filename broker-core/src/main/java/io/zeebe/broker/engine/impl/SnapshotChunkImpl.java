@@ -7,6 +7,7 @@
  */
 package io.zeebe.broker.engine.impl;
 
+import io.zeebe.clustering.management.BooleanType;
 import io.zeebe.clustering.management.SnapshotChunkDecoder;
 import io.zeebe.clustering.management.SnapshotChunkEncoder;
 import io.zeebe.engine.util.SbeBufferWriterReader;
@@ -27,6 +28,7 @@ public class SnapshotChunkImpl
   private int totalCount;
   private String chunkName;
   private long checksum;
+  private boolean compressed;
 
   private final DirectBuffer content = new UnsafeBuffer(0, 0);
 
@@ -37,6 +39,7 @@ public class SnapshotChunkImpl
     totalCount = chunk.getTotalCount();
     chunkName = chunk.getChunkName();
     checksum = chunk.getChecksum();
+    compressed = chunk.isCompressed();
     content.wrap(chunk.getContent());
   }
 
@@ -68,6 +71,7 @@ public class SnapshotChunkImpl
         .totalCount(totalCount)
         .chunkName(chunkName)
         .checksum(checksum)
+        .compressed(compressed ? BooleanType.TRUE : BooleanType.FALSE)
         .putContent(content, 0, content.capacity());
   }
 
@@ -79,6 +83,7 @@ public class SnapshotChunkImpl
     totalCount = decoder.totalCount();
     chunkName = decoder.chunkName();
     checksum = decoder.checksum();
+    compressed = decoder.compressed() == BooleanType.TRUE;
     decoder.wrapContent(content);
   }
 
@@ -89,6 +94,7 @@ public class SnapshotChunkImpl
     snapshotPosition = SnapshotChunkDecoder.snapshotPositionNullValue();
     totalCount = SnapshotChunkDecoder.totalCountNullValue();
     checksum = SnapshotChunkDecoder.checksumNullValue();
+    compressed = false;
 
     chunkName = "";
     content.wrap(0, 0);
@@ -119,6 +125,11 @@ public class SnapshotChunkImpl
     return BufferUtil.bufferAsArray(content);
   }
 
+  @Override
+  public boolean isCompressed() {
+    return compressed;
+  }
+
   @Override
   public String toString() {
     return "SnapshotChunkImpl{"
@@ -131,6 +142,8 @@ public class SnapshotChunkImpl
         + '\''
         + ", checksum="
         + checksum
+        + ", compressed="
+        + compressed
         + "} "
         + super.toString();
   }
@@ -0,0 +1,48 @@
+/*
+ * Copyright Camunda Services GmbH and/or licensed to Camunda Services GmbH under
+ * one or more contributor license agreements. See the NOTICE file distributed
+ * with this work for additional information regarding copyright ownership.
+ * Licensed under the Zeebe Community License 1.0. You may not use this file
+ * except in compliance with the Zeebe Community License 1.0.
+ */
+package io.zeebe.broker.engine.impl;
+
+import io.zeebe.broker.system.configuration.ClusterCfg;
+import io.zeebe.engine.processor.workflow.deployment.distribute.DeploymentDistributor;
+import io.zeebe.engine.processor.workflow.deployment.distribute.PendingDeploymentDistribution;
+import io.zeebe.engine.state.deployment.DeploymentsState;
+import io.zeebe.util.sched.future.ActorFuture;
+import io.zeebe.util.sched.future.CompletableActorFuture;
+import org.agrona.DirectBuffer;
+
+/**
+ * Used by a hot standby follower, which must not talk to other partitions. It only records the
+ * deployment as pending distribution in the state and never completes the returned future, so that
+ * the leader which takes over the state distributes it when it opens.
+ */
+public class StandbyDeploymentDistributor implements DeploymentDistributor {
+
+  private final DeploymentsState deploymentsState;
+  private final int partitionsToDistributeTo;
+
+  public StandbyDeploymentDistributor(
+      final ClusterCfg clusterCfg, final DeploymentsState deploymentsState) {
+    this.deploymentsState = deploymentsState;
+    // every partition except the deployment partition itself
+    this.partitionsToDistributeTo = clusterCfg.getPartitionsCount() - 1;
+  }
+
+  @Override
+  public ActorFuture<Void> pushDeployment(
+      final long key, final long position, final DirectBuffer buffer) {
+    deploymentsState.putPendingDeployment(
+        key, new PendingDeploymentDistribution(buffer, position, partitionsToDistributeTo));
+
+    return new CompletableActorFuture<>();
+  }
+
+  @Override
+  public PendingDeploymentDistribution removePendingDeployment(final long key) {
+    return deploymentsState.removePendingDeployment(key);
+  }
+}
@@ -7,11 +7,15 @@
  */
 package io.zeebe.broker.engine.impl;
 
+import io.atomix.cluster.ClusterMembershipService;
+import io.atomix.cluster.Member;
 import io.atomix.cluster.messaging.ClusterEventService;
 import io.atomix.cluster.messaging.Subscription;
 import io.zeebe.engine.Loggers;
 import io.zeebe.logstreams.state.SnapshotChunk;
 import io.zeebe.logstreams.state.SnapshotReplication;
+import io.zeebe.protocol.impl.encoding.BrokerInfo;
+import java.util.Properties;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
 import java.util.function.Consumer;
@@ -22,18 +26,27 @@ import org.slf4j.Logger;
 public class StateReplication implements SnapshotReplication {
 
   public static final String REPLICATION_TOPIC_FORMAT = "replication-%d";
+
+  /** Member property by which a broker advertises that it can consume compressed chunks. */
+  public static final String COMPRESSED_CHUNKS_PROPERTY = "compressedSnapshotChunks";
+
   private static final Logger LOG = Loggers.STREAM_PROCESSING;
 
   private final String replicationTopic;
 
   private final DirectBuffer readBuffer = new UnsafeBuffer(0, 0);
   private final ClusterEventService eventService;
+  private final ClusterMembershipService membershipService;
 
   private ExecutorService executorService;
   private Subscription subscription;
 
-  public StateReplication(ClusterEventService eventService, int partitionId) {
+  public StateReplication(
+      ClusterEventService eventService,
+      ClusterMembershipService membershipService,
+      int partitionId) {
     this.eventService = eventService;
+    this.membershipService = membershipService;
     this.replicationTopic = String.format(REPLICATION_TOPIC_FORMAT, partitionId);
   }
 
@@ -54,6 +67,29 @@ public class StateReplication implements SnapshotReplication {
         });
   }
 
+  /**
+   * Chunks are broadcast to all subscribed brokers, so they are only compressed if every other
+   * broker of the cluster advertises that it can consume them. During a rolling upgrade brokers of
+   * older versions don't.
+   */
+  @Override
+  public boolean isCompressionSupported() {
+    final Member localMember = membershipService.getLocalMember();
+
+    for (Member member : membershipService.getMembers()) {
+      final Properties properties = member.properties();
+      final boolean isBroker = BrokerInfo.fromProperties(properties) != null;
+
+      if (!member.id().equals(localMember.id())
+          && isBroker
+          && !Boolean.parseBoolean(properties.getProperty(COMPRESSED_CHUNKS_PROPERTY))) {
+        return false;
+      }
+    }
+
+    return true;
+  }
+
   @Override
   public void consume(Consumer<SnapshotChunk> consumer) {
     executorService = Executors.newSingleThreadExecutor((r) -> new Thread(r, replicationTopic));
@@ -7,19 +7,17 @@
  */
 package io.zeebe.broker.exporter.debug;
 
-import com.fasterxml.jackson.core.JsonProcessingException;
-import com.google.common.base.Charsets;
 import com.sun.net.httpserver.HttpExchange;
 import com.sun.net.httpserver.HttpHandler;
 import com.sun.net.httpserver.HttpServer;
 import io.zeebe.protocol.record.Record;
 import io.zeebe.util.StreamUtil;
 import io.zeebe.util.collection.Tuple;
+import java.io.ByteArrayOutputStream;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.OutputStream;
 import java.net.InetSocketAddress;
-import java.nio.charset.Charset;
 import java.util.Arrays;
 import java.util.HashMap;
 import java.util.LinkedList;
@@ -28,7 +26,6 @@ import java.util.stream.Collectors;
 
 public class DebugHttpServer {
 
-  private static final Charset CHARSET = Charsets.UTF_8;
   private static final String[] RESOURCE_NAMES =
       new String[] {
         "index.html",
@@ -50,7 +47,8 @@ public class DebugHttpServer {
   private final int maxSize;
   private HttpServer server;
   private final Map<String, byte[]> resources;
-  private final LinkedList<String> records;
+  private final LinkedList<byte[]> records;
+  private final ByteArrayOutputStream jsonBuffer = new ByteArrayOutputStream();
 
   public DebugHttpServer(int port, int maxSize) {
     this.maxSize = maxSize;
@@ -98,12 +96,14 @@ public class DebugHttpServer {
     }
   }
 
-  public synchronized void add(Record record) throws JsonProcessingException {
+  public synchronized void add(Record record) {
     while (records.size() >= maxSize) {
       records.removeLast();
     }
 
-    records.addFirst(record.toJson());
+    jsonBuffer.reset();
+    record.writeJson(jsonBuffer);
+    records.addFirst(jsonBuffer.toByteArray());
   }
 
   class RequestHandler implements HttpHandler {
@@ -139,8 +139,18 @@ public class DebugHttpServer {
     }
 
     private byte[] getRecords() {
-      final String json = "[" + String.join(",", records) + "]";
-      return json.getBytes(CHARSET);
+      synchronized (DebugHttpServer.this) {
+        final ByteArrayOutputStream json = new ByteArrayOutputStream();
+        json.write('[');
+        for (final byte[] record : records) {
+          if (json.size() > 1) {
+            json.write(',');
+          }
+          json.write(record, 0, record.length);
+        }
+        json.write(']');
+        return json.toByteArray();
+      }
     }
   }
 }
@@ -7,92 +7,85 @@
  */
 package io.zeebe.broker.exporter.stream;
 
-import static io.zeebe.engine.processor.TypedEventRegistry.EVENT_REGISTRY;
-
 import io.zeebe.broker.Loggers;
-import io.zeebe.broker.exporter.context.ExporterContext;
 import io.zeebe.broker.exporter.repo.ExporterDescriptor;
 import io.zeebe.db.ZeebeDb;
-import io.zeebe.engine.processor.CopiedRecords;
-import io.zeebe.engine.processor.EventFilter;
-import io.zeebe.exporter.api.Exporter;
-import io.zeebe.exporter.api.context.Context;
-import io.zeebe.exporter.api.context.Controller;
+import io.zeebe.logstreams.log.BufferedLogStreamReader;
 import io.zeebe.logstreams.log.LogStream;
-import io.zeebe.logstreams.log.LogStreamReader;
-import io.zeebe.logstreams.log.LoggedEvent;
-import io.zeebe.protocol.impl.record.RecordMetadata;
-import io.zeebe.protocol.record.Record;
-import io.zeebe.protocol.record.RecordType;
-import io.zeebe.protocol.record.ValueType;
 import io.zeebe.servicecontainer.Service;
 import io.zeebe.servicecontainer.ServiceStartContext;
 import io.zeebe.servicecontainer.ServiceStopContext;
 import io.zeebe.util.LangUtil;
-import io.zeebe.util.retry.BackOffRetryStrategy;
-import io.zeebe.util.retry.EndlessRetryStrategy;
-import io.zeebe.util.retry.RetryStrategy;
 import io.zeebe.util.sched.Actor;
-import io.zeebe.util.sched.ActorCondition;
 import io.zeebe.util.sched.ActorScheduler;
 import io.zeebe.util.sched.SchedulingHints;
-import io.zeebe.util.sched.future.ActorFuture;
-import java.time.Duration;
-import java.util.Arrays;
+import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
-import java.util.Map;
-import java.util.concurrent.atomic.AtomicBoolean;
-import java.util.function.Function;
 import java.util.stream.Collectors;
 import org.slf4j.Logger;
 
+/**
+ * Exports the records of a partition to the configured exporters.
+ *
+ * <p>The exporters are grouped into {@link ExporterStream}s, each one reads the log with its own
+ * reader on its own actor. All exporters which are not configured as isolated share one stream and
+ * progress together. Each isolated exporter gets a stream of its own and progresses independently
+ * of the other exporters, e.g. it is not held back by a slow or failing exporter.
+ */
 public class ExporterDirector extends Actor implements Service<ExporterDirector> {
 
-  private static final String ERROR_MESSAGE_EXPORTING_ABORTED =
-      "Expected to export record '{}' successfully, but exception was thrown.";
-  private static final String ERROR_MESSAGE_RECOVER_FROM_SNAPSHOT_FAILED =
-      "Expected to find event with the snapshot position %s in log stream, but nothing was found. Failed to recover '%s'.";
-
   private static final Logger LOG = Loggers.EXPORTER_LOGGER;
 
   private ActorScheduler actorScheduler;
-  private final AtomicBoolean isOpened = new AtomicBoolean(false);
 
-  private final List<ExporterContainer> containers;
-  private final int partitionId;
-
-  private final LogStream logStream;
-  private final LogStreamReader logStreamReader;
-  private final RecordExporter recordExporter;
+  private final List<ExporterStream> streams = new ArrayList<>();
+  private final List<ExporterStream> startedStreams = new ArrayList<>();
 
   private final ZeebeDb zeebeDb;
 
-  private final ExporterMetrics metrics;
-
   private final String name;
-  private final RetryStrategy exportingRetryStrategy;
-  private final RetryStrategy recordWrapStrategy;
-  private EventFilter eventFilter;
+  private final int partitionId;
   private ExportersState state;
-
-  private ActorCondition onCommitPositionUpdatedCondition;
-  private boolean inExportingPhase;
+  private int startedStreamsCount;
+  private Throwable startFailure;
 
   public ExporterDirector(ExporterDirectorContext context) {
     this.name = context.getName();
-    this.containers =
-        context.getDescriptors().stream().map(ExporterContainer::new).collect(Collectors.toList());
 
-    this.logStream = context.getLogStream();
+    final LogStream logStream = context.getLogStream();
     this.partitionId = logStream.getPartitionId();
-    this.recordExporter = new RecordExporter(containers, partitionId);
-    this.logStreamReader = context.getLogStreamReader();
-    this.exportingRetryStrategy = new BackOffRetryStrategy(actor, Duration.ofSeconds(10));
-    this.recordWrapStrategy = new EndlessRetryStrategy(actor);
-
     this.zeebeDb = context.getZeebeDb();
 
-    this.metrics = new ExporterMetrics(partitionId);
+    final ExporterMetrics metrics = new ExporterMetrics(logStream.getPartitionId());
+
+    final List<ExporterDescriptor> sharedDescriptors = new ArrayList<>();
+    for (final ExporterDescriptor descriptor : context.getDescriptors()) {
+      if (descriptor.isIsolated()) {
+        streams.add(
+            new ExporterStream(
+                name + "-" + descriptor.getId(),
+                Collections.singletonList(descriptor),
+                logStream,
+                new BufferedLogStreamReader(),
+                zeebeDb,
+                metrics));
+      } else {
+        sharedDescriptors.add(descriptor);
+      }
+    }
+
+    if (!sharedDescriptors.isEmpty()) {
+      streams.add(
+          0,
+          new ExporterStream(
+              name + "-shared",
+              sharedDescriptors,
+              logStream,
+              context.getLogStreamReader(),
+              zeebeDb,
+              metrics));
+    }
   }
 
   @Override
@@ -111,6 +104,11 @@ public class ExporterDirector extends Actor implements Service<ExporterDirector>
     return name;
   }
 
+  @Override
+  protected int getPlacementKey() {
+    return partitionId;
+  }
+
   @Override
   public ExporterDirector get() {
     return this;
@@ -118,147 +116,44 @@ public class ExporterDirector extends Actor implements Service<ExporterDirector>
 
   @Override
   protected void onActorStarting() {
-    this.logStreamReader.wrap(logStream);
-  }
+    this.state = new ExportersState(zeebeDb, zeebeDb.createContext());
 
-  @Override
-  protected void onActorStarted() {
     try {
-      LOG.debug("Recovering exporter from snapshot");
-      recoverFromSnapshot();
-
-      for (final ExporterContainer container : containers) {
-        LOG.debug("Configure exporter with id '{}'", container.getId());
-        container.exporter.configure(container.context);
+      for (final ExporterStream stream : streams) {
+        stream.configure();
       }
-
-      eventFilter = createEventFilter(containers);
-      LOG.debug("Set event filter for exporters: {}", eventFilter);
-
     } catch (final Throwable e) {
-      onFailure();
       LangUtil.rethrowUnchecked(e);
     }
 
-    isOpened.set(true);
-    onSnapshotRecovered();
-  }
-
-  private void recoverFromSnapshot() {
-    this.state = new ExportersState(zeebeDb, zeebeDb.createContext());
+    clearExporterState();
 
-    final long snapshotPosition = getLowestExporterPosition();
-    final boolean failedToRecoverReader = !logStreamReader.seekToNextEvent(snapshotPosition);
-    if (failedToRecoverReader) {
-      throw new IllegalStateException(
-          String.format(ERROR_MESSAGE_RECOVER_FROM_SNAPSHOT_FAILED, snapshotPosition, getName()));
+    // the streams recover their positions on start, wait for them to not expose a wrong lowest
+    // exporter position meanwhile
+    for (final ExporterStream stream : streams) {
+      actor.runOnCompletionBlockingCurrentPhase(
+          actorScheduler.submitActor(stream, SchedulingHints.ioBound()),
+          (nothing, error) -> onStreamStarted(stream, error));
     }
-
-    LOG.debug(
-        "Recovered exporter '{}' from snapshot at lastExportedPosition {}",
-        getName(),
-        snapshotPosition);
   }
 
-  public long getLowestExporterPosition() {
-    return state.getLowestPosition();
-  }
-
-  private ExporterEventFilter createEventFilter(List<ExporterContainer> containers) {
-
-    final List<Context.RecordFilter> recordFilters =
-        containers.stream().map(c -> c.context.getFilter()).collect(Collectors.toList());
-
-    final Map<RecordType, Boolean> acceptRecordTypes =
-        Arrays.stream(RecordType.values())
-            .collect(
-                Collectors.toMap(
-                    Function.identity(),
-                    type -> recordFilters.stream().anyMatch(f -> f.acceptType(type))));
-
-    final Map<ValueType, Boolean> acceptValueTypes =
-        Arrays.stream(ValueType.values())
-            .collect(
-                Collectors.toMap(
-                    Function.identity(),
-                    type -> recordFilters.stream().anyMatch(f -> f.acceptValue(type))));
-
-    return new ExporterEventFilter(acceptRecordTypes, acceptValueTypes);
-  }
-
-  private void onFailure() {
-    isOpened.set(false);
-    actor.close();
-  }
-
-  private void onSnapshotRecovered() {
-    onCommitPositionUpdatedCondition =
-        actor.onCondition(
-            getName() + "-on-commit-lastExportedPosition-updated", this::readNextEvent);
-    logStream.registerOnCommitPositionUpdatedCondition(onCommitPositionUpdatedCondition);
-
-    // start reading
-    for (final ExporterContainer container : containers) {
-      container.position = state.getPosition(container.getId());
-      if (container.position == ExportersState.VALUE_NOT_FOUND) {
-        state.setPosition(container.getId(), -1L);
-      }
-      LOG.debug("Open exporter with id '{}'", container.getId());
-      container.exporter.open(container);
+  private void onStreamStarted(ExporterStream stream, Throwable error) {
+    if (error == null) {
+      startedStreams.add(stream);
+    } else {
+      LOG.error("Failed to start exporter stream '{}'", stream.getName(), error);
+      startFailure = error;
     }
 
-    clearExporterState();
-
-    actor.submit(this::readNextEvent);
-  }
-
-  private void skipRecord() {
-    metrics.eventSkipped();
-    actor.submit(this::readNextEvent);
-  }
-
-  private void readNextEvent() {
-    if (isOpened.get() && logStreamReader.hasNext() && !inExportingPhase) {
-      final LoggedEvent currentEvent = logStreamReader.next();
-      if (eventFilter == null || eventFilter.applies(currentEvent)) {
-        inExportingPhase = true;
-        exportEvent(currentEvent);
-      } else {
-        skipRecord();
-      }
+    startedStreamsCount += 1;
+    if (startedStreamsCount == streams.size() && startFailure != null) {
+      startedStreams.forEach(ExporterStream::closeAsync);
+      LangUtil.rethrowUnchecked(startFailure);
     }
   }
 
-  private void exportEvent(final LoggedEvent event) {
-    final ActorFuture<Boolean> wrapRetryFuture =
-        recordWrapStrategy.runWithRetry(
-            () -> {
-              recordExporter.wrap(event);
-              return true;
-            },
-            this::isClosed);
-
-    actor.runOnCompletion(
-        wrapRetryFuture,
-        (b, t) -> {
-          assert t == null : "Throwable must be null";
-
-          final ActorFuture<Boolean> retryFuture =
-              exportingRetryStrategy.runWithRetry(recordExporter::export, this::isClosed);
-
-          actor.runOnCompletion(
-              retryFuture,
-              (bool, throwable) -> {
-                if (throwable != null) {
-                  LOG.error(ERROR_MESSAGE_EXPORTING_ABORTED, event, throwable);
-                  onFailure();
-                } else {
-                  metrics.eventExported();
-                  inExportingPhase = false;
-                  actor.submit(this::readNextEvent);
-                }
-              });
-        });
+  public long getLowestExporterPosition() {
+    return state.getLowestPosition();
   }
 
   public ExportersState getState() {
@@ -267,7 +162,9 @@ public class ExporterDirector extends Actor implements Service<ExporterDirector>
 
   private void clearExporterState() {
     final List<String> exporterIds =
-        containers.stream().map(ExporterContainer::getId).collect(Collectors.toList());
+        streams.stream()
+            .flatMap(stream -> stream.getExporterIds().stream())
+            .collect(Collectors.toList());
 
     state.visitPositions(
         (exporterId, position) -> {
@@ -282,22 +179,14 @@ public class ExporterDirector extends Actor implements Service<ExporterDirector>
 
   @Override
   protected void onActorCloseRequested() {
-    isOpened.set(false);
-    for (final ExporterContainer container : containers) {
-      try {
-        container.exporter.close();
-      } catch (final Exception e) {
-        container.context.getLogger().error("Error on close", e);
-      }
-    }
-  }
-
-  @Override
-  protected void onActorClosing() {
-    logStreamReader.close();
-    if (onCommitPositionUpdatedCondition != null) {
-      logStream.removeOnCommitPositionUpdatedCondition(onCommitPositionUpdatedCondition);
-      onCommitPositionUpdatedCondition = null;
+    for (final ExporterStream stream : startedStreams) {
+      actor.runOnCompletionBlockingCurrentPhase(
+          stream.closeAsync(),
+          (nothing, error) -> {
+            if (error != null) {
+              LOG.error("Failed to close exporter stream '{}'", stream.getName(), error);
+            }
+          });
     }
   }
 
@@ -305,135 +194,4 @@ public class ExporterDirector extends Actor implements Service<ExporterDirector>
   protected void onActorClosed() {
     LOG.debug("Closed exporter director '{}'.", getName());
   }
-
-  public boolean isClosed() {
-    return !isOpened.get();
-  }
-
-  private class ExporterContainer implements Controller {
-    private final ExporterContext context;
-    private final Exporter exporter;
-    private long position;
-
-    ExporterContainer(ExporterDescriptor descriptor) {
-      context =
-          new ExporterContext(
-              Loggers.getExporterLogger(descriptor.getId()), descriptor.getConfiguration());
-
-      exporter = descriptor.newInstance();
-    }
-
-    @Override
-    public void updateLastExportedRecordPosition(final long position) {
-      actor.run(
-          () -> {
-            state.setPosition(getId(), position);
-            this.position = position;
-          });
-    }
-
-    @Override
-    public void scheduleTask(final Duration delay, final Runnable task) {
-      actor.runDelayed(delay, task);
-    }
-
-    private String getId() {
-      return context.getConfiguration().getId();
-    }
-
-    private boolean acceptRecord(RecordMetadata metadata) {
-      final Context.RecordFilter filter = context.getFilter();
-      return filter.acceptType(metadata.getRecordType())
-          && filter.acceptValue(metadata.getValueType());
-    }
-  }
-
-  private static class RecordExporter {
-
-    private final RecordMetadata rawMetadata = new RecordMetadata();
-    private final List<ExporterContainer> containers;
-    private final int partitionId;
-
-    private Record record;
-    private boolean shouldExport;
-    private int exporterIndex;
-
-    RecordExporter(List<ExporterContainer> containers, int partitionId) {
-      this.containers = containers;
-      this.partitionId = partitionId;
-    }
-
-    void wrap(LoggedEvent rawEvent) {
-      rawEvent.readMetadata(rawMetadata);
-
-      shouldExport = EVENT_REGISTRY.containsKey(rawMetadata.getValueType());
-      if (shouldExport) {
-        record = CopiedRecords.createCopiedRecord(partitionId, rawEvent);
-        exporterIndex = 0;
-      }
-    }
-
-    public boolean export() {
-      if (!shouldExport) {
-        return true;
-      }
-
-      final int exportersCount = containers.size();
-
-      // current error handling strategy is simply to repeat forever until the record can be
-      // successfully exported.
-      while (exporterIndex < exportersCount) {
-        final ExporterContainer container = containers.get(exporterIndex);
-
-        try {
-          if (container.position < record.getPosition() && container.acceptRecord(rawMetadata)) {
-            container.exporter.export(record);
-          }
-
-          exporterIndex++;
-        } catch (final Exception ex) {
-          container
-              .context
-              .getLogger()
-              .error("Error on exporting record with key {}", record.getKey(), ex);
-          return false;
-        }
-      }
-
-      return true;
-    }
-  }
-
-  private static class ExporterEventFilter implements EventFilter {
-
-    private final RecordMetadata metadata = new RecordMetadata();
-    private final Map<RecordType, Boolean> acceptRecordTypes;
-    private final Map<ValueType, Boolean> acceptValueTypes;
-
-    ExporterEventFilter(
-        Map<RecordType, Boolean> acceptRecordTypes, Map<ValueType, Boolean> acceptValueTypes) {
-      this.acceptRecordTypes = acceptRecordTypes;
-      this.acceptValueTypes = acceptValueTypes;
-    }
-
-    @Override
-    public boolean applies(LoggedEvent event) {
-      event.readMetadata(metadata);
-
-      final RecordType recordType = metadata.getRecordType();
-      final ValueType valueType = metadata.getValueType();
-
-      return acceptRecordTypes.get(recordType) && acceptValueTypes.get(valueType);
-    }
-
-    @Override
-    public String toString() {
-      return "ExporterEventFilter{"
-          + "acceptRecordTypes="
-          + acceptRecordTypes
-          + ", acceptValueTypes="
-          + acceptValueTypes
-          + '}';
-    }
-  }
 }
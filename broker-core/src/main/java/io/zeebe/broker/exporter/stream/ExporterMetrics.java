@@ -8,6 +8,7 @@
 package io.zeebe.broker.exporter.stream;
 
 import io.prometheus.client.Counter;
+import io.prometheus.client.Gauge;
 
 public class ExporterMetrics {
 
@@ -19,6 +20,30 @@ public class ExporterMetrics {
           .labelNames("action", "partition")
           .register();
 
+  private static final Gauge EXPORTER_POSITION_LAG =
+      Gauge.build()
+          .namespace("zeebe")
+          .name("exporter_position_lag")
+          .help("Difference between the commit position and the last exported position of exporter")
+          .labelNames("exporter", "partition")
+          .register();
+
+  private static final Gauge EXPORTER_UNACKNOWLEDGED_RECORDS =
+      Gauge.build()
+          .namespace("zeebe")
+          .name("exporter_unacknowledged_records")
+          .help("Number of records which were passed to exporter but are not yet acknowledged")
+          .labelNames("exporter", "partition")
+          .register();
+
+  private static final Gauge EXPORTER_TIME_LAG =
+      Gauge.build()
+          .namespace("zeebe")
+          .name("exporter_time_lag")
+          .help("Age in seconds of the oldest record which is not yet exported by exporter")
+          .labelNames("exporter", "partition")
+          .register();
+
   private final String partitionIdLabel;
 
   public ExporterMetrics(int partitionId) {
@@ -36,4 +61,16 @@ public class ExporterMetrics {
   public void eventSkipped() {
     event("skipped");
   }
+
+  public void positionLag(String exporterId, long lag) {
+    EXPORTER_POSITION_LAG.labels(exporterId, partitionIdLabel).set(lag);
+  }
+
+  public void unacknowledgedRecords(String exporterId, long count) {
+    EXPORTER_UNACKNOWLEDGED_RECORDS.labels(exporterId, partitionIdLabel).set(count);
+  }
+
+  public void timeLag(String exporterId, long lagInMillis) {
+    EXPORTER_TIME_LAG.labels(exporterId, partitionIdLabel).set(lagInMillis / 1000.0);
+  }
 }
@@ -0,0 +1,594 @@
+/*
+ * Copyright Camunda Services GmbH and/or licensed to Camunda Services GmbH under
+ * one or more contributor license agreements. See the NOTICE file distributed
+ * with this work for additional information regarding copyright ownership.
+ * Licensed under the Zeebe Community License 1.0. You may not use this file
+ * except in compliance with the Zeebe Community License 1.0.
+ */
+package io.zeebe.broker.exporter.stream;
+
+import io.zeebe.broker.Loggers;
+import io.zeebe.broker.exporter.context.ExporterContext;
+import io.zeebe.broker.exporter.repo.ExporterDescriptor;
+import io.zeebe.db.ZeebeDb;
+import io.zeebe.engine.processor.TypedEventRegistry;
+import io.zeebe.exporter.api.Exporter;
+import io.zeebe.exporter.api.RecordBatch;
+import io.zeebe.exporter.api.context.Controller;
+import io.zeebe.logstreams.log.LogStream;
+import io.zeebe.logstreams.log.LogStreamReader;
+import io.zeebe.logstreams.log.LoggedEvent;
+import io.zeebe.protocol.impl.record.RecordView;
+import io.zeebe.protocol.record.Record;
+import io.zeebe.util.retry.BackOffRetryStrategy;
+import io.zeebe.util.retry.EndlessRetryStrategy;
+import io.zeebe.util.retry.RetryStrategy;
+import io.zeebe.util.sched.Actor;
+import io.zeebe.util.sched.ActorCondition;
+import io.zeebe.util.sched.clock.ActorClock;
+import io.zeebe.util.sched.future.ActorFuture;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.stream.Collectors;
+import org.agrona.DirectBuffer;
+import org.slf4j.Logger;
+
+/**
+ * Reads the log with its own reader and exports the records to a group of exporters, on its own
+ * actor. A record is only read further when all exporters of the group accepted it, so the
+ * exporters of one stream progress together.
+ */
+class ExporterStream extends Actor {
+
+  private static final String ERROR_MESSAGE_EXPORTING_ABORTED =
+      "Expected to export records '{}' successfully, but exception was thrown.";
+  private static final String ERROR_MESSAGE_RECOVER_FROM_SNAPSHOT_FAILED =
+      "Expected to find event with the snapshot position %s in log stream, but nothing was found. Failed to recover '%s'.";
+
+  private static final Logger LOG = Loggers.EXPORTER_LOGGER;
+
+  /** The maximum number of records which are read from the log and exported together. */
+  private static final int MAX_BATCH_SIZE = 100;
+
+  /**
+   * The interval in which the positions which are updated by the exporters are written to the state
+   * and the lag metrics are updated. The exporters may update their position much more often, e.g.
+   * for every record. Positions which are not yet written when the broker stops only cause records
+   * to be exported again.
+   */
+  private static final Duration POSITION_UPDATE_INTERVAL = Duration.ofSeconds(1);
+
+  private final String name;
+  private final List<ExporterContainer> containers;
+  private final LogStream logStream;
+  private final LogStreamReader logStreamReader;
+  private final RecordExporter recordExporter;
+  private final ZeebeDb zeebeDb;
+  private final ExporterMetrics metrics;
+  private final RetryStrategy exportingRetryStrategy;
+  private final RetryStrategy recordWrapStrategy;
+  private final int placementKey;
+
+  private ExportersState state;
+
+  private ActorCondition onCommitPositionUpdatedCondition;
+  private LoggedEvent currentEvent;
+  private boolean inExportingPhase;
+  private volatile boolean isOpened;
+
+  ExporterStream(
+      String name,
+      Collection<ExporterDescriptor> descriptors,
+      LogStream logStream,
+      LogStreamReader logStreamReader,
+      ZeebeDb zeebeDb,
+      ExporterMetrics metrics) {
+    this.name = name;
+    this.containers = descriptors.stream().map(ExporterContainer::new).collect(Collectors.toList());
+    this.logStream = logStream;
+    this.logStreamReader = logStreamReader;
+    this.recordExporter = new RecordExporter(containers, logStream.getPartitionId());
+    this.zeebeDb = zeebeDb;
+    this.metrics = metrics;
+    this.exportingRetryStrategy = new BackOffRetryStrategy(actor, Duration.ofSeconds(10));
+    this.recordWrapStrategy = new EndlessRetryStrategy(actor);
+
+    // an isolated exporter must not slow down the other actors of its partition, so it is not
+    // pinned to the partition's thread
+    final boolean isolated = descriptors.stream().anyMatch(ExporterDescriptor::isIsolated);
+    this.placementKey = isolated ? NO_PLACEMENT_KEY : logStream.getPartitionId();
+  }
+
+  @Override
+  public String getName() {
+    return name;
+  }
+
+  @Override
+  protected int getPlacementKey() {
+    return placementKey;
+  }
+
+  /** Configures the exporters of this stream, must be called before the stream is started. */
+  void configure() throws Exception {
+    for (final ExporterContainer container : containers) {
+      LOG.debug("Configure exporter with id '{}'", container.getId());
+      container.exporter.configure(container.context);
+
+      container.filter = RecordMetadataFilter.of(container.context.getFilter());
+      LOG.debug("Set filter for exporter with id '{}': {}", container.getId(), container.filter);
+    }
+  }
+
+  List<String> getExporterIds() {
+    return containers.stream().map(ExporterContainer::getId).collect(Collectors.toList());
+  }
+
+  @Override
+  protected void onActorStarting() {
+    logStreamReader.wrap(logStream);
+    recoverFromSnapshot();
+  }
+
+  private void recoverFromSnapshot() {
+    state = new ExportersState(zeebeDb, zeebeDb.createContext());
+
+    long snapshotPosition = Long.MAX_VALUE;
+    for (final ExporterContainer container : containers) {
+      container.position = state.getPosition(container.getId());
+      if (container.position == ExportersState.VALUE_NOT_FOUND) {
+        state.setPosition(container.getId(), -1L);
+      }
+      container.persistedPosition = container.position;
+      snapshotPosition = Math.min(snapshotPosition, container.position);
+    }
+
+    final boolean failedToRecoverReader = !logStreamReader.seekToNextEvent(snapshotPosition);
+    if (failedToRecoverReader) {
+      throw new IllegalStateException(
+          String.format(ERROR_MESSAGE_RECOVER_FROM_SNAPSHOT_FAILED, snapshotPosition, getName()));
+    }
+
+    LOG.debug(
+        "Recovered exporter stream '{}' from snapshot at lastExportedPosition {}",
+        getName(),
+        snapshotPosition);
+  }
+
+  @Override
+  protected void onActorStarted() {
+    isOpened = true;
+
+    onCommitPositionUpdatedCondition =
+        actor.onCondition(
+            getName() + "-on-commit-lastExportedPosition-updated", this::readNextEvents);
+    logStream.registerOnCommitPositionUpdatedCondition(onCommitPositionUpdatedCondition);
+
+    // start reading
+    for (final ExporterContainer container : containers) {
+      LOG.debug("Open exporter with id '{}'", container.getId());
+      container.exporter.open(container);
+    }
+
+    actor.runAtFixedRate(POSITION_UPDATE_INTERVAL, this::updatePositions);
+    actor.submit(this::readNextEvents);
+  }
+
+  /** Writes the positions which changed since the last time and updates the lag metrics. */
+  private void updatePositions() {
+    persistPositions();
+
+    final long commitPosition = logStream.getCommitPosition();
+    final long now = ActorClock.currentTimeMillis();
+    for (final ExporterContainer container : containers) {
+      final boolean caughtUp = container.position >= commitPosition;
+      final long oldestPendingTimestamp = container.pendingBatches.getOldestTimestamp();
+
+      metrics.positionLag(container.getId(), caughtUp ? 0 : commitPosition - container.position);
+      metrics.unacknowledgedRecords(
+          container.getId(), caughtUp ? 0 : container.pendingBatches.getRecordCount());
+      metrics.timeLag(
+          container.getId(),
+          caughtUp || oldestPendingTimestamp < 0 ? 0 : now - oldestPendingTimestamp);
+    }
+  }
+
+  private void persistPositions() {
+    for (final ExporterContainer container : containers) {
+      if (container.position != container.persistedPosition) {
+        state.setPosition(container.getId(), container.position);
+        container.persistedPosition = container.position;
+      }
+    }
+  }
+
+  private void onFailure() {
+    isOpened = false;
+    actor.close();
+  }
+
+  private void readNextEvents() {
+    if (isOpened && logStreamReader.hasNext() && !inExportingPhase) {
+      inExportingPhase = true;
+      exportEvents();
+    }
+  }
+
+  private boolean wrapNextEvents() {
+    do {
+      if (currentEvent == null) {
+        currentEvent = logStreamReader.next();
+      }
+
+      if (!recordExporter.wrap(currentEvent)) {
+        metrics.eventSkipped();
+      }
+      currentEvent = null;
+
+    } while (recordExporter.getRecordCount() < MAX_BATCH_SIZE && logStreamReader.hasNext());
+
+    return true;
+  }
+
+  private void exportEvents() {
+    final ActorFuture<Boolean> wrapRetryFuture =
+        recordWrapStrategy.runWithRetry(this::wrapNextEvents, this::isClosed);
+
+    actor.runOnCompletion(
+        wrapRetryFuture,
+        (b, t) -> {
+          assert t == null : "Throwable must be null";
+
+          final ActorFuture<Boolean> retryFuture =
+              exportingRetryStrategy.runWithRetry(recordExporter::export, this::isClosed);
+
+          actor.runOnCompletion(
+              retryFuture,
+              (bool, throwable) -> {
+                if (throwable != null) {
+                  LOG.error(ERROR_MESSAGE_EXPORTING_ABORTED, recordExporter, throwable);
+                  onFailure();
+                } else {
+                  for (int i = 0; i < recordExporter.getRecordCount(); i++) {
+                    metrics.eventExported();
+                  }
+                  recordExporter.reset();
+                  inExportingPhase = false;
+                  actor.submit(this::readNextEvents);
+                }
+              });
+        });
+  }
+
+  ActorFuture<Void> closeAsync() {
+    return actor.close();
+  }
+
+  @Override
+  protected void onActorCloseRequested() {
+    isOpened = false;
+    for (final ExporterContainer container : containers) {
+      try {
+        container.exporter.close();
+      } catch (final Exception e) {
+        container.context.getLogger().error("Error on close", e);
+      }
+    }
+  }
+
+  @Override
+  protected void onActorClosing() {
+    // contains the positions which are updated when the exporters are closed
+    persistPositions();
+
+    logStreamReader.close();
+    if (onCommitPositionUpdatedCondition != null) {
+      logStream.removeOnCommitPositionUpdatedCondition(onCommitPositionUpdatedCondition);
+      onCommitPositionUpdatedCondition = null;
+    }
+  }
+
+  @Override
+  protected void onActorClosed() {
+    LOG.debug("Closed exporter stream '{}'.", getName());
+  }
+
+  boolean isClosed() {
+    return !isOpened;
+  }
+
+  private class ExporterContainer implements Controller {
+    private final ExporterContext context;
+    private final Exporter exporter;
+    private final boolean exportsBatches;
+    private final ListRecordBatch batch = new ListRecordBatch();
+    // the indexes of the records of the current batch which pass the filter
+    private final BitSet acceptedRecords = new BitSet(MAX_BATCH_SIZE);
+    private final PendingBatches pendingBatches = new PendingBatches();
+    private RecordMetadataFilter filter;
+    private long position;
+    private long persistedPosition;
+    private int recordIndex;
+
+    ExporterContainer(ExporterDescriptor descriptor) {
+      context =
+          new ExporterContext(
+              Loggers.getExporterLogger(descriptor.getId()), descriptor.getConfiguration());
+
+      exporter = descriptor.newInstance();
+      exportsBatches = exporter.supportsBatch();
+    }
+
+    @Override
+    public void updateLastExportedRecordPosition(final long position) {
+      actor.run(
+          () -> {
+            this.position = position;
+            pendingBatches.acknowledge(position);
+          });
+    }
+
+    @Override
+    public void scheduleTask(final Duration delay, final Runnable task) {
+      actor.runDelayed(delay, task);
+    }
+
+    private String getId() {
+      return context.getConfiguration().getId();
+    }
+
+    private void trackPendingBatch(List<RecordView> records) {
+      final int first = acceptedRecords.nextSetBit(0);
+      if (first >= 0) {
+        final int last = acceptedRecords.previousSetBit(records.size() - 1);
+        final RecordView firstRecord = records.get(first);
+        if (firstRecord.getPosition() > position) {
+          pendingBatches.add(
+              firstRecord.getPosition(),
+              firstRecord.getTimestamp(),
+              records.get(last).getPosition(),
+              acceptedRecords.cardinality());
+        }
+      }
+    }
+
+    private boolean acceptRecord(int index, Record record) {
+      return acceptedRecords.get(index) && position < record.getPosition();
+    }
+
+    /**
+     * Exports the given records. If it fails, it continues with the record which failed on the next
+     * call.
+     */
+    private void export(List<RecordView> records) {
+      trackPendingBatch(records);
+
+      if (exportsBatches) {
+        batch.clear();
+        for (int i = 0; i < records.size(); i++) {
+          final RecordView record = records.get(i);
+          if (acceptRecord(i, record)) {
+            batch.add(record);
+          }
+        }
+
+        if (!batch.isEmpty()) {
+          exporter.exportBatch(batch);
+        }
+      } else {
+        while (recordIndex < records.size()) {
+          final RecordView record = records.get(recordIndex);
+          if (acceptRecord(recordIndex, record)) {
+            // the exporter may keep the record, so it can't get the reused view
+            exporter.export(record.retain());
+          }
+          recordIndex++;
+        }
+        recordIndex = 0;
+      }
+    }
+  }
+
+  private static final class PendingBatches {
+    /** Bounds the tracked batches of an exporter which doesn't update its position. */
+    private static final int CAPACITY = 64;
+
+    private final long[] lastPositions = new long[CAPACITY];
+    private final long[] firstTimestamps = new long[CAPACITY];
+    private final int[] recordCounts = new int[CAPACITY];
+    private int head;
+    private int size;
+    private long recordCount;
+    private long lastTrackedPosition = -1;
+
+    void add(long firstPosition, long firstTimestamp, long lastPosition, int batchRecordCount) {
+      // a batch is tracked once, even if exporting it is retried
+      if (firstPosition <= lastTrackedPosition) {
+        return;
+      }
+      lastTrackedPosition = lastPosition;
+
+      if (size < CAPACITY) {
+        final int index = (head + size) % CAPACITY;
+        lastPositions[index] = lastPosition;
+        firstTimestamps[index] = firstTimestamp;
+        recordCounts[index] = batchRecordCount;
+        size++;
+      } else {
+        // the oldest batch stays, merge the batch into the newest one
+        final int newest = (head + size - 1) % CAPACITY;
+        lastPositions[newest] = lastPosition;
+        recordCounts[newest] += batchRecordCount;
+      }
+      recordCount += batchRecordCount;
+    }
+
+    void acknowledge(long position) {
+      while (size > 0 && lastPositions[head] <= position) {
+        recordCount -= recordCounts[head];
+        head = (head + 1) % CAPACITY;
+        size--;
+      }
+    }
+
+    /**
+     * @return the number of records of the batches which are not completely acknowledged; the
+     *     records of a batch count until its last record is acknowledged
+     */
+    long getRecordCount() {
+      return recordCount;
+    }
+
+    /** @return the timestamp of the oldest record which is not acknowledged, or -1 */
+    long getOldestTimestamp() {
+      return size > 0 ? firstTimestamps[head] : -1;
+    }
+  }
+
+  private static class RecordExporter {
+
+    private final List<ExporterContainer> containers;
+    private final int partitionId;
+    private final List<RecordView> records = new ArrayList<>();
+    private final List<RecordView> recordViews = new ArrayList<>();
+
+    private int exporterIndex;
+
+    RecordExporter(List<ExporterContainer> containers, int partitionId) {
+      this.containers = containers;
+      this.partitionId = partitionId;
+    }
+
+    /** @return false if the event is skipped, because no exporter accepts it */
+    boolean wrap(LoggedEvent rawEvent) {
+      final int index = records.size();
+      final DirectBuffer metadata = rawEvent.getMetadata();
+      final int metadataOffset = rawEvent.getMetadataOffset();
+
+      boolean accepted = false;
+      for (int i = 0; i < containers.size(); i++) {
+        final ExporterContainer container = containers.get(i);
+        if (container.filter.accepts(metadata, metadataOffset)) {
+          container.acceptedRecords.set(index);
+          accepted = true;
+        }
+      }
+
+      if (accepted) {
+        if (index == recordViews.size()) {
+          recordViews.add(new RecordView(TypedEventRegistry.EVENT_REGISTRY));
+        }
+
+        final RecordView record = recordViews.get(index);
+        record.wrap(
+            partitionId,
+            rawEvent.getPosition(),
+            rawEvent.getSourceEventPosition(),
+            rawEvent.getKey(),
+            rawEvent.getTimestamp(),
+            rawEvent.getValueBuffer(),
+            metadataOffset,
+            rawEvent.getMetadataLength(),
+            rawEvent.getValueOffset(),
+            rawEvent.getValueLength());
+        records.add(record);
+      }
+
+      return accepted;
+    }
+
+    int getRecordCount() {
+      return records.size();
+    }
+
+    void reset() {
+      records.clear();
+      exporterIndex = 0;
+      for (int i = 0; i < containers.size(); i++) {
+        containers.get(i).acceptedRecords.clear();
+      }
+    }
+
+    public boolean export() {
+      if (records.isEmpty()) {
+        return true;
+      }
+
+      final int exportersCount = containers.size();
+
+      // current error handling strategy is simply to repeat forever until the records can be
+      // successfully exported.
+      while (exporterIndex < exportersCount) {
+        final ExporterContainer container = containers.get(exporterIndex);
+
+        try {
+          container.export(records);
+          exporterIndex++;
+        } catch (final Exception ex) {
+          container
+              .context
+              .getLogger()
+              .error(
+                  "Error on exporting records from position {} to {}",
+                  records.get(0).getPosition(),
+                  records.get(records.size() - 1).getPosition(),
+                  ex);
+          return false;
+        }
+      }
+
+      return true;
+    }
+
+    @Override
+    public String toString() {
+      if (records.isEmpty()) {
+        return "RecordExporter{records=[]}";
+      }
+
+      return "RecordExporter{"
+          + "fromPosition="
+          + records.get(0).getPosition()
+          + ", toPosition="
+          + records.get(records.size() - 1).getPosition()
+          + '}';
+    }
+  }
+
+  private static final class ListRecordBatch implements RecordBatch {
+    private final List<RecordView> records = new ArrayList<>();
+
+    void add(RecordView record) {
+      records.add(record);
+    }
+
+    void clear() {
+      records.clear();
+    }
+
+    @Override
+    public int size() {
+      return records.size();
+    }
+
+    @Override
+    public Record get(int index) {
+      return records.get(index);
+    }
+
+    @Override
+    public Record retain(int index) {
+      return records.get(index).retain();
+    }
+
+    @Override
+    public Iterator<Record> iterator() {
+      return Collections.<Record>unmodifiableList(records).iterator();
+    }
+  }
+}
@@ -0,0 +1,112 @@
+/*
+ * Copyright Camunda Services GmbH and/or licensed to Camunda Services GmbH under
+ * one or more contributor license agreements. See the NOTICE file distributed
+ * with this work for additional information regarding copyright ownership.
+ * Licensed under the Zeebe Community License 1.0. You may not use this file
+ * except in compliance with the Zeebe Community License 1.0.
+ */
+package io.zeebe.broker.exporter.stream;
+
+import static io.zeebe.engine.processor.TypedEventRegistry.EVENT_REGISTRY;
+
+import io.zeebe.exporter.api.context.Context.RecordFilter;
+import io.zeebe.protocol.record.MessageHeaderDecoder;
+import io.zeebe.protocol.record.RecordMetadataDecoder;
+import io.zeebe.protocol.record.RecordType;
+import io.zeebe.protocol.record.ValueType;
+import io.zeebe.protocol.record.intent.Intent;
+import java.util.stream.Collectors;
+import org.agrona.DirectBuffer;
+
+/**
+ * The {@link RecordFilter} of an exporter, compiled into bit sets over the protocol values of the
+ * record type, value type and intent. It is evaluated against the raw metadata of an event, so that
+ * records which are not exported are neither copied nor decoded.
+ *
+ * <p>Only value types which can be exported are accepted, i.e. which are contained in the event
+ * registry.
+ */
+final class RecordMetadataFilter {
+
+  private static final int RECORD_TYPE_OFFSET =
+      MessageHeaderDecoder.ENCODED_LENGTH + RecordMetadataDecoder.recordTypeEncodingOffset();
+  private static final int VALUE_TYPE_OFFSET =
+      MessageHeaderDecoder.ENCODED_LENGTH + RecordMetadataDecoder.valueTypeEncodingOffset();
+  private static final int INTENT_OFFSET =
+      MessageHeaderDecoder.ENCODED_LENGTH + RecordMetadataDecoder.intentEncodingOffset();
+
+  private final long acceptedRecordTypes;
+  // the accepted intents per value type, 0 if the value type is not accepted
+  private final long[] acceptedIntents;
+
+  private RecordMetadataFilter(final long acceptedRecordTypes, final long[] acceptedIntents) {
+    this.acceptedRecordTypes = acceptedRecordTypes;
+    this.acceptedIntents = acceptedIntents;
+  }
+
+  static RecordMetadataFilter of(final RecordFilter filter) {
+    long acceptedRecordTypes = 0;
+    for (final RecordType recordType : RecordType.values()) {
+      if (isBitIndex(recordType.value()) && filter.acceptType(recordType)) {
+        acceptedRecordTypes |= 1L << recordType.value();
+      }
+    }
+
+    final long[] acceptedIntents = new long[Long.SIZE];
+    for (final ValueType valueType : EVENT_REGISTRY.keySet()) {
+      if (isBitIndex(valueType.value()) && filter.acceptValue(valueType)) {
+        acceptedIntents[valueType.value()] = compileIntents(filter, valueType);
+      }
+    }
+
+    return new RecordMetadataFilter(acceptedRecordTypes, acceptedIntents);
+  }
+
+  private static long compileIntents(final RecordFilter filter, final ValueType valueType) {
+    // intents which are not known to the protocol are accepted with their value type
+    long acceptedIntents = -1L;
+    for (short value = 0; value < Long.SIZE; value++) {
+      final Intent intent = Intent.fromProtocolValue(valueType, value);
+      if (intent != Intent.UNKNOWN && !filter.acceptIntent(intent)) {
+        acceptedIntents &= ~(1L << value);
+      }
+    }
+    return acceptedIntents;
+  }
+
+  /**
+   * @param buffer the buffer which contains the metadata of the event
+   * @param offset the offset of the metadata in the buffer
+   * @return true if the record should be exported
+   */
+  boolean accepts(final DirectBuffer buffer, final int offset) {
+    final int recordType = buffer.getByte(offset + RECORD_TYPE_OFFSET) & 0xFF;
+    final int valueType = buffer.getByte(offset + VALUE_TYPE_OFFSET) & 0xFF;
+    final int intent = buffer.getByte(offset + INTENT_OFFSET) & 0xFF;
+
+    if (!isBitIndex(recordType)
+        || !isBitIndex(valueType)
+        || (acceptedRecordTypes & (1L << recordType)) == 0) {
+      return false;
+    }
+
+    final long intents = acceptedIntents[valueType];
+    return isBitIndex(intent) ? (intents & (1L << intent)) != 0 : intents != 0;
+  }
+
+  private static boolean isBitIndex(final int value) {
+    return value < Long.SIZE;
+  }
+
+  @Override
+  public String toString() {
+    return "RecordMetadataFilter{"
+        + "acceptedRecordTypes="
+        + Long.toBinaryString(acceptedRecordTypes)
+        + ", acceptedValueTypes="
+        + EVENT_REGISTRY.keySet().stream()
+            .filter(valueType -> acceptedIntents[valueType.value()] != 0)
+            .collect(Collectors.toList())
+        + '}';
+  }
+}
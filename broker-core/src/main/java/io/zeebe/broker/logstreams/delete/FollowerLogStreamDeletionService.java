@@ -12,19 +12,18 @@ import io.zeebe.logstreams.impl.delete.DeletionService;
 import io.zeebe.logstreams.log.LogStream;
 
 public class FollowerLogStreamDeletionService implements DeletionService {
-  private final LogStream logStream;
+  private final LogRetention retention;
   private StatePositionSupplier positionSupplier;
 
   public FollowerLogStreamDeletionService(
       LogStream logStream, StatePositionSupplier positionSupplier) {
-    this.logStream = logStream;
+    this.retention = new LogRetention(logStream);
     this.positionSupplier = positionSupplier;
   }
 
   @Override
   public void delete(final long position) {
-    final long minPosition = Math.min(position, getMinimumExportedPosition());
-    logStream.delete(minPosition);
+    retention.delete(position, getMinimumExportedPosition());
   }
 
   private long getMinimumExportedPosition() {
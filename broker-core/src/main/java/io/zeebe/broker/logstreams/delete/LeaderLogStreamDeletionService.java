@@ -17,11 +17,11 @@ import io.zeebe.servicecontainer.ServiceStopContext;
 
 public class LeaderLogStreamDeletionService implements DeletionService, Service {
   private final Injector<ExporterManagerService> exporterManagerInjector = new Injector<>();
-  private final LogStream logStream;
+  private final LogRetention retention;
   private ExporterManagerService exporterManagerService;
 
   public LeaderLogStreamDeletionService(LogStream logStream) {
-    this.logStream = logStream;
+    this.retention = new LogRetention(logStream);
   }
 
   @Override
@@ -31,8 +31,7 @@ public class LeaderLogStreamDeletionService implements DeletionService, Service
 
   @Override
   public void delete(final long position) {
-    final long minPosition = Math.min(position, getMinimumExportedPosition());
-    logStream.delete(minPosition);
+    retention.delete(position, getMinimumExportedPosition());
   }
 
   private long getMinimumExportedPosition() {
@@ -0,0 +1,59 @@
+/*
+ * Copyright Camunda Services GmbH and/or licensed to Camunda Services GmbH under
+ * one or more contributor license agreements. See the NOTICE file distributed
+ * with this work for additional information regarding copyright ownership.
+ * Licensed under the Zeebe Community License 1.0. You may not use this file
+ * except in compliance with the Zeebe Community License 1.0.
+ */
+package io.zeebe.broker.logstreams.delete;
+
+import io.prometheus.client.Gauge;
+
+public class LogDeletionMetrics {
+
+  private static final Gauge RETAINED_BYTES =
+      Gauge.build()
+          .namespace("zeebe")
+          .name("log_retained_bytes")
+          .help("Number of bytes occupied by the log segments which are not yet deleted")
+          .labelNames("partition")
+          .register();
+
+  private static final Gauge RETENTION_POSITION =
+      Gauge.build()
+          .namespace("zeebe")
+          .name("log_retention_position")
+          .help("Position until which the component allows to delete the log")
+          .labelNames("component", "partition")
+          .register();
+
+  private static final Gauge RETENTION_BLOCKED =
+      Gauge.build()
+          .namespace("zeebe")
+          .name("log_retention_blocked")
+          .help("Is 1 if the component holds back the deletion of the log, otherwise 0")
+          .labelNames("component", "partition")
+          .register();
+
+  private static final String COMPONENT_SNAPSHOT = "snapshot";
+  private static final String COMPONENT_EXPORTER = "exporter";
+
+  private final String partitionIdLabel;
+
+  public LogDeletionMetrics(int partitionId) {
+    partitionIdLabel = String.valueOf(partitionId);
+  }
+
+  public void retainedBytes(long bytes) {
+    RETAINED_BYTES.labels(partitionIdLabel).set(bytes);
+  }
+
+  public void retentionPositions(long snapshotPosition, long exportedPosition) {
+    RETENTION_POSITION.labels(COMPONENT_SNAPSHOT, partitionIdLabel).set(snapshotPosition);
+    RETENTION_POSITION.labels(COMPONENT_EXPORTER, partitionIdLabel).set(exportedPosition);
+
+    final boolean blockedByExporter = exportedPosition < snapshotPosition;
+    RETENTION_BLOCKED.labels(COMPONENT_SNAPSHOT, partitionIdLabel).set(blockedByExporter ? 0 : 1);
+    RETENTION_BLOCKED.labels(COMPONENT_EXPORTER, partitionIdLabel).set(blockedByExporter ? 1 : 0);
+  }
+}
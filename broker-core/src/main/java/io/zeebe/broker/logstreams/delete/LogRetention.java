@@ -0,0 +1,52 @@
+/*
+ * Copyright Camunda Services GmbH and/or licensed to Camunda Services GmbH under
+ * one or more contributor license agreements. See the NOTICE file distributed
+ * with this work for additional information regarding copyright ownership.
+ * Licensed under the Zeebe Community License 1.0. You may not use this file
+ * except in compliance with the Zeebe Community License 1.0.
+ */
+package io.zeebe.broker.logstreams.delete;
+
+import io.zeebe.broker.Loggers;
+import io.zeebe.logstreams.log.LogStream;
+import org.slf4j.Logger;
+
+/**
+ * Deletes the log until the lowest position which is no longer required, that is the position of
+ * the latest snapshot or the lowest exported position, whichever is lower. Only whole segments are
+ * deleted by the log storage.
+ */
+class LogRetention {
+  private static final Logger LOG = Loggers.CLUSTERING_LOGGER;
+
+  private final LogStream logStream;
+  private final LogDeletionMetrics metrics;
+
+  LogRetention(LogStream logStream) {
+    this.logStream = logStream;
+    this.metrics = new LogDeletionMetrics(logStream.getPartitionId());
+  }
+
+  void delete(long snapshotPosition, long exportedPosition) {
+    metrics.retentionPositions(snapshotPosition, exportedPosition);
+
+    final long minPosition;
+    if (exportedPosition < snapshotPosition) {
+      LOG.debug(
+          "Retain log of partition {} after position {}, since it is not exported yet (snapshot position {}).",
+          logStream.getPartitionId(),
+          exportedPosition,
+          snapshotPosition);
+      minPosition = exportedPosition;
+    } else {
+      minPosition = snapshotPosition;
+    }
+
+    logStream.delete(minPosition);
+
+    final long retainedBytes = logStream.getLogStorage().getRetainedBytes();
+    if (retainedBytes >= 0) {
+      metrics.retainedBytes(retainedBytes);
+    }
+  }
+}
@@ -8,6 +8,7 @@
 package io.zeebe.broker.logstreams.restore;
 
 import static io.zeebe.clustering.management.LogReplicationRequestEncoder.fromPositionNullValue;
+import static io.zeebe.clustering.management.LogReplicationRequestEncoder.maxBytesNullValue;
 import static io.zeebe.clustering.management.LogReplicationRequestEncoder.toPositionNullValue;
 
 import io.zeebe.clustering.management.BooleanType;
@@ -39,6 +40,7 @@ public class SbeLogReplicationRequest
     this.setFromPosition(other.getFromPosition());
     this.setToPosition(other.getToPosition());
     this.setIncludeFromPosition(other.includeFromPosition());
+    this.setMaxBytes(other.getMaxBytes());
   }
 
   public SbeLogReplicationRequest(byte[] serialized) {
@@ -52,6 +54,7 @@ public class SbeLogReplicationRequest
     delegate.setFromPosition(decoder.fromPosition());
     delegate.setToPosition(decoder.toPosition());
     delegate.setIncludeFromPosition(decoder.includeFromPosition() == BooleanType.TRUE);
+    delegate.setMaxBytes(decoder.maxBytes());
   }
 
   @Override
@@ -60,7 +63,8 @@ public class SbeLogReplicationRequest
     encoder
         .fromPosition(delegate.getFromPosition())
         .toPosition(delegate.getToPosition())
-        .includeFromPosition(delegate.includeFromPosition() ? BooleanType.TRUE : BooleanType.FALSE);
+        .includeFromPosition(delegate.includeFromPosition() ? BooleanType.TRUE : BooleanType.FALSE)
+        .maxBytes(delegate.getMaxBytes());
   }
 
   @Override
@@ -69,6 +73,7 @@ public class SbeLogReplicationRequest
     delegate.setFromPosition(fromPositionNullValue());
     delegate.setToPosition(toPositionNullValue());
     delegate.setIncludeFromPosition(false);
+    delegate.setMaxBytes(maxBytesNullValue());
   }
 
   @Override
@@ -98,6 +103,15 @@ public class SbeLogReplicationRequest
     delegate.setToPosition(toPosition);
   }
 
+  @Override
+  public int getMaxBytes() {
+    return delegate.getMaxBytes();
+  }
+
+  public void setMaxBytes(int maxBytes) {
+    delegate.setMaxBytes(maxBytes);
+  }
+
   public static byte[] serialize(LogReplicationRequest request) {
     return new SbeLogReplicationRequest(request).toBytes();
   }
@@ -10,6 +10,7 @@ package io.zeebe.broker.logstreams.restore;
 import static io.zeebe.clustering.management.SnapshotRestoreRequestEncoder.chunkIdxNullValue;
 import static io.zeebe.clustering.management.SnapshotRestoreRequestEncoder.snapshotIdNullValue;
 
+import io.zeebe.clustering.management.BooleanType;
 import io.zeebe.clustering.management.SnapshotRestoreRequestDecoder;
 import io.zeebe.clustering.management.SnapshotRestoreRequestEncoder;
 import io.zeebe.distributedlog.restore.snapshot.SnapshotRestoreRequest;
@@ -38,6 +39,7 @@ public class SbeSnapshotRestoreRequest
     this();
     setChunkIdx(request.getChunkIdx());
     setSnapshotId(request.getSnapshotId());
+    setCompressionSupported(request.isCompressionSupported());
   }
 
   public SbeSnapshotRestoreRequest(byte[] bytes) {
@@ -50,6 +52,7 @@ public class SbeSnapshotRestoreRequest
     super.reset();
     setSnapshotId(snapshotIdNullValue());
     setChunkIdx(chunkIdxNullValue());
+    setCompressionSupported(false);
   }
 
   @Override
@@ -57,6 +60,8 @@ public class SbeSnapshotRestoreRequest
     super.wrap(buffer, offset, length);
     setSnapshotId(decoder.snapshotId());
     setChunkIdx(decoder.chunkIdx());
+    // requests of older versions don't contain the flag
+    setCompressionSupported(decoder.compressionSupported() == BooleanType.TRUE);
   }
 
   @Override
@@ -64,6 +69,7 @@ public class SbeSnapshotRestoreRequest
     super.write(buffer, offset);
     encoder.snapshotId(getSnapshotId());
     encoder.chunkIdx(getChunkIdx());
+    encoder.compressionSupported(isCompressionSupported() ? BooleanType.TRUE : BooleanType.FALSE);
   }
 
   private void setChunkIdx(int chunkIdx) {
@@ -74,6 +80,10 @@ public class SbeSnapshotRestoreRequest
     delegate.setSnapshotId(snaphshotId);
   }
 
+  private void setCompressionSupported(boolean compressionSupported) {
+    delegate.setCompressionSupported(compressionSupported);
+  }
+
   @Override
   public long getSnapshotId() {
     return delegate.getSnapshotId();
@@ -84,6 +94,11 @@ public class SbeSnapshotRestoreRequest
     return delegate.getChunkIdx();
   }
 
+  @Override
+  public boolean isCompressionSupported() {
+    return delegate.isCompressionSupported();
+  }
+
   @Override
   public String toString() {
     return "SbeSnapshotRestoreRequest{" + "delegate=" + delegate + "} " + super.toString();
@@ -19,9 +19,11 @@ import io.prometheus.client.CollectorRegistry;
 import io.prometheus.client.hotspot.DefaultExports;
 import io.zeebe.broker.system.configuration.SocketBindingCfg;
 import io.zeebe.broker.system.management.LeaderManagementRequestHandler;
+import io.zeebe.broker.system.monitoring.ActorSchedulerMetrics;
 import io.zeebe.broker.system.monitoring.BrokerHealthCheckService;
 import io.zeebe.broker.system.monitoring.BrokerHttpServerService;
 import io.zeebe.servicecontainer.ServiceContainer;
+import io.zeebe.util.sched.ActorScheduler;
 
 public class SystemComponent implements Component {
 
@@ -36,6 +38,10 @@ public class SystemComponent implements Component {
   public void init(final SystemContext context) {
     final ServiceContainer serviceContainer = context.getServiceContainer();
 
+    final ActorScheduler scheduler = context.getScheduler();
+    ActorSchedulerMetrics.monitor(scheduler);
+    context.addResourceReleasingDelegate(() -> ActorSchedulerMetrics.unmonitor(scheduler));
+
     final BrokerHealthCheckService healthCheckService = new BrokerHealthCheckService();
     serviceContainer
         .createService(BROKER_HEALTH_CHECK_SERVICE, healthCheckService)
@@ -14,7 +14,9 @@ import io.zeebe.broker.system.configuration.SocketBindingCfg;
 import io.zeebe.broker.system.configuration.ThreadsCfg;
 import io.zeebe.servicecontainer.ServiceContainer;
 import io.zeebe.servicecontainer.impl.ServiceContainerImpl;
+import io.zeebe.util.DurationUtil;
 import io.zeebe.util.TomlConfigurationReader;
+import io.zeebe.util.sched.ActorIdleStrategy;
 import io.zeebe.util.sched.ActorScheduler;
 import io.zeebe.util.sched.clock.ActorClock;
 import io.zeebe.util.sched.future.ActorFuture;
@@ -131,6 +133,11 @@ public class SystemContext implements AutoCloseable {
         .setCpuBoundActorThreadCount(cpuThreads)
         .setIoBoundActorThreadCount(ioThreads)
         .setSchedulerName(brokerId)
+        .setBlockedActorThreshold(DurationUtil.parse(cfg.getBlockedActorThreshold()))
+        .setMigrateTasksOfBlockedThreads(cfg.isMigrateBlockedActors())
+        .setPinActors(cfg.isPinPartitionActors())
+        .setCpuBoundIdleStrategy(ActorIdleStrategy.parse(cfg.getCpuIdleStrategy()))
+        .setIoBoundIdleStrategy(ActorIdleStrategy.parse(cfg.getIoIdleStrategy()))
         .build();
   }
 
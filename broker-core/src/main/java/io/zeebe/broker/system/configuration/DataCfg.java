@@ -27,6 +27,8 @@ public class DataCfg implements ConfigurationEntry {
 
   private int maxSnapshots = 3;
 
+  private boolean hotStandby = false;
+
   @Override
   public void init(BrokerCfg globalConfig, String brokerBase, Environment environment) {
     applyEnvironment(environment);
@@ -77,6 +79,14 @@ public class DataCfg implements ConfigurationEntry {
     return maxSnapshots;
   }
 
+  public boolean isHotStandby() {
+    return hotStandby;
+  }
+
+  public void setHotStandby(boolean hotStandby) {
+    this.hotStandby = hotStandby;
+  }
+
   public String getRaftSegmentSize() {
     return raftSegmentSize;
   }
@@ -102,6 +112,8 @@ public class DataCfg implements ConfigurationEntry {
         + ", maxSnapshots='"
         + maxSnapshots
         + '\''
+        + ", hotStandby="
+        + hotStandby
         + '}';
   }
 }
@@ -31,6 +31,13 @@ public class ExporterCfg implements ConfigurationEntry {
   /** map of arguments to use when instantiating the exporter */
   private Map<String, Object> args;
 
+  /**
+   * if true, the exporter reads the log with its own reader on its own actor and progresses
+   * independently of the other exporters; otherwise it shares the reader with all other exporters
+   * which are not isolated, and a slow exporter holds back the others
+   */
+  private boolean isolated = false;
+
   @Override
   public void init(BrokerCfg globalConfig, String brokerBase, Environment environment) {
     if (isExternal()) {
@@ -74,6 +81,14 @@ public class ExporterCfg implements ConfigurationEntry {
     this.args = args;
   }
 
+  public boolean isIsolated() {
+    return isolated;
+  }
+
+  public void setIsolated(boolean isolated) {
+    this.isolated = isolated;
+  }
+
   private boolean isEmpty(final String value) {
     return value == null || value.isEmpty();
   }
@@ -92,6 +107,8 @@ public class ExporterCfg implements ConfigurationEntry {
         + '\''
         + ", args="
         + args
+        + ", isolated="
+        + isolated
         + '}';
   }
 }
@@ -22,8 +22,12 @@ public class NetworkCfg implements ConfigurationEntry {
   public static final int DEFAULT_INTERNAL_API_PORT = 26502;
   public static final int DEFAULT_MONITORING_API_PORT = 9600;
 
+  public static final String TRANSPORT_ZEEBE = "zeebe";
+  public static final String TRANSPORT_NETTY = "netty";
+
   private String host = DEFAULT_HOST;
   private int portOffset = 0;
+  private String transport = TRANSPORT_ZEEBE;
 
   private CommandApiCfg commandApi = new CommandApiCfg();
   private InternalApiCfg internalApi = new InternalApiCfg();
@@ -33,6 +37,14 @@ public class NetworkCfg implements ConfigurationEntry {
   public void init(
       final BrokerCfg brokerCfg, final String brokerBase, final Environment environment) {
     applyEnvironment(environment);
+
+    if (!TRANSPORT_ZEEBE.equals(transport) && !TRANSPORT_NETTY.equals(transport)) {
+      throw new IllegalArgumentException(
+          String.format(
+              "Expected transport to be one of '%s' or '%s', but was '%s'",
+              TRANSPORT_ZEEBE, TRANSPORT_NETTY, transport));
+    }
+
     commandApi.applyDefaults(this);
     internalApi.applyDefaults(this);
     monitoringApi.applyDefaults(this);
@@ -59,7 +71,19 @@ public class NetworkCfg implements ConfigurationEntry {
     this.portOffset = portOffset;
   }
 
-  public SocketBindingCfg getCommandApi() {
+  public String getTransport() {
+    return transport;
+  }
+
+  public void setTransport(final String transport) {
+    this.transport = transport;
+  }
+
+  public boolean useNettyTransport() {
+    return TRANSPORT_NETTY.equals(transport);
+  }
+
+  public CommandApiCfg getCommandApi() {
     return commandApi;
   }
 
@@ -91,6 +115,9 @@ public class NetworkCfg implements ConfigurationEntry {
         + '\''
         + ", portOffset="
         + portOffset
+        + ", transport='"
+        + transport
+        + '\''
         + ", commandApi="
         + commandApi
         + ", internalApi="
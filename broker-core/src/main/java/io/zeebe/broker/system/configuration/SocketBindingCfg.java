@@ -75,9 +75,47 @@ public class SocketBindingCfg {
   }
 
   public static class CommandApiCfg extends SocketBindingCfg {
+    private int receivers = 1;
+    private String receiverAssignment = "round-robin";
+
     public CommandApiCfg() {
       super(NetworkCfg.DEFAULT_COMMAND_API_PORT);
     }
+
+    public int getReceivers() {
+      return receivers;
+    }
+
+    public void setReceivers(int receivers) {
+      this.receivers = receivers;
+    }
+
+    public String getReceiverAssignment() {
+      return receiverAssignment;
+    }
+
+    public void setReceiverAssignment(String receiverAssignment) {
+      this.receiverAssignment = receiverAssignment;
+    }
+
+    @Override
+    public String toString() {
+      return "CommandApiCfg{"
+          + "host='"
+          + host
+          + '\''
+          + ", port="
+          + port
+          + ", sendBufferSize='"
+          + sendBufferSize
+          + '\''
+          + ", receivers="
+          + receivers
+          + ", receiverAssignment='"
+          + receiverAssignment
+          + '\''
+          + '}';
+    }
   }
 
   public static class InternalApiCfg extends SocketBindingCfg {
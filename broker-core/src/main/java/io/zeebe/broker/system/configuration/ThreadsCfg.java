@@ -10,6 +10,11 @@ package io.zeebe.broker.system.configuration;
 public class ThreadsCfg implements ConfigurationEntry {
   private int cpuThreadCount = 2;
   private int ioThreadCount = 2;
+  private String blockedActorThreshold = "5s";
+  private boolean migrateBlockedActors = false;
+  private boolean pinPartitionActors = false;
+  private String cpuIdleStrategy = "backoff";
+  private String ioIdleStrategy = "backoff";
 
   public int getCpuThreadCount() {
     return cpuThreadCount;
@@ -27,6 +32,46 @@ public class ThreadsCfg implements ConfigurationEntry {
     this.ioThreadCount = ioThreads;
   }
 
+  public String getBlockedActorThreshold() {
+    return blockedActorThreshold;
+  }
+
+  public void setBlockedActorThreshold(String blockedActorThreshold) {
+    this.blockedActorThreshold = blockedActorThreshold;
+  }
+
+  public boolean isMigrateBlockedActors() {
+    return migrateBlockedActors;
+  }
+
+  public void setMigrateBlockedActors(boolean migrateBlockedActors) {
+    this.migrateBlockedActors = migrateBlockedActors;
+  }
+
+  public boolean isPinPartitionActors() {
+    return pinPartitionActors;
+  }
+
+  public void setPinPartitionActors(boolean pinPartitionActors) {
+    this.pinPartitionActors = pinPartitionActors;
+  }
+
+  public String getCpuIdleStrategy() {
+    return cpuIdleStrategy;
+  }
+
+  public void setCpuIdleStrategy(String cpuIdleStrategy) {
+    this.cpuIdleStrategy = cpuIdleStrategy;
+  }
+
+  public String getIoIdleStrategy() {
+    return ioIdleStrategy;
+  }
+
+  public void setIoIdleStrategy(String ioIdleStrategy) {
+    this.ioIdleStrategy = ioIdleStrategy;
+  }
+
   @Override
   public String toString() {
     return "ThreadsCfg{"
@@ -34,6 +79,19 @@ public class ThreadsCfg implements ConfigurationEntry {
         + cpuThreadCount
         + ", ioThreadCount="
         + ioThreadCount
+        + ", blockedActorThreshold='"
+        + blockedActorThreshold
+        + '\''
+        + ", migrateBlockedActors="
+        + migrateBlockedActors
+        + ", pinPartitionActors="
+        + pinPartitionActors
+        + ", cpuIdleStrategy='"
+        + cpuIdleStrategy
+        + '\''
+        + ", ioIdleStrategy='"
+        + ioIdleStrategy
+        + '\''
         + '}';
   }
 }
@@ -0,0 +1,231 @@
+/*
+ * Copyright Camunda Services GmbH and/or licensed to Camunda Services GmbH under
+ * one or more contributor license agreements. See the NOTICE file distributed
+ * with this work for additional information regarding copyright ownership.
+ * Licensed under the Zeebe Community License 1.0. You may not use this file
+ * except in compliance with the Zeebe Community License 1.0.
+ */
+package io.zeebe.broker.system.monitoring;
+
+import io.prometheus.client.Collector;
+import io.prometheus.client.CollectorRegistry;
+import io.zeebe.util.sched.ActorScheduler;
+import io.zeebe.util.sched.ActorTask;
+import io.zeebe.util.sched.ActorTaskMetrics;
+import io.zeebe.util.sched.ActorThread;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Map.Entry;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.CopyOnWriteArraySet;
+
+/**
+ * Samples the runtime statistics of the actors and actor threads of the monitored schedulers when
+ * the metrics are scraped, so the actor threads only maintain plain counters.
+ */
+public final class ActorSchedulerMetrics extends Collector {
+  private static final String NAMESPACE = "zeebe";
+  private static final double NANOS_PER_SECOND = 1_000_000_000.0;
+
+  private static final List<String> ACTOR_LABELS = Arrays.asList("scheduler", "actor");
+  private static final List<String> THREAD_LABELS = Arrays.asList("scheduler", "thread");
+
+  private static final ActorSchedulerMetrics INSTANCE =
+      new ActorSchedulerMetrics().register(CollectorRegistry.defaultRegistry);
+
+  private final Set<ActorScheduler> schedulers = new CopyOnWriteArraySet<>();
+
+  public static void monitor(ActorScheduler scheduler) {
+    INSTANCE.schedulers.add(scheduler);
+  }
+
+  public static void unmonitor(ActorScheduler scheduler) {
+    INSTANCE.schedulers.remove(scheduler);
+  }
+
+  @Override
+  public List<MetricFamilySamples> collect() {
+    final List<MetricFamilySamples.Sample> executionTime = new ArrayList<>();
+    final List<MetricFamilySamples.Sample> executions = new ArrayList<>();
+    final List<MetricFamilySamples.Sample> executedJobs = new ArrayList<>();
+    final List<MetricFamilySamples.Sample> yields = new ArrayList<>();
+    final List<MetricFamilySamples.Sample> queuedJobs = new ArrayList<>();
+    final List<MetricFamilySamples.Sample> blocked = new ArrayList<>();
+    final List<MetricFamilySamples.Sample> busyTime = new ArrayList<>();
+    final List<MetricFamilySamples.Sample> executedTasks = new ArrayList<>();
+    final List<MetricFamilySamples.Sample> timers = new ArrayList<>();
+    final List<MetricFamilySamples.Sample> wakeups = new ArrayList<>();
+    final List<MetricFamilySamples.Sample> wakeupLatency = new ArrayList<>();
+
+    for (final ActorScheduler scheduler : schedulers) {
+      for (final Entry<String, ActorStatistics> entry : sampleActors(scheduler).entrySet()) {
+        final List<String> labels = Arrays.asList(scheduler.getName(), entry.getKey());
+        final ActorStatistics statistics = entry.getValue();
+
+        executionTime.add(
+            sample(
+                "actor_execution_seconds_total",
+                ACTOR_LABELS,
+                labels,
+                statistics.executionTimeNanos / NANOS_PER_SECOND));
+        executions.add(
+            sample("actor_executions_total", ACTOR_LABELS, labels, statistics.executionCount));
+        executedJobs.add(
+            sample(
+                "actor_executed_jobs_total", ACTOR_LABELS, labels, statistics.executedJobsCount));
+        yields.add(sample("actor_yields_total", ACTOR_LABELS, labels, statistics.yieldCount));
+        queuedJobs.add(
+            sample("actor_queued_jobs", ACTOR_LABELS, labels, statistics.submittedJobsCount));
+        blocked.add(sample("actor_blocked_total", ACTOR_LABELS, labels, statistics.blockedCount));
+      }
+
+      for (final ActorThread thread : scheduler.getActorThreads()) {
+        final List<String> labels = Arrays.asList(scheduler.getName(), thread.getName());
+
+        busyTime.add(
+            sample(
+                "actor_thread_busy_seconds_total",
+                THREAD_LABELS,
+                labels,
+                thread.getBusyTimeNanos() / NANOS_PER_SECOND));
+        executedTasks.add(
+            sample(
+                "actor_thread_executed_tasks_total",
+                THREAD_LABELS,
+                labels,
+                thread.getExecutedTasksCount()));
+        timers.add(sample("actor_thread_timers", THREAD_LABELS, labels, thread.getTimerCount()));
+        wakeups.add(
+            sample("actor_thread_wakeups_total", THREAD_LABELS, labels, thread.getWakeupCount()));
+        wakeupLatency.add(
+            sample(
+                "actor_thread_wakeup_latency_seconds_total",
+                THREAD_LABELS,
+                labels,
+                thread.getWakeupLatencyNanos() / NANOS_PER_SECOND));
+      }
+    }
+
+    final List<MetricFamilySamples> familySamples = new ArrayList<>();
+    familySamples.add(
+        family(
+            "actor_execution_seconds_total",
+            Type.COUNTER,
+            "Time spent executing the actor",
+            executionTime));
+    familySamples.add(
+        family(
+            "actor_executions_total",
+            Type.COUNTER,
+            "Number of times the actor was picked up by an actor thread",
+            executions));
+    familySamples.add(
+        family(
+            "actor_executed_jobs_total",
+            Type.COUNTER,
+            "Number of jobs executed by the actor",
+            executedJobs));
+    familySamples.add(
+        family(
+            "actor_yields_total",
+            Type.COUNTER,
+            "Number of times the actor yielded its thread with jobs left to execute",
+            yields));
+    familySamples.add(
+        family(
+            "actor_queued_jobs",
+            Type.GAUGE,
+            "Number of jobs submitted to the actor which are not executed yet",
+            queuedJobs));
+    familySamples.add(
+        family(
+            "actor_blocked_total",
+            Type.COUNTER,
+            "Number of times the actor blocked its thread for longer than the threshold",
+            blocked));
+    familySamples.add(
+        family(
+            "actor_thread_busy_seconds_total",
+            Type.COUNTER,
+            "Time the actor thread spent executing actors",
+            busyTime));
+    familySamples.add(
+        family(
+            "actor_thread_executed_tasks_total",
+            Type.COUNTER,
+            "Number of actor executions on the actor thread",
+            executedTasks));
+    familySamples.add(
+        family(
+            "actor_thread_timers",
+            Type.GAUGE,
+            "Number of timers scheduled on the actor thread",
+            timers));
+
+    familySamples.add(
+        family(
+            "actor_thread_wakeups_total",
+            Type.COUNTER,
+            "Number of times the idle actor thread was woken up by submitted work",
+            wakeups));
+    familySamples.add(
+        family(
+            "actor_thread_wakeup_latency_seconds_total",
+            Type.COUNTER,
+            "Time between submitting work to the idle actor thread and executing it",
+            wakeupLatency));
+
+    return Collections.unmodifiableList(familySamples);
+  }
+
+  /**
+   * Sums up the statistics of actors with the same name, including the closed ones, so that the
+   * totals of an actor don't drop when it is closed or restarted.
+   */
+  private static Map<String, ActorStatistics> sampleActors(ActorScheduler scheduler) {
+    final Map<String, ActorStatistics> statistics = new TreeMap<>();
+
+    scheduler.sampleActorTasks(
+        task -> statistics.computeIfAbsent(task.getName(), name -> new ActorStatistics()).add(task),
+        (name, metrics) ->
+            statistics.computeIfAbsent(name, n -> new ActorStatistics()).add(metrics));
+
+    return statistics;
+  }
+
+  private static MetricFamilySamples.Sample sample(
+      String name, List<String> labelNames, List<String> labelValues, double value) {
+    return new MetricFamilySamples.Sample(NAMESPACE + "_" + name, labelNames, labelValues, value);
+  }
+
+  private static MetricFamilySamples family(
+      String name, Type type, String help, List<MetricFamilySamples.Sample> samples) {
+    return new MetricFamilySamples(NAMESPACE + "_" + name, type, help, samples);
+  }
+
+  private static final class ActorStatistics {
+    private long executionTimeNanos;
+    private long executionCount;
+    private long executedJobsCount;
+    private long yieldCount;
+    private long submittedJobsCount;
+    private long blockedCount;
+
+    private void add(ActorTask task) {
+      add(task.getMetrics());
+      submittedJobsCount += task.getSubmittedJobsCount();
+    }
+
+    private void add(ActorTaskMetrics metrics) {
+      executionTimeNanos += metrics.getExecutionTimeNanos();
+      executionCount += metrics.getExecutionCount();
+      executedJobsCount += metrics.getExecutedJobsCount();
+      yieldCount += metrics.getYieldCount();
+      blockedCount += metrics.getBlockedCount();
+    }
+  }
+}
@@ -12,6 +12,7 @@ import io.zeebe.servicecontainer.Service;
 import io.zeebe.servicecontainer.ServiceStartContext;
 import io.zeebe.servicecontainer.ServiceStopContext;
 import io.zeebe.transport.Loggers;
+import io.zeebe.transport.ReceiverAssignment;
 import io.zeebe.transport.ServerMessageHandler;
 import io.zeebe.transport.ServerRequestHandler;
 import io.zeebe.transport.ServerTransport;
@@ -30,16 +31,37 @@ public class ServerTransportService implements Service<ServerTransport> {
   protected final Injector<ServerMessageHandler> messageHandlerInjector = new Injector<>();
 
   protected final String readableName;
+  private final boolean useNetty;
   protected final InetSocketAddress bindAddress;
   private final ByteValue sendBufferSize;
+  private final int receivers;
+  private final ReceiverAssignment receiverAssignment;
 
   protected ServerTransport serverTransport;
 
   public ServerTransportService(
       String readableName, InetSocketAddress bindAddress, ByteValue sendBufferSize) {
+    this(readableName, false, bindAddress, sendBufferSize, 1, ReceiverAssignment.ROUND_ROBIN);
+  }
+
+  /**
+   * @param useNetty if true, the transport is built on top of Netty, which reads and writes the
+   *     channels with {@code receivers} event loop threads; the send buffer size and the receiver
+   *     assignment only apply to the default transport
+   */
+  public ServerTransportService(
+      String readableName,
+      boolean useNetty,
+      InetSocketAddress bindAddress,
+      ByteValue sendBufferSize,
+      int receivers,
+      ReceiverAssignment receiverAssignment) {
     this.readableName = readableName;
+    this.useNetty = useNetty;
     this.bindAddress = bindAddress;
     this.sendBufferSize = sendBufferSize;
+    this.receivers = receivers;
+    this.receiverAssignment = receiverAssignment;
   }
 
   @Override
@@ -48,13 +70,24 @@ public class ServerTransportService implements Service<ServerTransport> {
     final ServerRequestHandler requestHandler = requestHandlerInjector.getValue();
     final ServerMessageHandler messageHandler = messageHandlerInjector.getValue();
 
-    serverTransport =
-        Transports.newServerTransport()
-            .name(readableName)
-            .bindAddress(bindAddress)
-            .scheduler(scheduler)
-            .messageMemoryPool(new NonBlockingMemoryPool(sendBufferSize))
-            .build(messageHandler, requestHandler);
+    if (useNetty) {
+      serverTransport =
+          Transports.newNettyServerTransport()
+              .name(readableName)
+              .bindAddress(bindAddress)
+              .ioThreads(receivers)
+              .build(messageHandler, requestHandler);
+    } else {
+      serverTransport =
+          Transports.newServerTransport()
+              .name(readableName)
+              .bindAddress(bindAddress)
+              .scheduler(scheduler)
+              .messageMemoryPool(new NonBlockingMemoryPool(sendBufferSize))
+              .receivers(receivers)
+              .receiverAssignment(receiverAssignment)
+              .build(messageHandler, requestHandler);
+    }
 
     LOG.info("Bound {} to {}", readableName, bindAddress);
   }
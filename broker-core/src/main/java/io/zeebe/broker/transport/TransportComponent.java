@@ -14,10 +14,11 @@ import static io.zeebe.broker.transport.TransportServiceNames.COMMAND_API_SERVER
 import io.zeebe.broker.system.Component;
 import io.zeebe.broker.system.SystemContext;
 import io.zeebe.broker.system.configuration.NetworkCfg;
-import io.zeebe.broker.system.configuration.SocketBindingCfg;
+import io.zeebe.broker.system.configuration.SocketBindingCfg.CommandApiCfg;
 import io.zeebe.broker.transport.commandapi.CommandApiMessageHandlerService;
 import io.zeebe.servicecontainer.ServiceContainer;
 import io.zeebe.servicecontainer.ServiceName;
+import io.zeebe.transport.ReceiverAssignment;
 import io.zeebe.transport.ServerMessageHandler;
 import io.zeebe.transport.ServerRequestHandler;
 import io.zeebe.transport.ServerTransport;
@@ -41,6 +42,7 @@ public class TransportComponent implements Component {
             context,
             serviceContainer,
             COMMAND_API_SERVER_NAME,
+            networkCfg.useNettyTransport(),
             networkCfg.getCommandApi(),
             COMMAND_API_MESSAGE_HANDLER,
             COMMAND_API_MESSAGE_HANDLER);
@@ -60,7 +62,8 @@ public class TransportComponent implements Component {
       final SystemContext systemContext,
       final ServiceContainer serviceContainer,
       final String name,
-      final SocketBindingCfg socketBindingCfg,
+      final boolean useNetty,
+      final CommandApiCfg socketBindingCfg,
       final ServiceName<? extends ServerRequestHandler> requestHandlerService,
       final ServiceName<? extends ServerMessageHandler> messageHandlerService) {
 
@@ -70,8 +73,11 @@ public class TransportComponent implements Component {
         systemContext,
         serviceContainer,
         name,
+        useNetty,
         bindAddr.toInetSocketAddress(),
         new ByteValue(socketBindingCfg.getSendBufferSize()),
+        socketBindingCfg.getReceivers(),
+        ReceiverAssignment.parse(socketBindingCfg.getReceiverAssignment()),
         requestHandlerService,
         messageHandlerService);
   }
@@ -80,12 +86,16 @@ public class TransportComponent implements Component {
       final SystemContext systemContext,
       final ServiceContainer serviceContainer,
       final String name,
+      final boolean useNetty,
       final InetSocketAddress bindAddress,
       final ByteValue sendBufferSize,
+      final int receivers,
+      final ReceiverAssignment receiverAssignment,
       final ServiceName<? extends ServerRequestHandler> requestHandlerDependency,
       final ServiceName<? extends ServerMessageHandler> messageHandlerDependency) {
     final ServerTransportService service =
-        new ServerTransportService(name, bindAddress, sendBufferSize);
+        new ServerTransportService(
+            name, useNetty, bindAddress, sendBufferSize, receivers, receiverAssignment);
 
     systemContext.addResourceReleasingDelegate(service.getReleasingResourcesDelegate());
 
@@ -7,10 +7,13 @@
  */
 package io.zeebe.broker.transport.commandapi;
 
+import static io.zeebe.dispatcher.impl.log.DataFrameDescriptor.FRAME_ALIGNMENT;
+import static io.zeebe.dispatcher.impl.log.DataFrameDescriptor.alignedFramedLength;
+import static io.zeebe.logstreams.impl.LogEntryDescriptor.headerLength;
+
 import io.zeebe.broker.Loggers;
+import io.zeebe.logstreams.impl.LogEntryDescriptor;
 import io.zeebe.logstreams.log.LogStream;
-import io.zeebe.logstreams.log.LogStreamRecordWriter;
-import io.zeebe.logstreams.log.LogStreamWriterImpl;
 import io.zeebe.msgpack.UnpackedObject;
 import io.zeebe.protocol.Protocol;
 import io.zeebe.protocol.impl.record.RecordMetadata;
@@ -32,179 +35,275 @@ import io.zeebe.transport.ServerMessageHandler;
 import io.zeebe.transport.ServerOutput;
 import io.zeebe.transport.ServerRequestHandler;
 import java.util.EnumMap;
-import java.util.function.Consumer;
 import org.agrona.DirectBuffer;
 import org.agrona.collections.Int2ObjectHashMap;
-import org.agrona.concurrent.ManyToOneConcurrentLinkedQueue;
 import org.slf4j.Logger;
 
+/**
+ * Writes the commands of the command API to the log streams of the partitions this broker leads.
+ *
+ * <p>The command API transport may read its channels with more than one receiver, which call this
+ * handler concurrently. Therefore, the decoders and writers are kept per thread, and the leading
+ * partitions are replaced as a whole whenever they change.
+ *
+ * <p>Consecutive commands for the same partition which are read from a channel at once are
+ * validated one by one, but written to the log stream as one batch, with a single claim on its
+ * write buffer, once all of them are received. If the batch can't be written, the commands are
+ * passed to the handler again, like a single command which can't be written.
+ */
 public class CommandApiMessageHandler implements ServerMessageHandler, ServerRequestHandler {
   private static final Logger LOG = Loggers.TRANSPORT_LOGGER;
 
-  protected final MessageHeaderDecoder messageHeaderDecoder = new MessageHeaderDecoder();
-  protected final ExecuteCommandRequestDecoder executeCommandRequestDecoder =
-      new ExecuteCommandRequestDecoder();
-  protected final ManyToOneConcurrentLinkedQueue<Runnable> cmdQueue =
-      new ManyToOneConcurrentLinkedQueue<>();
-  protected final Consumer<Runnable> cmdConsumer = Runnable::run;
+  private final ThreadLocal<RequestHandler> requestHandlers =
+      ThreadLocal.withInitial(RequestHandler::new);
 
-  protected final Int2ObjectHashMap<LogStream> leadingStreams = new Int2ObjectHashMap<>();
-  protected final RecordMetadata eventMetadata = new RecordMetadata();
-  protected final LogStreamRecordWriter logStreamWriter = new LogStreamWriterImpl();
+  private volatile Int2ObjectHashMap<LogStream> leadingStreams = new Int2ObjectHashMap<>();
 
-  protected final ErrorResponseWriter errorResponseWriter = new ErrorResponseWriter();
+  public synchronized void addPartition(LogStream logStream) {
+    final Int2ObjectHashMap<LogStream> streams = new Int2ObjectHashMap<>(leadingStreams);
+    streams.put(logStream.getPartitionId(), logStream);
+    leadingStreams = streams;
+  }
 
-  protected final EnumMap<ValueType, UnpackedObject> recordsByType = new EnumMap<>(ValueType.class);
+  public synchronized void removePartition(LogStream logStream) {
+    final Int2ObjectHashMap<LogStream> streams = new Int2ObjectHashMap<>(leadingStreams);
+    streams.remove(logStream.getPartitionId());
+    leadingStreams = streams;
+  }
 
-  public CommandApiMessageHandler() {
-    initEventTypeMap();
+  @Override
+  public boolean onRequest(
+      final ServerOutput output,
+      final RemoteAddress remoteAddress,
+      final DirectBuffer buffer,
+      final int offset,
+      final int length,
+      final long requestId) {
+    return requestHandlers
+        .get()
+        .onRequest(output, remoteAddress, buffer, offset, length, requestId);
   }
 
-  private void initEventTypeMap() {
-    recordsByType.put(ValueType.DEPLOYMENT, new DeploymentRecord());
-    recordsByType.put(ValueType.JOB, new JobRecord());
-    recordsByType.put(ValueType.WORKFLOW_INSTANCE, new WorkflowInstanceRecord());
-    recordsByType.put(ValueType.MESSAGE, new MessageRecord());
-    recordsByType.put(ValueType.JOB_BATCH, new JobBatchRecord());
-    recordsByType.put(ValueType.INCIDENT, new IncidentRecord());
-    recordsByType.put(ValueType.VARIABLE_DOCUMENT, new VariableDocumentRecord());
-    recordsByType.put(ValueType.WORKFLOW_INSTANCE_CREATION, new WorkflowInstanceCreationRecord());
+  @Override
+  public int onRequestsReceived() {
+    return requestHandlers.get().onRequestsReceived();
   }
 
-  private boolean handleExecuteCommandRequest(
+  @Override
+  public boolean onMessage(
       final ServerOutput output,
-      final RemoteAddress requestAddress,
-      final long requestId,
-      final RecordMetadata eventMetadata,
+      final RemoteAddress remoteAddress,
       final DirectBuffer buffer,
-      final int messageOffset,
-      final int messageLength) {
-    executeCommandRequestDecoder.wrap(
-        buffer,
-        messageOffset + messageHeaderDecoder.encodedLength(),
-        messageHeaderDecoder.blockLength(),
-        messageHeaderDecoder.version());
-
-    final int partitionId = executeCommandRequestDecoder.partitionId();
-    final long key = executeCommandRequestDecoder.key();
-
-    final LogStream logStream = leadingStreams.get(partitionId);
-
-    if (logStream == null) {
-      return errorResponseWriter
-          .partitionLeaderMismatch(partitionId)
-          .tryWriteResponseOrLogFailure(output, requestAddress.getStreamId(), requestId);
-    }
+      final int offset,
+      final int length) {
+    // ignore; currently no incoming single-message client interactions
+    return true;
+  }
 
-    final ValueType eventType = executeCommandRequestDecoder.valueType();
-    final short intent = executeCommandRequestDecoder.intent();
-    final UnpackedObject event = recordsByType.get(eventType);
+  private final class RequestHandler {
+    private final MessageHeaderDecoder messageHeaderDecoder = new MessageHeaderDecoder();
+    private final ExecuteCommandRequestDecoder executeCommandRequestDecoder =
+        new ExecuteCommandRequestDecoder();
 
-    if (event == null) {
-      return errorResponseWriter
-          .unsupportedMessage(eventType.name(), recordsByType.keySet().toArray())
-          .tryWriteResponseOrLogFailure(output, requestAddress.getStreamId(), requestId);
-    }
+    private final RecordMetadata eventMetadata = new RecordMetadata();
 
-    final int eventOffset =
-        executeCommandRequestDecoder.limit() + ExecuteCommandRequestDecoder.valueHeaderLength();
-    final int eventLength = executeCommandRequestDecoder.valueLength();
+    private final CommandBatchWriter batchWriter = new CommandBatchWriter();
+    private LogStream batchLogStream;
+    private int batchCommandCount;
+    private int batchLength;
+    private int incompleteCommandCount;
 
-    event.reset();
+    private final ErrorResponseWriter errorResponseWriter = new ErrorResponseWriter();
 
-    try {
-      // verify that the event / command is valid
-      event.wrap(buffer, eventOffset, eventLength);
-    } catch (RuntimeException e) {
-      LOG.error("Failed to deserialize message of type {} in client API", eventType.name(), e);
+    private final EnumMap<ValueType, UnpackedObject> recordsByType = new EnumMap<>(ValueType.class);
 
-      return errorResponseWriter
-          .malformedRequest(e)
-          .tryWriteResponseOrLogFailure(output, requestAddress.getStreamId(), requestId);
+    private RequestHandler() {
+      initEventTypeMap();
     }
 
-    eventMetadata.recordType(RecordType.COMMAND);
-    eventMetadata.intent(Intent.fromProtocolValue(eventType, intent));
-    eventMetadata.valueType(eventType);
+    private void initEventTypeMap() {
+      recordsByType.put(ValueType.DEPLOYMENT, new DeploymentRecord());
+      recordsByType.put(ValueType.JOB, new JobRecord());
+      recordsByType.put(ValueType.WORKFLOW_INSTANCE, new WorkflowInstanceRecord());
+      recordsByType.put(ValueType.MESSAGE, new MessageRecord());
+      recordsByType.put(ValueType.JOB_BATCH, new JobBatchRecord());
+      recordsByType.put(ValueType.INCIDENT, new IncidentRecord());
+      recordsByType.put(ValueType.VARIABLE_DOCUMENT, new VariableDocumentRecord());
+      recordsByType.put(ValueType.WORKFLOW_INSTANCE_CREATION, new WorkflowInstanceCreationRecord());
+    }
 
-    logStreamWriter.wrap(logStream);
+    private boolean handleExecuteCommandRequest(
+        final ServerOutput output,
+        final RemoteAddress requestAddress,
+        final long requestId,
+        final RecordMetadata eventMetadata,
+        final DirectBuffer buffer,
+        final int messageOffset,
+        final int messageLength) {
+      executeCommandRequestDecoder.wrap(
+          buffer,
+          messageOffset + messageHeaderDecoder.encodedLength(),
+          messageHeaderDecoder.blockLength(),
+          messageHeaderDecoder.version());
+
+      final int partitionId = executeCommandRequestDecoder.partitionId();
+      final long key = executeCommandRequestDecoder.key();
+
+      final LogStream logStream = leadingStreams.get(partitionId);
+
+      // an error response is sent right away, so the commands before must be written first
+      if (logStream == null) {
+        return tryWriteBatch()
+            && errorResponseWriter
+                .partitionLeaderMismatch(partitionId)
+                .tryWriteResponseOrLogFailure(output, requestAddress.getStreamId(), requestId);
+      }
 
-    if (key != ExecuteCommandRequestDecoder.keyNullValue()) {
-      logStreamWriter.key(key);
-    } else {
-      logStreamWriter.keyNull();
-    }
+      final ValueType eventType = executeCommandRequestDecoder.valueType();
+      final short intent = executeCommandRequestDecoder.intent();
+      final UnpackedObject event = recordsByType.get(eventType);
 
-    final long eventPosition =
-        logStreamWriter
-            .metadataWriter(eventMetadata)
-            .value(buffer, eventOffset, eventLength)
-            .tryWrite();
+      if (event == null) {
+        return tryWriteBatch()
+            && errorResponseWriter
+                .unsupportedMessage(eventType.name(), recordsByType.keySet().toArray())
+                .tryWriteResponseOrLogFailure(output, requestAddress.getStreamId(), requestId);
+      }
 
-    return eventPosition >= 0;
-  }
+      final int eventOffset =
+          executeCommandRequestDecoder.limit() + ExecuteCommandRequestDecoder.valueHeaderLength();
+      final int eventLength = executeCommandRequestDecoder.valueLength();
 
-  public void addPartition(LogStream logStream) {
-    cmdQueue.add(() -> leadingStreams.put(logStream.getPartitionId(), logStream));
-  }
+      event.reset();
 
-  public void removePartition(LogStream logStream) {
-    cmdQueue.add(() -> leadingStreams.remove(logStream.getPartitionId()));
-  }
+      try {
+        // verify that the event / command is valid
+        event.wrap(buffer, eventOffset, eventLength);
+      } catch (RuntimeException e) {
+        LOG.error("Failed to deserialize message of type {} in client API", eventType.name(), e);
 
-  @Override
-  public boolean onRequest(
-      final ServerOutput output,
-      final RemoteAddress remoteAddress,
-      final DirectBuffer buffer,
-      final int offset,
-      final int length,
-      final long requestId) {
-    drainCommandQueue();
+        return tryWriteBatch()
+            && errorResponseWriter
+                .malformedRequest(e)
+                .tryWriteResponseOrLogFailure(output, requestAddress.getStreamId(), requestId);
+      }
 
-    messageHeaderDecoder.wrap(buffer, offset);
+      eventMetadata.recordType(RecordType.COMMAND);
+      eventMetadata.intent(Intent.fromProtocolValue(eventType, intent));
+      eventMetadata.valueType(eventType);
 
-    final int templateId = messageHeaderDecoder.templateId();
-    final int clientVersion = messageHeaderDecoder.version();
+      final int fragmentLength =
+          alignedFramedLength(headerLength(eventMetadata.getLength()) + eventLength)
+              + FRAME_ALIGNMENT;
 
-    if (clientVersion > Protocol.PROTOCOL_VERSION) {
-      return errorResponseWriter
-          .invalidClientVersion(Protocol.PROTOCOL_VERSION, clientVersion)
-          .tryWriteResponse(output, remoteAddress.getStreamId(), requestId);
+      if (logStream != batchLogStream || !fitsIntoBatch(logStream, fragmentLength)) {
+        if (!tryWriteBatch()) {
+          return false;
+        }
+        startBatch(logStream);
+      }
+
+      // the value is only referenced, the buffer is valid until onRequestsReceived() returns
+      batchWriter.add(
+          key != ExecuteCommandRequestDecoder.keyNullValue()
+              ? key
+              : LogEntryDescriptor.KEY_NULL_VALUE,
+          eventMetadata,
+          buffer,
+          eventOffset,
+          eventLength);
+
+      batchCommandCount += 1;
+      batchLength += fragmentLength;
+
+      return true;
     }
 
-    eventMetadata.reset();
-    eventMetadata.protocolVersion(clientVersion);
-    eventMetadata.requestId(requestId);
-    eventMetadata.requestStreamId(remoteAddress.getStreamId());
+    private boolean fitsIntoBatch(LogStream logStream, int fragmentLength) {
+      return batchLength + fragmentLength + FRAME_ALIGNMENT
+          < logStream.getWriteBuffer().getMaxFrameLength();
+    }
 
-    if (templateId == ExecuteCommandRequestDecoder.TEMPLATE_ID) {
-      return handleExecuteCommandRequest(
-          output, remoteAddress, requestId, eventMetadata, buffer, offset, length);
+    private void startBatch(LogStream logStream) {
+      batchWriter.wrap(logStream);
+      batchLogStream = logStream;
     }
 
-    return errorResponseWriter
-        .invalidMessageTemplate(templateId, ExecuteCommandRequestDecoder.TEMPLATE_ID)
-        .tryWriteResponse(output, remoteAddress.getStreamId(), requestId);
-  }
+    /**
+     * Writes the commands of the current batch. If they can't be written, they are discarded and
+     * reported as incomplete by {@link #onRequestsReceived()}, so that they are passed again.
+     */
+    private boolean tryWriteBatch() {
+      if (batchCommandCount == 0) {
+        return true;
+      }
 
-  @Override
-  public boolean onMessage(
-      final ServerOutput output,
-      final RemoteAddress remoteAddress,
-      final DirectBuffer buffer,
-      final int offset,
-      final int length) {
-    // ignore; currently no incoming single-message client interactions
-    return true;
-  }
+      boolean isWritten = true;
+
+      try {
+        isWritten = batchWriter.tryWrite() >= 0;
+      } catch (RuntimeException e) {
+        // the commands can't be written at all, like a single command which exceeds the buffer
+        LOG.error(
+            "Failed to write {} commands to partition {}",
+            batchCommandCount,
+            batchLogStream.getPartitionId(),
+            e);
+      }
 
-  private void drainCommandQueue() {
-    while (!cmdQueue.isEmpty()) {
-      final Runnable runnable = cmdQueue.poll();
-      if (runnable != null) {
-        cmdConsumer.accept(runnable);
+      if (!isWritten) {
+        incompleteCommandCount = batchCommandCount;
       }
+
+      batchWriter.reset();
+      batchLogStream = null;
+      batchCommandCount = 0;
+      batchLength = 0;
+
+      return isWritten;
+    }
+
+    private int onRequestsReceived() {
+      tryWriteBatch();
+
+      final int incompleteCommands = incompleteCommandCount;
+      incompleteCommandCount = 0;
+      return incompleteCommands;
+    }
+
+    private boolean onRequest(
+        final ServerOutput output,
+        final RemoteAddress remoteAddress,
+        final DirectBuffer buffer,
+        final int offset,
+        final int length,
+        final long requestId) {
+      messageHeaderDecoder.wrap(buffer, offset);
+
+      final int templateId = messageHeaderDecoder.templateId();
+      final int clientVersion = messageHeaderDecoder.version();
+
+      if (clientVersion > Protocol.PROTOCOL_VERSION) {
+        return tryWriteBatch()
+            && errorResponseWriter
+                .invalidClientVersion(Protocol.PROTOCOL_VERSION, clientVersion)
+                .tryWriteResponse(output, remoteAddress.getStreamId(), requestId);
+      }
+
+      eventMetadata.reset();
+      eventMetadata.protocolVersion(clientVersion);
+      eventMetadata.requestId(requestId);
+      eventMetadata.requestStreamId(remoteAddress.getStreamId());
+
+      if (templateId == ExecuteCommandRequestDecoder.TEMPLATE_ID) {
+        return handleExecuteCommandRequest(
+            output, remoteAddress, requestId, eventMetadata, buffer, offset, length);
+      }
+
+      return tryWriteBatch()
+          && errorResponseWriter
+              .invalidMessageTemplate(templateId, ExecuteCommandRequestDecoder.TEMPLATE_ID)
+              .tryWriteResponse(output, remoteAddress.getStreamId(), requestId);
     }
   }
 }
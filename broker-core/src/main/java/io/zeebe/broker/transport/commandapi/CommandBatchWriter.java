@@ -0,0 +1,169 @@
+/*
+ * Copyright Camunda Services GmbH and/or licensed to Camunda Services GmbH under
+ * one or more contributor license agreements. See the NOTICE file distributed
+ * with this work for additional information regarding copyright ownership.
+ * Licensed under the Zeebe Community License 1.0. You may not use this file
+ * except in compliance with the Zeebe Community License 1.0.
+ */
+package io.zeebe.broker.transport.commandapi;
+
+import static io.zeebe.dispatcher.impl.log.DataFrameDescriptor.alignedFramedLength;
+import static io.zeebe.dispatcher.impl.log.LogBufferAppender.RESULT_PADDING_AT_END_OF_PARTITION;
+import static io.zeebe.logstreams.impl.LogEntryDescriptor.headerLength;
+import static io.zeebe.logstreams.impl.LogEntryDescriptor.metadataOffset;
+import static io.zeebe.logstreams.impl.LogEntryDescriptor.setKey;
+import static io.zeebe.logstreams.impl.LogEntryDescriptor.setMetadataLength;
+import static io.zeebe.logstreams.impl.LogEntryDescriptor.setPosition;
+import static io.zeebe.logstreams.impl.LogEntryDescriptor.setSourceEventPosition;
+import static io.zeebe.logstreams.impl.LogEntryDescriptor.setTimestamp;
+import static io.zeebe.logstreams.impl.LogEntryDescriptor.valueOffset;
+
+import io.zeebe.dispatcher.ClaimedFragmentBatch;
+import io.zeebe.dispatcher.Dispatcher;
+import io.zeebe.logstreams.log.LogStream;
+import io.zeebe.util.buffer.BufferWriter;
+import io.zeebe.util.sched.clock.ActorClock;
+import java.util.Arrays;
+import org.agrona.DirectBuffer;
+import org.agrona.ExpandableArrayBuffer;
+import org.agrona.LangUtil;
+import org.agrona.MutableDirectBuffer;
+
+/**
+ * Writes the commands of one receive cycle to a log stream with a single claim on its write buffer.
+ *
+ * <p>Unlike {@link io.zeebe.logstreams.log.LogStreamBatchWriterImpl}, the values of the commands
+ * are not copied when they are added, but only referenced, and written straight into the claimed
+ * batch; so the buffers passed to {@link #add(long, BufferWriter, DirectBuffer, int, int)} must not
+ * change until the batch is written or reset. Only the small metadata is copied.
+ */
+class CommandBatchWriter {
+  private static final int INITIAL_CAPACITY = 16;
+
+  private final ClaimedFragmentBatch claimedBatch = new ClaimedFragmentBatch();
+  private final ExpandableArrayBuffer metadataBuffer = new ExpandableArrayBuffer();
+
+  private long[] keys = new long[INITIAL_CAPACITY];
+  private int[] metadataLengths = new int[INITIAL_CAPACITY];
+  private DirectBuffer[] values = new DirectBuffer[INITIAL_CAPACITY];
+  private int[] valueOffsets = new int[INITIAL_CAPACITY];
+  private int[] valueLengths = new int[INITIAL_CAPACITY];
+
+  private Dispatcher logWriteBuffer;
+  private int logId;
+
+  private int commandCount;
+  private int metadataBufferLength;
+  private int batchLength;
+
+  void wrap(final LogStream logStream) {
+    this.logWriteBuffer = logStream.getWriteBuffer();
+    this.logId = logStream.getPartitionId();
+
+    reset();
+  }
+
+  void add(
+      final long key,
+      final BufferWriter metadataWriter,
+      final DirectBuffer value,
+      final int valueOffset,
+      final int valueLength) {
+    if (commandCount == keys.length) {
+      grow();
+    }
+
+    final int metadataLength = metadataWriter.getLength();
+    metadataWriter.write(metadataBuffer, metadataBufferLength);
+    metadataBufferLength += metadataLength;
+
+    keys[commandCount] = key;
+    metadataLengths[commandCount] = metadataLength;
+    values[commandCount] = value;
+    valueOffsets[commandCount] = valueOffset;
+    valueLengths[commandCount] = valueLength;
+
+    batchLength += headerLength(metadataLength) + valueLength;
+    commandCount += 1;
+  }
+
+  /**
+   * Claims the batch and writes the commands into it. The commands are discarded afterwards, also
+   * if they can't be written.
+   *
+   * @return the position of the last command, or a negative value if the batch can't be claimed
+   */
+  long tryWrite() {
+    if (commandCount == 0) {
+      return 0;
+    }
+
+    long result;
+    do {
+      result = logWriteBuffer.claim(claimedBatch, commandCount, batchLength);
+    } while (result == RESULT_PADDING_AT_END_OF_PARTITION);
+
+    if (result >= 0) {
+      try {
+        result = writeCommands(claimedBatch.getBuffer());
+        claimedBatch.commit();
+      } catch (final Exception e) {
+        claimedBatch.abort();
+        LangUtil.rethrowUnchecked(e);
+      } finally {
+        reset();
+      }
+    } else {
+      reset();
+    }
+
+    return result;
+  }
+
+  private long writeCommands(final MutableDirectBuffer writeBuffer) {
+    long position = -1L;
+    int metadataOffset = 0;
+
+    for (int i = 0; i < commandCount; i++) {
+      final int metadataLength = metadataLengths[i];
+      final int fragmentLength = headerLength(metadataLength) + valueLengths[i];
+
+      final long nextFragmentPosition = claimedBatch.nextFragment(fragmentLength, logId);
+      final int bufferOffset = claimedBatch.getFragmentOffset();
+      position = nextFragmentPosition - alignedFramedLength(fragmentLength);
+
+      setPosition(writeBuffer, bufferOffset, position);
+      setSourceEventPosition(writeBuffer, bufferOffset, -1L);
+      setKey(writeBuffer, bufferOffset, keys[i]);
+      setTimestamp(writeBuffer, bufferOffset, ActorClock.currentTimeMillis());
+      setMetadataLength(writeBuffer, bufferOffset, (short) metadataLength);
+
+      if (metadataLength > 0) {
+        writeBuffer.putBytes(
+            metadataOffset(bufferOffset), metadataBuffer, metadataOffset, metadataLength);
+        metadataOffset += metadataLength;
+      }
+
+      writeBuffer.putBytes(
+          valueOffset(bufferOffset, metadataLength), values[i], valueOffsets[i], valueLengths[i]);
+    }
+
+    return position;
+  }
+
+  void reset() {
+    Arrays.fill(values, 0, commandCount, null);
+    commandCount = 0;
+    metadataBufferLength = 0;
+    batchLength = 0;
+  }
+
+  private void grow() {
+    final int capacity = keys.length * 2;
+    keys = Arrays.copyOf(keys, capacity);
+    metadataLengths = Arrays.copyOf(metadataLengths, capacity);
+    values = Arrays.copyOf(values, capacity);
+    valueOffsets = Arrays.copyOf(valueOffsets, capacity);
+    valueLengths = Arrays.copyOf(valueLengths, capacity);
+  }
+}
@@ -0,0 +1,77 @@
+/*
+ * Copyright Camunda Services GmbH and/or licensed to Camunda Services GmbH under
+ * one or more contributor license agreements. See the NOTICE file distributed
+ * with this work for additional information regarding copyright ownership.
+ * Licensed under the Zeebe Community License 1.0. You may not use this file
+ * except in compliance with the Zeebe Community License 1.0.
+ */
+package io.zeebe.broker.engine.impl;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import io.zeebe.broker.system.configuration.ClusterCfg;
+import io.zeebe.engine.processor.workflow.deployment.distribute.PendingDeploymentDistribution;
+import io.zeebe.engine.state.deployment.DeploymentsState;
+import io.zeebe.engine.util.ZeebeStateRule;
+import io.zeebe.util.buffer.BufferUtil;
+import io.zeebe.util.sched.future.ActorFuture;
+import org.agrona.DirectBuffer;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+
+public class StandbyDeploymentDistributorTest {
+
+  @Rule public final ZeebeStateRule stateRule = new ZeebeStateRule();
+
+  private DeploymentsState deploymentsState;
+  private StandbyDeploymentDistributor distributor;
+
+  @Before
+  public void setUp() {
+    final ClusterCfg clusterCfg = new ClusterCfg();
+    clusterCfg.setPartitionsCount(3);
+
+    deploymentsState = stateRule.getZeebeState().getDeploymentState();
+    distributor = new StandbyDeploymentDistributor(clusterCfg, deploymentsState);
+  }
+
+  @Test
+  public void shouldNeverCompletePush() {
+    // when
+    final ActorFuture<Void> pushed =
+        distributor.pushDeployment(1L, 10L, BufferUtil.wrapString("deployment"));
+
+    // then
+    assertThat(pushed.isDone()).isFalse();
+  }
+
+  @Test
+  public void shouldKeepDeploymentPendingForLeader() {
+    // given
+    final DirectBuffer deployment = BufferUtil.wrapString("deployment");
+
+    // when
+    distributor.pushDeployment(1L, 10L, deployment);
+
+    // then
+    final PendingDeploymentDistribution pending = deploymentsState.getPendingDeployment(1L);
+    assertThat(pending).isNotNull();
+    assertThat(pending.getDeployment()).isEqualTo(deployment);
+    assertThat(pending.getSourcePosition()).isEqualTo(10L);
+    assertThat(pending.decrementCount()).isEqualTo(1);
+  }
+
+  @Test
+  public void shouldRemovePendingDeployment() {
+    // given
+    distributor.pushDeployment(1L, 10L, BufferUtil.wrapString("deployment"));
+
+    // when
+    final PendingDeploymentDistribution removed = distributor.removePendingDeployment(1L);
+
+    // then
+    assertThat(removed.getSourcePosition()).isEqualTo(10L);
+    assertThat(deploymentsState.getPendingDeployment(1L)).isNull();
+  }
+}
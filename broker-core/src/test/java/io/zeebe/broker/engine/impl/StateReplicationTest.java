@@ -0,0 +1,86 @@
+/*
+ * Copyright Camunda Services GmbH and/or licensed to Camunda Services GmbH under
+ * one or more contributor license agreements. See the NOTICE file distributed
+ * with this work for additional information regarding copyright ownership.
+ * Licensed under the Zeebe Community License 1.0. You may not use this file
+ * except in compliance with the Zeebe Community License 1.0.
+ */
+package io.zeebe.broker.engine.impl;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import io.atomix.cluster.ClusterMembershipService;
+import io.atomix.cluster.Member;
+import io.atomix.cluster.MemberId;
+import io.atomix.cluster.messaging.ClusterEventService;
+import io.zeebe.protocol.impl.encoding.BrokerInfo;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Properties;
+import org.junit.Before;
+import org.junit.Test;
+
+public class StateReplicationTest {
+
+  private final ClusterMembershipService membershipService = mock(ClusterMembershipService.class);
+  private final Member localMember = broker(0, false);
+
+  private StateReplication replication;
+
+  @Before
+  public void setUp() {
+    when(membershipService.getLocalMember()).thenReturn(localMember);
+    replication = new StateReplication(mock(ClusterEventService.class), membershipService, 1);
+  }
+
+  @Test
+  public void shouldSupportCompressionIfAllBrokersAdvertiseIt() {
+    // given
+    givenMembers(localMember, broker(1, true), broker(2, true));
+
+    // when - then
+    assertThat(replication.isCompressionSupported()).isTrue();
+  }
+
+  @Test
+  public void shouldNotSupportCompressionIfAnyBrokerDoesNotAdvertiseIt() {
+    // given
+    givenMembers(localMember, broker(1, true), broker(2, false));
+
+    // when - then
+    assertThat(replication.isCompressionSupported()).isFalse();
+  }
+
+  @Test
+  public void shouldIgnoreMembersWhichAreNoBrokers() {
+    // given
+    givenMembers(localMember, broker(1, true), member(2, new Properties()));
+
+    // when - then
+    assertThat(replication.isCompressionSupported()).isTrue();
+  }
+
+  private void givenMembers(Member... members) {
+    when(membershipService.getMembers()).thenReturn(new HashSet<>(Arrays.asList(members)));
+  }
+
+  private static Member broker(int nodeId, boolean advertisesCompression) {
+    final Properties properties = new Properties();
+    new BrokerInfo().setNodeId(nodeId).writeIntoProperties(properties);
+
+    if (advertisesCompression) {
+      properties.setProperty(StateReplication.COMPRESSED_CHUNKS_PROPERTY, "true");
+    }
+
+    return member(nodeId, properties);
+  }
+
+  private static Member member(int nodeId, Properties properties) {
+    final Member member = mock(Member.class);
+    when(member.id()).thenReturn(MemberId.from(Integer.toString(nodeId)));
+    when(member.properties()).thenReturn(properties);
+    return member;
+  }
+}
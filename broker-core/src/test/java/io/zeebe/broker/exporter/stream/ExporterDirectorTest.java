@@ -10,17 +10,20 @@ package io.zeebe.broker.exporter.stream;
 import static io.zeebe.test.util.TestUtil.doRepeatedly;
 import static io.zeebe.test.util.TestUtil.waitUntil;
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.tuple;
 import static org.mockito.Mockito.any;
 import static org.mockito.Mockito.doAnswer;
 import static org.mockito.Mockito.spy;
 import static org.mockito.Mockito.timeout;
 import static org.mockito.Mockito.verify;
 
+import io.prometheus.client.CollectorRegistry;
 import io.zeebe.broker.exporter.repo.ExporterDescriptor;
 import io.zeebe.broker.exporter.util.ControlledTestExporter;
 import io.zeebe.broker.exporter.util.PojoConfigurationExporter;
 import io.zeebe.broker.exporter.util.PojoConfigurationExporter.PojoExporterConfiguration;
 import io.zeebe.engine.Loggers;
+import io.zeebe.exporter.api.RecordBatch;
 import io.zeebe.exporter.api.context.Context;
 import io.zeebe.protocol.impl.record.value.deployment.DeploymentRecord;
 import io.zeebe.protocol.impl.record.value.incident.IncidentRecord;
@@ -30,6 +33,7 @@ import io.zeebe.protocol.record.RecordType;
 import io.zeebe.protocol.record.ValueType;
 import io.zeebe.protocol.record.intent.DeploymentIntent;
 import io.zeebe.protocol.record.intent.IncidentIntent;
+import io.zeebe.protocol.record.intent.Intent;
 import io.zeebe.protocol.record.intent.JobIntent;
 import java.time.Duration;
 import java.util.ArrayList;
@@ -38,6 +42,7 @@ import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
 import java.util.concurrent.CountDownLatch;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicLong;
@@ -73,10 +78,15 @@ public class ExporterDirectorTest {
   }
 
   private void createExporter(final String exporterId, final Map<String, Object> arguments) {
+    createExporter(exporterId, arguments, false);
+  }
+
+  private void createExporter(
+      final String exporterId, final Map<String, Object> arguments, final boolean isolated) {
     final ControlledTestExporter exporter = spy(new ControlledTestExporter());
 
     final ExporterDescriptor descriptor =
-        spy(new ExporterDescriptor(exporterId, exporter.getClass(), arguments));
+        spy(new ExporterDescriptor(exporterId, exporter.getClass(), arguments, isolated));
     doAnswer(c -> exporter).when(descriptor).newInstance();
 
     exporters.add(exporter);
@@ -203,6 +213,46 @@ public class ExporterDirectorTest {
         .contains(deploymentEvent, jobEvent);
   }
 
+  @Test
+  public void shouldApplyIntentFilter() {
+    // given
+    exporters
+        .get(0)
+        .onConfigure(
+            context ->
+                context.setFilter(
+                    new Context.RecordFilter() {
+                      @Override
+                      public boolean acceptType(RecordType recordType) {
+                        return true;
+                      }
+
+                      @Override
+                      public boolean acceptValue(ValueType valueType) {
+                        return valueType == ValueType.JOB;
+                      }
+
+                      @Override
+                      public boolean acceptIntent(Intent intent) {
+                        return intent == JobIntent.COMPLETED;
+                      }
+                    }));
+
+    startExporterDirector(exporterDescriptors);
+
+    // when
+    rule.writeEvent(JobIntent.CREATED, new JobRecord());
+    rule.writeEvent(IncidentIntent.CREATED, new IncidentRecord());
+    final long jobCompleted = rule.writeEvent(JobIntent.COMPLETED, new JobRecord());
+
+    // then
+    waitUntil(() -> exporters.get(1).getExportedRecords().size() == 3);
+
+    assertThat(exporters.get(0).getExportedRecords())
+        .extracting(Record::getPosition)
+        .containsExactly(jobCompleted);
+  }
+
   @Test
   public void shouldRetryExportingOnException() {
     // given
@@ -327,6 +377,52 @@ public class ExporterDirectorTest {
         .contains(eventPosition1, eventPosition2);
   }
 
+  @Test
+  public void shouldWriteUpdatedPositionsPeriodically() {
+    // given
+    startExporterDirector(exporterDescriptors);
+
+    final long eventPosition1 = writeEvent();
+    final long eventPosition2 = writeEvent();
+    waitUntil(() -> exporters.get(0).getExportedRecords().size() == 2);
+
+    // when
+    exporters.get(0).getController().updateLastExportedRecordPosition(eventPosition1);
+    exporters.get(0).getController().updateLastExportedRecordPosition(eventPosition2);
+    rule.getClock().addTime(Duration.ofSeconds(1));
+
+    // then
+    final ExportersState exportersState = rule.getExportersState();
+    waitUntil(() -> exportersState.getPosition(EXPORTER_ID_1) == eventPosition2);
+  }
+
+  @Test
+  public void shouldUpdateLagMetrics() {
+    // given
+    startExporterDirector(exporterDescriptors);
+
+    writeEvent();
+    final long eventPosition2 = writeEvent();
+    waitUntil(() -> exporters.get(0).getExportedRecords().size() == 2);
+
+    // when
+    rule.getClock().addTime(Duration.ofSeconds(1));
+
+    // then
+    waitUntil(() -> getExporterMetric("zeebe_exporter_unacknowledged_records") == 2);
+    assertThat(getExporterMetric("zeebe_exporter_position_lag")).isPositive();
+    assertThat(getExporterMetric("zeebe_exporter_time_lag")).isPositive();
+
+    // when
+    exporters.get(0).getController().updateLastExportedRecordPosition(eventPosition2);
+    rule.getClock().addTime(Duration.ofSeconds(1));
+
+    // then
+    waitUntil(() -> getExporterMetric("zeebe_exporter_unacknowledged_records") == 0);
+    assertThat(getExporterMetric("zeebe_exporter_position_lag")).isEqualTo(0.0);
+    assertThat(getExporterMetric("zeebe_exporter_time_lag")).isEqualTo(0.0);
+  }
+
   @Test
   public void shouldRemoveExporterFromState() throws Exception {
     // given
@@ -377,6 +473,127 @@ public class ExporterDirectorTest {
     assertThat(exporters.get(1).getExportedRecords()).isEmpty();
   }
 
+  @Test
+  public void shouldNotHoldBackIsolatedExporter() {
+    // given
+    createExporter("isolated", Collections.emptyMap(), true);
+    exporters
+        .get(0)
+        .onExport(
+            e -> {
+              throw new RuntimeException("Export failed (expected)");
+            });
+
+    startExporterDirector(exporterDescriptors);
+
+    // when
+    final long eventPosition1 = writeEvent();
+    final long eventPosition2 = writeEvent();
+
+    // then
+    waitUntil(() -> exporters.get(2).getExportedRecords().size() == 2);
+    assertThat(exporters.get(2).getExportedRecords())
+        .extracting(Record::getPosition)
+        .containsExactly(eventPosition1, eventPosition2);
+    assertThat(exporters.get(0).getExportedRecords()).isEmpty();
+    assertThat(exporters.get(1).getExportedRecords()).isEmpty();
+  }
+
+  @Test
+  public void shouldRecoverIsolatedExporterFromOwnPosition() throws Exception {
+    // given
+    exporterDescriptors.clear();
+    exporters.clear();
+    createExporter(EXPORTER_ID_1, Collections.emptyMap(), true);
+    createExporter(EXPORTER_ID_2, Collections.emptyMap(), true);
+    startExporterDirector(exporterDescriptors);
+
+    final long eventPosition1 = writeEvent();
+    final long eventPosition2 = writeEvent();
+    waitUntil(() -> exporters.get(0).getExportedRecords().size() == 2);
+    waitUntil(() -> exporters.get(1).getExportedRecords().size() == 2);
+
+    exporters.get(0).getController().updateLastExportedRecordPosition(eventPosition1);
+    exporters.get(1).getController().updateLastExportedRecordPosition(eventPosition2);
+
+    // when
+    rule.closeExporterDirector();
+    exporters.get(0).getExportedRecords().clear();
+    exporters.get(1).getExportedRecords().clear();
+    final long eventPosition3 = writeEvent();
+    startExporterDirector(exporterDescriptors);
+
+    // then
+    waitUntil(() -> exporters.get(0).getExportedRecords().size() == 2);
+    waitUntil(() -> exporters.get(1).getExportedRecords().size() == 1);
+    assertThat(exporters.get(0).getExportedRecords())
+        .extracting(Record::getPosition)
+        .containsExactly(eventPosition2, eventPosition3);
+    assertThat(exporters.get(1).getExportedRecords())
+        .extracting(Record::getPosition)
+        .containsExactly(eventPosition3);
+  }
+
+  @Test
+  public void shouldExportRecordsInBatches() {
+    // given
+    final BatchTestExporter batchExporter = new BatchTestExporter();
+    final ExporterDescriptor descriptor =
+        spy(
+            new ExporterDescriptor(
+                "batch", batchExporter.getClass(), Collections.emptyMap(), false));
+    doAnswer(c -> batchExporter).when(descriptor).newInstance();
+    exporterDescriptors.add(descriptor);
+
+    final long eventPosition1 = writeEvent();
+    final long eventPosition2 = writeEvent();
+    final long eventPosition3 = writeEvent();
+
+    // when
+    startExporterDirector(exporterDescriptors);
+
+    // then
+    waitUntil(() -> batchExporter.getExportedRecords().size() == 3);
+    assertThat(batchExporter.getExportedRecords())
+        .extracting(Record::getPosition)
+        .containsExactly(eventPosition1, eventPosition2, eventPosition3);
+    assertThat(batchExporter.batchSizes).containsExactly(3);
+
+    waitUntil(() -> exporters.get(1).getExportedRecords().size() == 3);
+    assertThat(exporters.get(0).getExportedRecords())
+        .extracting(Record::getPosition)
+        .containsExactly(eventPosition1, eventPosition2, eventPosition3);
+  }
+
+  @Test
+  public void shouldPassRecordsWhichStayValidToPerRecordExporter() {
+    // given
+    final long jobPosition = rule.writeEvent(JobIntent.CREATED, new JobRecord().setType("foo"));
+    final long deploymentPosition = writeEvent();
+
+    // when
+    startExporterDirector(exporterDescriptors);
+
+    // then
+    waitUntil(() -> exporters.get(0).getExportedRecords().size() == 2);
+    final List<Record> records = exporters.get(0).getExportedRecords();
+    assertThat(records)
+        .extracting(Record::getPosition, Record::getValueType, Record::getIntent)
+        .containsExactly(
+            tuple(jobPosition, ValueType.JOB, JobIntent.CREATED),
+            tuple(deploymentPosition, ValueType.DEPLOYMENT, DeploymentIntent.CREATED));
+    assertThat(((JobRecord) records.get(0).getValue()).getType()).isEqualTo("foo");
+  }
+
+  private static double getExporterMetric(String name) {
+    final Double value =
+        CollectorRegistry.defaultRegistry.getSampleValue(
+            name,
+            new String[] {"exporter", "partition"},
+            new String[] {EXPORTER_ID_1, String.valueOf(PARTITION_ID)});
+    return value != null ? value : -1;
+  }
+
   private long writeEvent() {
     final DeploymentRecord event = new DeploymentRecord();
     return rule.writeEvent(DeploymentIntent.CREATED, event);
@@ -398,4 +615,21 @@ public class ExporterDirectorTest {
           });
     };
   }
+
+  private static class BatchTestExporter extends ControlledTestExporter {
+    private final List<Integer> batchSizes = new CopyOnWriteArrayList<>();
+
+    @Override
+    public boolean supportsBatch() {
+      return true;
+    }
+
+    @Override
+    public void exportBatch(RecordBatch batch) {
+      batchSizes.add(batch.size());
+      for (int i = 0; i < batch.size(); i++) {
+        export(batch.retain(i));
+      }
+    }
+  }
 }
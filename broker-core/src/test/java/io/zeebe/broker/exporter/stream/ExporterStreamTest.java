@@ -0,0 +1,66 @@
+/*
+ * Copyright Camunda Services GmbH and/or licensed to Camunda Services GmbH under
+ * one or more contributor license agreements. See the NOTICE file distributed
+ * with this work for additional information regarding copyright ownership.
+ * Licensed under the Zeebe Community License 1.0. You may not use this file
+ * except in compliance with the Zeebe Community License 1.0.
+ */
+package io.zeebe.broker.exporter.stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import io.zeebe.broker.exporter.repo.ExporterDescriptor;
+import io.zeebe.broker.exporter.util.ControlledTestExporter;
+import io.zeebe.logstreams.log.LogStream;
+import io.zeebe.util.sched.Actor;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import org.junit.Before;
+import org.junit.Test;
+
+public class ExporterStreamTest {
+
+  private static final int PARTITION_ID = 3;
+
+  private LogStream logStream;
+
+  @Before
+  public void setUp() {
+    logStream = mock(LogStream.class);
+    when(logStream.getPartitionId()).thenReturn(PARTITION_ID);
+  }
+
+  @Test
+  public void shouldPlaceSharedStreamOnPartition() {
+    // given
+    final ExporterStream stream =
+        createStream(
+            Arrays.asList(
+                createDescriptor("exporter-1", false), createDescriptor("exporter-2", false)));
+
+    // then
+    assertThat(stream.getPlacementKey()).isEqualTo(PARTITION_ID);
+  }
+
+  @Test
+  public void shouldNotPlaceIsolatedStreamOnPartition() {
+    // given
+    final ExporterStream stream =
+        createStream(Collections.singletonList(createDescriptor("exporter", true)));
+
+    // then
+    assertThat(stream.getPlacementKey()).isEqualTo(Actor.NO_PLACEMENT_KEY);
+  }
+
+  private ExporterStream createStream(final Collection<ExporterDescriptor> descriptors) {
+    return new ExporterStream("exporter-stream", descriptors, logStream, null, null, null);
+  }
+
+  private static ExporterDescriptor createDescriptor(final String id, final boolean isolated) {
+    return new ExporterDescriptor(
+        id, ControlledTestExporter.class, Collections.emptyMap(), isolated);
+  }
+}
@@ -7,15 +7,18 @@
  */
 package io.zeebe.broker.logstreams.delete;
 
+import static org.assertj.core.api.Assertions.assertThat;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
+import io.prometheus.client.CollectorRegistry;
 import io.zeebe.broker.engine.EngineServiceNames;
 import io.zeebe.broker.exporter.ExporterManagerService;
 import io.zeebe.logstreams.log.LogStream;
+import io.zeebe.logstreams.spi.LogStorage;
 import io.zeebe.servicecontainer.Injector;
 import io.zeebe.servicecontainer.ServiceStartContext;
 import io.zeebe.servicecontainer.testing.ServiceContainerRule;
@@ -35,6 +38,7 @@ public class LeaderLogStreamDeletionTest {
 
   @Mock ExporterManagerService mockExporterManagerService;
   @Mock LogStream mockLogStream = mock(LogStream.class);
+  @Mock LogStorage mockLogStorage = mock(LogStorage.class);
 
   private LeaderLogStreamDeletionService deletionService;
 
@@ -43,6 +47,8 @@ public class LeaderLogStreamDeletionTest {
 
   @Before
   public void setup() {
+    when(mockLogStream.getPartitionId()).thenReturn(PARTITION_ID);
+    when(mockLogStream.getLogStorage()).thenReturn(mockLogStorage);
     deletionService = new LeaderLogStreamDeletionService(mockLogStream);
     serviceContainer
         .get()
@@ -93,4 +99,47 @@ public class LeaderLogStreamDeletionTest {
     // then
     verify(mockLogStream, never()).delete(POSITION_TO_DELETE);
   }
+
+  @Test
+  public void shouldReportBlockingExporter() {
+    // given
+    when(mockExporterManagerService.getLowestExporterPosition()).thenReturn(POSITION_TO_DELETE);
+    when(mockLogStorage.getRetainedBytes()).thenReturn(1024L);
+
+    // when
+    deletionService.delete(POSITION_TO_DELETE + 2);
+
+    // then
+    assertThat(getMetric("zeebe_log_retention_blocked", "exporter")).isEqualTo(1.0);
+    assertThat(getMetric("zeebe_log_retention_blocked", "snapshot")).isEqualTo(0.0);
+    assertThat(getMetric("zeebe_log_retention_position", "exporter")).isEqualTo(POSITION_TO_DELETE);
+    assertThat(getMetric("zeebe_log_retention_position", "snapshot"))
+        .isEqualTo(POSITION_TO_DELETE + 2);
+    assertThat(
+            CollectorRegistry.defaultRegistry.getSampleValue(
+                "zeebe_log_retained_bytes",
+                new String[] {"partition"},
+                new String[] {String.valueOf(PARTITION_ID)}))
+        .isEqualTo(1024.0);
+  }
+
+  @Test
+  public void shouldReportBlockingSnapshot() {
+    // given
+    when(mockExporterManagerService.getLowestExporterPosition()).thenReturn(Long.MAX_VALUE);
+
+    // when
+    deletionService.delete(POSITION_TO_DELETE);
+
+    // then
+    assertThat(getMetric("zeebe_log_retention_blocked", "exporter")).isEqualTo(0.0);
+    assertThat(getMetric("zeebe_log_retention_blocked", "snapshot")).isEqualTo(1.0);
+  }
+
+  private Double getMetric(String name, String component) {
+    return CollectorRegistry.defaultRegistry.getSampleValue(
+        name,
+        new String[] {"component", "partition"},
+        new String[] {component, String.valueOf(PARTITION_ID)});
+  }
 }
@@ -0,0 +1,67 @@
+/*
+ * Copyright Camunda Services GmbH and/or licensed to Camunda Services GmbH under
+ * one or more contributor license agreements. See the NOTICE file distributed
+ * with this work for additional information regarding copyright ownership.
+ * Licensed under the Zeebe Community License 1.0. You may not use this file
+ * except in compliance with the Zeebe Community License 1.0.
+ */
+package io.zeebe.broker.logstreams.restore;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import io.zeebe.clustering.management.BooleanType;
+import io.zeebe.clustering.management.MessageHeaderEncoder;
+import io.zeebe.clustering.management.SnapshotRestoreRequestEncoder;
+import io.zeebe.distributedlog.restore.snapshot.impl.DefaultSnapshotRestoreRequest;
+import org.agrona.concurrent.UnsafeBuffer;
+import org.junit.Test;
+
+public class SbeSnapshotRestoreRequestTest {
+
+  @Test
+  public void shouldSerializeCompressionSupport() {
+    // given
+    final DefaultSnapshotRestoreRequest request = new DefaultSnapshotRestoreRequest(1L, 2, true);
+
+    // when
+    final SbeSnapshotRestoreRequest deserialized =
+        new SbeSnapshotRestoreRequest(SbeSnapshotRestoreRequest.serialize(request));
+
+    // then
+    assertThat(deserialized.getSnapshotId()).isEqualTo(1L);
+    assertThat(deserialized.getChunkIdx()).isEqualTo(2);
+    assertThat(deserialized.isCompressionSupported()).isTrue();
+  }
+
+  @Test
+  public void shouldNotSupportCompressionForRequestOfFirstVersion() {
+    // given
+    final UnsafeBuffer buffer = new UnsafeBuffer(new byte[64]);
+    final MessageHeaderEncoder headerEncoder = new MessageHeaderEncoder();
+    final SnapshotRestoreRequestEncoder encoder = new SnapshotRestoreRequestEncoder();
+    final int blockLengthOfFirstVersion =
+        SnapshotRestoreRequestEncoder.compressionSupportedEncodingOffset();
+
+    headerEncoder
+        .wrap(buffer, 0)
+        .blockLength(blockLengthOfFirstVersion)
+        .templateId(encoder.sbeTemplateId())
+        .schemaId(encoder.sbeSchemaId())
+        .version(1);
+    // a newer encoder writes the flag behind the block of the first version
+    encoder
+        .wrap(buffer, headerEncoder.encodedLength())
+        .snapshotId(1L)
+        .chunkIdx(2)
+        .compressionSupported(BooleanType.TRUE);
+
+    // when
+    final SbeSnapshotRestoreRequest request = new SbeSnapshotRestoreRequest();
+    request.wrap(buffer, 0, headerEncoder.encodedLength() + blockLengthOfFirstVersion);
+
+    // then
+    assertThat(request.getSnapshotId()).isEqualTo(1L);
+    assertThat(request.getChunkIdx()).isEqualTo(2);
+    assertThat(request.isCompressionSupported()).isFalse();
+  }
+}
@@ -46,6 +46,20 @@ public class BrokerHttpServerTest {
     }
   }
 
+  @Test
+  public void shouldGetActorMetrics() throws IOException {
+    final String url = baseUrl + "/metrics";
+
+    try (CloseableHttpClient client = HttpClients.createDefault()) {
+      final HttpGet request = new HttpGet(url);
+      try (CloseableHttpResponse response = client.execute(request)) {
+        final String metrics = EntityUtils.toString(response.getEntity());
+        assertThat(metrics).contains("zeebe_actor_execution_seconds_total");
+        assertThat(metrics).contains("zeebe_actor_thread_busy_seconds_total");
+      }
+    }
+  }
+
   @Test
   public void shouldGetReadyStatus() throws IOException {
     final String url = baseUrl + "/ready";
@@ -0,0 +1,47 @@
+/*
+ * Copyright Camunda Services GmbH and/or licensed to Camunda Services GmbH under
+ * one or more contributor license agreements. See the NOTICE file distributed
+ * with this work for additional information regarding copyright ownership.
+ * Licensed under the Zeebe Community License 1.0. You may not use this file
+ * except in compliance with the Zeebe Community License 1.0.
+ */
+package io.zeebe.broker.transport;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import io.zeebe.broker.system.configuration.NetworkCfg;
+import io.zeebe.broker.test.EmbeddedBrokerRule;
+import io.zeebe.model.bpmn.Bpmn;
+import io.zeebe.protocol.impl.record.value.workflowinstance.WorkflowInstanceCreationRecord;
+import io.zeebe.test.broker.protocol.commandapi.CommandApiRule;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.RuleChain;
+
+public class NettyCommandApiTest {
+
+  public EmbeddedBrokerRule brokerRule =
+      new EmbeddedBrokerRule(
+          cfg -> {
+            cfg.getNetwork().setTransport(NetworkCfg.TRANSPORT_NETTY);
+            cfg.getNetwork().getCommandApi().setReceivers(2);
+          });
+  public CommandApiRule apiRule = new CommandApiRule(brokerRule::getAtomix);
+
+  @Rule public RuleChain ruleChain = RuleChain.outerRule(brokerRule).around(apiRule);
+
+  @Test
+  public void shouldHandleCommands() {
+    // given
+    apiRule
+        .partitionClient()
+        .deploy(Bpmn.createExecutableProcess("process").startEvent().endEvent().done());
+
+    // when
+    final WorkflowInstanceCreationRecord workflowInstance =
+        apiRule.partitionClient().createWorkflowInstance(r -> r.setBpmnProcessId("process"));
+
+    // then
+    assertThat(workflowInstance.getWorkflowInstanceKey()).isPositive();
+  }
+}
@@ -7,6 +7,8 @@
  */
 package io.zeebe.broker.transport.commandapi;
 
+import static io.zeebe.dispatcher.impl.log.DataFrameDescriptor.alignedFramedLength;
+import static io.zeebe.logstreams.impl.LogEntryDescriptor.headerLength;
 import static io.zeebe.logstreams.impl.service.LogStreamServiceNames.distributedLogPartitionServiceName;
 import static io.zeebe.util.buffer.BufferUtil.wrapString;
 import static org.assertj.core.api.Assertions.assertThat;
@@ -39,8 +41,10 @@ import io.zeebe.transport.RemoteAddress;
 import io.zeebe.transport.SocketAddress;
 import io.zeebe.transport.impl.RemoteAddressImpl;
 import io.zeebe.util.sched.testing.ActorSchedulerRule;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicInteger;
 import org.agrona.DirectBuffer;
 import org.agrona.concurrent.UnsafeBuffer;
 import org.junit.After;
@@ -175,9 +179,11 @@ public class CommandApiMessageHandlerTest {
     // when
     final boolean isHandled =
         messageHandler.onRequest(serverOutput, DEFAULT_ADDRESS, buffer, 0, writtenLength, 123);
+    final int incompleteRequests = messageHandler.onRequestsReceived();
 
     // then
     assertThat(isHandled).isTrue();
+    assertThat(incompleteRequests).isEqualTo(0);
 
     final BufferedLogStreamReader logStreamReader = new BufferedLogStreamReader(logStream);
     waitForAvailableEvent(logStreamReader);
@@ -305,6 +311,157 @@ public class CommandApiMessageHandlerTest {
     assertThat(errorDecoder.errorCode()).isEqualTo(ErrorCode.UNSUPPORTED_MESSAGE);
   }
 
+  @Test
+  public void shouldSendErrorMessageIfPartitionWasRemoved() {
+    // given
+    messageHandler.removePartition(logStream);
+
+    final int writtenLength =
+        writeCommandRequestToBuffer(
+            buffer, LOG_STREAM_PARTITION_ID, null, ValueType.JOB, JobIntent.CREATE);
+
+    // when
+    final boolean isHandled =
+        messageHandler.onRequest(
+            serverOutput, DEFAULT_ADDRESS, buffer, 0, writtenLength, REQUEST_ID);
+
+    // then
+    assertThat(isHandled).isTrue();
+
+    final ErrorResponseDecoder errorDecoder = serverOutput.getAsErrorResponse(0);
+    assertThat(errorDecoder.errorCode()).isEqualTo(ErrorCode.PARTITION_LEADER_MISMATCH);
+  }
+
+  @Test
+  public void shouldHandleRequestsOfConcurrentReceivers() throws Exception {
+    // given
+    final int receivers = 4;
+    final int requestsPerReceiver = 100;
+    final int writtenLength =
+        writeCommandRequestToBuffer(
+            buffer, LOG_STREAM_PARTITION_ID, null, ValueType.JOB, JobIntent.CREATE);
+
+    // when
+    final List<Thread> threads = new ArrayList<>();
+    for (int i = 0; i < receivers; i++) {
+      final Thread thread =
+          new Thread(
+              () -> {
+                for (int r = 0; r < requestsPerReceiver; r++) {
+                  while (!messageHandler.onRequest(
+                          serverOutput, DEFAULT_ADDRESS, buffer, 0, writtenLength, REQUEST_ID)
+                      | messageHandler.onRequestsReceived() > 0) {
+                    Thread.yield();
+                  }
+                }
+              });
+      thread.start();
+      threads.add(thread);
+    }
+
+    for (final Thread thread : threads) {
+      thread.join();
+    }
+
+    // then
+    final BufferedLogStreamReader logStreamReader = new BufferedLogStreamReader(logStream);
+    final AtomicInteger writtenCommands = new AtomicInteger();
+    TestUtil.waitUntil(
+        () -> {
+          while (logStreamReader.hasNext()) {
+            logStreamReader.next();
+            writtenCommands.incrementAndGet();
+          }
+          return writtenCommands.get() == receivers * requestsPerReceiver;
+        });
+
+    assertThat(serverOutput.getSentResponses()).isEmpty();
+  }
+
+  @Test
+  public void shouldWriteCommandsOfReceiveCycleAsBatch() {
+    // given
+    final int writtenLength =
+        writeCommandRequestToBuffer(
+            buffer, LOG_STREAM_PARTITION_ID, null, ValueType.JOB, JobIntent.CREATE);
+    final long publisherPosition = logStream.getWriteBuffer().getPublisherPosition();
+
+    // when
+    for (int i = 0; i < 3; i++) {
+      assertThat(
+              messageHandler.onRequest(
+                  serverOutput, DEFAULT_ADDRESS, buffer, 0, writtenLength, REQUEST_ID + i))
+          .isTrue();
+    }
+    assertThat(logStream.getWriteBuffer().getPublisherPosition()).isEqualTo(publisherPosition);
+
+    final int incompleteRequests = messageHandler.onRequestsReceived();
+
+    // then
+    assertThat(incompleteRequests).isEqualTo(0);
+
+    final BufferedLogStreamReader logStreamReader = new BufferedLogStreamReader(logStream);
+    final List<Long> requestIds = new ArrayList<>();
+    final List<Long> positions = new ArrayList<>();
+    final List<byte[]> values = new ArrayList<>();
+    final AtomicInteger fragmentLength = new AtomicInteger();
+    TestUtil.waitUntil(
+        () -> {
+          while (logStreamReader.hasNext()) {
+            final LoggedEvent event = logStreamReader.next();
+            final RecordMetadata metadata = new RecordMetadata();
+            event.readMetadata(metadata);
+            requestIds.add(metadata.getRequestId());
+            positions.add(event.getPosition());
+
+            final byte[] value = new byte[event.getValueLength()];
+            event.getValueBuffer().getBytes(event.getValueOffset(), value);
+            values.add(value);
+
+            fragmentLength.set(
+                alignedFramedLength(
+                    headerLength(event.getMetadataLength()) + event.getValueLength()));
+          }
+          return requestIds.size() == 3;
+        });
+
+    assertThat(requestIds).containsExactly((long) REQUEST_ID, REQUEST_ID + 1L, REQUEST_ID + 2L);
+    assertThat(values).containsOnly(JOB_EVENT);
+
+    // the commands are written with one claim, so their fragments are adjacent
+    final long firstPosition = positions.get(0);
+    assertThat(positions)
+        .containsExactly(
+            firstPosition,
+            firstPosition + fragmentLength.get(),
+            firstPosition + 2L * fragmentLength.get());
+  }
+
+  @Test
+  public void shouldWriteBatchBeforeSendingErrorResponse() {
+    // given
+    final int writtenLength =
+        writeCommandRequestToBuffer(
+            buffer, LOG_STREAM_PARTITION_ID, null, ValueType.JOB, JobIntent.CREATE);
+    final long publisherPosition = logStream.getWriteBuffer().getPublisherPosition();
+
+    messageHandler.onRequest(serverOutput, DEFAULT_ADDRESS, buffer, 0, writtenLength, REQUEST_ID);
+
+    // when
+    final UnsafeBuffer invalidBuffer = new UnsafeBuffer(new byte[1024]);
+    final int invalidLength =
+        writeCommandRequestToBuffer(invalidBuffer, 99, null, ValueType.JOB, JobIntent.CREATE);
+    final boolean isHandled =
+        messageHandler.onRequest(
+            serverOutput, DEFAULT_ADDRESS, invalidBuffer, 0, invalidLength, REQUEST_ID + 1);
+
+    // then
+    assertThat(isHandled).isTrue();
+    assertThat(logStream.getWriteBuffer().getPublisherPosition()).isGreaterThan(publisherPosition);
+    assertThat(serverOutput.getSentResponses()).hasSize(1);
+    assertThat(messageHandler.onRequestsReceived()).isEqualTo(0);
+  }
+
   protected int writeCommandRequestToBuffer(
       final UnsafeBuffer buffer,
       final int partitionId,
@@ -165,7 +165,8 @@ public class Dispatcher extends Actor implements AutoCloseable {
     return offer(
         (partition, activePartitionId) ->
             logAppender.appendFrame(partition, activePartitionId, msg, start, length, streamId),
-        length);
+        length,
+        true);
   }
 
   private void signalSubsciptions() {
@@ -202,7 +203,8 @@ public class Dispatcher extends Actor implements AutoCloseable {
         (partition, activePartitionId) ->
             logAppender.claim(
                 partition, activePartitionId, claim, length, streamId, onClaimComplete),
-        length);
+        length,
+        false);
   }
 
   /**
@@ -222,10 +224,22 @@ public class Dispatcher extends Actor implements AutoCloseable {
         (partition, activePartitionId) ->
             logAppender.claim(
                 partition, activePartitionId, batch, fragmentCount, batchLength, onClaimComplete),
-        batchLength);
+        batchLength,
+        false);
   }
 
-  private long offer(BiFunction<LogBufferPartition, Integer, Integer> claimer, int length) {
+  /**
+   * Moves the tail of the active partition and the publisher position. Since every producer of the
+   * dispatcher contends on both, the subscriptions are only signaled here if the fragment is
+   * already committed; a claimed fragment signals them on commit or abort, since they can't read it
+   * before.
+   *
+   * @param signalSubscriptions whether the claimer committed the fragment
+   */
+  private long offer(
+      BiFunction<LogBufferPartition, Integer, Integer> claimer,
+      int length,
+      boolean signalSubscriptions) {
     long newPosition = -1;
 
     if (!isClosed) {
@@ -250,7 +264,11 @@ public class Dispatcher extends Actor implements AutoCloseable {
         newPosition = updatePublisherPosition(activePartitionId, newOffset);
 
         publisherPosition.proposeMaxOrdered(newPosition);
-        signalSubsciptions();
+
+        // a failed claim may have committed the padding at the end of the partition
+        if (signalSubscriptions || newPosition < 0) {
+          signalSubsciptions();
+        }
       }
     }
 
@@ -0,0 +1,121 @@
+/*
+ * Copyright Camunda Services GmbH and/or licensed to Camunda Services GmbH under
+ * one or more contributor license agreements. See the NOTICE file distributed
+ * with this work for additional information regarding copyright ownership.
+ * Licensed under the Zeebe Community License 1.0. You may not use this file
+ * except in compliance with the Zeebe Community License 1.0.
+ */
+package io.zeebe.dispatcher;
+
+import io.zeebe.util.ByteValue;
+import io.zeebe.util.sched.ActorScheduler;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Measures the claim throughput of a dispatcher with an increasing number of concurrent producers,
+ * e.g. to see the contention on the tail of the log buffer partitions. Not run as part of the
+ * build; start it with the number of producers to measure up to as optional argument:
+ *
+ * <pre>
+ * mvn -pl dispatcher test-compile exec:java -Dexec.classpathScope=test \
+ *   -Dexec.mainClass=io.zeebe.dispatcher.DispatcherClaimBenchmark -Dexec.args=8
+ * </pre>
+ */
+public class DispatcherClaimBenchmark {
+  private static final int FRAGMENT_LENGTH = 128;
+  private static final long WARMUP_MILLIS = 1_000;
+  private static final long MEASUREMENT_MILLIS = 3_000;
+
+  public static void main(String[] args) throws Exception {
+    final int maxProducers =
+        args.length > 0
+            ? Integer.parseInt(args[0])
+            : Math.max(1, Runtime.getRuntime().availableProcessors() - 1);
+
+    final ActorScheduler scheduler =
+        ActorScheduler.newActorScheduler()
+            .setCpuBoundActorThreadCount(1)
+            .setIoBoundActorThreadCount(1)
+            .build();
+    scheduler.start();
+
+    try {
+      for (int producers = 1; producers <= maxProducers; producers *= 2) {
+        final long claimsPerSecond = measure(scheduler, producers);
+        System.out.format(
+            "producers: %2d, claims/s: %,12d, claims/s per producer: %,12d%n",
+            producers, claimsPerSecond, claimsPerSecond / producers);
+      }
+    } finally {
+      scheduler.stop().get();
+    }
+  }
+
+  private static long measure(ActorScheduler scheduler, int producerCount) throws Exception {
+    final Dispatcher dispatcher =
+        Dispatchers.create("benchmark")
+            .actorScheduler(scheduler)
+            .bufferSize(ByteValue.ofMegabytes(64))
+            .build();
+    final Subscription subscription = dispatcher.openSubscription("consumer");
+
+    final AtomicBoolean running = new AtomicBoolean(true);
+    final AtomicBoolean measuring = new AtomicBoolean(false);
+    final AtomicLong claims = new AtomicLong();
+
+    final List<Thread> threads = new ArrayList<>();
+    threads.add(
+        new Thread(
+            () -> {
+              final FragmentHandler consume =
+                  (buffer, offset, length, streamId, failed) ->
+                      FragmentHandler.CONSUME_FRAGMENT_RESULT;
+              while (running.get()) {
+                subscription.poll(consume, Integer.MAX_VALUE);
+              }
+            },
+            "consumer"));
+
+    for (int i = 0; i < producerCount; i++) {
+      threads.add(
+          new Thread(
+              () -> {
+                final ClaimedFragment fragment = new ClaimedFragment();
+                long claimed = 0;
+
+                while (running.get()) {
+                  if (dispatcher.claim(fragment, FRAGMENT_LENGTH) >= 0) {
+                    fragment.getBuffer().putLong(fragment.getOffset(), claimed);
+                    fragment.commit();
+
+                    if (measuring.get()) {
+                      claimed++;
+                    }
+                  }
+                }
+
+                claims.addAndGet(claimed);
+              },
+              "producer-" + i));
+    }
+
+    threads.forEach(Thread::start);
+
+    Thread.sleep(WARMUP_MILLIS);
+    measuring.set(true);
+    Thread.sleep(MEASUREMENT_MILLIS);
+    measuring.set(false);
+    running.set(false);
+
+    for (Thread thread : threads) {
+      thread.join();
+    }
+    dispatcher.close();
+
+    return claims.get() * TimeUnit.SECONDS.toMillis(1) / MEASUREMENT_MILLIS;
+  }
+}
@@ -0,0 +1,140 @@
+/*
+ * Copyright Camunda Services GmbH and/or licensed to Camunda Services GmbH under
+ * one or more contributor license agreements. See the NOTICE file distributed
+ * with this work for additional information regarding copyright ownership.
+ * Licensed under the Zeebe Community License 1.0. You may not use this file
+ * except in compliance with the Zeebe Community License 1.0.
+ */
+package io.zeebe.dispatcher.integration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+import io.zeebe.dispatcher.ClaimedFragment;
+import io.zeebe.dispatcher.ClaimedFragmentBatch;
+import io.zeebe.dispatcher.Dispatcher;
+import io.zeebe.dispatcher.Dispatchers;
+import io.zeebe.dispatcher.Subscription;
+import io.zeebe.util.ByteValue;
+import io.zeebe.util.sched.ActorCondition;
+import io.zeebe.util.sched.testing.ActorSchedulerRule;
+import org.agrona.concurrent.UnsafeBuffer;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+
+public class SubscriptionSignalIntegrationTest {
+  private static final byte[] MSG = "msg".getBytes();
+
+  @Rule public ActorSchedulerRule actorSchedulerRule = new ActorSchedulerRule(1);
+
+  private Dispatcher dispatcher;
+  private ActorCondition consumer;
+
+  private final ClaimedFragment claimedFragment = new ClaimedFragment();
+  private final ClaimedFragmentBatch claimedBatch = new ClaimedFragmentBatch();
+
+  @Before
+  public void init() {
+    dispatcher =
+        Dispatchers.create("default")
+            .bufferSize(ByteValue.ofKilobytes(32))
+            .actorScheduler(actorSchedulerRule.get())
+            .build();
+
+    final Subscription subscription = dispatcher.openSubscription("test");
+
+    consumer = mock(ActorCondition.class);
+    subscription.registerConsumer(consumer);
+  }
+
+  @After
+  public void cleanUp() throws Exception {
+    dispatcher.close();
+  }
+
+  @Test
+  public void shouldSignalOnOffer() {
+    // when
+    final long position = dispatcher.offer(new UnsafeBuffer(MSG));
+
+    // then
+    assertThat(position).isPositive();
+    verify(consumer).signal();
+  }
+
+  @Test
+  public void shouldNotSignalOnClaim() {
+    // when
+    final long position = dispatcher.claim(claimedFragment, MSG.length);
+
+    // then
+    assertThat(position).isPositive();
+    verify(consumer, never()).signal();
+  }
+
+  @Test
+  public void shouldSignalOnCommit() {
+    // given
+    dispatcher.claim(claimedFragment, MSG.length);
+    claimedFragment.getBuffer().putBytes(0, MSG);
+
+    // when
+    claimedFragment.commit();
+
+    // then
+    verify(consumer, times(1)).signal();
+  }
+
+  @Test
+  public void shouldSignalOnAbort() {
+    // given
+    dispatcher.claim(claimedFragment, MSG.length);
+
+    // when
+    claimedFragment.abort();
+
+    // then
+    verify(consumer, times(1)).signal();
+  }
+
+  @Test
+  public void shouldNotSignalOnBatchClaim() {
+    // when
+    final long position = dispatcher.claim(claimedBatch, 2, 2 * MSG.length);
+
+    // then
+    assertThat(position).isPositive();
+    verify(consumer, never()).signal();
+  }
+
+  @Test
+  public void shouldSignalOnBatchCommit() {
+    // given
+    dispatcher.claim(claimedBatch, 1, MSG.length);
+    claimedBatch.nextFragment(MSG.length, 1);
+    claimedBatch.getBuffer().putBytes(claimedBatch.getFragmentOffset(), MSG);
+
+    // when
+    claimedBatch.commit();
+
+    // then
+    verify(consumer, times(1)).signal();
+  }
+
+  @Test
+  public void shouldSignalOnBatchAbort() {
+    // given
+    dispatcher.claim(claimedBatch, 1, MSG.length);
+
+    // when
+    claimedBatch.abort();
+
+    // then
+    verify(consumer, times(1)).signal();
+  }
+}
@@ -25,6 +25,8 @@ public class AsyncSnapshotDirector extends Actor {
       "Finished taking snapshot, need to wait until last written event position {} is committed, current commit position is {}. After that snapshot can be marked as valid.";
   private static final String ERROR_MSG_ON_RESOLVE_PROCESSED_POS =
       "Unexpected error in resolving last processed position.";
+  private static final String ERROR_MSG_ON_TAKE_TEMP_SNAPSHOT =
+      "Unexpected exception occurred on taking temporary snapshot.";
   private static final String ERROR_MSG_ON_RESOLVE_WRITTEN_POS =
       "Unexpected error in resolving last written position.";
   private static final String ERROR_MSG_MOVE_SNAPSHOT =
@@ -43,12 +45,14 @@ public class AsyncSnapshotDirector extends Actor {
   private final Duration snapshotRate;
   private final String processorName;
   private final StreamProcessor streamProcessor;
+  private final int partitionId;
 
   private ActorCondition commitCondition;
   private long lastWrittenEventPosition = INITIAL_POSITION;
   private boolean pendingSnapshot;
   private long lowerBoundSnapshotPosition;
   private long lastValidSnapshotPosition;
+  private ActorFuture<Void> pendingTempSnapshot = CompletableActorFuture.completed(null);
 
   public AsyncSnapshotDirector(
       StreamProcessor streamProcessor,
@@ -61,6 +65,7 @@ public class AsyncSnapshotDirector extends Actor {
     this.processorName = streamProcessor.getName();
     this.name = processorName + "-snapshot-director";
     this.snapshotRate = snapshotRate;
+    this.partitionId = logStream.getPartitionId();
   }
 
   @Override
@@ -82,6 +87,11 @@ public class AsyncSnapshotDirector extends Actor {
     return name;
   }
 
+  @Override
+  protected int getPlacementKey() {
+    return partitionId;
+  }
+
   private String getConditionNameForPosition() {
     return getName() + "-wait-for-endPosition-committed";
   }
@@ -114,7 +124,34 @@ public class AsyncSnapshotDirector extends Actor {
 
   private void takeSnapshot() {
     pendingSnapshot = true;
-    createSnapshot(snapshotController::takeTempSnapshot);
+    // not known until the temporary snapshot is taken, the snapshot must not be marked as valid
+    // before
+    lastWrittenEventPosition = Long.MAX_VALUE;
+
+    final CompletableActorFuture<Void> tempSnapshotFuture = new CompletableActorFuture<>();
+    pendingTempSnapshot = tempSnapshotFuture;
+
+    // the checkpoint flushes the memtables before it links the files, which can take a while -
+    // run it as blocking task to not occupy the actor thread meanwhile
+    actor.runBlocking(
+        () -> {
+          try {
+            createSnapshot(snapshotController::takeTempSnapshot);
+            tempSnapshotFuture.complete(null);
+          } catch (Exception e) {
+            tempSnapshotFuture.completeExceptionally(e);
+          }
+        });
+
+    actor.runOnCompletion(tempSnapshotFuture, (nothing, error) -> onTempSnapshotTaken(error));
+  }
+
+  private void onTempSnapshotTaken(Throwable snapshotError) {
+    if (snapshotError != null) {
+      pendingSnapshot = false;
+      LOG.error(ERROR_MSG_ON_TAKE_TEMP_SNAPSHOT, snapshotError);
+      return;
+    }
 
     final ActorFuture<Long> lastWrittenPosition = streamProcessor.getLastWrittenPositionAsync();
     actor.runOnCompletion(
@@ -186,34 +223,40 @@ public class AsyncSnapshotDirector extends Actor {
   public ActorFuture<Void> closeAsync() {
     final CompletableActorFuture<Void> future = new CompletableActorFuture();
 
+    // the database must not be closed while the temporary snapshot is taken
     actor.call(
         () ->
             actor.runOnCompletion(
-                streamProcessor.getLastWrittenPositionAsync(),
-                (writtenPosition, ex1) -> {
-                  if (ex1 == null) {
-                    actor.runOnCompletion(
-                        streamProcessor.getLastProcessedPositionAsync(),
-                        (processedPosition, ex2) -> {
-                          if (ex2 == null) {
-                            enforceSnapshotCreation(writtenPosition, processedPosition);
-                            close();
-                            future.complete(null);
-                          } else {
-                            LOG.error(ERROR_MSG_ON_RESOLVE_PROCESSED_POS, ex2);
-                            close();
-                            future.completeExceptionally(ex2);
-                          }
-                        });
+                pendingTempSnapshot, (nothing, snapshotError) -> closeAfterSnapshot(future)));
 
+    return future;
+  }
+
+  private void closeAfterSnapshot(CompletableActorFuture<Void> future) {
+    actor.runOnCompletion(
+        streamProcessor.getLastWrittenPositionAsync(),
+        (writtenPosition, ex1) -> {
+          if (ex1 == null) {
+            actor.runOnCompletion(
+                streamProcessor.getLastProcessedPositionAsync(),
+                (processedPosition, ex2) -> {
+                  if (ex2 == null) {
+                    enforceSnapshotCreation(writtenPosition, processedPosition);
+                    close();
+                    future.complete(null);
                   } else {
-                    LOG.error(ERROR_MSG_ON_RESOLVE_WRITTEN_POS, ex1);
+                    LOG.error(ERROR_MSG_ON_RESOLVE_PROCESSED_POS, ex2);
                     close();
-                    future.completeExceptionally(ex1);
+                    future.completeExceptionally(ex2);
                   }
-                }));
+                });
 
-    return future;
+          } else {
+            LOG.error(ERROR_MSG_ON_RESOLVE_WRITTEN_POS, ex1);
+            close();
+            future.completeExceptionally(ex1);
+          }
+        });
   }
 
   private void close() {
@@ -24,6 +24,7 @@ import io.zeebe.protocol.record.ValueType;
 import io.zeebe.protocol.record.intent.ErrorIntent;
 import io.zeebe.util.exception.RecoverableException;
 import io.zeebe.util.retry.AbortableRetryStrategy;
+import io.zeebe.util.retry.OperationToRetry;
 import io.zeebe.util.retry.RecoverableRetryStrategy;
 import io.zeebe.util.retry.RetryStrategy;
 import io.zeebe.util.sched.ActorControl;
@@ -31,6 +32,7 @@ import io.zeebe.util.sched.clock.ActorClock;
 import io.zeebe.util.sched.future.ActorFuture;
 import java.time.Duration;
 import java.util.Map;
+import java.util.function.BiConsumer;
 import java.util.function.BooleanSupplier;
 import org.slf4j.Logger;
 
@@ -128,6 +130,15 @@ public final class ProcessingStateMachine {
 
   private final StreamProcessorMetrics metrics;
 
+  // the steps are created once, so that processing a record allocates no lambdas for them
+  private final Runnable readNextEventStep = this::readNextEvent;
+  private final OperationToRetry writeEventOperation = this::tryWriteEvent;
+  private final BiConsumer<Boolean, Throwable> onEventWritten = this::onEventWritten;
+  private final OperationToRetry updateStateOperation = this::tryUpdateState;
+  private final BiConsumer<Boolean, Throwable> onStateUpdated = this::onStateUpdated;
+  private final OperationToRetry executeSideEffectsOperation = this::tryExecuteSideEffects;
+  private final BiConsumer<Boolean, Throwable> onSideEffectsExecuted = this::onSideEffectsExecuted;
+
   public ProcessingStateMachine(ProcessingContext context, BooleanSupplier shouldProcessNext) {
 
     this.actor = context.getActor();
@@ -165,7 +176,7 @@ public final class ProcessingStateMachine {
   private long errorRecordPosition = -1;
 
   private void skipRecord() {
-    actor.submit(this::readNextEvent);
+    actor.submit(readNextEventStep);
     metrics.eventSkipped();
   }
 
@@ -328,72 +339,75 @@ public final class ProcessingStateMachine {
 
   private void writeEvent() {
     final ActorFuture<Boolean> retryFuture =
-        writeRetryStrategy.runWithRetry(
-            () -> {
-              writtenEventPosition = logStreamWriter.flush();
-              return writtenEventPosition >= 0;
-            },
-            abortCondition);
+        writeRetryStrategy.runWithRetry(writeEventOperation, abortCondition);
 
-    actor.runOnCompletion(
-        retryFuture,
-        (bool, t) -> {
-          if (t != null) {
-            LOG.error(ERROR_MESSAGE_WRITE_EVENT_ABORTED, currentEvent, t);
-            onError(t, this::writeEvent);
-          } else {
-            updateState();
-            metrics.eventWritten();
-          }
-        });
+    actor.runOnCompletion(retryFuture, onEventWritten);
+  }
+
+  private boolean tryWriteEvent() {
+    writtenEventPosition = logStreamWriter.flush();
+    return writtenEventPosition >= 0;
+  }
+
+  private void onEventWritten(Boolean written, Throwable throwable) {
+    if (throwable != null) {
+      LOG.error(ERROR_MESSAGE_WRITE_EVENT_ABORTED, currentEvent, throwable);
+      onError(throwable, this::writeEvent);
+    } else {
+      updateState();
+      metrics.eventWritten();
+    }
   }
 
   private void updateState() {
     final ActorFuture<Boolean> retryFuture =
-        updateStateRetryStrategy.runWithRetry(
-            () -> {
-              zeebeDbTransaction.commit();
-
-              // needs to be directly after commit
-              // so no other ActorJob can interfere between commit and update the positions
-              if (onErrorHandling) {
-                errorRecordPosition = writtenEventPosition;
-                LOG.info(
-                    LOG_ERROR_EVENT_WRITTEN, errorRecordPosition, logStream.getCommitPosition());
-              }
-              lastSuccessfulProcessedEventPosition = currentEvent.getPosition();
-              lastWrittenEventPosition = writtenEventPosition;
-              return true;
-            },
-            abortCondition);
+        updateStateRetryStrategy.runWithRetry(updateStateOperation, abortCondition);
 
-    actor.runOnCompletion(
-        retryFuture,
-        (bool, throwable) -> {
-          if (throwable != null) {
-            LOG.error(ERROR_MESSAGE_UPDATE_STATE_FAILED, currentEvent, throwable);
-            onError(throwable, this::updateState);
-          } else {
-            executeSideEffects();
-          }
-        });
+    actor.runOnCompletion(retryFuture, onStateUpdated);
+  }
+
+  private boolean tryUpdateState() throws Exception {
+    zeebeDbTransaction.commit();
+
+    // needs to be directly after commit
+    // so no other ActorJob can interfere between commit and update the positions
+    if (onErrorHandling) {
+      errorRecordPosition = writtenEventPosition;
+      LOG.info(LOG_ERROR_EVENT_WRITTEN, errorRecordPosition, logStream.getCommitPosition());
+    }
+    lastSuccessfulProcessedEventPosition = currentEvent.getPosition();
+    lastWrittenEventPosition = writtenEventPosition;
+    return true;
+  }
+
+  private void onStateUpdated(Boolean updated, Throwable throwable) {
+    if (throwable != null) {
+      LOG.error(ERROR_MESSAGE_UPDATE_STATE_FAILED, currentEvent, throwable);
+      onError(throwable, this::updateState);
+    } else {
+      executeSideEffects();
+    }
   }
 
   private void executeSideEffects() {
     final ActorFuture<Boolean> retryFuture =
-        sideEffectsRetryStrategy.runWithRetry(sideEffectProducer::flush, abortCondition);
+        sideEffectsRetryStrategy.runWithRetry(executeSideEffectsOperation, abortCondition);
 
-    actor.runOnCompletion(
-        retryFuture,
-        (bool, throwable) -> {
-          if (throwable != null) {
-            LOG.error(ERROR_MESSAGE_EXECUTE_SIDE_EFFECT_ABORTED, currentEvent, throwable);
-          }
+    actor.runOnCompletion(retryFuture, onSideEffectsExecuted);
+  }
 
-          // continue with next event
-          currentProcessor = null;
-          actor.submit(this::readNextEvent);
-        });
+  private boolean tryExecuteSideEffects() {
+    return sideEffectProducer.flush();
+  }
+
+  private void onSideEffectsExecuted(Boolean executed, Throwable throwable) {
+    if (throwable != null) {
+      LOG.error(ERROR_MESSAGE_EXECUTE_SIDE_EFFECT_ABORTED, currentEvent, throwable);
+    }
+
+    // continue with next event
+    currentProcessor = null;
+    actor.submit(readNextEventStep);
   }
 
   public long getLastSuccessfulProcessedEventPosition() {
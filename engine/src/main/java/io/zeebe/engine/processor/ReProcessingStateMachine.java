@@ -126,6 +126,7 @@ public final class ReProcessingStateMachine {
 
   // current iteration
   private long lastSourceEventPosition;
+  private long lastReprocessedPosition = -1L;
   private ActorFuture<Void> recoveryFuture;
   private LoggedEvent currentEvent;
   private TypedRecordProcessor eventProcessor;
@@ -145,11 +146,21 @@ public final class ReProcessingStateMachine {
       logStreamReader.seekToNextEvent(snapshotPosition);
       reprocessNextEvent();
     } else {
+      lastReprocessedPosition = snapshotPosition;
       recoveryFuture.complete(null);
     }
     return recoveryFuture;
   }
 
+  /**
+   * @return the position up to which the state reflects the log, after the last recovery completed;
+   *     can be used as snapshot position to continue the recovery with events which are committed
+   *     afterwards
+   */
+  long getLastReprocessedPosition() {
+    return lastReprocessedPosition;
+  }
+
   private long scanLog(final long snapshotPosition) {
     long lastSourceEventPosition = -1L;
 
@@ -322,6 +333,7 @@ public final class ReProcessingStateMachine {
   }
 
   private void onRecovered() {
+    lastReprocessedPosition = lastSourceEventPosition;
     recoveryFuture.complete(null);
     failedEventPositions.clear();
   }
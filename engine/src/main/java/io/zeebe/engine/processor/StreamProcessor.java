@@ -41,6 +41,7 @@ public class StreamProcessor extends Actor implements Service<StreamProcessor> {
   private final ActorScheduler actorScheduler;
   private final AtomicBoolean isOpened = new AtomicBoolean(false);
   private final List<StreamProcessorLifecycleAware> lifecycleAwareListeners;
+  private final boolean hotStandby;
 
   // log stream
   private final LogStream logStream;
@@ -57,6 +58,11 @@ public class StreamProcessor extends Actor implements Service<StreamProcessor> {
   private final TypedRecordProcessorFactory typedRecordProcessorFactory;
   private final LogStreamReader logStreamReader;
   private ProcessingStateMachine processingStateMachine;
+  private ReProcessingStateMachine reProcessingStateMachine;
+
+  // hot standby
+  private boolean isReprocessingCommittedEvents;
+  private boolean hasNewCommittedEvents;
 
   private Phase phase = Phase.REPROCESSING;
   private CompletableActorFuture<Void> openFuture;
@@ -65,6 +71,7 @@ public class StreamProcessor extends Actor implements Service<StreamProcessor> {
   protected StreamProcessor(final StreamProcessorBuilder context) {
     this.actorScheduler = context.getActorScheduler();
     this.lifecycleAwareListeners = context.getLifecycleListeners();
+    this.hotStandby = context.isHotStandby();
 
     this.typedRecordProcessorFactory = context.getTypedRecordProcessorFactory();
     this.zeebeDb = context.getZeebeDb();
@@ -92,6 +99,11 @@ public class StreamProcessor extends Actor implements Service<StreamProcessor> {
     return "stream-processor";
   }
 
+  @Override
+  protected int getPlacementKey() {
+    return partitionId;
+  }
+
   @Override
   public StreamProcessor get() {
     return this;
@@ -123,7 +135,9 @@ public class StreamProcessor extends Actor implements Service<StreamProcessor> {
 
       initProcessors();
 
-      lifecycleAwareListeners.forEach(l -> l.onOpen(processingContext));
+      if (!hotStandby) {
+        lifecycleAwareListeners.forEach(l -> l.onOpen(processingContext));
+      }
     } catch (final Throwable e) {
       onFailure(e);
       LangUtil.rethrowUnchecked(e);
@@ -133,8 +147,7 @@ public class StreamProcessor extends Actor implements Service<StreamProcessor> {
       processingStateMachine = new ProcessingStateMachine(processingContext, this::isOpened);
       openFuture.complete(null);
 
-      final ReProcessingStateMachine reProcessingStateMachine =
-          new ReProcessingStateMachine(processingContext);
+      reProcessingStateMachine = new ReProcessingStateMachine(processingContext);
 
       final ActorFuture<Void> recoverFuture =
           reProcessingStateMachine.startRecover(snapshotPosition);
@@ -194,6 +207,11 @@ public class StreamProcessor extends Actor implements Service<StreamProcessor> {
   }
 
   private void onRecovered() {
+    if (hotStandby) {
+      startHotStandby();
+      return;
+    }
+
     phase = Phase.PROCESSING;
     onCommitPositionUpdatedCondition =
         actor.onCondition(
@@ -205,6 +223,45 @@ public class StreamProcessor extends Actor implements Service<StreamProcessor> {
     actor.submit(processingStateMachine::readNextEvent);
   }
 
+  private void startHotStandby() {
+    phase = Phase.STANDBY;
+    LOG.info("Partition {} is in hot standby, reprocessing committed events", partitionId);
+
+    onCommitPositionUpdatedCondition =
+        actor.onCondition(
+            getName() + "-on-commit-position-updated", this::reprocessCommittedEvents);
+    logStream.registerOnCommitPositionUpdatedCondition(onCommitPositionUpdatedCondition);
+
+    actor.submit(this::reprocessCommittedEvents);
+  }
+
+  private void reprocessCommittedEvents() {
+    if (isReprocessingCommittedEvents) {
+      hasNewCommittedEvents = true;
+      return;
+    }
+
+    isReprocessingCommittedEvents = true;
+    hasNewCommittedEvents = false;
+
+    final ActorFuture<Void> reprocessFuture =
+        reProcessingStateMachine.startRecover(
+            reProcessingStateMachine.getLastReprocessedPosition());
+
+    actor.runOnCompletion(
+        reprocessFuture,
+        (v, throwable) -> {
+          isReprocessingCommittedEvents = false;
+
+          if (throwable != null) {
+            LOG.error("Unexpected error on reprocessing committed events.", throwable);
+            onFailure(throwable);
+          } else if (hasNewCommittedEvents) {
+            actor.submit(this::reprocessCommittedEvents);
+          }
+        });
+  }
+
   public ActorFuture<Void> closeAsync() {
     if (isOpened.compareAndSet(true, false)) {
       closeFuture = new CompletableActorFuture<>();
@@ -215,7 +272,7 @@ public class StreamProcessor extends Actor implements Service<StreamProcessor> {
 
   @Override
   protected void onActorCloseRequested() {
-    if (!isFailed()) {
+    if (!isFailed() && !hotStandby) {
       lifecycleAwareListeners.forEach(StreamProcessorLifecycleAware::onClose);
     }
   }
@@ -267,6 +324,7 @@ public class StreamProcessor extends Actor implements Service<StreamProcessor> {
   private enum Phase {
     REPROCESSING,
     PROCESSING,
+    STANDBY,
     FAILED
   }
 }
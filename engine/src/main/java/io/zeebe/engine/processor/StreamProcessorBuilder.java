@@ -36,6 +36,7 @@ public class StreamProcessorBuilder {
   private final List<StreamProcessorLifecycleAware> lifecycleListeners = new ArrayList<>();
 
   private ZeebeDb zeebeDb;
+  private boolean hotStandby;
 
   public StreamProcessorBuilder() {
     processingContext = new ProcessingContext();
@@ -77,6 +78,16 @@ public class StreamProcessorBuilder {
     return this;
   }
 
+  /**
+   * In hot standby mode the stream processor never writes to the log stream. It only reprocesses
+   * the committed events continuously to keep the state up to date, such that the partition can
+   * take over processing with a warm state. Should be used on followers.
+   */
+  public StreamProcessorBuilder hotStandby(final boolean hotStandby) {
+    this.hotStandby = hotStandby;
+    return this;
+  }
+
   public TypedRecordProcessorFactory getTypedRecordProcessorFactory() {
     return typedRecordProcessorFactory;
   }
@@ -101,6 +112,10 @@ public class StreamProcessorBuilder {
     return zeebeDb;
   }
 
+  public boolean isHotStandby() {
+    return hotStandby;
+  }
+
   public ActorFuture<StreamProcessor> build() {
     validate();
 
@@ -122,9 +137,13 @@ public class StreamProcessorBuilder {
         serviceContainer
             .createService(serviceName, streamProcessor)
             .dependency(LogStreamServiceNames.logStreamServiceName(logName))
-            .dependency(LogStreamServiceNames.logWriteBufferServiceName(logName))
             .dependency(LogStreamServiceNames.logStorageServiceName(logName));
 
+    if (!hotStandby) {
+      // the write buffer is only opened on the leader
+      serviceBuilder.dependency(LogStreamServiceNames.logWriteBufferServiceName(logName));
+    }
+
     if (additionalDependencies != null) {
       additionalDependencies.forEach((d) -> serviceBuilder.dependency(d));
     }
@@ -7,8 +7,10 @@
  */
 package io.zeebe.engine.processor;
 
+import static org.assertj.core.api.Assertions.assertThat;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
 import static org.mockito.Mockito.doThrow;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.never;
@@ -26,10 +28,15 @@ import io.zeebe.logstreams.state.StateStorage;
 import io.zeebe.logstreams.util.LogStreamRule;
 import io.zeebe.test.util.AutoCloseableRule;
 import io.zeebe.util.sched.ActorScheduler;
+import io.zeebe.util.sched.future.ActorFuture;
 import io.zeebe.util.sched.future.CompletableActorFuture;
 import java.io.File;
 import java.io.IOException;
 import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicBoolean;
 import org.junit.Before;
 import org.junit.Rule;
 import org.junit.Test;
@@ -338,4 +345,69 @@ public class AsyncSnapshotingTest {
     inOrder.verify(mockStreamProcessor, TIMEOUT.atLeastOnce()).getLastProcessedPositionAsync();
     inOrder.verify(snapshotController, never()).takeTempSnapshot();
   }
+
+  @Test
+  public void shouldNotResolveWrittenPositionBeforeTempSnapshotIsTaken() throws Exception {
+    // given
+    final CountDownLatch snapshotLatch = new CountDownLatch(1);
+    doAnswer(
+            invocation -> {
+              snapshotLatch.await();
+              return invocation.callRealMethod();
+            })
+        .when(snapshotController)
+        .takeTempSnapshot();
+    logStreamRule.setCommitPosition(100L);
+
+    // when
+    logStreamRule.getClock().addTime(Duration.ofMinutes(1));
+    verify(snapshotController, TIMEOUT).takeTempSnapshot();
+
+    // then
+    verify(mockStreamProcessor, never()).getLastWrittenPositionAsync();
+    verify(snapshotController, never()).moveValidSnapshot(25);
+
+    snapshotLatch.countDown();
+    final InOrder inOrder = Mockito.inOrder(mockStreamProcessor, snapshotController);
+    inOrder.verify(mockStreamProcessor, TIMEOUT).getLastWrittenPositionAsync();
+    inOrder.verify(snapshotController, TIMEOUT).moveValidSnapshot(25);
+  }
+
+  @Test
+  public void shouldWaitForTempSnapshotOnClose() throws Exception {
+    // given
+    final CountDownLatch snapshotLatch = new CountDownLatch(1);
+    final AtomicBoolean isTempSnapshotTaken = new AtomicBoolean();
+    final List<Boolean> isTempSnapshotTakenOnResolve = new CopyOnWriteArrayList<>();
+    doAnswer(
+            invocation -> {
+              snapshotLatch.await();
+              invocation.callRealMethod();
+              isTempSnapshotTaken.set(true);
+              return null;
+            })
+        .when(snapshotController)
+        .takeTempSnapshot();
+    when(mockStreamProcessor.getLastWrittenPositionAsync())
+        .thenAnswer(
+            invocation -> {
+              isTempSnapshotTakenOnResolve.add(isTempSnapshotTaken.get());
+              return CompletableActorFuture.completed(100L);
+            });
+    logStreamRule.setCommitPosition(100L);
+    logStreamRule.getClock().addTime(Duration.ofMinutes(1));
+    verify(snapshotController, TIMEOUT).takeTempSnapshot();
+
+    // when
+    final ActorFuture<Void> closeFuture = asyncSnapshotDirector.closeAsync();
+
+    // then
+    assertThat(closeFuture.isDone()).isFalse();
+
+    snapshotLatch.countDown();
+    closeFuture.join();
+    verify(snapshotController, TIMEOUT).takeSnapshot(32L);
+    // neither the pending nor the enforced snapshot resolved the written position before
+    assertThat(isTempSnapshotTakenOnResolve).isNotEmpty().containsOnly(true);
+  }
 }
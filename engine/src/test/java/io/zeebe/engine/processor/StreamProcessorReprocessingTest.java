@@ -433,4 +433,54 @@ public class StreamProcessorReprocessingTest {
     assertThat(processedPositions).doesNotContain(snapshotPosition);
     assertThat(processedPositions).containsExactly(lastSourceEvent, lastEvent);
   }
+
+  @Test
+  public void shouldReprocessCommittedEventsContinuouslyInHotStandby() {
+    // given
+    final long firstSourceEvent =
+        streamProcessorRule.writeWorkflowInstanceEvent(ELEMENT_ACTIVATING, 1);
+    final long firstFollowUpEvent =
+        streamProcessorRule.writeWorkflowInstanceEventWithSource(
+            ELEMENT_ACTIVATED, 1, firstSourceEvent);
+
+    final TypedRecordProcessor typedRecordProcessor = mock(TypedRecordProcessor.class);
+    final StreamProcessor streamProcessor =
+        streamProcessorRule.startHotStandbyStreamProcessor(
+            (processors, state) ->
+                processors
+                    .onEvent(ValueType.WORKFLOW_INSTANCE, ELEMENT_ACTIVATING, typedRecordProcessor)
+                    .onEvent(ValueType.WORKFLOW_INSTANCE, ELEMENT_ACTIVATED, typedRecordProcessor));
+    verify(typedRecordProcessor, TIMEOUT.times(1))
+        .processRecord(eq(firstSourceEvent), any(), any(), any(), any());
+
+    // when
+    final long secondSourceEvent =
+        streamProcessorRule.writeWorkflowInstanceEvent(ELEMENT_ACTIVATING, 1);
+    final long secondFollowUpEvent =
+        streamProcessorRule.writeWorkflowInstanceEventWithSource(
+            ELEMENT_ACTIVATED, 1, secondSourceEvent);
+
+    // then
+    verify(typedRecordProcessor, TIMEOUT.times(1))
+        .processRecord(eq(secondSourceEvent), any(), any(), any(), any());
+    streamProcessor.closeAsync().join();
+
+    final InOrder inOrder = inOrder(typedRecordProcessor);
+    inOrder
+        .verify(typedRecordProcessor, TIMEOUT.times(1))
+        .processRecord(eq(firstSourceEvent), any(), any(), any(), any());
+    inOrder
+        .verify(typedRecordProcessor, TIMEOUT.times(1))
+        .processRecord(eq(firstFollowUpEvent), any(), any(), any(), any());
+    inOrder
+        .verify(typedRecordProcessor, TIMEOUT.times(1))
+        .processRecord(eq(secondSourceEvent), any(), any(), any(), any());
+    inOrder.verifyNoMoreInteractions();
+
+    verify(typedRecordProcessor, never())
+        .processRecord(eq(secondFollowUpEvent), any(), any(), any(), any());
+    verify(typedRecordProcessor, never()).onOpen(any());
+    verify(typedRecordProcessor, never()).onRecovered(any());
+    verify(typedRecordProcessor, never()).onClose();
+  }
 }
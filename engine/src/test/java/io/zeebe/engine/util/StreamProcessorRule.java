@@ -120,6 +120,16 @@ public class StreamProcessorRule implements TestRule {
         }));
   }
 
+  public StreamProcessor startHotStandbyStreamProcessor(StreamProcessorTestFactory factory) {
+    return streams.startHotStandbyStreamProcessor(
+        getLogName(startPartitionId),
+        zeebeDbFactory,
+        (processingContext -> {
+          zeebeState = processingContext.getZeebeState();
+          return factory.build(TypedRecordProcessors.processors(), zeebeState);
+        }));
+  }
+
   public void closeStreamProcessor(int partitionId) throws Exception {
     streams.closeProcessor(getLogName(partitionId));
   }
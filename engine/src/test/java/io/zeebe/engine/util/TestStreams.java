@@ -241,6 +241,35 @@ public class TestStreams {
         stream, zeebeDbFactory, typedRecordProcessorFactory, MAX_SNAPSHOTS, SNAPSHOT_INTERVAL);
   }
 
+  public StreamProcessor startHotStandbyStreamProcessor(
+      final String log,
+      final ZeebeDbFactory zeebeDbFactory,
+      final TypedRecordProcessorFactory typedRecordProcessorFactory) {
+    final LogStream stream = getLogStream(log);
+    final StateStorage stateStorage = getStateStorageFactory(stream).create();
+    final StateSnapshotController currentSnapshotController =
+        spy(new StateSnapshotController(zeebeDbFactory, stateStorage, MAX_SNAPSHOTS));
+    snapshotControllerMap.put(stream.getLogName(), currentSnapshotController);
+
+    try {
+      currentSnapshotController.recover();
+    } catch (Exception e) {
+      throw new RuntimeException(e);
+    }
+    zeebeDb = currentSnapshotController.openDb();
+
+    return StreamProcessor.builder()
+        .logStream(stream)
+        .zeebeDb(zeebeDb)
+        .actorScheduler(actorScheduler)
+        .serviceContainer(serviceContainer)
+        .commandResponseWriter(mockCommandResponseWriter)
+        .hotStandby(true)
+        .streamProcessorFactory(typedRecordProcessorFactory)
+        .build()
+        .join();
+  }
+
   private StreamProcessor buildStreamProcessor(
       LogStream stream,
       ZeebeDbFactory zeebeDbFactory,
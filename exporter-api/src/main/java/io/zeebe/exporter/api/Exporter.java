@@ -66,7 +66,40 @@ public interface Exporter {
    * called indefinitely until it terminates without any exception. It is up to the implementation
    * to handle errors properly, to implement retry strategies, etc.
    *
+   * <p>The record stays valid after the method returned, so it may be kept by the exporter.
+   *
    * @param record the record to export
    */
   void export(Record record);
+
+  /**
+   * Called with batches of records to export, instead of calling {@link #export(Record)} for every
+   * single record. Only exporters which {@link #supportsBatch() support batches} receive batches;
+   * for all other exporters {@link #export(Record)} is called per record.
+   *
+   * <p>The batch contains only records which pass the filter of the exporter and which are after
+   * the last exported record position. Should the method throw an unexpected {@link
+   * RuntimeException}, it will be called again with the records of the batch which are after the
+   * last exported record position at that time, until it terminates without any exception.
+   *
+   * <p>The records of the batch are reused after the method returned. Use {@link
+   * RecordBatch#retain(int)} to keep a record.
+   *
+   * @param batch the records to export
+   */
+  default void exportBatch(RecordBatch batch) {
+    for (int i = 0; i < batch.size(); i++) {
+      export(batch.retain(i));
+    }
+  }
+
+  /**
+   * Called once, right after the exporter was instantiated, to decide whether the records are
+   * exported with {@link #exportBatch(RecordBatch)} or with {@link #export(Record)}.
+   *
+   * @return true if the exporter receives batches of records, false by default
+   */
+  default boolean supportsBatch() {
+    return false;
+  }
 }
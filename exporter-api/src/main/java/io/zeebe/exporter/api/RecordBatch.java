@@ -0,0 +1,50 @@
+/*
+ * Copyright © 2017 camunda services GmbH (info@camunda.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.zeebe.exporter.api;
+
+import io.zeebe.protocol.record.Record;
+
+/**
+ * A contiguous run of committed records which is passed to {@link
+ * Exporter#exportBatch(RecordBatch)}. The records are ordered by their position.
+ *
+ * <p>The batch and its records are only valid until the call returns: the records are views which
+ * are reused for the next batch. Use {@link #retain(int)} to keep a record beyond the call.
+ */
+public interface RecordBatch extends Iterable<Record> {
+
+  /** @return the number of records in the batch */
+  int size();
+
+  /**
+   * @param index the index of the record, between 0 (inclusive) and {@link #size()} (exclusive)
+   * @return the record at the given index
+   */
+  Record get(int index);
+
+  /**
+   * Copies the record at the given index, so that it can be kept after the call returned.
+   *
+   * @param index the index of the record, between 0 (inclusive) and {@link #size()} (exclusive)
+   * @return a copy of the record at the given index
+   */
+  Record retain(int index);
+
+  /** @return true if the batch contains no records */
+  default boolean isEmpty() {
+    return size() == 0;
+  }
+}
@@ -17,6 +17,7 @@ package io.zeebe.exporter.api.context;
 
 import io.zeebe.protocol.record.RecordType;
 import io.zeebe.protocol.record.ValueType;
+import io.zeebe.protocol.record.intent.Intent;
 import org.slf4j.Logger;
 
 /** Encapsulates context associated with the exporter on open. */
@@ -53,5 +54,19 @@ public interface Context {
      * @return {@code true} if records with this type of value should be exported.
      */
     boolean acceptValue(ValueType valueType);
+
+    /**
+     * Should export records with the given intent? Only asked for the intents of value types which
+     * are accepted.
+     *
+     * <p>The filter is evaluated once when the exporter is configured, and then applied to the
+     * records before they are read, so that records which are not exported cause almost no cost.
+     *
+     * @param intent the intent of the record.
+     * @return {@code true} if records with this intent should be exported.
+     */
+    default boolean acceptIntent(Intent intent) {
+      return true;
+    }
   }
 }
@@ -10,14 +10,18 @@ package io.zeebe.exporter;
 import io.prometheus.client.Histogram;
 import io.zeebe.protocol.record.Record;
 import io.zeebe.protocol.record.ValueType;
+import java.io.ByteArrayOutputStream;
 import java.io.IOException;
 import java.io.InputStream;
 import java.net.URI;
 import java.net.URISyntaxException;
 import java.time.*;
 import java.time.format.DateTimeFormatter;
+import java.util.ArrayDeque;
 import java.util.Collections;
+import java.util.Deque;
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
 import org.apache.http.HttpHost;
 import org.apache.http.auth.AuthScope;
 import org.apache.http.auth.UsernamePasswordCredentials;
@@ -25,6 +29,7 @@ import org.apache.http.client.CredentialsProvider;
 import org.apache.http.impl.client.BasicCredentialsProvider;
 import org.apache.http.impl.nio.client.HttpAsyncClientBuilder;
 import org.apache.http.impl.nio.reactor.IOReactorConfig;
+import org.elasticsearch.action.ActionListener;
 import org.elasticsearch.action.admin.indices.template.put.PutIndexTemplateRequest;
 import org.elasticsearch.action.bulk.BulkItemResponse;
 import org.elasticsearch.action.bulk.BulkRequest;
@@ -43,24 +48,43 @@ public class ElasticsearchClient {
   public static final String INDEX_TEMPLATE_FILENAME_PATTERN = "/zeebe-record-%s-template.json";
   public static final String INDEX_DELIMITER = "_";
 
+  /** The delay before a failed bulk is sent again the first time, it doubles on every failure. */
+  static final Duration MIN_RETRY_DELAY = Duration.ofSeconds(1);
+  /** The max delay before a failed bulk is sent again, like the retry delay of the exporter. */
+  static final Duration MAX_RETRY_DELAY = Duration.ofSeconds(10);
+
   private final ElasticsearchExporterConfiguration configuration;
   private final Logger log;
   protected final RestHighLevelClient client;
   private BulkRequest bulkRequest;
+  private final Deque<InFlightBulk> inFlightBulks = new ArrayDeque<>();
+  private final ByteArrayOutputStream jsonBuffer = new ByteArrayOutputStream();
+  private final SharedBulkMemory sharedMemory;
+  private long bufferedMemory;
 
   private ElasticsearchMetrics metrics;
 
   private final DateTimeFormatter formatter;
 
   public ElasticsearchClient(final ElasticsearchExporterConfiguration configuration, Logger log) {
+    this(configuration, log, SharedBulkMemory.INSTANCE);
+  }
+
+  ElasticsearchClient(
+      final ElasticsearchExporterConfiguration configuration,
+      final Logger log,
+      final SharedBulkMemory sharedMemory) {
     this.configuration = configuration;
     this.log = log;
+    this.sharedMemory = sharedMemory;
     this.client = createClient();
     this.bulkRequest = new BulkRequest();
     this.formatter = DateTimeFormatter.ofPattern("yyyy-MM-dd").withZone(ZoneOffset.UTC);
   }
 
   public void close() throws IOException {
+    // the records which are not flushed yet are exported again by the next leader
+    releaseMemory(bufferedMemory);
     client.close();
   }
 
@@ -69,14 +93,56 @@ public class ElasticsearchClient {
       metrics = new ElasticsearchMetrics(record.getPartitionId());
     }
 
+    // the bulk request keeps the source until it is flushed, so the bytes are copied once
+    jsonBuffer.reset();
+    record.writeJson(jsonBuffer);
+
     final IndexRequest request =
         new IndexRequest(indexFor(record), typeFor(record), idFor(record))
-            .source(record.toJson(), XContentType.JSON);
+            .source(jsonBuffer.toByteArray(), XContentType.JSON);
     bulk(request);
   }
 
   public void bulk(final IndexRequest indexRequest) {
+    final long sizeInBytes = bulkRequest.estimatedSizeInBytes();
     bulkRequest.add(indexRequest);
+    reserveMemory(bulkRequest.estimatedSizeInBytes() - sizeInBytes);
+  }
+
+  private void reserveMemory(final long bytes) {
+    sharedMemory.reserve(bytes);
+    bufferedMemory += bytes;
+    updateBufferedMemoryMetric();
+  }
+
+  private void releaseMemory(final long bytes) {
+    sharedMemory.release(bytes);
+    bufferedMemory -= bytes;
+    updateBufferedMemoryMetric();
+  }
+
+  private void updateBufferedMemoryMetric() {
+    if (metrics != null) {
+      metrics.setBufferedMemory(bufferedMemory);
+    }
+  }
+
+  /**
+   * @return true if the pending and in-flight bulks of all exporters of the broker reached the
+   *     shared memory limit
+   */
+  public boolean isMemoryLimitReached() {
+    return sharedMemory.getUsedBytes() >= configuration.bulk.sharedMemoryLimit;
+  }
+
+  public void onMemoryLimitReached() {
+    if (metrics != null) {
+      metrics.countMemoryLimitReached();
+    }
+  }
+
+  public boolean hasPendingRecords() {
+    return bulkRequest.numberOfActions() > 0;
   }
 
   /** @return true if all bulk records where flushed successfully */
@@ -84,8 +150,10 @@ public class ElasticsearchClient {
     boolean success = true;
     final int bulkSize = bulkRequest.numberOfActions();
     if (bulkSize > 0) {
+      final long bulkMemorySize = bulkRequest.estimatedSizeInBytes();
       try {
         metrics.recordBulkSize(bulkSize);
+        metrics.recordBulkMemorySize(bulkMemorySize);
         final BulkResponse responses = exportBulk();
         success = checkBulkResponses(responses);
       } catch (IOException e) {
@@ -95,6 +163,7 @@ public class ElasticsearchClient {
       if (success) {
         // all records where flushed, create new bulk request, otherwise retry next time
         bulkRequest = new BulkRequest();
+        releaseMemory(bulkMemorySize);
       }
     }
 
@@ -107,6 +176,106 @@ public class ElasticsearchClient {
     }
   }
 
+  /**
+   * Sends the pending bulk without waiting for the response. Once the bulk and all bulks which were
+   * sent before it are flushed, its last position is returned by {@link #pollFlushedPosition()}.
+   *
+   * @param lastPosition the position of the last record in the pending bulk
+   */
+  public void flushAsync(final long lastPosition) {
+    final int bulkSize = bulkRequest.numberOfActions();
+    if (bulkSize > 0) {
+      final InFlightBulk bulk = new InFlightBulk(bulkRequest, lastPosition);
+      metrics.recordBulkSize(bulkSize);
+      metrics.recordBulkMemorySize(bulk.getSizeInBytes());
+
+      sendBulk(bulk);
+      inFlightBulks.add(bulk);
+
+      bulkRequest = new BulkRequest();
+    }
+  }
+
+  private void sendBulk(final InFlightBulk bulk) {
+    final CompletableFuture<BulkResponse> response = bulk.send();
+    final Histogram.Timer timer = metrics.measureFlushDuration();
+
+    exportBulkAsync(
+        bulk.getRequest(),
+        ActionListener.wrap(
+            r -> {
+              timer.observeDuration();
+              response.complete(r);
+            },
+            response::completeExceptionally));
+  }
+
+  protected void exportBulkAsync(
+      final BulkRequest request, final ActionListener<BulkResponse> listener) {
+    client.bulkAsync(request, RequestOptions.DEFAULT, listener);
+  }
+
+  /** @return true if another bulk can be sent before the oldest one is acknowledged */
+  public boolean hasInFlightCapacity() {
+    return inFlightBulks.size() < configuration.bulk.concurrentRequests;
+  }
+
+  public boolean hasInFlightBulks() {
+    return !inFlightBulks.isEmpty();
+  }
+
+  /**
+   * Blocks until the response of the oldest bulk in flight is received, or the timeout elapsed.
+   *
+   * @return true if the response of the oldest bulk was received, or no bulk is in flight
+   */
+  public boolean awaitOldestInFlightBulk(final Duration timeout) {
+    final InFlightBulk bulk = inFlightBulks.peek();
+    return bulk == null || bulk.await(timeout);
+  }
+
+  /**
+   * Removes the bulks which are flushed, in the order they were sent. If the oldest bulk failed,
+   * its failed items are sent again with an exponential back off, and the bulks after it are kept
+   * in flight until it is flushed.
+   *
+   * @return the last position of the newest bulk which was removed, or -1 if no bulk was removed
+   */
+  public long pollFlushedPosition() {
+    long flushedPosition = -1;
+
+    InFlightBulk bulk = inFlightBulks.peek();
+    while (bulk != null && bulk.isDone()) {
+      if (!bulk.isFlushed()) {
+        retryFailedBulk(bulk);
+        break;
+      }
+
+      flushedPosition = bulk.getLastPosition();
+      inFlightBulks.poll();
+      releaseMemory(bulk.getSizeInBytes());
+      bulk = inFlightBulks.peek();
+    }
+
+    return flushedPosition;
+  }
+
+  private void retryFailedBulk(final InFlightBulk bulk) {
+    final long now = currentTimeMillis();
+    if (!bulk.isRetryScheduled()) {
+      final Duration delay = bulk.scheduleRetry(now, MIN_RETRY_DELAY, MAX_RETRY_DELAY);
+      log.warn(
+          "Failed to flush bulk, retrying failed items in {} {}", delay, bulk.getFailureMessage());
+    } else if (bulk.isRetryDue(now)) {
+      bulk.prepareRetry();
+      sendBulk(bulk);
+    }
+  }
+
+  protected long currentTimeMillis() {
+    return System.currentTimeMillis();
+  }
+
   private boolean checkBulkResponses(final BulkResponse responses) {
     for (BulkItemResponse response : responses) {
       if (response.isFailed()) {
@@ -119,7 +288,8 @@ public class ElasticsearchClient {
   }
 
   public boolean shouldFlush() {
-    return bulkRequest.numberOfActions() >= configuration.bulk.size;
+    return bulkRequest.numberOfActions() >= configuration.bulk.size
+        || bulkRequest.estimatedSizeInBytes() >= configuration.bulk.memoryLimit;
   }
 
   /** @return true if request was acknowledged */
@@ -9,6 +9,7 @@ package io.zeebe.exporter;
 
 import io.zeebe.exporter.ElasticsearchExporterConfiguration.IndexConfiguration;
 import io.zeebe.exporter.api.Exporter;
+import io.zeebe.exporter.api.RecordBatch;
 import io.zeebe.exporter.api.context.Context;
 import io.zeebe.exporter.api.context.Controller;
 import io.zeebe.protocol.record.Record;
@@ -21,6 +22,11 @@ public class ElasticsearchExporter implements Exporter {
 
   public static final String ZEEBE_RECORD_TEMPLATE_JSON = "/zeebe-record-template.json";
 
+  /** How often the responses of the bulks in flight are checked. */
+  static final Duration IN_FLIGHT_POLL_INTERVAL = Duration.ofMillis(100);
+  /** How long closing the exporter waits for the bulks in flight. */
+  static final Duration CLOSE_TIMEOUT = Duration.ofSeconds(10);
+
   private Logger log;
   private Controller controller;
 
@@ -30,6 +36,7 @@ public class ElasticsearchExporter implements Exporter {
 
   private long lastPosition = -1;
   private boolean indexTemplatesCreated;
+  private boolean inFlightPollScheduled;
 
   @Override
   public void configure(Context context) {
@@ -56,7 +63,11 @@ public class ElasticsearchExporter implements Exporter {
 
   @Override
   public void close() {
-    flush();
+    if (isAsyncFlushEnabled()) {
+      flushInFlightBulks();
+    } else {
+      flush();
+    }
 
     try {
       client.close();
@@ -68,20 +79,87 @@ public class ElasticsearchExporter implements Exporter {
 
   @Override
   public void export(Record record) {
+    index(record);
+    flushIfNeeded();
+  }
+
+  @Override
+  public boolean supportsBatch() {
+    return true;
+  }
+
+  @Override
+  public void exportBatch(RecordBatch batch) {
+    // the records are serialized into the bulk before the call returns, there is no need to retain
+    // them
+    for (int i = 0; i < batch.size(); i++) {
+      index(batch.get(i));
+      if (client.shouldFlush()) {
+        flush();
+      }
+    }
+    flushIfNeeded();
+  }
+
+  private void index(Record record) {
     if (!indexTemplatesCreated) {
       createIndexTemplates();
     }
 
-    client.index(record);
-    lastPosition = record.getPosition();
+    // the record is already part of the pending bulk if exporting it is retried
+    if (record.getPosition() > lastPosition) {
+      awaitMemory();
+      client.index(record);
+      lastPosition = record.getPosition();
+    }
+  }
+
+  private void flushIfNeeded() {
+    if (isAsyncFlushEnabled()) {
+      acknowledgeFlushedBulks();
+    }
 
     if (client.shouldFlush()) {
       flush();
     }
   }
 
+  /**
+   * Backs off if the bulks of all partitions reached the shared memory limit, after flushing the
+   * own pending bulk. The director retries to export the record later.
+   */
+  private void awaitMemory() {
+    if (!client.isMemoryLimitReached()) {
+      return;
+    }
+
+    if (isAsyncFlushEnabled()) {
+      acknowledgeFlushedBulks();
+    }
+
+    if (client.isMemoryLimitReached() && client.hasPendingRecords()) {
+      flush();
+    }
+
+    if (client.isMemoryLimitReached()) {
+      client.onMemoryLimitReached();
+      throw new ElasticsearchExporterException(
+          String.format(
+              "Expected to buffer record, but the shared memory limit of %d bytes is reached",
+              configuration.bulk.sharedMemoryLimit));
+    }
+  }
+
   private void flushAndReschedule() {
-    flush();
+    if (isAsyncFlushEnabled()) {
+      // don't block on a delayed flush, the next one or the next export flushes the bulk
+      acknowledgeFlushedBulks();
+      if (client.hasInFlightCapacity()) {
+        sendBulk();
+      }
+    } else {
+      flush();
+    }
     scheduleDelayedFlush();
   }
 
@@ -90,13 +168,82 @@ public class ElasticsearchExporter implements Exporter {
   }
 
   private void flush() {
-    if (client.flush()) {
+    if (isAsyncFlushEnabled()) {
+      flushAsync();
+    } else if (client.flush()) {
       controller.updateLastExportedRecordPosition(lastPosition);
     } else {
       log.warn("Failed to flush bulk completely");
     }
   }
 
+  private boolean isAsyncFlushEnabled() {
+    return configuration.bulk.concurrentRequests > 0;
+  }
+
+  /**
+   * Sends the pending bulk if another bulk can be in flight. Otherwise it fails without waiting for
+   * the oldest bulk, so that the director retries to export the record later; the bulks in flight
+   * are acknowledged by the scheduled poll in the meantime.
+   */
+  private void flushAsync() {
+    acknowledgeFlushedBulks();
+
+    if (!client.hasInFlightCapacity()) {
+      throw new ElasticsearchExporterException(
+          "Failed to flush bulk, the oldest bulk in flight is not yet flushed");
+    }
+
+    sendBulk();
+  }
+
+  private void sendBulk() {
+    client.flushAsync(lastPosition);
+    scheduleInFlightPoll();
+  }
+
+  private void scheduleInFlightPoll() {
+    if (!inFlightPollScheduled && client.hasInFlightBulks()) {
+      inFlightPollScheduled = true;
+      controller.scheduleTask(IN_FLIGHT_POLL_INTERVAL, this::pollInFlightBulks);
+    }
+  }
+
+  private void pollInFlightBulks() {
+    inFlightPollScheduled = false;
+    acknowledgeFlushedBulks();
+    scheduleInFlightPoll();
+  }
+
+  private void acknowledgeFlushedBulks() {
+    final long flushedPosition = client.pollFlushedPosition();
+    if (flushedPosition >= 0) {
+      controller.updateLastExportedRecordPosition(flushedPosition);
+    }
+  }
+
+  private void flushInFlightBulks() {
+    acknowledgeFlushedBulks();
+    client.flushAsync(lastPosition);
+
+    final long deadline = System.currentTimeMillis() + CLOSE_TIMEOUT.toMillis();
+    while (client.hasInFlightBulks()) {
+      final long remaining = deadline - System.currentTimeMillis();
+      if (remaining <= 0 || !client.awaitOldestInFlightBulk(Duration.ofMillis(remaining))) {
+        log.warn("Failed to flush all bulks in flight on close within {}", CLOSE_TIMEOUT);
+        break;
+      }
+
+      final long flushedPosition = client.pollFlushedPosition();
+      if (flushedPosition >= 0) {
+        controller.updateLastExportedRecordPosition(flushedPosition);
+      } else {
+        log.warn("Failed to flush all bulks in flight on close");
+        break;
+      }
+    }
+  }
+
   private void createIndexTemplates() {
     final IndexConfiguration index = configuration.index;
 
@@ -106,10 +106,27 @@ public class ElasticsearchExporterConfiguration {
     public int delay = 5;
     // bulk size before flush
     public int size = 1_000;
+    // bulk size in bytes before flush
+    public int memoryLimit = 10 * 1024 * 1024;
+    // maximum number of bulks which are sent but not yet acknowledged, 0 flushes synchronously
+    public int concurrentRequests = 0;
+    // memory in bytes of the pending and in-flight bulks of all partitions before backing off
+    public int sharedMemoryLimit = 256 * 1024 * 1024;
 
     @Override
     public String toString() {
-      return "BulkConfiguration{" + "delay=" + delay + ", size=" + size + '}';
+      return "BulkConfiguration{"
+          + "delay="
+          + delay
+          + ", size="
+          + size
+          + ", memoryLimit="
+          + memoryLimit
+          + ", concurrentRequests="
+          + concurrentRequests
+          + ", sharedMemoryLimit="
+          + sharedMemoryLimit
+          + '}';
     }
   }
 
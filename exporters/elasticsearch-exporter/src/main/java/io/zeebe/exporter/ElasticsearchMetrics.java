@@ -7,6 +7,8 @@
  */
 package io.zeebe.exporter;
 
+import io.prometheus.client.Counter;
+import io.prometheus.client.Gauge;
 import io.prometheus.client.Histogram;
 
 public class ElasticsearchMetrics {
@@ -28,6 +30,32 @@ public class ElasticsearchMetrics {
           .labelNames("partition")
           .register();
 
+  private static final Histogram BULK_MEMORY_SIZE =
+      Histogram.build()
+          .namespace("zeebe_elasticsearch_exporter")
+          .name("bulk_memory_size")
+          .help("Exporter bulk memory size in bytes")
+          .exponentialBuckets(1024, 4, 10)
+          .labelNames("partition")
+          .register();
+
+  private static final Gauge BUFFERED_MEMORY =
+      Gauge.build()
+          .namespace("zeebe_elasticsearch_exporter")
+          .name("buffered_memory_bytes")
+          .help("Memory of the pending and in-flight bulks of the exporter in bytes")
+          .labelNames("partition")
+          .register();
+
+  private static final Counter MEMORY_LIMIT_REACHED =
+      Counter.build()
+          .namespace("zeebe_elasticsearch_exporter")
+          .name("memory_limit_reached_total")
+          .help(
+              "Number of times the exporter backed off because the shared memory limit was reached")
+          .labelNames("partition")
+          .register();
+
   private final String partitionIdLabel;
 
   public ElasticsearchMetrics(int partitionId) {
@@ -41,4 +69,16 @@ public class ElasticsearchMetrics {
   public void recordBulkSize(int bulkSize) {
     BULK_SIZE.labels(partitionIdLabel).observe(bulkSize);
   }
+
+  public void recordBulkMemorySize(long bulkMemorySize) {
+    BULK_MEMORY_SIZE.labels(partitionIdLabel).observe(bulkMemorySize);
+  }
+
+  public void setBufferedMemory(long bufferedMemory) {
+    BUFFERED_MEMORY.labels(partitionIdLabel).set(bufferedMemory);
+  }
+
+  public void countMemoryLimitReached() {
+    MEMORY_LIMIT_REACHED.labels(partitionIdLabel).inc();
+  }
 }
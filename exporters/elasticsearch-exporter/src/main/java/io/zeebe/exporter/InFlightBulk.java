@@ -0,0 +1,139 @@
+/*
+ * Copyright Camunda Services GmbH and/or licensed to Camunda Services GmbH under
+ * one or more contributor license agreements. See the NOTICE file distributed
+ * with this work for additional information regarding copyright ownership.
+ * Licensed under the Zeebe Community License 1.0. You may not use this file
+ * except in compliance with the Zeebe Community License 1.0.
+ */
+package io.zeebe.exporter;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import org.elasticsearch.action.bulk.BulkItemResponse;
+import org.elasticsearch.action.bulk.BulkRequest;
+import org.elasticsearch.action.bulk.BulkResponse;
+
+/**
+ * A bulk which was sent to Elasticsearch without waiting for the response. The response is
+ * completed by the thread of the rest client, everything else is only accessed by the exporter.
+ */
+final class InFlightBulk {
+
+  private final long lastPosition;
+  private final long sizeInBytes;
+  private BulkRequest request;
+  private CompletableFuture<BulkResponse> response;
+  private Duration retryDelay = Duration.ZERO;
+  private long retryDeadline = -1;
+
+  InFlightBulk(BulkRequest request, long lastPosition) {
+    this.request = request;
+    this.lastPosition = lastPosition;
+    this.sizeInBytes = request.estimatedSizeInBytes();
+  }
+
+  BulkRequest getRequest() {
+    return request;
+  }
+
+  /** @return the position of the last record in the bulk */
+  long getLastPosition() {
+    return lastPosition;
+  }
+
+  /** @return the memory which is held by the bulk until it is flushed */
+  long getSizeInBytes() {
+    return sizeInBytes;
+  }
+
+  CompletableFuture<BulkResponse> send() {
+    response = new CompletableFuture<>();
+    retryDeadline = -1;
+    return response;
+  }
+
+  boolean isDone() {
+    return response.isDone();
+  }
+
+  /** @return true if the bulk is done within the timeout */
+  boolean await(Duration timeout) {
+    try {
+      response.get(timeout.toMillis(), TimeUnit.MILLISECONDS);
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+    } catch (ExecutionException e) {
+      // handled when the bulk is acknowledged
+    } catch (TimeoutException e) {
+      return false;
+    }
+
+    return isDone();
+  }
+
+  /** @return true if the bulk is done, and all of its items were indexed */
+  boolean isFlushed() {
+    if (!isDone() || response.isCompletedExceptionally()) {
+      return false;
+    }
+
+    return !response.join().hasFailures();
+  }
+
+  /** @return a description of the failure of the bulk, once it is done */
+  String getFailureMessage() {
+    if (response.isCompletedExceptionally()) {
+      try {
+        response.join();
+      } catch (Exception e) {
+        return e.getMessage();
+      }
+    }
+
+    return response.join().buildFailureMessage();
+  }
+
+  boolean isRetryScheduled() {
+    return retryDeadline >= 0;
+  }
+
+  /**
+   * Delays sending the failed bulk again. The delay starts with the initial delay and is doubled on
+   * every failure in a row, up to the max delay.
+   *
+   * @return the delay before the bulk is sent again
+   */
+  Duration scheduleRetry(long now, Duration initialDelay, Duration maxDelay) {
+    final Duration nextDelay = retryDelay.isZero() ? initialDelay : retryDelay.multipliedBy(2);
+    retryDelay = nextDelay.compareTo(maxDelay) < 0 ? nextDelay : maxDelay;
+    retryDeadline = now + retryDelay.toMillis();
+    return retryDelay;
+  }
+
+  /** @return true if the delay of the scheduled retry elapsed */
+  boolean isRetryDue(long now) {
+    return isRetryScheduled() && now >= retryDeadline;
+  }
+
+  /**
+   * Prepares the bulk to be sent again. If the whole request failed, it is sent again as it is,
+   * otherwise only the failed items are sent again.
+   */
+  void prepareRetry() {
+    if (response.isCompletedExceptionally()) {
+      return;
+    }
+
+    final BulkRequest retryRequest = new BulkRequest();
+    for (final BulkItemResponse item : response.join()) {
+      if (item.isFailed()) {
+        retryRequest.add(request.requests().get(item.getItemId()));
+      }
+    }
+
+    request = retryRequest;
+  }
+}
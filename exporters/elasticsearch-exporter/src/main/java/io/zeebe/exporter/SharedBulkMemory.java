@@ -0,0 +1,33 @@
+/*
+ * Copyright Camunda Services GmbH and/or licensed to Camunda Services GmbH under
+ * one or more contributor license agreements. See the NOTICE file distributed
+ * with this work for additional information regarding copyright ownership.
+ * Licensed under the Zeebe Community License 1.0. You may not use this file
+ * except in compliance with the Zeebe Community License 1.0.
+ */
+package io.zeebe.exporter;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Accounts the memory of the pending and in-flight bulks of all Elasticsearch exporters which are
+ * loaded by the same class loader, i.e. of all partitions of a broker.
+ */
+final class SharedBulkMemory {
+
+  static final SharedBulkMemory INSTANCE = new SharedBulkMemory();
+
+  private final AtomicLong usedBytes = new AtomicLong();
+
+  void reserve(final long bytes) {
+    usedBytes.addAndGet(bytes);
+  }
+
+  void release(final long bytes) {
+    usedBytes.addAndGet(-bytes);
+  }
+
+  long getUsedBytes() {
+    return usedBytes.get();
+  }
+}
@@ -0,0 +1,260 @@
+/*
+ * Copyright Camunda Services GmbH and/or licensed to Camunda Services GmbH under
+ * one or more contributor license agreements. See the NOTICE file distributed
+ * with this work for additional information regarding copyright ownership.
+ * Licensed under the Zeebe Community License 1.0. You may not use this file
+ * except in compliance with the Zeebe Community License 1.0.
+ */
+package io.zeebe.exporter;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import io.zeebe.test.exporter.record.MockRecord;
+import io.zeebe.util.ZbLogger;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import org.elasticsearch.action.ActionListener;
+import org.elasticsearch.action.DocWriteRequest.OpType;
+import org.elasticsearch.action.bulk.BulkItemResponse;
+import org.elasticsearch.action.bulk.BulkItemResponse.Failure;
+import org.elasticsearch.action.bulk.BulkRequest;
+import org.elasticsearch.action.bulk.BulkResponse;
+import org.elasticsearch.action.index.IndexResponse;
+import org.elasticsearch.index.shard.ShardId;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+public class ElasticsearchClientTest {
+
+  private final List<BulkRequest> sentRequests = new ArrayList<>();
+  private final List<ActionListener<BulkResponse>> listeners = new ArrayList<>();
+
+  private final SharedBulkMemory sharedMemory = new SharedBulkMemory();
+  private long currentTime;
+
+  private ElasticsearchExporterConfiguration configuration;
+  private ElasticsearchClient client;
+
+  @Before
+  public void setUp() {
+    configuration = new ElasticsearchExporterConfiguration();
+    configuration.bulk.concurrentRequests = 2;
+
+    client = createClient();
+  }
+
+  private ElasticsearchClient createClient() {
+    return new ElasticsearchClient(configuration, new ZbLogger("test"), sharedMemory) {
+      @Override
+      protected void exportBulkAsync(BulkRequest request, ActionListener<BulkResponse> listener) {
+        sentRequests.add(request);
+        listeners.add(listener);
+      }
+
+      @Override
+      protected long currentTimeMillis() {
+        return currentTime;
+      }
+    };
+  }
+
+  @After
+  public void tearDown() throws IOException {
+    client.close();
+  }
+
+  @Test
+  public void shouldFlushWhenMemoryLimitIsReached() {
+    // given
+    configuration.bulk.memoryLimit = 1;
+
+    // when
+    client.index(new MockRecord().setPosition(1));
+
+    // then
+    assertThat(client.shouldFlush()).isTrue();
+  }
+
+  @Test
+  public void shouldNotFlushBeforeMemoryLimitIsReached() {
+    // when
+    client.index(new MockRecord().setPosition(1));
+
+    // then
+    assertThat(client.shouldFlush()).isFalse();
+  }
+
+  @Test
+  public void shouldAcknowledgeBulksInOrder() {
+    // given
+    client.index(new MockRecord().setPosition(1));
+    client.flushAsync(1);
+    client.index(new MockRecord().setPosition(2));
+    client.flushAsync(2);
+    assertThat(client.hasInFlightCapacity()).isFalse();
+
+    // when
+    listeners.get(1).onResponse(successfulResponse(1));
+
+    // then
+    assertThat(client.pollFlushedPosition()).isEqualTo(-1);
+
+    // when
+    listeners.get(0).onResponse(successfulResponse(1));
+
+    // then
+    assertThat(client.pollFlushedPosition()).isEqualTo(2);
+    assertThat(client.hasInFlightBulks()).isFalse();
+  }
+
+  @Test
+  public void shouldRetryOnlyFailedItems() {
+    // given
+    client.index(new MockRecord().setPosition(1));
+    client.index(new MockRecord().setPosition(2));
+    client.flushAsync(2);
+
+    // when
+    listeners
+        .get(0)
+        .onResponse(new BulkResponse(new BulkItemResponse[] {successfulItem(0), failedItem(1)}, 1));
+    assertThat(client.pollFlushedPosition()).isEqualTo(-1);
+    currentTime += ElasticsearchClient.MIN_RETRY_DELAY.toMillis();
+
+    // then
+    assertThat(client.pollFlushedPosition()).isEqualTo(-1);
+    assertThat(sentRequests).hasSize(2);
+    assertThat(sentRequests.get(1).requests())
+        .containsExactly(sentRequests.get(0).requests().get(1));
+
+    // when
+    listeners.get(1).onResponse(successfulResponse(1));
+
+    // then
+    assertThat(client.pollFlushedPosition()).isEqualTo(2);
+  }
+
+  @Test
+  public void shouldRetryWholeBulkOnFailure() {
+    // given
+    client.index(new MockRecord().setPosition(1));
+    client.flushAsync(1);
+
+    // when
+    listeners.get(0).onFailure(new IOException("expected"));
+    assertThat(client.pollFlushedPosition()).isEqualTo(-1);
+    currentTime += ElasticsearchClient.MIN_RETRY_DELAY.toMillis();
+
+    // then
+    assertThat(client.pollFlushedPosition()).isEqualTo(-1);
+    assertThat(sentRequests).hasSize(2);
+    assertThat(sentRequests.get(1)).isSameAs(sentRequests.get(0));
+  }
+
+  @Test
+  public void shouldBackOffOnRepeatedFailures() {
+    // given
+    client.index(new MockRecord().setPosition(1));
+    client.flushAsync(1);
+
+    // when
+    listeners.get(0).onFailure(new IOException("expected"));
+    client.pollFlushedPosition();
+    currentTime += ElasticsearchClient.MIN_RETRY_DELAY.toMillis() - 1;
+    client.pollFlushedPosition();
+
+    // then
+    assertThat(sentRequests).hasSize(1);
+
+    // when
+    currentTime += 1;
+    client.pollFlushedPosition();
+    listeners.get(1).onFailure(new IOException("expected"));
+    client.pollFlushedPosition();
+    currentTime += ElasticsearchClient.MIN_RETRY_DELAY.toMillis();
+    client.pollFlushedPosition();
+
+    // then
+    assertThat(sentRequests).hasSize(2);
+
+    // when
+    currentTime += ElasticsearchClient.MIN_RETRY_DELAY.toMillis();
+    client.pollFlushedPosition();
+
+    // then
+    assertThat(sentRequests).hasSize(3);
+  }
+
+  @Test
+  public void shouldNotBackOffLongerThanMaxRetryDelay() {
+    // given
+    client.index(new MockRecord().setPosition(1));
+    client.flushAsync(1);
+
+    for (int i = 0; i < 10; i++) {
+      listeners.get(i).onFailure(new IOException("expected"));
+      client.pollFlushedPosition();
+      currentTime += ElasticsearchClient.MAX_RETRY_DELAY.toMillis();
+      client.pollFlushedPosition();
+    }
+
+    // then
+    assertThat(sentRequests).hasSize(11);
+  }
+
+  @Test
+  public void shouldReleaseMemoryWhenBulkIsAcknowledged() {
+    // given
+    client.index(new MockRecord().setPosition(1));
+    assertThat(sharedMemory.getUsedBytes()).isGreaterThan(0);
+    client.flushAsync(1);
+
+    // when
+    listeners.get(0).onResponse(successfulResponse(1));
+    client.pollFlushedPosition();
+
+    // then
+    assertThat(sharedMemory.getUsedBytes()).isEqualTo(0);
+  }
+
+  @Test
+  public void shouldShareMemoryLimitBetweenClients() throws IOException {
+    // given
+    configuration.bulk.sharedMemoryLimit = 1;
+    final ElasticsearchClient otherClient = createClient();
+
+    // when
+    otherClient.index(new MockRecord().setPosition(1));
+
+    // then
+    assertThat(client.isMemoryLimitReached()).isTrue();
+
+    // when
+    otherClient.close();
+
+    // then
+    assertThat(client.isMemoryLimitReached()).isFalse();
+  }
+
+  private static BulkResponse successfulResponse(int items) {
+    final BulkItemResponse[] responses = new BulkItemResponse[items];
+    for (int i = 0; i < items; i++) {
+      responses[i] = successfulItem(i);
+    }
+    return new BulkResponse(responses, 1);
+  }
+
+  private static BulkItemResponse successfulItem(int id) {
+    return new BulkItemResponse(
+        id,
+        OpType.INDEX,
+        new IndexResponse(new ShardId("index", "uuid", 0), "_doc", "id", 1, 1, 1, true));
+  }
+
+  private static BulkItemResponse failedItem(int id) {
+    return new BulkItemResponse(
+        id, OpType.INDEX, new Failure("index", "_doc", "id", new IOException("expected")));
+  }
+}
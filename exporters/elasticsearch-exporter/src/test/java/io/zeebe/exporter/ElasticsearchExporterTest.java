@@ -11,23 +11,30 @@ import static io.zeebe.exporter.ElasticsearchExporter.ZEEBE_RECORD_TEMPLATE_JSON
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
 import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
+import io.zeebe.exporter.api.RecordBatch;
 import io.zeebe.exporter.api.context.Context;
 import io.zeebe.protocol.record.Record;
 import io.zeebe.protocol.record.RecordType;
 import io.zeebe.protocol.record.ValueType;
 import io.zeebe.protocol.record.value.ErrorRecordValue;
 import io.zeebe.test.exporter.ExporterTestHarness;
+import io.zeebe.test.exporter.record.MockRecord;
 import io.zeebe.test.exporter.record.MockRecordValue;
 import io.zeebe.util.ZbLogger;
 import java.time.Duration;
 import java.util.Arrays;
+import java.util.Collections;
+import java.util.Iterator;
 import java.util.List;
+import java.util.stream.Collectors;
 import org.junit.Before;
 import org.junit.Test;
 import org.mockito.Mockito;
@@ -296,6 +303,175 @@ public class ElasticsearchExporterTest {
     assertThat(testHarness.getController().getPosition()).isEqualTo(exported.get(3).getPosition());
   }
 
+  @Test
+  public void shouldFlushAsynchronously() {
+    // given
+    config.bulk.concurrentRequests = 2;
+    when(esClient.shouldFlush()).thenReturn(true);
+    when(esClient.hasInFlightCapacity()).thenReturn(true);
+    createAndOpenExporter();
+
+    // when
+    final Record record =
+        testHarness.export(
+            r ->
+                r.getMetadata()
+                    .setValueType(ValueType.WORKFLOW_INSTANCE)
+                    .setRecordType(RecordType.EVENT));
+
+    // then
+    verify(esClient).flushAsync(record.getPosition());
+    verify(esClient, never()).flush();
+  }
+
+  @Test
+  public void shouldUpdatePositionWhenAsyncBulkIsFlushed() {
+    // given
+    config.bulk.concurrentRequests = 2;
+    when(esClient.pollFlushedPosition()).thenReturn(-1L, 1L);
+    createAndOpenExporter();
+
+    // when
+    testHarness.export(
+        r ->
+            r.getMetadata()
+                .setValueType(ValueType.WORKFLOW_INSTANCE)
+                .setRecordType(RecordType.EVENT));
+    testHarness.getController().runScheduledTasks(Duration.ofSeconds(config.bulk.delay));
+
+    // then
+    assertThat(testHarness.getController().getPosition()).isEqualTo(1L);
+  }
+
+  @Test
+  public void shouldNotWaitForInFlightBulkWithoutCapacity() {
+    // given
+    config.bulk.concurrentRequests = 1;
+    when(esClient.shouldFlush()).thenReturn(true);
+    when(esClient.hasInFlightCapacity()).thenReturn(false);
+    when(esClient.pollFlushedPosition()).thenReturn(-1L);
+    createAndOpenExporter();
+
+    // when
+    assertThatThrownBy(
+            () ->
+                testHarness.export(
+                    r ->
+                        r.getMetadata()
+                            .setValueType(ValueType.WORKFLOW_INSTANCE)
+                            .setRecordType(RecordType.EVENT)))
+        .isInstanceOf(ElasticsearchExporterException.class);
+
+    // then
+    verify(esClient).index(any());
+    verify(esClient, never()).flushAsync(anyLong());
+    verify(esClient, never()).awaitOldestInFlightBulk(any());
+  }
+
+  @Test
+  public void shouldPollInFlightBulks() {
+    // given
+    config.bulk.concurrentRequests = 2;
+    when(esClient.shouldFlush()).thenReturn(true);
+    when(esClient.hasInFlightCapacity()).thenReturn(true);
+    when(esClient.hasInFlightBulks()).thenReturn(true);
+    when(esClient.pollFlushedPosition()).thenReturn(-1L);
+    createAndOpenExporter();
+    final Record record =
+        testHarness.export(
+            r ->
+                r.getMetadata()
+                    .setValueType(ValueType.WORKFLOW_INSTANCE)
+                    .setRecordType(RecordType.EVENT));
+
+    // when
+    when(esClient.pollFlushedPosition()).thenReturn(record.getPosition());
+    testHarness.runScheduledTasks(ElasticsearchExporter.IN_FLIGHT_POLL_INTERVAL);
+
+    // then
+    assertThat(testHarness.getController().getPosition()).isEqualTo(record.getPosition());
+  }
+
+  @Test
+  public void shouldStopWaitingForInFlightBulksOnCloseAfterTimeout() {
+    // given
+    config.bulk.concurrentRequests = 2;
+    when(esClient.hasInFlightBulks()).thenReturn(true);
+    when(esClient.pollFlushedPosition()).thenReturn(-1L);
+    when(esClient.awaitOldestInFlightBulk(any())).thenReturn(false);
+    createAndOpenExporter();
+
+    // when
+    testHarness.close();
+
+    // then
+    verify(esClient).awaitOldestInFlightBulk(any());
+    assertThat(testHarness.getController().getPosition()).isEqualTo(-1L);
+  }
+
+  @Test
+  public void shouldFlushWhenMemoryLimitIsReached() {
+    // given
+    when(esClient.isMemoryLimitReached()).thenReturn(true, true, false);
+    when(esClient.hasPendingRecords()).thenReturn(true);
+    createAndOpenExporter();
+
+    // when
+    testHarness.export(
+        r ->
+            r.getMetadata()
+                .setValueType(ValueType.WORKFLOW_INSTANCE)
+                .setRecordType(RecordType.EVENT));
+
+    // then
+    verify(esClient).flush();
+    verify(esClient).index(any());
+  }
+
+  @Test
+  public void shouldBackOffWhileMemoryLimitIsReached() {
+    // given
+    when(esClient.isMemoryLimitReached()).thenReturn(true);
+    createAndOpenExporter();
+
+    // when
+    assertThatThrownBy(
+            () ->
+                testHarness.export(
+                    r ->
+                        r.getMetadata()
+                            .setValueType(ValueType.WORKFLOW_INSTANCE)
+                            .setRecordType(RecordType.EVENT)))
+        .isInstanceOf(ElasticsearchExporterException.class);
+
+    // then
+    verify(esClient).onMemoryLimitReached();
+    verify(esClient, never()).index(any());
+  }
+
+  @Test
+  public void shouldIndexBatchAndFlushWhenBulkIsFull() {
+    // given
+    when(esClient.shouldFlush()).thenReturn(false, true, false);
+    final ElasticsearchExporter exporter = createAndOpenExporter();
+    final List<MockRecord> records =
+        testHarness.stream(
+                r ->
+                    r.getMetadata()
+                        .setValueType(ValueType.WORKFLOW_INSTANCE)
+                        .setRecordType(RecordType.EVENT))
+            .limit(3)
+            .collect(Collectors.toList());
+
+    // when
+    exporter.exportBatch(new ListRecordBatch(records));
+
+    // then
+    verify(esClient, times(3)).index(any());
+    verify(esClient).flush();
+    assertThat(testHarness.getController().getPosition()).isEqualTo(records.get(1).getPosition());
+  }
+
   private ElasticsearchExporter createExporter() {
     return createExporter(esClient);
   }
@@ -333,6 +509,34 @@ public class ElasticsearchExporterTest {
     return client;
   }
 
+  private static final class ListRecordBatch implements RecordBatch {
+    private final List<? extends Record> records;
+
+    private ListRecordBatch(List<? extends Record> records) {
+      this.records = records;
+    }
+
+    @Override
+    public int size() {
+      return records.size();
+    }
+
+    @Override
+    public Record get(int index) {
+      return records.get(index);
+    }
+
+    @Override
+    public Record retain(int index) {
+      return records.get(index);
+    }
+
+    @Override
+    public Iterator<Record> iterator() {
+      return Collections.<Record>unmodifiableList(records).iterator();
+    }
+  }
+
   static class ErrorMockRecord extends MockRecordValue implements ErrorRecordValue {
 
     static final String EXCEPTION_MESSAGE = "Expected Exception Message";
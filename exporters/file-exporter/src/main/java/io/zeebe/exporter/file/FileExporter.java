@@ -0,0 +1,271 @@
+/*
+ * Copyright Camunda Services GmbH and/or licensed to Camunda Services GmbH under
+ * one or more contributor license agreements. See the NOTICE file distributed
+ * with this work for additional information regarding copyright ownership.
+ * Licensed under the Zeebe Community License 1.0. You may not use this file
+ * except in compliance with the Zeebe Community License 1.0.
+ */
+package io.zeebe.exporter.file;
+
+import io.zeebe.exporter.api.Exporter;
+import io.zeebe.exporter.api.RecordBatch;
+import io.zeebe.exporter.api.context.Context;
+import io.zeebe.exporter.api.context.Controller;
+import io.zeebe.protocol.record.Record;
+import io.zeebe.protocol.record.RecordValue;
+import io.zeebe.protocol.record.value.WorkflowInstanceRelated;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.Clock;
+import java.time.Duration;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import org.agrona.ExpandableArrayBuffer;
+import org.agrona.io.ExpandableDirectBufferOutputStream;
+import org.slf4j.Logger;
+
+/**
+ * Archives the records in rolling segment files on the local disk, one directory per partition. The
+ * written records are acknowledged once they are forced to disk, either when the segment is rolled
+ * or on the delayed flush.
+ *
+ * <p>If a segment can't be written, the exporter stops acknowledging records and fails every
+ * further export until it is reopened, so that the records are exported again from the last
+ * acknowledged position.
+ *
+ * <p>Once reopened, the segments which are left over are recovered before the first record is
+ * written: the records which are exported again are dropped from them, and segments which were not
+ * closed are truncated to their records and compressed.
+ */
+public class FileExporter implements Exporter {
+
+  private final Clock clock;
+  private final ExpandableArrayBuffer recordBuffer = new ExpandableArrayBuffer();
+  private final ExpandableDirectBufferOutputStream recordOutput =
+      new ExpandableDirectBufferOutputStream();
+
+  private Logger log;
+  private Controller controller;
+  private FileExporterConfiguration configuration;
+
+  private Path directory;
+  private Segment segment;
+  private IOException failure;
+
+  private long lastPosition = -1;
+  private long acknowledgedPosition = -1;
+
+  public FileExporter() {
+    this(Clock.systemUTC());
+  }
+
+  FileExporter(final Clock clock) {
+    this.clock = clock;
+  }
+
+  @Override
+  public void configure(Context context) {
+    log = context.getLogger();
+    configuration = context.getConfiguration().instantiate(FileExporterConfiguration.class);
+    log.debug("Exporter configured with {}", configuration);
+  }
+
+  @Override
+  public void open(Controller controller) {
+    this.controller = controller;
+
+    scheduleDelayedFlush();
+    log.info("Exporter opened");
+  }
+
+  @Override
+  public void close() {
+    if (segment != null && failure == null) {
+      try {
+        rollSegment();
+      } catch (RuntimeException e) {
+        log.warn("Failed to close segment {}", segment.getPath(), e);
+      }
+    }
+    log.info("Exporter closed");
+  }
+
+  @Override
+  public void export(Record record) {
+    ensureNotFailed();
+
+    // the record is already written if exporting it is retried
+    if (record.getPosition() <= lastPosition) {
+      return;
+    }
+
+    recordOutput.wrap(recordBuffer);
+    record.writeJson(recordOutput);
+    final int recordLength = recordOutput.position();
+
+    try {
+      segmentFor(record, recordLength)
+          .append(record.getPosition(), getWorkflowInstanceKey(record), recordBuffer, recordLength);
+    } catch (IOException e) {
+      fail(e);
+    }
+
+    lastPosition = record.getPosition();
+  }
+
+  @Override
+  public boolean supportsBatch() {
+    return true;
+  }
+
+  @Override
+  public void exportBatch(RecordBatch batch) {
+    // the records are written before the call returns, there is no need to retain them
+    for (int i = 0; i < batch.size(); i++) {
+      export(batch.get(i));
+    }
+  }
+
+  private Segment segmentFor(final Record record, final int recordLength) throws IOException {
+    if (segment != null && (!segment.hasCapacity(recordLength) || isExpired(segment))) {
+      rollSegment();
+    }
+
+    if (segment == null) {
+      if (directory == null) {
+        directory =
+            Paths.get(configuration.directory).resolve("partition-" + record.getPartitionId());
+        Files.createDirectories(directory);
+        recoverSegments(record.getPosition());
+      }
+
+      final int capacity = Math.max(configuration.segmentSize, recordLength + 1);
+      segment = Segment.create(directory, record.getPosition(), capacity, clock.millis());
+      log.debug("Created segment {}", segment.getPath());
+    }
+
+    return segment;
+  }
+
+  /**
+   * Recovers the segments of the partition which are left over from before the exporter was opened.
+   * The records from the given position on were not acknowledged and are exported again, so they
+   * are dropped from the segments.
+   */
+  private void recoverSegments(final long position) throws IOException {
+    final List<Path> files;
+    try (Stream<Path> list = Files.list(directory)) {
+      files = list.sorted().collect(Collectors.toList());
+    }
+
+    for (final Path file : files) {
+      final String name = file.getFileName().toString();
+      if (name.endsWith(Segment.COMPRESSED_SEGMENT_SUFFIX)) {
+        if (Segment.getFirstPosition(file) >= position) {
+          log.debug("Deleted segment {} which is exported again", file);
+          Files.delete(file);
+          Files.deleteIfExists(Segment.getIndexPath(file));
+        }
+      } else if (name.endsWith(Segment.SEGMENT_SUFFIX)) {
+        if (!Segment.truncate(file, position)) {
+          log.debug("Deleted segment {} which is exported again", file);
+        } else if (configuration.compress) {
+          Segment.compress(file);
+        }
+      }
+    }
+
+    for (final Path file : files) {
+      if (file.getFileName().toString().endsWith(Segment.INDEX_SUFFIX)
+          && !Segment.hasSegment(file)) {
+        log.debug("Deleted index {} without segment", file);
+        Files.deleteIfExists(file);
+      }
+    }
+  }
+
+  private boolean isExpired(final Segment segment) {
+    return configuration.maxSegmentAge > 0
+        && clock.millis() - segment.getCreatedAt()
+            >= Duration.ofSeconds(configuration.maxSegmentAge).toMillis();
+  }
+
+  private void rollSegment() {
+    final Segment rolledSegment = segment;
+    segment = null;
+
+    try {
+      rolledSegment.close();
+    } catch (IOException e) {
+      fail(e);
+    }
+
+    acknowledge(rolledSegment.getLastPosition());
+
+    if (configuration.compress) {
+      try {
+        rolledSegment.compress();
+      } catch (IOException e) {
+        // the records are durable, the segment is kept uncompressed
+        log.warn("Failed to compress segment {}", rolledSegment.getPath(), e);
+      }
+    }
+  }
+
+  private void flushAndReschedule() {
+    try {
+      if (failure == null && segment != null) {
+        if (isExpired(segment)) {
+          rollSegment();
+        } else {
+          segment.flush();
+          acknowledge(segment.getLastPosition());
+        }
+      }
+    } catch (IOException e) {
+      log.error("Failed to flush segment {}", segment.getPath(), e);
+      failure = e;
+    } catch (FileExporterException e) {
+      log.error("Failed to roll segment", e);
+    }
+
+    scheduleDelayedFlush();
+  }
+
+  private void scheduleDelayedFlush() {
+    controller.scheduleTask(Duration.ofSeconds(configuration.flushDelay), this::flushAndReschedule);
+  }
+
+  private void acknowledge(final long position) {
+    if (position > acknowledgedPosition) {
+      acknowledgedPosition = position;
+      controller.updateLastExportedRecordPosition(position);
+    }
+  }
+
+  private void fail(final IOException e) {
+    failure = e;
+    throw new FileExporterException("Failed to write segment", e);
+  }
+
+  private void ensureNotFailed() {
+    if (failure != null) {
+      throw new FileExporterException(
+          String.format(
+              "Expected to export record, but a segment failed to be written before; records after position %d are exported again once reopened",
+              acknowledgedPosition),
+          failure);
+    }
+  }
+
+  private static long getWorkflowInstanceKey(final Record record) {
+    final RecordValue value = record.getValue();
+    if (value instanceof WorkflowInstanceRelated) {
+      return ((WorkflowInstanceRelated) value).getWorkflowInstanceKey();
+    }
+    return -1;
+  }
+}
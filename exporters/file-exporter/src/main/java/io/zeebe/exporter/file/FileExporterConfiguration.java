@@ -0,0 +1,43 @@
+/*
+ * Copyright Camunda Services GmbH and/or licensed to Camunda Services GmbH under
+ * one or more contributor license agreements. See the NOTICE file distributed
+ * with this work for additional information regarding copyright ownership.
+ * Licensed under the Zeebe Community License 1.0. You may not use this file
+ * except in compliance with the Zeebe Community License 1.0.
+ */
+package io.zeebe.exporter.file;
+
+public class FileExporterConfiguration {
+
+  // directory which contains a sub directory per partition with the segments
+  public String directory = "exports";
+
+  // size of a segment in bytes; a segment is rolled once the next record doesn't fit
+  public int segmentSize = 64 * 1024 * 1024;
+
+  // maximum age of a segment in seconds before it is rolled, 0 to roll by size only
+  public int maxSegmentAge = 60 * 60;
+
+  // delay in seconds after which the written records are forced to disk and acknowledged
+  public int flushDelay = 1;
+
+  // compress rolled segments with gzip
+  public boolean compress = true;
+
+  @Override
+  public String toString() {
+    return "FileExporterConfiguration{"
+        + "directory='"
+        + directory
+        + '\''
+        + ", segmentSize="
+        + segmentSize
+        + ", maxSegmentAge="
+        + maxSegmentAge
+        + ", flushDelay="
+        + flushDelay
+        + ", compress="
+        + compress
+        + '}';
+  }
+}
@@ -0,0 +1,291 @@
+/*
+ * Copyright Camunda Services GmbH and/or licensed to Camunda Services GmbH under
+ * one or more contributor license agreements. See the NOTICE file distributed
+ * with this work for additional information regarding copyright ownership.
+ * Licensed under the Zeebe Community License 1.0. You may not use this file
+ * except in compliance with the Zeebe Community License 1.0.
+ */
+package io.zeebe.exporter.file;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileChannel.MapMode;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.zip.GZIPOutputStream;
+import org.agrona.DirectBuffer;
+import org.agrona.IoUtil;
+import org.agrona.concurrent.UnsafeBuffer;
+
+/**
+ * A file of records which are appended through a memory mapped buffer, one JSON document per line.
+ * The segment is named after the position of its first record.
+ *
+ * <p>Each record gets an entry in the sidecar index file ({@code .idx}), which consists of three
+ * longs in little endian order: the position of the record, the key of its workflow instance (or
+ * -1) and the offset of the record in the uncompressed segment.
+ */
+final class Segment implements AutoCloseable {
+
+  static final String SEGMENT_SUFFIX = ".json";
+  static final String COMPRESSED_SEGMENT_SUFFIX = ".json.gz";
+  static final String INDEX_SUFFIX = ".idx";
+  static final int INDEX_ENTRY_LENGTH = 3 * Long.BYTES;
+
+  private static final int NAME_LENGTH = 20;
+  private static final byte NEW_LINE = '\n';
+  private static final int INDEX_BUFFER_CAPACITY = 1024 * INDEX_ENTRY_LENGTH;
+
+  private final Path path;
+  private final Path indexPath;
+  private final long createdAt;
+
+  private final FileChannel channel;
+  private final MappedByteBuffer mappedBuffer;
+  private final UnsafeBuffer buffer;
+  private final FileChannel indexChannel;
+  private final ByteBuffer indexBuffer =
+      ByteBuffer.allocateDirect(INDEX_BUFFER_CAPACITY).order(ByteOrder.LITTLE_ENDIAN);
+
+  private int length;
+  private long lastPosition = -1;
+
+  private Segment(
+      final Path path,
+      final Path indexPath,
+      final long createdAt,
+      final FileChannel channel,
+      final FileChannel indexChannel,
+      final int capacity)
+      throws IOException {
+    this.path = path;
+    this.indexPath = indexPath;
+    this.createdAt = createdAt;
+    this.channel = channel;
+    this.indexChannel = indexChannel;
+    this.mappedBuffer = channel.map(MapMode.READ_WRITE, 0, capacity);
+    this.buffer = new UnsafeBuffer(mappedBuffer);
+  }
+
+  /**
+   * Creates a new segment, replacing the one with the same first position which may be left over
+   * from records which were written but not acknowledged before.
+   */
+  static Segment create(
+      final Path directory, final long firstPosition, final int capacity, final long createdAt)
+      throws IOException {
+    final String name = String.format("%0" + NAME_LENGTH + "d", firstPosition);
+    final Path path = directory.resolve(name + SEGMENT_SUFFIX);
+    final Path indexPath = directory.resolve(name + INDEX_SUFFIX);
+
+    final FileChannel channel =
+        FileChannel.open(
+            path,
+            StandardOpenOption.CREATE,
+            StandardOpenOption.TRUNCATE_EXISTING,
+            StandardOpenOption.READ,
+            StandardOpenOption.WRITE);
+    final FileChannel indexChannel =
+        FileChannel.open(
+            indexPath,
+            StandardOpenOption.CREATE,
+            StandardOpenOption.TRUNCATE_EXISTING,
+            StandardOpenOption.WRITE);
+
+    try {
+      return new Segment(path, indexPath, createdAt, channel, indexChannel, capacity);
+    } catch (IOException e) {
+      channel.close();
+      indexChannel.close();
+      throw e;
+    }
+  }
+
+  boolean hasCapacity(final int recordLength) {
+    return length + recordLength + 1 <= buffer.capacity();
+  }
+
+  boolean isEmpty() {
+    return lastPosition < 0;
+  }
+
+  long getCreatedAt() {
+    return createdAt;
+  }
+
+  long getLastPosition() {
+    return lastPosition;
+  }
+
+  Path getPath() {
+    return path;
+  }
+
+  Path getIndexPath() {
+    return indexPath;
+  }
+
+  void append(
+      final long position,
+      final long workflowInstanceKey,
+      final DirectBuffer record,
+      final int recordLength)
+      throws IOException {
+    if (!indexBuffer.hasRemaining()) {
+      writeIndex();
+    }
+    indexBuffer.putLong(position).putLong(workflowInstanceKey).putLong(length);
+
+    buffer.putBytes(length, record, 0, recordLength);
+    buffer.putByte(length + recordLength, NEW_LINE);
+    length += recordLength + 1;
+    lastPosition = position;
+  }
+
+  /** Forces the appended records and their index entries to disk. */
+  void flush() throws IOException {
+    writeIndex();
+    indexChannel.force(false);
+    mappedBuffer.force();
+  }
+
+  /** Flushes the segment and truncates it to the appended records. */
+  @Override
+  public void close() throws IOException {
+    try {
+      flush();
+    } finally {
+      IoUtil.unmap(mappedBuffer);
+      channel.truncate(length);
+      channel.close();
+      indexChannel.close();
+    }
+  }
+
+  /** Replaces the closed segment by a compressed copy. */
+  void compress() throws IOException {
+    compress(path);
+  }
+
+  /** @return the position of the first record of the segment or index file */
+  static long getFirstPosition(final Path path) {
+    return Long.parseLong(path.getFileName().toString().substring(0, NAME_LENGTH));
+  }
+
+  static Path getIndexPath(final Path path) {
+    return path.resolveSibling(
+        path.getFileName().toString().substring(0, NAME_LENGTH) + INDEX_SUFFIX);
+  }
+
+  /** @return true if the index file belongs to an existing segment */
+  static boolean hasSegment(final Path indexPath) {
+    final String name = indexPath.getFileName().toString().substring(0, NAME_LENGTH);
+    return Files.exists(indexPath.resolveSibling(name + SEGMENT_SUFFIX))
+        || Files.exists(indexPath.resolveSibling(name + COMPRESSED_SEGMENT_SUFFIX));
+  }
+
+  /**
+   * Truncates a segment which may not have been closed, e.g. because the broker crashed, to its
+   * records before the given position. This drops the zero-filled tail of the mapped file and the
+   * index entries of the dropped records. The offsets of the records are taken from the index,
+   * which contains at least the entries of all flushed records.
+   *
+   * @return true if the segment still contains records, false if it was deleted
+   */
+  static boolean truncate(final Path path, final long position) throws IOException {
+    final Path indexPath = getIndexPath(path);
+    final ByteBuffer index =
+        ByteBuffer.wrap(Files.exists(indexPath) ? Files.readAllBytes(indexPath) : new byte[0])
+            .order(ByteOrder.LITTLE_ENDIAN);
+    final int entries = index.capacity() / INDEX_ENTRY_LENGTH;
+
+    int retained = 0;
+    while (retained < entries && index.getLong(retained * INDEX_ENTRY_LENGTH) < position) {
+      retained++;
+    }
+
+    if (retained == 0) {
+      Files.delete(path);
+      Files.deleteIfExists(indexPath);
+      return false;
+    }
+
+    try (FileChannel channel =
+        FileChannel.open(path, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+      final long length;
+      if (retained < entries) {
+        length = getOffset(index, retained);
+      } else {
+        length = findRecordEnd(channel, getOffset(index, retained - 1), path);
+      }
+      channel.truncate(length);
+      channel.force(false);
+    }
+
+    try (FileChannel indexChannel = FileChannel.open(indexPath, StandardOpenOption.WRITE)) {
+      indexChannel.truncate((long) retained * INDEX_ENTRY_LENGTH);
+      indexChannel.force(false);
+    }
+
+    return true;
+  }
+
+  private static long getOffset(final ByteBuffer index, final int entry) {
+    return index.getLong(entry * INDEX_ENTRY_LENGTH + 2 * Long.BYTES);
+  }
+
+  /** @return the offset after the new line which ends the record at the given offset */
+  private static long findRecordEnd(final FileChannel channel, final long offset, final Path path)
+      throws IOException {
+    final ByteBuffer chunk = ByteBuffer.allocate(64 * 1024);
+    long chunkOffset = offset;
+    while (channel.read(chunk, chunkOffset) > 0) {
+      chunk.flip();
+      while (chunk.hasRemaining()) {
+        if (chunk.get() == NEW_LINE) {
+          return chunkOffset + chunk.position();
+        }
+      }
+      chunkOffset += chunk.limit();
+      chunk.clear();
+    }
+
+    throw new IOException(
+        String.format(
+            "Expected record at offset %d of segment %s to end with a new line, but it doesn't",
+            offset, path));
+  }
+
+  /** Replaces the closed segment at the given path by a compressed copy. */
+  static void compress(final Path path) throws IOException {
+    final String name = path.getFileName().toString();
+    final Path compressedPath =
+        path.resolveSibling(
+            name.substring(0, name.length() - SEGMENT_SUFFIX.length()) + COMPRESSED_SEGMENT_SUFFIX);
+
+    try (InputStream input = Files.newInputStream(path);
+        OutputStream output = new GZIPOutputStream(Files.newOutputStream(compressedPath))) {
+      final byte[] chunk = new byte[64 * 1024];
+      int read;
+      while ((read = input.read(chunk)) > 0) {
+        output.write(chunk, 0, read);
+      }
+    }
+
+    Files.delete(path);
+  }
+
+  private void writeIndex() throws IOException {
+    indexBuffer.flip();
+    while (indexBuffer.hasRemaining()) {
+      indexChannel.write(indexBuffer);
+    }
+    indexBuffer.clear();
+  }
+}
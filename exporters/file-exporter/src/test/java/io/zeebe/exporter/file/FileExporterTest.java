@@ -0,0 +1,261 @@
+/*
+ * Copyright Camunda Services GmbH and/or licensed to Camunda Services GmbH under
+ * one or more contributor license agreements. See the NOTICE file distributed
+ * with this work for additional information regarding copyright ownership.
+ * Licensed under the Zeebe Community License 1.0. You may not use this file
+ * except in compliance with the Zeebe Community License 1.0.
+ */
+package io.zeebe.exporter.file;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import io.zeebe.protocol.record.Record;
+import io.zeebe.test.exporter.ExporterTestHarness;
+import io.zeebe.test.exporter.record.MockRecord;
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.zip.GZIPInputStream;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+public class FileExporterTest {
+
+  @Rule public final TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+  private final ControlledClock clock = new ControlledClock();
+
+  private FileExporterConfiguration config;
+  private ExporterTestHarness testHarness;
+  private Path partitionDirectory;
+
+  @Before
+  public void setUp() throws IOException {
+    config = new FileExporterConfiguration();
+    config.directory = temporaryFolder.getRoot().getAbsolutePath();
+    config.segmentSize = 64 * 1024;
+    partitionDirectory = temporaryFolder.getRoot().toPath().resolve("partition-0");
+  }
+
+  @Test
+  public void shouldAcknowledgeRecordsOnFlush() throws Exception {
+    // given
+    openExporter();
+    final List<Record> records = testHarness.stream().export(3);
+
+    // when
+    testHarness.runScheduledTasks(Duration.ofSeconds(config.flushDelay));
+
+    // then
+    assertThat(testHarness.getLastUpdatedPosition()).isEqualTo(records.get(2).getPosition());
+
+    assertThat(readActiveSegment(records.get(0)))
+        .containsExactly(records.get(0).toJson(), records.get(1).toJson(), records.get(2).toJson());
+  }
+
+  @Test
+  public void shouldIndexRecords() throws Exception {
+    // given
+    openExporter();
+    final List<Record> records = testHarness.stream().export(2);
+
+    // when
+    testHarness.runScheduledTasks(Duration.ofSeconds(config.flushDelay));
+
+    // then
+    final ByteBuffer index =
+        ByteBuffer.wrap(Files.readAllBytes(segmentPath(records.get(0), Segment.INDEX_SUFFIX)))
+            .order(ByteOrder.LITTLE_ENDIAN);
+    assertThat(index.remaining()).isEqualTo(2 * Segment.INDEX_ENTRY_LENGTH);
+
+    assertThat(index.getLong()).isEqualTo(records.get(0).getPosition());
+    assertThat(index.getLong()).isEqualTo(-1);
+    assertThat(index.getLong()).isEqualTo(0);
+
+    assertThat(index.getLong()).isEqualTo(records.get(1).getPosition());
+    assertThat(index.getLong()).isEqualTo(-1);
+    assertThat(index.getLong())
+        .isEqualTo(records.get(0).toJson().getBytes(StandardCharsets.UTF_8).length + 1);
+  }
+
+  @Test
+  public void shouldRollSegmentWhenFull() throws Exception {
+    // given
+    config.segmentSize = 1;
+    openExporter();
+
+    // when
+    final List<Record> records = testHarness.stream().export(3);
+
+    // then
+    assertThat(testHarness.getLastUpdatedPosition()).isEqualTo(records.get(1).getPosition());
+    assertThat(readCompressedSegment(records.get(0))).containsExactly(records.get(0).toJson());
+    assertThat(readCompressedSegment(records.get(1))).containsExactly(records.get(1).toJson());
+    assertThat(segmentPath(records.get(2), Segment.SEGMENT_SUFFIX)).exists();
+  }
+
+  @Test
+  public void shouldRollSegmentWhenExpired() throws Exception {
+    // given
+    openExporter();
+    final Record record = testHarness.export();
+
+    // when
+    clock.advance(Duration.ofSeconds(config.maxSegmentAge));
+    testHarness.runScheduledTasks(Duration.ofSeconds(config.flushDelay));
+
+    // then
+    assertThat(testHarness.getLastUpdatedPosition()).isEqualTo(record.getPosition());
+    assertThat(readCompressedSegment(record)).containsExactly(record.toJson());
+    assertThat(segmentPath(record, Segment.SEGMENT_SUFFIX)).doesNotExist();
+  }
+
+  @Test
+  public void shouldNotWriteRecordTwiceWhenExportIsRetried() throws Exception {
+    // given
+    openExporter();
+    final MockRecord record = testHarness.export();
+
+    // when
+    testHarness.export(record);
+    testHarness.close();
+
+    // then
+    assertThat(readCompressedSegment(record)).containsExactly(record.toJson());
+  }
+
+  @Test
+  public void shouldTruncateSegmentOnRestart() throws Exception {
+    // given
+    openExporter();
+    final List<Record> records = Arrays.asList(testHarness.export(), testHarness.export());
+    testHarness.runScheduledTasks(Duration.ofSeconds(config.flushDelay));
+    final MockRecord unacknowledged = testHarness.export();
+
+    // when - the exporter crashed and the unacknowledged record is exported again
+    openExporter();
+    testHarness.export(unacknowledged);
+
+    // then
+    assertThat(readCompressedSegment(records.get(0)))
+        .containsExactly(records.get(0).toJson(), records.get(1).toJson());
+    assertThat(segmentPath(records.get(0), Segment.SEGMENT_SUFFIX)).doesNotExist();
+    assertThat(Files.size(segmentPath(records.get(0), Segment.INDEX_SUFFIX)))
+        .isEqualTo(2 * Segment.INDEX_ENTRY_LENGTH);
+
+    assertThat(readActiveSegment(unacknowledged)).containsExactly(unacknowledged.toJson());
+  }
+
+  @Test
+  public void shouldDeleteSegmentsWhichAreExportedAgainOnRestart() throws Exception {
+    // given
+    config.segmentSize = 1;
+    openExporter();
+    final MockRecord acknowledged = testHarness.export();
+    final MockRecord exportedAgain = testHarness.export();
+    final MockRecord unacknowledged = testHarness.export();
+
+    // when - the exporter crashed before the position of the second record was stored
+    openExporter();
+    testHarness.export(exportedAgain);
+
+    // then
+    assertThat(readCompressedSegment(acknowledged)).containsExactly(acknowledged.toJson());
+    assertThat(segmentPath(exportedAgain, Segment.COMPRESSED_SEGMENT_SUFFIX)).doesNotExist();
+    assertThat(readActiveSegment(exportedAgain)).containsExactly(exportedAgain.toJson());
+    assertThat(segmentPath(unacknowledged, Segment.SEGMENT_SUFFIX)).doesNotExist();
+    assertThat(segmentPath(unacknowledged, Segment.INDEX_SUFFIX)).doesNotExist();
+  }
+
+  @Test
+  public void shouldDeleteStaleIndexOnRestart() throws Exception {
+    // given
+    openExporter();
+    final MockRecord record = testHarness.export();
+    testHarness.close();
+
+    final MockRecord nextRecord =
+        ((MockRecord) record.clone()).setPosition(record.getPosition() + 1);
+    final Path staleIndex =
+        segmentPath(((MockRecord) record.clone()).setPosition(100), Segment.INDEX_SUFFIX);
+    Files.write(staleIndex, new byte[Segment.INDEX_ENTRY_LENGTH]);
+
+    // when
+    openExporter();
+    testHarness.export(nextRecord);
+
+    // then
+    assertThat(staleIndex).doesNotExist();
+    assertThat(readCompressedSegment(record)).containsExactly(record.toJson());
+    assertThat(segmentPath(record, Segment.INDEX_SUFFIX)).exists();
+  }
+
+  private void openExporter() throws Exception {
+    testHarness = new ExporterTestHarness(new FileExporter(clock));
+    testHarness.configure("file", config);
+    testHarness.open();
+  }
+
+  private Path segmentPath(final Record firstRecord, final String suffix) {
+    return partitionDirectory.resolve(String.format("%020d", firstRecord.getPosition()) + suffix);
+  }
+
+  private List<String> readActiveSegment(final Record firstRecord) throws IOException {
+    // the active segment is not truncated yet, the records may be followed by zeros
+    final String content =
+        new String(
+            Files.readAllBytes(segmentPath(firstRecord, Segment.SEGMENT_SUFFIX)),
+            StandardCharsets.UTF_8);
+    final int end = content.indexOf('\0');
+    return Arrays.asList(content.substring(0, end < 0 ? content.length() : end).split("\n"));
+  }
+
+  private List<String> readCompressedSegment(final Record firstRecord) throws IOException {
+    final Path segment = segmentPath(firstRecord, Segment.COMPRESSED_SEGMENT_SUFFIX);
+    try (BufferedReader reader =
+        new BufferedReader(
+            new InputStreamReader(
+                new GZIPInputStream(Files.newInputStream(segment)), StandardCharsets.UTF_8))) {
+      return reader.lines().collect(Collectors.toList());
+    }
+  }
+
+  private static final class ControlledClock extends Clock {
+
+    private Instant now = Instant.now();
+
+    void advance(final Duration duration) {
+      now = now.plus(duration);
+    }
+
+    @Override
+    public ZoneId getZone() {
+      return ZoneOffset.UTC;
+    }
+
+    @Override
+    public Clock withZone(final ZoneId zone) {
+      return this;
+    }
+
+    @Override
+    public Instant instant() {
+      return now;
+    }
+  }
+}
@@ -0,0 +1,167 @@
+/*
+ * Copyright Camunda Services GmbH and/or licensed to Camunda Services GmbH under
+ * one or more contributor license agreements. See the NOTICE file distributed
+ * with this work for additional information regarding copyright ownership.
+ * Licensed under the Zeebe Community License 1.0. You may not use this file
+ * except in compliance with the Zeebe Community License 1.0.
+ */
+package io.zeebe.exporter.metrics;
+
+import io.zeebe.exporter.api.Exporter;
+import io.zeebe.exporter.api.RecordBatch;
+import io.zeebe.exporter.api.context.Context;
+import io.zeebe.exporter.api.context.Controller;
+import io.zeebe.protocol.record.Record;
+import io.zeebe.protocol.record.RecordType;
+import io.zeebe.protocol.record.ValueType;
+import io.zeebe.protocol.record.intent.IncidentIntent;
+import io.zeebe.protocol.record.intent.Intent;
+import io.zeebe.protocol.record.intent.JobIntent;
+import io.zeebe.protocol.record.intent.WorkflowInstanceIntent;
+import io.zeebe.protocol.record.value.IncidentRecordValue;
+import io.zeebe.protocol.record.value.JobRecordValue;
+import io.zeebe.protocol.record.value.WorkflowInstanceRecordValue;
+import org.slf4j.Logger;
+
+/**
+ * Aggregates workflow statistics from the exported records and exposes them as Prometheus metrics
+ * of the broker, e.g. the active element instances, the incidents and the job latencies.
+ *
+ * <p>The aggregates are kept in memory only. Every record is acknowledged once it is aggregated, so
+ * the statistics cover the records which are exported since the exporter was opened.
+ */
+public class MetricsExporter implements Exporter {
+
+  private Logger log;
+  private Controller controller;
+  private MetricsExporterConfiguration configuration;
+
+  private WorkflowStatistics statistics;
+
+  @Override
+  public void configure(Context context) {
+    log = context.getLogger();
+    configuration = context.getConfiguration().instantiate(MetricsExporterConfiguration.class);
+    log.debug("Exporter configured with {}", configuration);
+
+    context.setFilter(new MetricsRecordFilter());
+  }
+
+  @Override
+  public void open(Controller controller) {
+    this.controller = controller;
+    log.info("Exporter opened");
+  }
+
+  @Override
+  public void close() {
+    if (statistics != null) {
+      statistics.close();
+    }
+    log.info("Exporter closed");
+  }
+
+  @Override
+  public void export(Record record) {
+    aggregate(record);
+    controller.updateLastExportedRecordPosition(record.getPosition());
+  }
+
+  @Override
+  public boolean supportsBatch() {
+    return true;
+  }
+
+  @Override
+  public void exportBatch(RecordBatch batch) {
+    // the records are aggregated before the call returns, there is no need to retain them
+    for (int i = 0; i < batch.size(); i++) {
+      aggregate(batch.get(i));
+    }
+    controller.updateLastExportedRecordPosition(batch.get(batch.size() - 1).getPosition());
+  }
+
+  private void aggregate(final Record record) {
+    if (statistics == null) {
+      statistics = new WorkflowStatistics(record.getPartitionId(), configuration);
+    }
+
+    switch (record.getValueType()) {
+      case WORKFLOW_INSTANCE:
+        aggregateWorkflowInstance(record);
+        break;
+      case INCIDENT:
+        aggregateIncident(record);
+        break;
+      case JOB:
+        aggregateJob(record);
+        break;
+      default:
+        break;
+    }
+  }
+
+  private void aggregateWorkflowInstance(final Record record) {
+    final WorkflowInstanceRecordValue value = (WorkflowInstanceRecordValue) record.getValue();
+    final Intent intent = record.getIntent();
+
+    if (intent == WorkflowInstanceIntent.ELEMENT_ACTIVATED) {
+      statistics.elementActivated(value.getBpmnProcessId(), value.getElementId());
+    } else if (intent == WorkflowInstanceIntent.ELEMENT_COMPLETED) {
+      statistics.elementCompleted(value.getBpmnProcessId(), value.getElementId());
+    } else if (intent == WorkflowInstanceIntent.ELEMENT_TERMINATED) {
+      statistics.elementTerminated(value.getBpmnProcessId(), value.getElementId());
+    }
+  }
+
+  private void aggregateIncident(final Record record) {
+    final IncidentRecordValue value = (IncidentRecordValue) record.getValue();
+    final Intent intent = record.getIntent();
+
+    if (intent == IncidentIntent.CREATED) {
+      statistics.incidentCreated(value.getBpmnProcessId(), value.getErrorType().name());
+    } else if (intent == IncidentIntent.RESOLVED) {
+      statistics.incidentResolved(value.getBpmnProcessId(), value.getErrorType().name());
+    }
+  }
+
+  private void aggregateJob(final Record record) {
+    final Intent intent = record.getIntent();
+
+    if (intent == JobIntent.CREATED) {
+      statistics.jobCreated(record.getKey(), record.getTimestamp());
+    } else if (intent == JobIntent.COMPLETED) {
+      final JobRecordValue value = (JobRecordValue) record.getValue();
+      statistics.jobCompleted(record.getKey(), value.getType(), record.getTimestamp());
+    } else if (intent == JobIntent.CANCELED) {
+      statistics.jobCanceled(record.getKey());
+    }
+  }
+
+  private static class MetricsRecordFilter implements Context.RecordFilter {
+
+    @Override
+    public boolean acceptType(RecordType recordType) {
+      return recordType == RecordType.EVENT;
+    }
+
+    @Override
+    public boolean acceptValue(ValueType valueType) {
+      return valueType == ValueType.WORKFLOW_INSTANCE
+          || valueType == ValueType.INCIDENT
+          || valueType == ValueType.JOB;
+    }
+
+    @Override
+    public boolean acceptIntent(Intent intent) {
+      return intent == WorkflowInstanceIntent.ELEMENT_ACTIVATED
+          || intent == WorkflowInstanceIntent.ELEMENT_COMPLETED
+          || intent == WorkflowInstanceIntent.ELEMENT_TERMINATED
+          || intent == IncidentIntent.CREATED
+          || intent == IncidentIntent.RESOLVED
+          || intent == JobIntent.CREATED
+          || intent == JobIntent.COMPLETED
+          || intent == JobIntent.CANCELED;
+    }
+  }
+}
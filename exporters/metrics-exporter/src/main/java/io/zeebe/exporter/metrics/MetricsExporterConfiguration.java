@@ -0,0 +1,28 @@
+/*
+ * Copyright Camunda Services GmbH and/or licensed to Camunda Services GmbH under
+ * one or more contributor license agreements. See the NOTICE file distributed
+ * with this work for additional information regarding copyright ownership.
+ * Licensed under the Zeebe Community License 1.0. You may not use this file
+ * except in compliance with the Zeebe Community License 1.0.
+ */
+package io.zeebe.exporter.metrics;
+
+public class MetricsExporterConfiguration {
+
+  // maximum number of distinct label values per metric and partition, further values are
+  // aggregated under the label value "other"
+  public int maxLabelValues = 1_000;
+
+  // maximum number of created jobs per partition whose creation time is kept to measure latency
+  public int maxPendingJobs = 100_000;
+
+  @Override
+  public String toString() {
+    return "MetricsExporterConfiguration{"
+        + "maxLabelValues="
+        + maxLabelValues
+        + ", maxPendingJobs="
+        + maxPendingJobs
+        + '}';
+  }
+}
@@ -0,0 +1,167 @@
+/*
+ * Copyright Camunda Services GmbH and/or licensed to Camunda Services GmbH under
+ * one or more contributor license agreements. See the NOTICE file distributed
+ * with this work for additional information regarding copyright ownership.
+ * Licensed under the Zeebe Community License 1.0. You may not use this file
+ * except in compliance with the Zeebe Community License 1.0.
+ */
+package io.zeebe.exporter.metrics;
+
+import io.prometheus.client.Counter;
+import io.prometheus.client.Gauge;
+import io.prometheus.client.Histogram;
+import java.util.HashSet;
+import java.util.Set;
+import org.agrona.collections.Long2LongHashMap;
+
+/**
+ * The aggregates of one partition. Each label dimension is bounded by the configured maximum of
+ * distinct values, so that the memory doesn't grow with the number of deployed workflows.
+ */
+final class WorkflowStatistics {
+
+  static final String OTHER = "other";
+
+  private static final String NAMESPACE = "zeebe_metrics_exporter";
+
+  private static final Gauge ACTIVE_ELEMENT_INSTANCES =
+      Gauge.build()
+          .namespace(NAMESPACE)
+          .name("active_element_instances")
+          .help(
+              "Number of element instances which were activated since the exporter was opened, and not yet completed or terminated")
+          .labelNames("partition", "bpmnProcessId", "elementId")
+          .register();
+
+  private static final Counter ELEMENT_INSTANCE_EVENTS =
+      Counter.build()
+          .namespace(NAMESPACE)
+          .name("element_instance_events_total")
+          .help("Number of element instances which were activated, completed or terminated")
+          .labelNames("partition", "bpmnProcessId", "elementId", "action")
+          .register();
+
+  private static final Counter INCIDENT_EVENTS =
+      Counter.build()
+          .namespace(NAMESPACE)
+          .name("incident_events_total")
+          .help("Number of incidents which were created or resolved")
+          .labelNames("partition", "bpmnProcessId", "errorType", "action")
+          .register();
+
+  private static final Histogram JOB_LATENCY =
+      Histogram.build()
+          .namespace(NAMESPACE)
+          .name("job_latency")
+          .help("Time in seconds from the creation to the completion of jobs")
+          .buckets(0.1, 0.5, 1, 5, 10, 30, 60, 300, 1_800, 3_600, 86_400)
+          .labelNames("partition", "jobType")
+          .register();
+
+  private static final long NO_CREATION_TIME = -1;
+
+  private final String partitionIdLabel;
+  private final int maxLabelValues;
+  private final int maxPendingJobs;
+
+  private final Set<String> elements = new HashSet<>();
+  private final Set<String> processes = new HashSet<>();
+  private final Set<String> jobTypes = new HashSet<>();
+  private final Long2LongHashMap jobCreationTimes = new Long2LongHashMap(NO_CREATION_TIME);
+
+  WorkflowStatistics(final int partitionId, final MetricsExporterConfiguration configuration) {
+    this.partitionIdLabel = String.valueOf(partitionId);
+    this.maxLabelValues = configuration.maxLabelValues;
+    this.maxPendingJobs = configuration.maxPendingJobs;
+  }
+
+  void elementActivated(final String bpmnProcessId, final String elementId) {
+    final String[] labels = elementLabels(bpmnProcessId, elementId);
+    ACTIVE_ELEMENT_INSTANCES.labels(labels).inc();
+    ELEMENT_INSTANCE_EVENTS.labels(labels[0], labels[1], labels[2], "activated").inc();
+  }
+
+  void elementCompleted(final String bpmnProcessId, final String elementId) {
+    elementEnded(bpmnProcessId, elementId, "completed");
+  }
+
+  void elementTerminated(final String bpmnProcessId, final String elementId) {
+    elementEnded(bpmnProcessId, elementId, "terminated");
+  }
+
+  private void elementEnded(final String bpmnProcessId, final String elementId, String action) {
+    final String[] labels = elementLabels(bpmnProcessId, elementId);
+
+    // the instance may have been activated before the exporter was opened
+    final Gauge.Child activeInstances = ACTIVE_ELEMENT_INSTANCES.labels(labels);
+    if (activeInstances.get() > 0) {
+      activeInstances.dec();
+    }
+    ELEMENT_INSTANCE_EVENTS.labels(labels[0], labels[1], labels[2], action).inc();
+  }
+
+  void incidentCreated(final String bpmnProcessId, final String errorType) {
+    INCIDENT_EVENTS
+        .labels(partitionIdLabel, processLabel(bpmnProcessId), errorType, "created")
+        .inc();
+  }
+
+  void incidentResolved(final String bpmnProcessId, final String errorType) {
+    INCIDENT_EVENTS
+        .labels(partitionIdLabel, processLabel(bpmnProcessId), errorType, "resolved")
+        .inc();
+  }
+
+  void jobCreated(final long jobKey, final long timestamp) {
+    if (jobCreationTimes.size() < maxPendingJobs) {
+      jobCreationTimes.put(jobKey, timestamp);
+    }
+  }
+
+  void jobCompleted(final long jobKey, final String jobType, final long timestamp) {
+    final long creationTime = jobCreationTimes.remove(jobKey);
+    if (creationTime != NO_CREATION_TIME) {
+      JOB_LATENCY
+          .labels(partitionIdLabel, boundedLabel(jobTypes, jobType))
+          .observe((timestamp - creationTime) / 1000.0);
+    }
+  }
+
+  void jobCanceled(final long jobKey) {
+    jobCreationTimes.remove(jobKey);
+  }
+
+  /** Removes the aggregates which are only valid while the exporter is open. */
+  void close() {
+    for (final String element : elements) {
+      final int separator = element.indexOf('\0');
+      ACTIVE_ELEMENT_INSTANCES.remove(
+          partitionIdLabel, element.substring(0, separator), element.substring(separator + 1));
+    }
+    ACTIVE_ELEMENT_INSTANCES.remove(partitionIdLabel, OTHER, OTHER);
+
+    for (final String jobType : jobTypes) {
+      JOB_LATENCY.remove(partitionIdLabel, jobType);
+    }
+    JOB_LATENCY.remove(partitionIdLabel, OTHER);
+  }
+
+  private String[] elementLabels(final String bpmnProcessId, final String elementId) {
+    final String element = bpmnProcessId + '\0' + elementId;
+    if (elements.contains(element) || elements.size() < maxLabelValues && elements.add(element)) {
+      return new String[] {partitionIdLabel, bpmnProcessId, elementId};
+    }
+    return new String[] {partitionIdLabel, OTHER, OTHER};
+  }
+
+  private String processLabel(final String bpmnProcessId) {
+    return boundedLabel(processes, bpmnProcessId);
+  }
+
+  private String boundedLabel(final Set<String> values, final String value) {
+    if (values.contains(value) || values.size() < maxLabelValues && values.add(value)) {
+      return value;
+    }
+    return OTHER;
+  }
+}
@@ -0,0 +1,201 @@
+/*
+ * Copyright Camunda Services GmbH and/or licensed to Camunda Services GmbH under
+ * one or more contributor license agreements. See the NOTICE file distributed
+ * with this work for additional information regarding copyright ownership.
+ * Licensed under the Zeebe Community License 1.0. You may not use this file
+ * except in compliance with the Zeebe Community License 1.0.
+ */
+package io.zeebe.exporter.metrics;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import io.prometheus.client.CollectorRegistry;
+import io.zeebe.protocol.record.Record;
+import io.zeebe.protocol.record.RecordValue;
+import io.zeebe.protocol.record.ValueType;
+import io.zeebe.protocol.record.intent.Intent;
+import io.zeebe.protocol.record.intent.JobIntent;
+import io.zeebe.protocol.record.intent.WorkflowInstanceIntent;
+import io.zeebe.protocol.record.value.JobRecordValue;
+import io.zeebe.protocol.record.value.WorkflowInstanceRecordValue;
+import io.zeebe.test.exporter.ExporterTestHarness;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+public class MetricsExporterTest {
+
+  private static int nextPartitionId = 1;
+
+  private final MetricsExporterConfiguration configuration = new MetricsExporterConfiguration();
+  private final MetricsExporter exporter = new MetricsExporter();
+
+  private ExporterTestHarness testHarness;
+  private String partitionId;
+  private long position;
+
+  @Before
+  public void setUp() {
+    // the metrics are static, every test uses its own partition
+    partitionId = String.valueOf(nextPartitionId++);
+  }
+
+  @After
+  public void tearDown() {
+    testHarness.close();
+  }
+
+  @Test
+  public void shouldCountActiveElementInstances() throws Exception {
+    // given
+    openExporter();
+
+    // when
+    export(workflowInstance(WorkflowInstanceIntent.ELEMENT_ACTIVATED, "process", "task"));
+    export(workflowInstance(WorkflowInstanceIntent.ELEMENT_ACTIVATED, "process", "task"));
+    export(workflowInstance(WorkflowInstanceIntent.ELEMENT_COMPLETED, "process", "task"));
+
+    // then
+    assertThat(activeElementInstances("process", "task")).isEqualTo(1);
+    assertThat(elementInstanceEvents("process", "task", "activated")).isEqualTo(2);
+    assertThat(elementInstanceEvents("process", "task", "completed")).isEqualTo(1);
+    assertThat(testHarness.getLastUpdatedPosition()).isEqualTo(position);
+  }
+
+  @Test
+  public void shouldRecordJobLatency() throws Exception {
+    // given
+    openExporter();
+
+    // when
+    export(job(JobIntent.CREATED, 1, "type", 1_000));
+    export(job(JobIntent.CREATED, 2, "type", 1_000));
+    export(job(JobIntent.COMPLETED, 1, "type", 3_000));
+
+    // then
+    assertThat(jobLatency("_count", "type")).isEqualTo(1);
+    assertThat(jobLatency("_sum", "type")).isEqualTo(2.0);
+    assertThat(jobLatency("_bucket", "type", "le", "1.0")).isEqualTo(0);
+    assertThat(jobLatency("_bucket", "type", "le", "5.0")).isEqualTo(1);
+  }
+
+  @Test
+  public void shouldRemoveJobLatencyOnClose() throws Exception {
+    // given
+    openExporter();
+    export(job(JobIntent.CREATED, 1, "type", 1_000));
+    export(job(JobIntent.COMPLETED, 1, "type", 3_000));
+
+    // when
+    testHarness.close();
+
+    // then
+    assertThat(jobLatency("_count", "type")).isNull();
+  }
+
+  @Test
+  public void shouldBoundLabelValues() throws Exception {
+    // given
+    configuration.maxLabelValues = 1;
+    openExporter();
+
+    // when
+    export(workflowInstance(WorkflowInstanceIntent.ELEMENT_ACTIVATED, "process", "task"));
+    export(workflowInstance(WorkflowInstanceIntent.ELEMENT_ACTIVATED, "process", "other-task"));
+
+    // then
+    assertThat(activeElementInstances("process", "task")).isEqualTo(1);
+    assertThat(activeElementInstances("process", "other-task")).isNull();
+    assertThat(activeElementInstances(WorkflowStatistics.OTHER, WorkflowStatistics.OTHER))
+        .isEqualTo(1);
+  }
+
+  @Test
+  public void shouldRemoveActiveElementInstancesOnClose() throws Exception {
+    // given
+    openExporter();
+    export(workflowInstance(WorkflowInstanceIntent.ELEMENT_ACTIVATED, "process", "task"));
+
+    // when
+    testHarness.close();
+
+    // then
+    assertThat(activeElementInstances("process", "task")).isNull();
+  }
+
+  private void openExporter() throws Exception {
+    testHarness = new ExporterTestHarness(exporter);
+    testHarness.configure("metrics", configuration);
+    testHarness.open();
+  }
+
+  private void export(final Record record) {
+    exporter.export(record);
+  }
+
+  private Record workflowInstance(
+      final Intent intent, final String bpmnProcessId, final String elementId) {
+    final WorkflowInstanceRecordValue value = mock(WorkflowInstanceRecordValue.class);
+    when(value.getBpmnProcessId()).thenReturn(bpmnProcessId);
+    when(value.getElementId()).thenReturn(elementId);
+
+    return record(ValueType.WORKFLOW_INSTANCE, intent, value, 1, 0);
+  }
+
+  private Record job(final Intent intent, final long key, final String type, final long timestamp) {
+    final JobRecordValue value = mock(JobRecordValue.class);
+    when(value.getType()).thenReturn(type);
+
+    return record(ValueType.JOB, intent, value, key, timestamp);
+  }
+
+  private Record record(
+      final ValueType valueType,
+      final Intent intent,
+      final RecordValue value,
+      final long key,
+      final long timestamp) {
+    final Record record = mock(Record.class);
+    when(record.getPartitionId()).thenReturn(Integer.valueOf(partitionId));
+    when(record.getPosition()).thenReturn(++position);
+    when(record.getKey()).thenReturn(key);
+    when(record.getTimestamp()).thenReturn(timestamp);
+    when(record.getValueType()).thenReturn(valueType);
+    when(record.getIntent()).thenReturn(intent);
+    when(record.getValue()).thenReturn(value);
+    return record;
+  }
+
+  private Double activeElementInstances(final String bpmnProcessId, final String elementId) {
+    return CollectorRegistry.defaultRegistry.getSampleValue(
+        "zeebe_metrics_exporter_active_element_instances",
+        new String[] {"partition", "bpmnProcessId", "elementId"},
+        new String[] {partitionId, bpmnProcessId, elementId});
+  }
+
+  private Double elementInstanceEvents(
+      final String bpmnProcessId, final String elementId, final String action) {
+    return CollectorRegistry.defaultRegistry.getSampleValue(
+        "zeebe_metrics_exporter_element_instance_events_total",
+        new String[] {"partition", "bpmnProcessId", "elementId", "action"},
+        new String[] {partitionId, bpmnProcessId, elementId, action});
+  }
+
+  private Double jobLatency(final String suffix, final String jobType, final String... labels) {
+    final String[] labelNames = new String[2 + labels.length / 2];
+    final String[] labelValues = new String[labelNames.length];
+    labelNames[0] = "partition";
+    labelValues[0] = partitionId;
+    labelNames[1] = "jobType";
+    labelValues[1] = jobType;
+    for (int i = 0; i < labels.length / 2; i++) {
+      labelNames[2 + i] = labels[2 * i];
+      labelValues[2 + i] = labels[2 * i + 1];
+    }
+
+    return CollectorRegistry.defaultRegistry.getSampleValue(
+        "zeebe_metrics_exporter_job_latency" + suffix, labelNames, labelValues);
+  }
+}
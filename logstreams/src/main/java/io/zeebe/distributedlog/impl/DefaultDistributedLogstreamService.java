@@ -29,6 +29,7 @@ import io.zeebe.distributedlog.restore.log.LogReplicator;
 import io.zeebe.distributedlog.restore.snapshot.RestoreSnapshotReplicator;
 import io.zeebe.distributedlog.restore.snapshot.SnapshotRestoreContext;
 import io.zeebe.logstreams.LogStreams;
+import io.zeebe.logstreams.impl.log.fs.FsLogSegmentDescriptor;
 import io.zeebe.logstreams.impl.service.LogStreamServiceNames;
 import io.zeebe.logstreams.log.BufferedLogStreamReader;
 import io.zeebe.logstreams.log.LogStream;
@@ -63,6 +64,7 @@ public class DefaultDistributedLogstreamService
   private ServiceContainer serviceContainer;
   private String localMemberId;
   private Logger logger;
+  private int maxReplicationBlockSize;
 
   public DefaultDistributedLogstreamService() {
     super(DistributedLogstreamType.instance(), DistributedLogstreamClient.class);
@@ -85,6 +87,7 @@ public class DefaultDistributedLogstreamService
           logName);
       logStream = getOrCreateLogStream(logName);
       logStorage = logStream.getLogStorage();
+      maxReplicationBlockSize = resolveMaxReplicationBlockSize();
       initLastPosition();
       logger.debug(
           "Configured with LogStream {} and last appended event at position {}",
@@ -306,7 +309,14 @@ public class DefaultDistributedLogstreamService
     final RestoreClient restoreClient = restoreFactory.createClient(partitionId);
     final RestoreNodeProvider nodeProvider = restoreFactory.createNodeProvider(partitionId);
     final LogReplicator logReplicator =
-        new LogReplicator(this, restoreClient, restoreThreadContext);
+        new LogReplicator(
+            this,
+            restoreClient,
+            restoreThreadContext,
+            // fetch the next range of events while the current one is appended
+            LogReplicator.MAX_WINDOW_SIZE,
+            maxReplicationBlockSize,
+            logger);
 
     final SnapshotRestoreContext snapshotRestoreContext =
         restoreFactory.createSnapshotRestoreContext(partitionId, logger);
@@ -325,6 +335,13 @@ public class DefaultDistributedLogstreamService
         logger);
   }
 
+  private int resolveMaxReplicationBlockSize() {
+    // a replicated block is appended as is, so it has to fit into a single log segment
+    final StorageConfiguration config =
+        LogstreamConfig.getConfig(localMemberId, partitionId).join();
+    return (int) config.getLogSegmentSize() - FsLogSegmentDescriptor.METADATA_LENGTH;
+  }
+
   private void updateCommitPosition(long commitPosition) {
     logStream.setCommitPosition(commitPosition);
     lastPosition = commitPosition;
@@ -47,6 +47,10 @@ public class DistributedLogstreamPartition implements Service<DistributedLogstre
     partitionName = DistributedLogstreamName.getPartitionKey(partitionId);
   }
 
+  public int getPartitionId() {
+    return partitionId;
+  }
+
   public long append(byte[] blockBuffer, long commitPosition) {
     return distributedLog.append(partitionName, memberId, commitPosition, blockBuffer);
   }
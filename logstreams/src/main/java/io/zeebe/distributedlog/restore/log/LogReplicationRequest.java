@@ -17,4 +17,10 @@ public interface LogReplicationRequest {
 
   /** @return upper bound position to replicate until (inclusive) */
   long getToPosition();
+
+  /**
+   * @return the maximum size in bytes of serialized events the requester can accept in a single
+   *     response; a non-positive value lets the server pick its own limit
+   */
+  int getMaxBytes();
 }
@@ -11,14 +11,38 @@ import io.atomix.cluster.MemberId;
 import io.zeebe.distributedlog.restore.RestoreClient;
 import io.zeebe.distributedlog.restore.log.impl.DefaultLogReplicationRequest;
 import io.zeebe.util.ZbLogger;
+import java.util.ArrayDeque;
+import java.util.Deque;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.Executor;
 import org.slf4j.Logger;
 
+/**
+ * Replicates a range of events from a remote server into the local log.
+ *
+ * <p>With a window size of two, the request for the next range is sent as soon as a response is
+ * received and before its events are appended, so that fetching and appending overlap. Since the
+ * start of the next range is only known once the previous response was received, there is at most
+ * one request on the wire at any time, which is why the window is capped at {@link
+ * #MAX_WINDOW_SIZE}. Responses are always appended in the order they were requested.
+ *
+ * <p>The given executor must execute tasks sequentially, e.g. a single threaded context.
+ */
 public class LogReplicator {
+  /** Default window of one replicates strictly sequentially: request, append, request, ... */
+  public static final int DEFAULT_WINDOW_SIZE = 1;
+
+  /** One response being appended while the request for the next range is on the wire. */
+  public static final int MAX_WINDOW_SIZE = 2;
+
+  /** Lets the server decide how many bytes it sends per response. */
+  public static final int DEFAULT_MAX_BYTES = -1;
+
   private final LogReplicationAppender appender;
   private final RestoreClient client;
   private final Executor executor;
+  private final int windowSize;
+  private final int maxBytes;
   private final Logger logger;
 
   public LogReplicator(LogReplicationAppender appender, RestoreClient client, Executor executor) {
@@ -27,9 +51,34 @@ public class LogReplicator {
 
   public LogReplicator(
       LogReplicationAppender appender, RestoreClient client, Executor executor, Logger logger) {
+    this(appender, client, executor, DEFAULT_WINDOW_SIZE, DEFAULT_MAX_BYTES, logger);
+  }
+
+  /**
+   * @param windowSize {@link #DEFAULT_WINDOW_SIZE} to replicate sequentially, or {@link
+   *     #MAX_WINDOW_SIZE} to request the next range while appending the current one
+   * @param maxBytes the maximum number of bytes the local appender accepts in a single block; sent
+   *     to the server to size its responses, or non-positive to let the server decide
+   */
+  public LogReplicator(
+      LogReplicationAppender appender,
+      RestoreClient client,
+      Executor executor,
+      int windowSize,
+      int maxBytes,
+      Logger logger) {
+    if (windowSize < DEFAULT_WINDOW_SIZE || windowSize > MAX_WINDOW_SIZE) {
+      throw new IllegalArgumentException(
+          String.format(
+              "Expected window size to be between %d and %d, but was %d",
+              DEFAULT_WINDOW_SIZE, MAX_WINDOW_SIZE, windowSize));
+    }
+
     this.appender = appender;
     this.client = client;
     this.executor = executor;
+    this.windowSize = windowSize;
+    this.maxBytes = maxBytes;
     this.logger = logger;
   }
 
@@ -40,68 +89,114 @@ public class LogReplicator {
   public CompletableFuture<Long> replicate(
       MemberId server, long from, long to, boolean includeFromPosition) {
     final CompletableFuture<Long> result = new CompletableFuture<>();
-    replicateInternal(server, from, to, includeFromPosition, result);
+    new Replication(server, from, to, result).request(from, includeFromPosition);
     return result;
   }
 
-  private void replicateInternal(
-      MemberId server,
-      long from,
-      long to,
-      boolean includeFromPosition,
-      CompletableFuture<Long> result) {
-    final LogReplicationRequest request =
-        new DefaultLogReplicationRequest(from, to, includeFromPosition);
-    client
-        .requestLogReplication(server, request)
-        .whenCompleteAsync(
-            (r, e) -> {
-              if (e != null) {
-                logger.debug("Error replicating {} from {}", request, server, e);
-                result.completeExceptionally(e);
-              } else {
-                if (!r.isValid()) {
-                  logger.debug(
-                      "Received invalid response {} when requesting {} from {}",
-                      r,
-                      request,
-                      server);
-                  result.completeExceptionally(
-                      new InvalidLogReplicationResponse(server, request, r));
-                  return;
-                }
-
-                if (appendEvents(server, from, to, result, r)) {
-                  if (r.getToPosition() < to && r.hasMoreAvailable()) {
-                    replicateInternal(server, r.getToPosition(), to, false, result);
-                  } else {
-                    result.complete(r.getToPosition());
-                  }
-                }
-              }
-            },
-            executor);
-  }
+  private final class Replication {
+    private final MemberId server;
+    private final long from;
+    private final long to;
+    private final CompletableFuture<Long> result;
+    private final Deque<LogReplicationResponse> pendingAppends = new ArrayDeque<>();
 
-  private boolean appendEvents(
-      MemberId server,
-      long from,
-      long to,
-      CompletableFuture<Long> result,
-      LogReplicationResponse response) {
-    try {
-      final long appendResult =
-          appender.append(response.getToPosition(), response.getSerializedEvents());
-      if (appendResult <= 0) {
-        logger.debug("Failed to append events from {} - {} with result {}", from, to, appendResult);
-        result.completeExceptionally(new FailedAppendException(server, from, to, appendResult));
+    private boolean requestInFlight;
+    private boolean hasMoreToRequest;
+    private long nextFromPosition;
+    private long lastAppendedPosition;
+
+    private Replication(MemberId server, long from, long to, CompletableFuture<Long> result) {
+      this.server = server;
+      this.from = from;
+      this.to = to;
+      this.result = result;
+      this.lastAppendedPosition = from;
+    }
+
+    private void request(long fromPosition, boolean includeFromPosition) {
+      final LogReplicationRequest request =
+          new DefaultLogReplicationRequest(fromPosition, to, includeFromPosition, maxBytes);
+
+      requestInFlight = true;
+      client
+          .requestLogReplication(server, request)
+          .whenCompleteAsync((r, e) -> onResponse(request, r, e), executor);
+    }
+
+    private void onResponse(
+        LogReplicationRequest request, LogReplicationResponse response, Throwable error) {
+      requestInFlight = false;
+      if (result.isDone()) {
+        return;
+      }
+
+      if (error != null) {
+        logger.debug("Error replicating {} from {}", request, server, error);
+        fail(error);
+        return;
+      }
+
+      if (!response.isValid()) {
+        logger.debug(
+            "Received invalid response {} when requesting {} from {}", response, request, server);
+        fail(new InvalidLogReplicationResponse(server, request, response));
+        return;
+      }
+
+      pendingAppends.add(response);
+      hasMoreToRequest = response.getToPosition() < to && response.hasMoreAvailable();
+      nextFromPosition = response.getToPosition();
+
+      requestNextIfWindowAllows();
+      appendPending();
+    }
+
+    private void requestNextIfWindowAllows() {
+      if (hasMoreToRequest && !requestInFlight && pendingAppends.size() < windowSize) {
+        hasMoreToRequest = false;
+        request(nextFromPosition, false);
       }
-    } catch (RuntimeException error) {
-      logger.debug("Error when appending events from {} - {}", from, to, error);
-      result.completeExceptionally(error);
-      return false;
     }
 
-    return true;
+    private void appendPending() {
+      while (!pendingAppends.isEmpty()) {
+        final LogReplicationResponse response = pendingAppends.poll();
+        if (!appendEvents(response)) {
+          return;
+        }
+
+        lastAppendedPosition = response.getToPosition();
+        requestNextIfWindowAllows();
+      }
+
+      if (!requestInFlight && !hasMoreToRequest) {
+        result.complete(lastAppendedPosition);
+      }
+    }
+
+    private boolean appendEvents(LogReplicationResponse response) {
+      try {
+        final long appendResult =
+            appender.append(response.getToPosition(), response.getSerializedEvents());
+        if (appendResult <= 0) {
+          logger.debug(
+              "Failed to append events from {} - {} with result {}", from, to, appendResult);
+          fail(new FailedAppendException(server, from, to, appendResult));
+          return false;
+        }
+      } catch (RuntimeException error) {
+        logger.debug("Error when appending events from {} - {}", from, to, error);
+        fail(error);
+        return false;
+      }
+
+      return true;
+    }
+
+    private void fail(Throwable error) {
+      pendingAppends.clear();
+      hasMoreToRequest = false;
+      result.completeExceptionally(error);
+    }
   }
 }
@@ -13,6 +13,7 @@ public class DefaultLogReplicationRequest implements LogReplicationRequest {
   private long fromPosition;
   private long toPosition;
   private boolean includeFromPosition;
+  private int maxBytes;
 
   public DefaultLogReplicationRequest() {}
 
@@ -27,6 +28,12 @@ public class DefaultLogReplicationRequest implements LogReplicationRequest {
     this.includeFromPosition = includeFromPosition;
   }
 
+  public DefaultLogReplicationRequest(
+      long fromPosition, long toPosition, boolean includeFromPosition, int maxBytes) {
+    this(fromPosition, toPosition, includeFromPosition);
+    this.maxBytes = maxBytes;
+  }
+
   @Override
   public boolean includeFromPosition() {
     return includeFromPosition;
@@ -54,6 +61,15 @@ public class DefaultLogReplicationRequest implements LogReplicationRequest {
     this.toPosition = toPosition;
   }
 
+  @Override
+  public int getMaxBytes() {
+    return maxBytes;
+  }
+
+  public void setMaxBytes(int maxBytes) {
+    this.maxBytes = maxBytes;
+  }
+
   @Override
   public String toString() {
     return "DefaultLogReplicationRequest{"
@@ -63,6 +79,8 @@ public class DefaultLogReplicationRequest implements LogReplicationRequest {
         + toPosition
         + ", includeFromPosition="
         + includeFromPosition
+        + ", maxBytes="
+        + maxBytes
         + '}';
   }
 }
@@ -41,25 +41,46 @@ public class DefaultLogReplicationRequestHandler implements LogReplicationReques
 
     logger.debug("Received log replication request {}", request);
     if (seekToRequestedPosition(request.getFromPosition(), !request.includeFromPosition())) {
+      final int maxBytes = getMaxBytes(request);
       long lastReadPosition = reader.getPosition();
+      boolean moreAvailable = false;
       int offset = 0;
 
       while (reader.hasNext()) {
         final LoggedEvent event = reader.next();
 
-        if ((offset + event.getLength()) > readerBuffer.capacity()) {
+        if (event.getPosition() > request.getToPosition()) {
           break;
         }
 
-        if (event.getPosition() <= request.getToPosition()) {
-          event.write(readerBuffer, offset);
-          offset += event.getLength();
-          lastReadPosition = event.getPosition();
+        if ((offset + event.getLength()) > maxBytes) {
+          if (offset > 0) {
+            moreAvailable = true;
+            break;
+          }
+
+          if (event.getLength() > readerBuffer.capacity()) {
+            // respond without events, so that the replication fails instead of requesting the
+            // same range again
+            logger.error(
+                "Expected to replicate event at position {}, but its length {} exceeds the read buffer of {} bytes",
+                event.getPosition(),
+                event.getLength(),
+                readerBuffer.capacity());
+            break;
+          }
+
+          // the first event is always replicated, otherwise the requester can't make progress
+          moreAvailable = true;
         }
+
+        event.write(readerBuffer, offset);
+        offset += event.getLength();
+        lastReadPosition = event.getPosition();
       }
 
       response.setToPosition(lastReadPosition);
-      response.setMoreAvailable(lastReadPosition < request.getToPosition() && reader.hasNext());
+      response.setMoreAvailable(moreAvailable);
       response.setSerializedEvents(readerBuffer, 0, offset);
     } else {
       logger.debug(
@@ -73,6 +94,15 @@ public class DefaultLogReplicationRequestHandler implements LogReplicationReques
     return response;
   }
 
+  private int getMaxBytes(LogReplicationRequest request) {
+    final int requestedMaxBytes = request.getMaxBytes();
+    if (requestedMaxBytes > 0) {
+      return Math.min(requestedMaxBytes, readerBuffer.capacity());
+    }
+
+    return readerBuffer.capacity();
+  }
+
   private boolean seekToRequestedPosition(long position, boolean skipEventAtPosition) {
     if (position == -1) {
       reader.seekToFirstEvent();
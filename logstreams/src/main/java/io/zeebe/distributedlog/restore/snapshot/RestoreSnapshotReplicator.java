@@ -68,8 +68,9 @@ public class RestoreSnapshotReplicator {
 
   private void restoreInternal(
       MemberId server, long snapshotId, int chunkIdx, CompletableFuture<Tuple<Long, Long>> future) {
+    // the snapshot consumer inflates compressed chunks
     final DefaultSnapshotRestoreRequest request =
-        new DefaultSnapshotRestoreRequest(snapshotId, chunkIdx);
+        new DefaultSnapshotRestoreRequest(snapshotId, chunkIdx, true);
     client
         .requestSnapshotChunk(server, request)
         .whenCompleteAsync(
@@ -12,4 +12,7 @@ public interface SnapshotRestoreRequest {
   long getSnapshotId();
 
   int getChunkIdx();
+
+  /** @return true if the requester can consume compressed snapshot chunks */
+  boolean isCompressionSupported();
 }
@@ -42,7 +42,10 @@ public class DefaultSnapshotRequestHandler implements SnapshotRequestHandler {
           try {
             final SnapshotChunk snapshotChunk =
                 SnapshotChunkUtil.createSnapshotChunkFromFile(
-                    chunkFile, request.getSnapshotId(), files.length);
+                    chunkFile,
+                    request.getSnapshotId(),
+                    files.length,
+                    request.isCompressionSupported());
             response = new SuccessSnapshotRestoreResponse(snapshotChunk);
           } catch (IOException e) {
             logger.warn(
@@ -13,12 +13,19 @@ public class DefaultSnapshotRestoreRequest implements SnapshotRestoreRequest {
 
   private long snapshotId;
   private int chunkIdx;
+  private boolean compressionSupported;
 
   public DefaultSnapshotRestoreRequest() {}
 
   public DefaultSnapshotRestoreRequest(long snapshotId, int chunkIdx) {
+    this(snapshotId, chunkIdx, false);
+  }
+
+  public DefaultSnapshotRestoreRequest(
+      long snapshotId, int chunkIdx, boolean compressionSupported) {
     this.snapshotId = snapshotId;
     this.chunkIdx = chunkIdx;
+    this.compressionSupported = compressionSupported;
   }
 
   @Override
@@ -31,6 +38,11 @@ public class DefaultSnapshotRestoreRequest implements SnapshotRestoreRequest {
     return chunkIdx;
   }
 
+  @Override
+  public boolean isCompressionSupported() {
+    return compressionSupported;
+  }
+
   public void setSnapshotId(long snapshotId) {
     this.snapshotId = snapshotId;
   }
@@ -39,6 +51,10 @@ public class DefaultSnapshotRestoreRequest implements SnapshotRestoreRequest {
     this.chunkIdx = chunkIdx;
   }
 
+  public void setCompressionSupported(boolean compressionSupported) {
+    this.compressionSupported = compressionSupported;
+  }
+
   @Override
   public String toString() {
     return "DefaultSnapshotRestoreRequest{"
@@ -46,6 +62,8 @@ public class DefaultSnapshotRestoreRequest implements SnapshotRestoreRequest {
         + snapshotId
         + ", chunkIdx="
         + chunkIdx
+        + ", compressionSupported="
+        + compressionSupported
         + '}';
   }
 }
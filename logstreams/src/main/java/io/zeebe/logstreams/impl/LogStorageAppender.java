@@ -52,6 +52,11 @@ public class LogStorageAppender extends Actor {
     return name;
   }
 
+  @Override
+  protected int getPlacementKey() {
+    return distributedLog.getPartitionId();
+  }
+
   @Override
   protected void onActorStarting() {
 
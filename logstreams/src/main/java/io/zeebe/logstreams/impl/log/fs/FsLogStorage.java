@@ -313,6 +313,12 @@ public class FsLogStorage implements LogStorage {
     }
   }
 
+  @Override
+  public long getRetainedBytes() {
+    // segments are allocated with their full size
+    return (long) logSegments.getSegmentCount() * config.getSegmentSize();
+  }
+
   private void ensureOpenedStorage() {
     if (state == STATE_CREATED) {
       throw new IllegalStateException("log storage is not open");
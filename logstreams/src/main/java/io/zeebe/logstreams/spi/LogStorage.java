@@ -145,6 +145,14 @@ public interface LogStorage {
    */
   long getFirstBlockAddress();
 
+  /**
+   * Returns the number of bytes which are occupied by the storage, i.e. which are not yet released
+   * by {@link #delete(long)}, or -1 if the storage doesn't track it.
+   */
+  default long getRetainedBytes() {
+    return -1;
+  }
+
   /**
    * Flushes all appended blocks to ensure that all blocks are written completely. Note that a
    * storage implementation may do nothing if {@link #append(ByteBuffer)} guarantees that all blocks
@@ -62,8 +62,20 @@ public class FileSnapshotConsumer implements SnapshotConsumer {
       return true;
     }
 
+    final byte[] content;
+    try {
+      content = SnapshotChunkUtil.getUncompressedContent(snapshotChunk);
+    } catch (IOException e) {
+      logger.warn(
+          "Failed to decompress content of snapshot chunk file {} ({})",
+          chunkName,
+          snapshotName,
+          e);
+      return false;
+    }
+
     final long expectedChecksum = snapshotChunk.getChecksum();
-    final long actualChecksum = SnapshotChunkUtil.createChecksum(snapshotChunk.getContent());
+    final long actualChecksum = SnapshotChunkUtil.createChecksum(content);
 
     if (expectedChecksum != actualChecksum) {
       logger.warn(
@@ -87,13 +99,12 @@ public class FileSnapshotConsumer implements SnapshotConsumer {
     }
 
     logger.debug("Consume snapshot chunk {}", chunkName);
-    return writeReceivedSnapshotChunk(snapshotChunk, snapshotFile);
+    return writeReceivedSnapshotChunk(content, snapshotFile);
   }
 
-  private boolean writeReceivedSnapshotChunk(SnapshotChunk snapshotChunk, File snapshotFile) {
+  private boolean writeReceivedSnapshotChunk(byte[] content, File snapshotFile) {
     try {
-      Files.write(
-          snapshotFile.toPath(), snapshotChunk.getContent(), CREATE_NEW, StandardOpenOption.WRITE);
+      Files.write(snapshotFile.toPath(), content, CREATE_NEW, StandardOpenOption.WRITE);
       logger.trace("Wrote replicated snapshot chunk to file {}", snapshotFile.toPath());
       return true;
     } catch (IOException ioe) {
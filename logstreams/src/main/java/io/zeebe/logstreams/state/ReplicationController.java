@@ -49,7 +49,10 @@ public final class ReplicationController {
     try {
       final SnapshotChunk chunkToReplicate =
           SnapshotChunkUtil.createSnapshotChunkFromFile(
-              snapshotChunkFile, snapshotPosition, totalCount);
+              snapshotChunkFile,
+              snapshotPosition,
+              totalCount,
+              replication.isCompressionSupported());
       replication.replicate(chunkToReplicate);
     } catch (IOException ioe) {
       LOG.error(
@@ -23,4 +23,12 @@ public interface SnapshotChunk {
 
   /** @return the content of the current chunk */
   byte[] getContent();
+
+  /**
+   * @return true if the content is deflate compressed, the checksum is always calculated over the
+   *     uncompressed content
+   */
+  default boolean isCompressed() {
+    return false;
+  }
 }
@@ -7,26 +7,113 @@
  */
 package io.zeebe.logstreams.state;
 
+import java.io.ByteArrayOutputStream;
 import java.io.File;
 import java.io.IOException;
 import java.nio.file.Files;
 import java.util.zip.CRC32;
+import java.util.zip.DataFormatException;
+import java.util.zip.Deflater;
+import java.util.zip.Inflater;
 
 public class SnapshotChunkUtil {
 
+  /**
+   * The content is only sent compressed if it shrinks to at most this ratio of the original size,
+   * e.g. already compressed SST files are sent as they are.
+   */
+  private static final double MAX_COMPRESSION_RATIO = 0.9;
+
+  private static final int BUFFER_SIZE = 64 * 1024;
+
   public static long createChecksum(byte[] content) {
     final CRC32 crc32 = new CRC32();
     crc32.update(content);
     return crc32.getValue();
   }
 
+  /**
+   * @param compress true if the receivers can consume compressed chunks, in which case the content
+   *     is compressed if that shrinks it enough
+   */
   public static SnapshotChunk createSnapshotChunkFromFile(
-      File snapshotChunkFile, long snapshotPosition, int totalCount) throws IOException {
+      File snapshotChunkFile, long snapshotPosition, int totalCount, boolean compress)
+      throws IOException {
     final byte[] content;
     content = Files.readAllBytes(snapshotChunkFile.toPath());
     final long checksum = createChecksum(content);
+
+    final byte[] compressedContent = compress ? compress(content) : null;
+    if (compressedContent != null
+        && compressedContent.length <= content.length * MAX_COMPRESSION_RATIO) {
+      return new SnapshotChunkImpl(
+          snapshotPosition,
+          totalCount,
+          snapshotChunkFile.getName(),
+          checksum,
+          compressedContent,
+          true);
+    }
+
     return new SnapshotChunkImpl(
-        snapshotPosition, totalCount, snapshotChunkFile.getName(), checksum, content);
+        snapshotPosition, totalCount, snapshotChunkFile.getName(), checksum, content, false);
+  }
+
+  /**
+   * @return the uncompressed content of the given chunk, which is the content the checksum was
+   *     calculated for
+   * @throws IOException if the compressed content is corrupted
+   */
+  public static byte[] getUncompressedContent(SnapshotChunk chunk) throws IOException {
+    if (chunk.isCompressed()) {
+      return decompress(chunk.getContent());
+    }
+
+    return chunk.getContent();
+  }
+
+  private static byte[] compress(byte[] content) {
+    final Deflater deflater = new Deflater(Deflater.BEST_SPEED);
+    try {
+      deflater.setInput(content);
+      deflater.finish();
+
+      final ByteArrayOutputStream outputStream =
+          new ByteArrayOutputStream(Math.max(content.length / 2, 64));
+      final byte[] buffer = new byte[Math.min(BUFFER_SIZE, Math.max(content.length, 64))];
+      while (!deflater.finished()) {
+        final int length = deflater.deflate(buffer);
+        outputStream.write(buffer, 0, length);
+      }
+
+      return outputStream.toByteArray();
+    } finally {
+      deflater.end();
+    }
+  }
+
+  private static byte[] decompress(byte[] compressedContent) throws IOException {
+    final Inflater inflater = new Inflater();
+    try {
+      inflater.setInput(compressedContent);
+
+      final ByteArrayOutputStream outputStream =
+          new ByteArrayOutputStream(compressedContent.length * 2);
+      final byte[] buffer = new byte[BUFFER_SIZE];
+      while (!inflater.finished()) {
+        final int length = inflater.inflate(buffer);
+        if (length == 0 && (inflater.needsInput() || inflater.needsDictionary())) {
+          throw new IOException("Expected compressed snapshot chunk content to be complete");
+        }
+        outputStream.write(buffer, 0, length);
+      }
+
+      return outputStream.toByteArray();
+    } catch (DataFormatException e) {
+      throw new IOException("Failed to decompress snapshot chunk content", e);
+    } finally {
+      inflater.end();
+    }
   }
 
   private static final class SnapshotChunkImpl implements SnapshotChunk {
@@ -35,14 +122,21 @@ public class SnapshotChunkUtil {
     private final String chunkName;
     private final byte[] content;
     private final long checksum;
+    private final boolean compressed;
 
     SnapshotChunkImpl(
-        long snapshotPosition, int totalCount, String chunkName, long checksum, byte[] content) {
+        long snapshotPosition,
+        int totalCount,
+        String chunkName,
+        long checksum,
+        byte[] content,
+        boolean compressed) {
       this.snapshotPosition = snapshotPosition;
       this.totalCount = totalCount;
       this.chunkName = chunkName;
       this.checksum = checksum;
       this.content = content;
+      this.compressed = compressed;
     }
 
     @Override
@@ -69,5 +163,10 @@ public class SnapshotChunkUtil {
     public byte[] getContent() {
       return content;
     }
+
+    @Override
+    public boolean isCompressed() {
+      return compressed;
+    }
   }
 }
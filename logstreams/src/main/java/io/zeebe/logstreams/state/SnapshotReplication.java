@@ -18,6 +18,14 @@ public interface SnapshotReplication {
    */
   void replicate(SnapshotChunk snapshot);
 
+  /**
+   * @return true if all receivers of the replicated chunks can consume compressed chunks, e.g. no
+   *     receiver runs an older version which doesn't know compressed chunks
+   */
+  default boolean isCompressionSupported() {
+    return false;
+  }
+
   /**
    * Registers an consumer, which should be called when an snapshot chunk was received.
    *
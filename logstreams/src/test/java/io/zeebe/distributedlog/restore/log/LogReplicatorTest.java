@@ -8,17 +8,21 @@
 package io.zeebe.distributedlog.restore.log;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
 
 import io.atomix.cluster.MemberId;
 import io.zeebe.distributedlog.restore.impl.ControllableRestoreClient;
 import io.zeebe.distributedlog.restore.log.impl.DefaultLogReplicationResponse;
 import io.zeebe.distributedlog.restore.log.impl.RecordingLogReplicationAppender;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.Executor;
 import java.util.concurrent.ThreadLocalRandom;
 import org.agrona.concurrent.UnsafeBuffer;
 import org.junit.Before;
 import org.junit.Test;
+import org.slf4j.helpers.NOPLogger;
 
 public class LogReplicatorTest {
   private final ControllableRestoreClient client = new ControllableRestoreClient();
@@ -211,6 +215,132 @@ public class LogReplicatorTest {
     assertThat(result).isCompletedExceptionally().hasFailedWithThrowableThat().isEqualTo(error);
   }
 
+  @Test
+  public void shouldSendMaxBytesWithRequest() {
+    // given
+    final LogReplicator replicator =
+        new LogReplicator(appender, client, executor, 1, 1024, NOPLogger.NOP_LOGGER);
+
+    // when
+    replicator.replicate(server, -1, 10);
+
+    // then
+    assertThat(client.getRequestLog()).hasSize(1);
+    assertThat(client.getRequestLog().get(0).getMaxBytes()).isEqualTo(1024);
+  }
+
+  @Test
+  public void shouldRequestNextRangeBeforeAppendingWhenWindowed() {
+    // given
+    final List<Integer> requestsSentOnAppend = new ArrayList<>();
+    final LogReplicator replicator =
+        new LogReplicator(
+            (p, b) -> {
+              requestsSentOnAppend.add(client.getRequestLog().size());
+              return 1;
+            },
+            client,
+            executor,
+            2,
+            LogReplicator.DEFAULT_MAX_BYTES,
+            NOPLogger.NOP_LOGGER);
+    final LogReplicationResponse response = newResponse(true, 2);
+
+    // when
+    final CompletableFuture<Long> result = replicator.replicate(server, -1, 4);
+    client.completeLogReplication(-1, response);
+
+    // then
+    assertThat(result).isNotCompleted();
+    assertThat(requestsSentOnAppend).containsExactly(2);
+    assertThat(client.getLogReplicationRequests().get(response.getToPosition()))
+        .isNotNull()
+        .isNotCompleted();
+  }
+
+  @Test
+  public void shouldAppendInOrderWhenWindowed() {
+    // given
+    final List<Long> inFlightRequestsOnAppend = new ArrayList<>();
+    final LogReplicator replicator =
+        new LogReplicator(
+            (p, b) -> {
+              inFlightRequestsOnAppend.add(countInFlightRequests());
+              return appender.append(p, b);
+            },
+            client,
+            executor,
+            LogReplicator.MAX_WINDOW_SIZE,
+            LogReplicator.DEFAULT_MAX_BYTES,
+            NOPLogger.NOP_LOGGER);
+    final LogReplicationResponse[] responses =
+        new LogReplicationResponse[] {
+          newResponse(true, 2), newResponse(true, 4), newResponse(false, 6)
+        };
+
+    // when
+    final CompletableFuture<Long> result = replicator.replicate(server, -1, 10);
+    client.completeLogReplication(-1, responses[0]);
+    client.completeLogReplication(responses[0].getToPosition(), responses[1]);
+    client.completeLogReplication(responses[1].getToPosition(), responses[2]);
+
+    // then
+    assertThat(result).isCompletedWithValue(responses[2].getToPosition());
+    assertThat(inFlightRequestsOnAppend).containsExactly(1L, 1L, 0L);
+    assertThat(appender.getInvocations())
+        .extracting("commitPosition")
+        .containsExactly(
+            responses[0].getToPosition(),
+            responses[1].getToPosition(),
+            responses[2].getToPosition());
+  }
+
+  @Test
+  public void shouldRejectWindowSizeAboveMaximum() {
+    // when - then
+    assertThatThrownBy(
+            () ->
+                new LogReplicator(
+                    appender,
+                    client,
+                    executor,
+                    LogReplicator.MAX_WINDOW_SIZE + 1,
+                    LogReplicator.DEFAULT_MAX_BYTES,
+                    NOPLogger.NOP_LOGGER))
+        .isInstanceOf(IllegalArgumentException.class);
+  }
+
+  @Test
+  public void shouldIgnoreInFlightResponseAfterAppendFailedWhenWindowed() {
+    // given
+    final RuntimeException error = new RuntimeException();
+    final LogReplicator replicator =
+        new LogReplicator(
+            (p, b) -> {
+              throw error;
+            },
+            client,
+            executor,
+            2,
+            LogReplicator.DEFAULT_MAX_BYTES,
+            NOPLogger.NOP_LOGGER);
+    final LogReplicationResponse[] responses =
+        new LogReplicationResponse[] {newResponse(true, 2), newResponse(false, 4)};
+
+    // when
+    final CompletableFuture<Long> result = replicator.replicate(server, -1, 10);
+    client.completeLogReplication(-1, responses[0]);
+    client.completeLogReplication(responses[0].getToPosition(), responses[1]);
+
+    // then
+    assertThat(result).isCompletedExceptionally().hasFailedWithThrowableThat().isEqualTo(error);
+    assertThat(client.getRequestLog()).hasSize(2);
+  }
+
+  private long countInFlightRequests() {
+    return client.getLogReplicationRequests().values().stream().filter(f -> !f.isDone()).count();
+  }
+
   private LogReplicationResponse newResponse(boolean moreAvailable) {
     final long toPosition = ThreadLocalRandom.current().nextLong(1, Long.MAX_VALUE);
     return newResponse(moreAvailable, toPosition);
@@ -93,6 +93,68 @@ public class DefaultLogReplicationRequestHandlerTest {
     assertThat(response.isValid()).isTrue();
   }
 
+  @Test
+  public void shouldOnlyReplicateAsMuchAsRequestedMaxBytes() {
+    // given
+    final EventRange events = new EventRange(EVENTS.subList(0, 5));
+    final LogReplicationRequest request =
+        new DefaultLogReplicationRequest(
+            -1, EVENTS.get(5).getPosition(), false, events.serialized.length + 1);
+    final DefaultLogReplicationRequestHandler handler =
+        new DefaultLogReplicationRequestHandler(LOG_STREAM_RULE.getLogStream());
+
+    // when
+    final LogReplicationResponse response =
+        handler.onReplicationRequest(request, NOPLogger.NOP_LOGGER);
+
+    // then
+    assertThat(response.getToPosition()).isEqualTo(events.lastPosition);
+    assertThat(response.hasMoreAvailable()).isTrue();
+    assertThat(response.getSerializedEvents()).isEqualTo(events.serialized);
+    assertThat(response.isValid()).isTrue();
+  }
+
+  @Test
+  public void shouldReplicateFirstEventWhichExceedsRequestedMaxBytes() {
+    // given
+    final EventRange events = new EventRange(EVENTS.subList(0, 1));
+    final LogReplicationRequest request =
+        new DefaultLogReplicationRequest(
+            -1, EVENTS.get(5).getPosition(), false, events.serialized.length - 1);
+    final DefaultLogReplicationRequestHandler handler =
+        new DefaultLogReplicationRequestHandler(LOG_STREAM_RULE.getLogStream());
+
+    // when
+    final LogReplicationResponse response =
+        handler.onReplicationRequest(request, NOPLogger.NOP_LOGGER);
+
+    // then
+    assertThat(response.getToPosition()).isEqualTo(events.lastPosition);
+    assertThat(response.hasMoreAvailable()).isTrue();
+    assertThat(response.getSerializedEvents()).isEqualTo(events.serialized);
+    assertThat(response.isValid()).isTrue();
+  }
+
+  @Test
+  public void shouldRespondInvalidIfFirstEventExceedsTheBuffer() {
+    // given
+    final EventRange events = new EventRange(EVENTS.subList(0, 1));
+    final LogReplicationRequest request =
+        new DefaultLogReplicationRequest(-1, EVENTS.get(5).getPosition());
+    final DefaultLogReplicationRequestHandler handler =
+        new DefaultLogReplicationRequestHandler(
+            LOG_STREAM_RULE.getLogStream(), events.serialized.length - 1);
+
+    // when
+    final LogReplicationResponse response =
+        handler.onReplicationRequest(request, NOPLogger.NOP_LOGGER);
+
+    // then
+    assertThat(response.hasMoreAvailable()).isFalse();
+    assertThat(response.getSerializedEvents()).isEmpty();
+    assertThat(response.isValid()).isFalse();
+  }
+
   @Test
   public void shouldReplicateUpToRequestedPosition() {
     // given
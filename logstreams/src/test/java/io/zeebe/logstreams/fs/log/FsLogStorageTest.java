@@ -541,6 +541,27 @@ public class FsLogStorageTest {
     fsLogStorage.close();
   }
 
+  @Test
+  public void shouldReleaseRetainedBytesOnDelete() throws IOException {
+    // given
+    fsLogStorage.open();
+    final int remainingCapacity = SEGMENT_SIZE - FsLogSegmentDescriptor.METADATA_LENGTH;
+    final byte[] largeBlock = new byte[remainingCapacity];
+
+    fsLogStorage.append(ByteBuffer.wrap(largeBlock));
+    fsLogStorage.append(ByteBuffer.wrap(largeBlock));
+    final long messageAddress = fsLogStorage.append(ByteBuffer.wrap(MSG));
+    assertThat(fsLogStorage.getRetainedBytes()).isEqualTo(3L * SEGMENT_SIZE);
+
+    // when
+    fsLogStorage.delete(messageAddress);
+
+    // then
+    assertThat(fsLogStorage.getRetainedBytes()).isEqualTo(SEGMENT_SIZE);
+
+    fsLogStorage.close();
+  }
+
   @Test
   public void shouldDoNothingOnDeleteSameAddress() throws IOException {
     // given
@@ -96,7 +96,7 @@ public class ReplicateSnapshotControllerTest {
   }
 
   @Test
-  public void shouldContainChecksumPerChunk() {
+  public void shouldContainChecksumPerChunk() throws Exception {
     // given
     replicatorSnapshotController.takeSnapshot(1);
 
@@ -107,12 +107,11 @@ public class ReplicateSnapshotControllerTest {
     final List<SnapshotChunk> replicatedChunks = replicator.replicatedChunks;
     assertThat(replicatedChunks.size()).isGreaterThan(0);
 
-    replicatedChunks.forEach(
-        chunk -> {
-          final CRC32 crc32 = new CRC32();
-          crc32.update(chunk.getContent());
-          assertThat(chunk.getChecksum()).isEqualTo(crc32.getValue());
-        });
+    for (SnapshotChunk chunk : replicatedChunks) {
+      final CRC32 crc32 = new CRC32();
+      crc32.update(SnapshotChunkUtil.getUncompressedContent(chunk));
+      assertThat(chunk.getChecksum()).isEqualTo(crc32.getValue());
+    }
   }
 
   @Test
@@ -0,0 +1,87 @@
+/*
+ * Copyright Camunda Services GmbH and/or licensed to Camunda Services GmbH under
+ * one or more contributor license agreements. See the NOTICE file distributed
+ * with this work for additional information regarding copyright ownership.
+ * Licensed under the Zeebe Community License 1.0. You may not use this file
+ * except in compliance with the Zeebe Community License 1.0.
+ */
+package io.zeebe.logstreams.state;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.File;
+import java.nio.file.Files;
+import java.util.Arrays;
+import java.util.Random;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+public class SnapshotChunkUtilTest {
+
+  @Rule public TemporaryFolder tempFolder = new TemporaryFolder();
+
+  @Test
+  public void shouldCompressContent() throws Exception {
+    // given
+    final byte[] content = new byte[4096];
+    Arrays.fill(content, (byte) 'a');
+    final File file = tempFolder.newFile("chunk");
+    Files.write(file.toPath(), content);
+
+    // when
+    final SnapshotChunk chunk = SnapshotChunkUtil.createSnapshotChunkFromFile(file, 1, 2, true);
+
+    // then
+    assertThat(chunk.isCompressed()).isTrue();
+    assertThat(chunk.getContent().length).isLessThan(content.length);
+    assertThat(chunk.getChecksum()).isEqualTo(SnapshotChunkUtil.createChecksum(content));
+    assertThat(SnapshotChunkUtil.getUncompressedContent(chunk)).isEqualTo(content);
+  }
+
+  @Test
+  public void shouldNotCompressIncompressibleContent() throws Exception {
+    // given
+    final byte[] content = new byte[4096];
+    new Random(42).nextBytes(content);
+    final File file = tempFolder.newFile("chunk");
+    Files.write(file.toPath(), content);
+
+    // when
+    final SnapshotChunk chunk = SnapshotChunkUtil.createSnapshotChunkFromFile(file, 1, 2, true);
+
+    // then
+    assertThat(chunk.isCompressed()).isFalse();
+    assertThat(chunk.getContent()).isEqualTo(content);
+    assertThat(chunk.getChecksum()).isEqualTo(SnapshotChunkUtil.createChecksum(content));
+  }
+
+  @Test
+  public void shouldNotCompressIfReceiversDoNotSupportIt() throws Exception {
+    // given
+    final byte[] content = new byte[4096];
+    Arrays.fill(content, (byte) 'a');
+    final File file = tempFolder.newFile("chunk");
+    Files.write(file.toPath(), content);
+
+    // when
+    final SnapshotChunk chunk = SnapshotChunkUtil.createSnapshotChunkFromFile(file, 1, 2, false);
+
+    // then
+    assertThat(chunk.isCompressed()).isFalse();
+    assertThat(chunk.getContent()).isEqualTo(content);
+  }
+
+  @Test
+  public void shouldNotCompressEmptyContent() throws Exception {
+    // given
+    final File file = tempFolder.newFile("chunk");
+
+    // when
+    final SnapshotChunk chunk = SnapshotChunkUtil.createSnapshotChunkFromFile(file, 1, 2, true);
+
+    // then
+    assertThat(chunk.isCompressed()).isFalse();
+    assertThat(SnapshotChunkUtil.getUncompressedContent(chunk)).isEmpty();
+  }
+}
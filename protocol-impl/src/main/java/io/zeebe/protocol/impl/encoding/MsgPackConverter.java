@@ -14,6 +14,7 @@ import com.fasterxml.jackson.core.JsonParser.Feature;
 import com.fasterxml.jackson.core.type.TypeReference;
 import com.fasterxml.jackson.databind.MappingJsonFactory;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
 import io.zeebe.protocol.record.JsonSerializable;
 import io.zeebe.util.buffer.BufferUtil;
 import java.io.*;
@@ -51,6 +52,8 @@ public final class MsgPackConverter {
       new MappingJsonFactory().configure(Feature.ALLOW_SINGLE_QUOTES, true);
 
   private static final ObjectMapper JSON_OBJECT_MAPPER = new ObjectMapper(JSON_FACTORY);
+  private static final ObjectWriter JSON_STREAM_WRITER =
+      JSON_OBJECT_MAPPER.writer().without(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
 
   private static final ObjectMapper MESSSAGE_PACK_OBJECT_MAPPER =
       new ObjectMapper(MESSAGE_PACK_FACTORY);
@@ -164,6 +167,19 @@ public final class MsgPackConverter {
     }
   }
 
+  /**
+   * Writes the given object as UTF-8 encoded JSON to the output stream, without creating an
+   * intermediate {@link String}. The output stream is not closed.
+   */
+  public static void writeJsonSerializableObject(
+      JsonSerializable recordValue, OutputStream outputStream) {
+    try {
+      JSON_STREAM_WRITER.writeValue(outputStream, recordValue);
+    } catch (IOException e) {
+      throw new RuntimeException(e);
+    }
+  }
+
   public static String convertJsonSerializableObjectToJson(JsonSerializable recordValue) {
     try {
 
@@ -0,0 +1,148 @@
+/*
+ * Copyright Camunda Services GmbH and/or licensed to Camunda Services GmbH under
+ * one or more contributor license agreements. See the NOTICE file distributed
+ * with this work for additional information regarding copyright ownership.
+ * Licensed under the Zeebe Community License 1.0. You may not use this file
+ * except in compliance with the Zeebe Community License 1.0.
+ */
+package io.zeebe.protocol.impl.encoding;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.json.UTF8JsonGenerator;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.ser.std.StdSerializer;
+import io.zeebe.msgpack.spec.MsgPackReader;
+import io.zeebe.msgpack.spec.MsgPackToken;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import org.agrona.DirectBuffer;
+
+/**
+ * Serializes a buffer containing a MessagePack document (e.g. the variables of a record) to JSON.
+ *
+ * <p>The document is read token by token and written to the JSON generator directly, instead of
+ * converting it into a map first. Strings are written as UTF-8 bytes without creating a {@link
+ * String}, if the generator writes UTF-8 itself.
+ *
+ * <p>Only the free-form documents of a record (variables, custom headers, payloads) are written
+ * this way. The metadata and the other value properties are still serialized by Jackson's bean
+ * serializer, since their JSON property names differ from their MessagePack property names.
+ */
+public final class MsgPackDocumentSerializer extends StdSerializer<DirectBuffer> {
+
+  private static final ThreadLocal<DocumentReader> READER =
+      ThreadLocal.withInitial(DocumentReader::new);
+
+  public MsgPackDocumentSerializer() {
+    super(DirectBuffer.class);
+  }
+
+  @Override
+  public boolean isEmpty(SerializerProvider provider, DirectBuffer value) {
+    return value == null || value.capacity() == 0;
+  }
+
+  @Override
+  public void serialize(DirectBuffer value, JsonGenerator generator, SerializerProvider provider)
+      throws IOException {
+    if (value.capacity() == 0) {
+      generator.writeNull();
+      return;
+    }
+
+    final DocumentReader reader = READER.get();
+    reader.msgPackReader.wrap(value, 0, value.capacity());
+    reader.writeValue(generator);
+  }
+
+  private static final class DocumentReader {
+    private final MsgPackReader msgPackReader = new MsgPackReader();
+    private byte[] bytes = new byte[128];
+
+    private void writeValue(JsonGenerator generator) throws IOException {
+      final MsgPackToken token = msgPackReader.readToken();
+
+      switch (token.getType()) {
+        case NIL:
+          generator.writeNull();
+          break;
+        case BOOLEAN:
+          generator.writeBoolean(token.getBooleanValue());
+          break;
+        case INTEGER:
+          generator.writeNumber(token.getIntegerValue());
+          break;
+        case FLOAT:
+          generator.writeNumber(token.getFloatValue());
+          break;
+        case STRING:
+          writeString(generator, token.getValueBuffer());
+          break;
+        case BINARY:
+          final DirectBuffer binary = token.getValueBuffer();
+          generator.writeBinary(copyBytes(binary), 0, binary.capacity());
+          break;
+        case ARRAY:
+          final int elements = token.getSize();
+          generator.writeStartArray(elements);
+          for (int i = 0; i < elements; i++) {
+            writeValue(generator);
+          }
+          generator.writeEndArray();
+          break;
+        case MAP:
+          final int entries = token.getSize();
+          generator.writeStartObject();
+          for (int i = 0; i < entries; i++) {
+            writeFieldName(generator);
+            writeValue(generator);
+          }
+          generator.writeEndObject();
+          break;
+        default:
+          throw new IOException(
+              String.format(
+                  "Expected a MessagePack document, but found token of type '%s'",
+                  token.getType()));
+      }
+    }
+
+    private void writeFieldName(JsonGenerator generator) throws IOException {
+      final MsgPackToken token = msgPackReader.readToken();
+      final DirectBuffer name = token.getValueBuffer();
+
+      switch (token.getType()) {
+        case STRING:
+          generator.writeFieldName(name.getStringWithoutLengthUtf8(0, name.capacity()));
+          break;
+        case INTEGER:
+          generator.writeFieldName(String.valueOf(token.getIntegerValue()));
+          break;
+        default:
+          throw new IOException(
+              String.format(
+                  "Expected a string or integer as key of a MessagePack map, but found '%s'",
+                  token.getType()));
+      }
+    }
+
+    private void writeString(JsonGenerator generator, DirectBuffer value) throws IOException {
+      final int length = value.capacity();
+      if (generator instanceof UTF8JsonGenerator) {
+        generator.writeUTF8String(copyBytes(value), 0, length);
+      } else {
+        generator.writeString(new String(copyBytes(value), 0, length, StandardCharsets.UTF_8));
+      }
+    }
+
+    private byte[] copyBytes(DirectBuffer value) {
+      final int length = value.capacity();
+      if (bytes.length < length) {
+        bytes = new byte[Math.max(length, bytes.length * 2)];
+      }
+
+      value.getBytes(0, bytes, 0, length);
+      return bytes;
+    }
+  }
+}
@@ -13,6 +13,7 @@ import io.zeebe.protocol.record.RecordType;
 import io.zeebe.protocol.record.RejectionType;
 import io.zeebe.protocol.record.ValueType;
 import io.zeebe.protocol.record.intent.Intent;
+import java.io.OutputStream;
 
 public class CopiedRecord<T extends UnifiedRecordValue> implements Record<T> {
 
@@ -112,6 +113,11 @@ public class CopiedRecord<T extends UnifiedRecordValue> implements Record<T> {
     return MsgPackConverter.convertJsonSerializableObjectToJson(this);
   }
 
+  @Override
+  public void writeJson(OutputStream outputStream) {
+    MsgPackConverter.writeJsonSerializableObject(this, outputStream);
+  }
+
   @Override
   public String toString() {
     return toJson();
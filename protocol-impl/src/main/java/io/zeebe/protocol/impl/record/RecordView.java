@@ -0,0 +1,213 @@
+/*
+ * Copyright Camunda Services GmbH and/or licensed to Camunda Services GmbH under
+ * one or more contributor license agreements. See the NOTICE file distributed
+ * with this work for additional information regarding copyright ownership.
+ * Licensed under the Zeebe Community License 1.0. You may not use this file
+ * except in compliance with the Zeebe Community License 1.0.
+ */
+package io.zeebe.protocol.impl.record;
+
+import io.zeebe.protocol.impl.encoding.MsgPackConverter;
+import io.zeebe.protocol.record.Record;
+import io.zeebe.protocol.record.RecordType;
+import io.zeebe.protocol.record.RejectionType;
+import io.zeebe.protocol.record.ValueType;
+import io.zeebe.protocol.record.intent.Intent;
+import io.zeebe.util.ReflectUtil;
+import java.io.OutputStream;
+import java.util.EnumMap;
+import java.util.Map;
+import org.agrona.DirectBuffer;
+import org.agrona.ExpandableArrayBuffer;
+import org.agrona.MutableDirectBuffer;
+import org.agrona.concurrent.UnsafeBuffer;
+
+/**
+ * A reusable record which decodes its metadata and value only when they are accessed.
+ *
+ * <p>On {@link #wrap(int, long, long, long, long, DirectBuffer, int, int, int, int) wrap} the
+ * serialized metadata and value are copied into a buffer which is owned and reused by the view,
+ * since the buffer of a log stream reader is overwritten on reading the next event. A wrapped view
+ * is only valid until it is wrapped again; use {@link #retain()} to get a record which stays valid.
+ */
+@SuppressWarnings({"rawtypes", "unchecked"})
+public final class RecordView implements Record {
+
+  private final Map<ValueType, Class<? extends UnifiedRecordValue>> valueClasses;
+  private final MutableDirectBuffer buffer;
+  private final boolean reuseValues;
+  private final RecordMetadata metadata = new RecordMetadata();
+  private final Map<ValueType, UnifiedRecordValue> values = new EnumMap<>(ValueType.class);
+
+  private int partitionId;
+  private long key;
+  private long position;
+  private long sourcePosition;
+  private long timestamp;
+  private int metadataLength;
+  private int valueLength;
+
+  private boolean isMetadataDecoded;
+  private UnifiedRecordValue value;
+  private RecordView retained;
+
+  /** @param valueClasses the classes of the record values by their value type */
+  public RecordView(Map<ValueType, Class<? extends UnifiedRecordValue>> valueClasses) {
+    this(valueClasses, new ExpandableArrayBuffer(), true);
+  }
+
+  private RecordView(
+      Map<ValueType, Class<? extends UnifiedRecordValue>> valueClasses,
+      MutableDirectBuffer buffer,
+      boolean reuseValues) {
+    this.valueClasses = valueClasses;
+    this.buffer = buffer;
+    this.reuseValues = reuseValues;
+  }
+
+  /**
+   * Copies the serialized metadata and value of a record from the given buffer, e.g. the buffer of
+   * a logged event.
+   */
+  public void wrap(
+      int partitionId,
+      long position,
+      long sourcePosition,
+      long key,
+      long timestamp,
+      DirectBuffer eventBuffer,
+      int metadataOffset,
+      int metadataLength,
+      int valueOffset,
+      int valueLength) {
+    this.metadataLength = metadataLength;
+    this.valueLength = valueLength;
+    buffer.putBytes(0, eventBuffer, metadataOffset, metadataLength);
+    buffer.putBytes(metadataLength, eventBuffer, valueOffset, valueLength);
+
+    this.partitionId = partitionId;
+    this.key = key;
+    this.position = position;
+    this.sourcePosition = sourcePosition;
+    this.timestamp = timestamp;
+
+    isMetadataDecoded = false;
+    value = null;
+    retained = null;
+  }
+
+  /**
+   * Returns a copy of this record which is not affected when this view is wrapped again. The copy
+   * is created only once per wrapped record, and is decoded lazily as well.
+   *
+   * @return a record which stays valid
+   */
+  public Record retain() {
+    if (retained == null) {
+      final int length = metadataLength + valueLength;
+      final UnsafeBuffer copy = new UnsafeBuffer(new byte[length]);
+      copy.putBytes(0, buffer, 0, length);
+
+      retained = new RecordView(valueClasses, copy, false);
+      retained.partitionId = partitionId;
+      retained.key = key;
+      retained.position = position;
+      retained.sourcePosition = sourcePosition;
+      retained.timestamp = timestamp;
+      retained.metadataLength = metadataLength;
+      retained.valueLength = valueLength;
+    }
+
+    return retained;
+  }
+
+  private RecordMetadata metadata() {
+    if (!isMetadataDecoded) {
+      metadata.wrap(buffer, 0, metadataLength);
+      isMetadataDecoded = true;
+    }
+
+    return metadata;
+  }
+
+  @Override
+  public long getPosition() {
+    return position;
+  }
+
+  @Override
+  public long getSourceRecordPosition() {
+    return sourcePosition;
+  }
+
+  @Override
+  public long getKey() {
+    return key;
+  }
+
+  @Override
+  public long getTimestamp() {
+    return timestamp;
+  }
+
+  @Override
+  public Intent getIntent() {
+    return metadata().getIntent();
+  }
+
+  @Override
+  public int getPartitionId() {
+    return partitionId;
+  }
+
+  @Override
+  public RecordType getRecordType() {
+    return metadata().getRecordType();
+  }
+
+  @Override
+  public RejectionType getRejectionType() {
+    return metadata().getRejectionType();
+  }
+
+  @Override
+  public String getRejectionReason() {
+    return metadata().getRejectionReason();
+  }
+
+  @Override
+  public ValueType getValueType() {
+    return metadata().getValueType();
+  }
+
+  @Override
+  public UnifiedRecordValue getValue() {
+    if (value == null) {
+      final ValueType valueType = getValueType();
+      value = reuseValues ? values.computeIfAbsent(valueType, this::newValue) : newValue(valueType);
+      value.reset();
+      value.wrap(buffer, metadataLength, valueLength);
+    }
+
+    return value;
+  }
+
+  private UnifiedRecordValue newValue(ValueType valueType) {
+    return ReflectUtil.newInstance(valueClasses.get(valueType));
+  }
+
+  @Override
+  public String toJson() {
+    return MsgPackConverter.convertJsonSerializableObjectToJson(this);
+  }
+
+  @Override
+  public void writeJson(OutputStream outputStream) {
+    MsgPackConverter.writeJsonSerializableObject(this, outputStream);
+  }
+
+  @Override
+  public String toString() {
+    return toJson();
+  }
+}
@@ -11,6 +11,7 @@ import com.fasterxml.jackson.annotation.JsonIgnore;
 import io.zeebe.msgpack.UnpackedObject;
 import io.zeebe.protocol.impl.encoding.MsgPackConverter;
 import io.zeebe.protocol.record.RecordValue;
+import java.io.OutputStream;
 
 public class UnifiedRecordValue extends UnpackedObject implements RecordValue {
 
@@ -30,4 +31,9 @@ public class UnifiedRecordValue extends UnpackedObject implements RecordValue {
   public String toJson() {
     return MsgPackConverter.convertJsonSerializableObjectToJson(this);
   }
+
+  @Override
+  public void writeJson(OutputStream outputStream) {
+    MsgPackConverter.writeJsonSerializableObject(this, outputStream);
+  }
 }
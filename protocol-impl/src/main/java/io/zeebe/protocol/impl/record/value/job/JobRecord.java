@@ -11,6 +11,8 @@ import static io.zeebe.protocol.impl.record.value.workflowinstance.WorkflowInsta
 import static io.zeebe.protocol.impl.record.value.workflowinstance.WorkflowInstanceRecord.PROP_WORKFLOW_INSTANCE_KEY;
 
 import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import com.fasterxml.jackson.databind.annotation.JsonSerialize;
 import io.zeebe.msgpack.property.DocumentProperty;
 import io.zeebe.msgpack.property.IntegerProperty;
 import io.zeebe.msgpack.property.LongProperty;
@@ -18,6 +20,7 @@ import io.zeebe.msgpack.property.PackedProperty;
 import io.zeebe.msgpack.property.StringProperty;
 import io.zeebe.msgpack.spec.MsgPackHelper;
 import io.zeebe.protocol.impl.encoding.MsgPackConverter;
+import io.zeebe.protocol.impl.encoding.MsgPackDocumentSerializer;
 import io.zeebe.protocol.impl.record.UnifiedRecordValue;
 import io.zeebe.protocol.record.value.JobRecordValue;
 import io.zeebe.util.buffer.BufferUtil;
@@ -74,7 +77,8 @@ public class JobRecord extends UnifiedRecordValue implements JobRecordValue {
     return this;
   }
 
-  @JsonIgnore
+  @JsonProperty("customHeaders")
+  @JsonSerialize(using = MsgPackDocumentSerializer.class)
   public DirectBuffer getCustomHeadersBuffer() {
     return customHeadersProp.getValue();
   }
@@ -95,6 +99,7 @@ public class JobRecord extends UnifiedRecordValue implements JobRecordValue {
   }
 
   @Override
+  @JsonIgnore
   public Map<String, String> getCustomHeaders() {
     return MsgPackConverter.convertToStringMap(customHeadersProp.getValue());
   }
@@ -120,11 +125,13 @@ public class JobRecord extends UnifiedRecordValue implements JobRecordValue {
   }
 
   @Override
+  @JsonIgnore
   public Map<String, Object> getVariables() {
     return MsgPackConverter.convertToMap(variableProp.getValue());
   }
 
-  @JsonIgnore
+  @JsonProperty("variables")
+  @JsonSerialize(using = MsgPackDocumentSerializer.class)
   public DirectBuffer getVariablesBuffer() {
     return variableProp.getValue();
   }
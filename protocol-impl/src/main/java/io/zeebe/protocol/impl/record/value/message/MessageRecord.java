@@ -8,10 +8,13 @@
 package io.zeebe.protocol.impl.record.value.message;
 
 import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import com.fasterxml.jackson.databind.annotation.JsonSerialize;
 import io.zeebe.msgpack.property.DocumentProperty;
 import io.zeebe.msgpack.property.LongProperty;
 import io.zeebe.msgpack.property.StringProperty;
 import io.zeebe.protocol.impl.encoding.MsgPackConverter;
+import io.zeebe.protocol.impl.encoding.MsgPackDocumentSerializer;
 import io.zeebe.protocol.impl.record.UnifiedRecordValue;
 import io.zeebe.protocol.record.value.MessageRecordValue;
 import io.zeebe.util.buffer.BufferUtil;
@@ -74,11 +77,13 @@ public class MessageRecord extends UnifiedRecordValue implements MessageRecordVa
   }
 
   @Override
+  @JsonIgnore
   public Map<String, Object> getVariables() {
     return MsgPackConverter.convertToMap(variablesProp.getValue());
   }
 
-  @JsonIgnore
+  @JsonProperty("variables")
+  @JsonSerialize(using = MsgPackDocumentSerializer.class)
   public DirectBuffer getVariablesBuffer() {
     return variablesProp.getValue();
   }
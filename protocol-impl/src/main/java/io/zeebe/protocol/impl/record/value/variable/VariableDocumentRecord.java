@@ -8,10 +8,13 @@
 package io.zeebe.protocol.impl.record.value.variable;
 
 import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import com.fasterxml.jackson.databind.annotation.JsonSerialize;
 import io.zeebe.msgpack.property.DocumentProperty;
 import io.zeebe.msgpack.property.EnumProperty;
 import io.zeebe.msgpack.property.LongProperty;
 import io.zeebe.protocol.impl.encoding.MsgPackConverter;
+import io.zeebe.protocol.impl.encoding.MsgPackDocumentSerializer;
 import io.zeebe.protocol.impl.record.UnifiedRecordValue;
 import io.zeebe.protocol.record.value.VariableDocumentRecordValue;
 import io.zeebe.protocol.record.value.VariableDocumentUpdateSemantic;
@@ -62,11 +65,13 @@ public class VariableDocumentRecord extends UnifiedRecordValue
   }
 
   @Override
+  @JsonIgnore
   public Map<String, Object> getVariables() {
     return MsgPackConverter.convertToMap(variablesProperty.getValue());
   }
 
-  @JsonIgnore
+  @JsonProperty("variables")
+  @JsonSerialize(using = MsgPackDocumentSerializer.class)
   public DirectBuffer getVariablesBuffer() {
     return variablesProperty.getValue();
   }
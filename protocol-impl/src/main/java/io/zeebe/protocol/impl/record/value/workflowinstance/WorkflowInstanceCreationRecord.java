@@ -8,11 +8,14 @@
 package io.zeebe.protocol.impl.record.value.workflowinstance;
 
 import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import com.fasterxml.jackson.databind.annotation.JsonSerialize;
 import io.zeebe.msgpack.property.DocumentProperty;
 import io.zeebe.msgpack.property.IntegerProperty;
 import io.zeebe.msgpack.property.LongProperty;
 import io.zeebe.msgpack.property.StringProperty;
 import io.zeebe.protocol.impl.encoding.MsgPackConverter;
+import io.zeebe.protocol.impl.encoding.MsgPackDocumentSerializer;
 import io.zeebe.protocol.impl.record.UnifiedRecordValue;
 import io.zeebe.protocol.record.value.WorkflowInstanceCreationRecordValue;
 import io.zeebe.util.buffer.BufferUtil;
@@ -57,6 +60,7 @@ public class WorkflowInstanceCreationRecord extends UnifiedRecordValue
   }
 
   @Override
+  @JsonIgnore
   public Map<String, Object> getVariables() {
     return MsgPackConverter.convertToMap(variablesProperty.getValue());
   }
@@ -66,7 +70,8 @@ public class WorkflowInstanceCreationRecord extends UnifiedRecordValue
     return bpmnProcessIdProperty.getValue();
   }
 
-  @JsonIgnore
+  @JsonProperty("variables")
+  @JsonSerialize(using = MsgPackDocumentSerializer.class)
   public DirectBuffer getVariablesBuffer() {
     return variablesProperty.getValue();
   }
@@ -38,8 +38,10 @@ import io.zeebe.protocol.record.value.ErrorType;
 import io.zeebe.protocol.record.value.VariableDocumentUpdateSemantic;
 import io.zeebe.protocol.record.value.deployment.ResourceType;
 import io.zeebe.test.util.JsonUtil;
+import java.io.ByteArrayOutputStream;
 import java.io.PrintWriter;
 import java.io.StringWriter;
+import java.nio.charset.StandardCharsets;
 import java.util.Collections;
 import java.util.Map;
 import java.util.function.Supplier;
@@ -676,4 +678,17 @@ public class JsonSerializableToJsonTest {
     // then
     JsonUtil.assertEquality(json, expectedJson);
   }
+
+  @Test
+  public void shouldWriteJsonSerializableAsJson() {
+    // given
+    final ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+
+    // when
+    actualRecordSupplier.get().writeJson(outputStream);
+
+    // then
+    final String json = new String(outputStream.toByteArray(), StandardCharsets.UTF_8);
+    JsonUtil.assertEquality(json, expectedJson);
+  }
 }
@@ -0,0 +1,65 @@
+/*
+ * Copyright Camunda Services GmbH and/or licensed to Camunda Services GmbH under
+ * one or more contributor license agreements. See the NOTICE file distributed
+ * with this work for additional information regarding copyright ownership.
+ * Licensed under the Zeebe Community License 1.0. You may not use this file
+ * except in compliance with the Zeebe Community License 1.0.
+ */
+package io.zeebe.protocol.impl;
+
+import static io.zeebe.util.buffer.BufferUtil.wrapArray;
+
+import io.zeebe.protocol.impl.encoding.MsgPackConverter;
+import io.zeebe.protocol.impl.record.value.message.MessageRecord;
+import io.zeebe.test.util.JsonUtil;
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import org.junit.Test;
+
+public class MsgPackDocumentSerializerTest {
+
+  private static final String DOCUMENT =
+      "{'string':'foo','unicode':'\u00fc\u20ac\\\\','int':1,'long':9007199254740993,"
+          + "'negative':-12,'float':1.5,'bool':true,'null':null,'array':[1,'a',[],{}],"
+          + "'object':{'nested':{'list':[false,0.25]}}}";
+
+  @Test
+  public void shouldSerializeDocumentToJson() {
+    // given
+    final MessageRecord record = createRecord();
+
+    // when
+    final String json = record.toJson();
+
+    // then
+    JsonUtil.assertEquality(json, expectedJson());
+  }
+
+  @Test
+  public void shouldWriteDocumentAsUtf8Json() {
+    // given
+    final MessageRecord record = createRecord();
+    final ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+
+    // when
+    MsgPackConverter.writeJsonSerializableObject(record, outputStream);
+
+    // then
+    final String json = new String(outputStream.toByteArray(), StandardCharsets.UTF_8);
+    JsonUtil.assertEquality(json, expectedJson());
+  }
+
+  private static MessageRecord createRecord() {
+    return new MessageRecord()
+        .setName("message")
+        .setCorrelationKey("key")
+        .setTimeToLive(1)
+        .setVariables(wrapArray(MsgPackConverter.convertToMsgPack(DOCUMENT)));
+  }
+
+  private static String expectedJson() {
+    return "{'timeToLive':1,'correlationKey':'key','messageId':'','name':'message','variables':"
+        + DOCUMENT
+        + "}";
+  }
+}
@@ -0,0 +1,104 @@
+/*
+ * Copyright Camunda Services GmbH and/or licensed to Camunda Services GmbH under
+ * one or more contributor license agreements. See the NOTICE file distributed
+ * with this work for additional information regarding copyright ownership.
+ * Licensed under the Zeebe Community License 1.0. You may not use this file
+ * except in compliance with the Zeebe Community License 1.0.
+ */
+package io.zeebe.protocol.impl.record;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import io.zeebe.protocol.impl.record.value.job.JobRecord;
+import io.zeebe.protocol.record.Record;
+import io.zeebe.protocol.record.RecordType;
+import io.zeebe.protocol.record.ValueType;
+import io.zeebe.protocol.record.intent.JobIntent;
+import io.zeebe.protocol.record.value.JobRecordValue;
+import java.util.Collections;
+import java.util.Map;
+import org.agrona.concurrent.UnsafeBuffer;
+import org.junit.Test;
+
+public class RecordViewTest {
+
+  private static final int PARTITION_ID = 1;
+  private static final Map<ValueType, Class<? extends UnifiedRecordValue>> VALUE_CLASSES =
+      Collections.singletonMap(ValueType.JOB, JobRecord.class);
+
+  @Test
+  public void shouldReadWrappedEvent() {
+    // given
+    final RecordView view = new RecordView(VALUE_CLASSES);
+
+    // when
+    wrap(view, 1L, JobIntent.CREATED, "foo");
+
+    // then
+    assertThat(view.getPosition()).isEqualTo(1L);
+    assertThat(view.getKey()).isEqualTo(10L);
+    assertThat(view.getPartitionId()).isEqualTo(PARTITION_ID);
+    assertThat(view.getRecordType()).isEqualTo(RecordType.EVENT);
+    assertThat(view.getValueType()).isEqualTo(ValueType.JOB);
+    assertThat(view.getIntent()).isEqualTo(JobIntent.CREATED);
+    assertThat(((JobRecordValue) view.getValue()).getType()).isEqualTo("foo");
+  }
+
+  @Test
+  public void shouldReadNextEventAfterWrap() {
+    // given
+    final RecordView view = new RecordView(VALUE_CLASSES);
+    wrap(view, 1L, JobIntent.CREATED, "foo");
+    view.getValue();
+
+    // when
+    wrap(view, 2L, JobIntent.COMPLETED, "bar");
+
+    // then
+    assertThat(view.getPosition()).isEqualTo(2L);
+    assertThat(view.getIntent()).isEqualTo(JobIntent.COMPLETED);
+    assertThat(((JobRecordValue) view.getValue()).getType()).isEqualTo("bar");
+  }
+
+  @Test
+  public void shouldNotChangeRetainedRecordOnWrap() {
+    // given
+    final RecordView view = new RecordView(VALUE_CLASSES);
+    wrap(view, 1L, JobIntent.CREATED, "foo");
+    final Record retained = view.retain();
+
+    // when
+    wrap(view, 2L, JobIntent.COMPLETED, "bar");
+
+    // then
+    assertThat(retained.getPosition()).isEqualTo(1L);
+    assertThat(retained.getIntent()).isEqualTo(JobIntent.CREATED);
+    assertThat(((JobRecordValue) retained.getValue()).getType()).isEqualTo("foo");
+    assertThat(retained.toJson()).contains("\"type\":\"foo\"");
+  }
+
+  private void wrap(RecordView view, long position, JobIntent intent, String type) {
+    final RecordMetadata metadata =
+        new RecordMetadata().recordType(RecordType.EVENT).valueType(ValueType.JOB).intent(intent);
+    final JobRecord value = new JobRecord().setType(type);
+
+    // the event is written behind a header, like in the buffer of a log stream reader
+    final int metadataOffset = 16;
+    final int valueOffset = metadataOffset + metadata.getLength();
+    final UnsafeBuffer buffer = new UnsafeBuffer(new byte[valueOffset + value.getLength()]);
+    metadata.write(buffer, metadataOffset);
+    value.write(buffer, valueOffset);
+
+    view.wrap(
+        PARTITION_ID,
+        position,
+        -1L,
+        10L,
+        0L,
+        buffer,
+        metadataOffset,
+        metadata.getLength(),
+        valueOffset,
+        value.getLength());
+  }
+}
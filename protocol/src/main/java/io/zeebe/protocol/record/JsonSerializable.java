@@ -15,8 +15,28 @@
  */
 package io.zeebe.protocol.record;
 
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+
 public interface JsonSerializable {
 
   /** @return a JSON marshaled representation */
   String toJson();
+
+  /**
+   * Writes the JSON marshaled representation as UTF-8 encoded bytes to the given stream. The stream
+   * is not closed. Implementations should write the bytes directly, without creating the JSON
+   * string first.
+   *
+   * @param outputStream the stream to write to
+   */
+  default void writeJson(OutputStream outputStream) {
+    try {
+      outputStream.write(toJson().getBytes(StandardCharsets.UTF_8));
+    } catch (IOException e) {
+      throw new UncheckedIOException(e);
+    }
+  }
 }
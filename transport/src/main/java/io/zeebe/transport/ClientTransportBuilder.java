@@ -52,6 +52,9 @@ public class ClientTransportBuilder {
   protected Duration defaultRequestRetryTimeout = Duration.ofSeconds(15);
   protected Duration defaultMessageRetryTimeout = Duration.ofSeconds(1);
 
+  private Duration coalescingDelay = Sender.DEFAULT_COALESCING_DELAY;
+  private int coalescingThreshold = Sender.DEFAULT_COALESCING_THRESHOLD;
+
   public ClientTransportBuilder(final String name) {
     this.name = name;
   }
@@ -118,13 +121,36 @@ public class ClientTransportBuilder {
     return this;
   }
 
+  /**
+   * Sets the maximum time a write to a channel is held back to coalesce it with further requests
+   * and messages. Writes are only held back on channels which already achieve batches of more than
+   * one message. Zero (the default) writes immediately.
+   */
+  public ClientTransportBuilder coalescingDelay(Duration coalescingDelay) {
+    this.coalescingDelay = coalescingDelay;
+    return this;
+  }
+
+  /** Sets the number of pending messages of a channel which are written without further delay. */
+  public ClientTransportBuilder coalescingThreshold(int coalescingThreshold) {
+    this.coalescingThreshold = coalescingThreshold;
+    return this;
+  }
+
   public ClientTransport build() {
     validate();
 
     final ClientActorContext actorContext = new ClientActorContext();
 
     final Sender sender =
-        new Sender(actorContext, messageMemoryPool, requestMemoryPool, keepAlivePeriod);
+        new Sender(
+            actorContext,
+            name,
+            messageMemoryPool,
+            requestMemoryPool,
+            keepAlivePeriod,
+            coalescingDelay,
+            coalescingThreshold);
 
     final RemoteAddressListImpl remoteAddressList = new RemoteAddressListImpl();
     final EndpointRegistry endpointRegistry = new EndpointRegistryImpl(name, remoteAddressList);
@@ -185,5 +211,6 @@ public class ClientTransportBuilder {
 
   private void validate() {
     Objects.requireNonNull(scheduler, "Scheduler must be provided");
+    Objects.requireNonNull(coalescingDelay, "Coalescing Delay must be provided");
   }
 }
@@ -0,0 +1,86 @@
+/*
+ * Copyright Camunda Services GmbH and/or licensed to Camunda Services GmbH under
+ * one or more contributor license agreements. See the NOTICE file distributed
+ * with this work for additional information regarding copyright ownership.
+ * Licensed under the Zeebe Community License 1.0. You may not use this file
+ * except in compliance with the Zeebe Community License 1.0.
+ */
+package io.zeebe.transport;
+
+import io.zeebe.transport.impl.RemoteAddressListImpl;
+import io.zeebe.transport.impl.ServerReceiveHandler;
+import io.zeebe.transport.impl.netty.NettyServerOutput;
+import io.zeebe.transport.impl.netty.NettyServerTransport;
+import java.net.InetSocketAddress;
+import java.util.Objects;
+
+/**
+ * Builds a server transport on top of Netty, using the native epoll transport if it is available.
+ * It speaks the same wire protocol as the transport built by {@link ServerTransportBuilder}, so
+ * that the existing client transport can connect to it.
+ */
+public class NettyServerTransportBuilder {
+  private String name = "server";
+  private InetSocketAddress bindAddress;
+  private int ioThreads = 1;
+  private int messageMaxLength = ServerTransportBuilder.DEFAULT_MAX_MESSAGE_LENGTH;
+  private ServerControlMessageListener controlMessageListener;
+
+  public NettyServerTransportBuilder name(String name) {
+    this.name = name;
+    return this;
+  }
+
+  public NettyServerTransportBuilder bindAddress(InetSocketAddress address) {
+    this.bindAddress = address;
+    return this;
+  }
+
+  /**
+   * Sets the number of event loop threads which read from and write to the connected channels. With
+   * more than one thread, the handlers passed to {@link #build(ServerMessageHandler,
+   * ServerRequestHandler)} are called concurrently and must be thread safe.
+   */
+  public NettyServerTransportBuilder ioThreads(int ioThreads) {
+    this.ioThreads = ioThreads;
+    return this;
+  }
+
+  public NettyServerTransportBuilder messageMaxLength(int messageMaxLength) {
+    this.messageMaxLength = messageMaxLength;
+    return this;
+  }
+
+  public NettyServerTransportBuilder controlMessageListener(
+      ServerControlMessageListener controlMessageListener) {
+    this.controlMessageListener = controlMessageListener;
+    return this;
+  }
+
+  public ServerTransport build(
+      ServerMessageHandler messageHandler, ServerRequestHandler requestHandler) {
+    validate();
+
+    final RemoteAddressListImpl remoteAddressList = new RemoteAddressListImpl();
+    final NettyServerOutput output = new NettyServerOutput();
+    final ServerReceiveHandler receiveHandler =
+        new ServerReceiveHandler(
+            output, remoteAddressList, messageHandler, requestHandler, controlMessageListener);
+
+    final NettyServerTransport transport =
+        new NettyServerTransport(
+            name, output, remoteAddressList, receiveHandler, ioThreads, messageMaxLength);
+    transport.bind(bindAddress);
+
+    return transport;
+  }
+
+  private void validate() {
+    Objects.requireNonNull(bindAddress, "Bind Address must be provided");
+
+    if (ioThreads < 1) {
+      throw new IllegalArgumentException(
+          String.format("Expected at least one io thread, but was %d", ioThreads));
+    }
+  }
+}
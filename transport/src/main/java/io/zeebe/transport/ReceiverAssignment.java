@@ -0,0 +1,38 @@
+/*
+ * Copyright Camunda Services GmbH and/or licensed to Camunda Services GmbH under
+ * one or more contributor license agreements. See the NOTICE file distributed
+ * with this work for additional information regarding copyright ownership.
+ * Licensed under the Zeebe Community License 1.0. You may not use this file
+ * except in compliance with the Zeebe Community License 1.0.
+ */
+package io.zeebe.transport;
+
+/** Decides which receiver of a server transport reads from a connected channel. */
+public enum ReceiverAssignment {
+  /** Distributes the channels evenly over the receivers by their stream id. */
+  ROUND_ROBIN {
+    @Override
+    public int select(RemoteAddress remoteAddress, int receiverCount) {
+      return remoteAddress.getStreamId() % receiverCount;
+    }
+  },
+
+  /** Reads all channels of the same remote host with the same receiver. */
+  REMOTE_ADDRESS {
+    @Override
+    public int select(RemoteAddress remoteAddress, int receiverCount) {
+      return Math.floorMod(remoteAddress.getAddress().host().hashCode(), receiverCount);
+    }
+  };
+
+  /**
+   * @return the index of the receiver which reads from the channel of the given remote, in the
+   *     range {@code [0, receiverCount)}
+   */
+  public abstract int select(RemoteAddress remoteAddress, int receiverCount);
+
+  /** @return the assignment of the given name, e.g. {@code round-robin} or {@code ROUND_ROBIN} */
+  public static ReceiverAssignment parse(String name) {
+    return valueOf(name.trim().toUpperCase().replace('-', '_'));
+  }
+}
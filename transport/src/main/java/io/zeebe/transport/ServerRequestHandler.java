@@ -18,4 +18,16 @@ public interface ServerRequestHandler {
       int offset,
       int length,
       long requestId);
+
+  /**
+   * Called after the requests which were read from a channel at once were passed to {@link
+   * #onRequest}. A handler may accept requests without completing them, e.g. to write them as one
+   * batch, and must complete them here; the buffers passed to onRequest are valid until then.
+   *
+   * @return the number of the last accepted requests which could not be completed; these are passed
+   *     again, together with everything received after them
+   */
+  default int onRequestsReceived() {
+    return 0;
+  }
 }
@@ -25,6 +25,14 @@ public class ServerTransport implements AutoCloseable {
     this.serverSocketBinding = transportContext.getServerSocketBinding();
   }
 
+  /** For transports which are not driven by the transport actors, e.g. the Netty transport. */
+  protected ServerTransport(ServerOutput output) {
+    this.transportActorContext = null;
+    this.transportContext = null;
+    this.output = output;
+    this.serverSocketBinding = null;
+  }
+
   /** @return interface to stage outbound data */
   public ServerOutput getOutput() {
     return output;
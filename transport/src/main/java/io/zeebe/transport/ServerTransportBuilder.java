@@ -25,11 +25,16 @@ import io.zeebe.transport.impl.sender.Sender;
 import io.zeebe.util.ByteValue;
 import io.zeebe.util.sched.ActorScheduler;
 import java.net.InetSocketAddress;
+import java.time.Duration;
 import java.util.Objects;
 
 public class ServerTransportBuilder {
   public static final int DEFAULT_MAX_MESSAGE_LENGTH = 1024 * 512;
   private int messageMaxLength = DEFAULT_MAX_MESSAGE_LENGTH;
+  private int receiverCount = 1;
+  private ReceiverAssignment receiverAssignment = ReceiverAssignment.ROUND_ROBIN;
+  private Duration coalescingDelay = Sender.DEFAULT_COALESCING_DELAY;
+  private int coalescingThreshold = Sender.DEFAULT_COALESCING_THRESHOLD;
 
   private String name = "server";
   private ServerOutput output;
@@ -67,6 +72,39 @@ public class ServerTransportBuilder {
     return this;
   }
 
+  /**
+   * Sets the number of receivers, each reading from its own selector, among which the connected
+   * channels are distributed. With more than one receiver, the handlers passed to {@link
+   * #build(ServerMessageHandler, ServerRequestHandler)} are called concurrently and must be thread
+   * safe; a receive buffer passed to {@link #buildBuffering(Dispatcher)} is shared by all of them.
+   */
+  public ServerTransportBuilder receivers(int receiverCount) {
+    this.receiverCount = receiverCount;
+    return this;
+  }
+
+  /** Sets how the connected channels are distributed among the receivers. */
+  public ServerTransportBuilder receiverAssignment(ReceiverAssignment receiverAssignment) {
+    this.receiverAssignment = receiverAssignment;
+    return this;
+  }
+
+  /**
+   * Sets the maximum time a write to a channel is held back to coalesce it with further messages.
+   * Writes are only held back on channels which already achieve batches of more than one message.
+   * Zero (the default) writes immediately.
+   */
+  public ServerTransportBuilder coalescingDelay(Duration coalescingDelay) {
+    this.coalescingDelay = coalescingDelay;
+    return this;
+  }
+
+  /** Sets the number of pending messages of a channel which are written without further delay. */
+  public ServerTransportBuilder coalescingThreshold(int coalescingThreshold) {
+    this.coalescingThreshold = coalescingThreshold;
+    return this;
+  }
+
   protected ServerTransportBuilder receiveHandler(FragmentHandler receiveHandler) {
     this.receiveHandler = receiveHandler;
     return this;
@@ -84,7 +122,15 @@ public class ServerTransportBuilder {
 
     final ServerActorContext actorContext = new ServerActorContext();
 
-    final Sender sender = new Sender(actorContext, messageMemoryPool, null, null);
+    final Sender sender =
+        new Sender(
+            actorContext,
+            name,
+            messageMemoryPool,
+            null,
+            null,
+            coalescingDelay,
+            coalescingThreshold);
 
     output = new ServerOutputImpl(sender);
 
@@ -109,7 +155,15 @@ public class ServerTransportBuilder {
 
     final ServerActorContext actorContext = new ServerActorContext();
 
-    final Sender sender = new Sender(actorContext, messageMemoryPool, null, null);
+    final Sender sender =
+        new Sender(
+            actorContext,
+            name,
+            messageMemoryPool,
+            null,
+            null,
+            coalescingDelay,
+            coalescingThreshold);
 
     output = new ServerOutputImpl(sender);
 
@@ -142,16 +196,29 @@ public class ServerTransportBuilder {
   protected void buildActors(TransportContext context, ServerActorContext actorContext) {
     final ServerConductor conductor = new ServerConductor(actorContext, context);
     final Sender sender = actorContext.getSender();
-    final Receiver receiver = new Receiver(actorContext, context);
+
+    actorContext.setReceiverAssignment(receiverAssignment);
+    for (int i = 0; i < receiverCount; i++) {
+      new Receiver(actorContext, context, i);
+    }
 
     scheduler.submitActor(conductor);
     scheduler.submitActor(sender);
-    scheduler.submitActor(receiver);
+    for (final Receiver receiver : actorContext.getReceivers()) {
+      scheduler.submitActor(receiver);
+    }
   }
 
   protected void validate() {
     Objects.requireNonNull(scheduler, "Scheduler must be provided");
     Objects.requireNonNull(bindAddress, "Bind Address must be provided");
     Objects.requireNonNull(receiveHandler, "Receive Handler must be defined");
+    Objects.requireNonNull(receiverAssignment, "Receiver Assignment must be provided");
+    Objects.requireNonNull(coalescingDelay, "Coalescing Delay must be provided");
+
+    if (receiverCount < 1) {
+      throw new IllegalArgumentException(
+          String.format("Expected at least one receiver, but was %d", receiverCount));
+    }
   }
 }
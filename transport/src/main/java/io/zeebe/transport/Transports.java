@@ -12,6 +12,10 @@ public class Transports {
     return new ServerTransportBuilder();
   }
 
+  public static NettyServerTransportBuilder newNettyServerTransport() {
+    return new NettyServerTransportBuilder();
+  }
+
   public static ClientTransportBuilder newClientTransport(final String name) {
     return new ClientTransportBuilder(name);
   }
@@ -0,0 +1,29 @@
+/*
+ * Copyright Camunda Services GmbH and/or licensed to Camunda Services GmbH under
+ * one or more contributor license agreements. See the NOTICE file distributed
+ * with this work for additional information regarding copyright ownership.
+ * Licensed under the Zeebe Community License 1.0. You may not use this file
+ * except in compliance with the Zeebe Community License 1.0.
+ */
+package io.zeebe.transport.impl;
+
+import io.zeebe.dispatcher.FragmentHandler;
+
+/**
+ * Handles the fragments received on a channel, but may accept fragments without handling them right
+ * away, e.g. to handle all fragments which were read from the channel at once together.
+ */
+public interface DeferringFragmentHandler extends FragmentHandler {
+  /** The fragment is accepted, but only handled by {@link #onFragmentsReceived()}. */
+  int DEFER_FRAGMENT_RESULT = 3;
+
+  /**
+   * Called after the fragments which were read from a channel at once were passed to {@link
+   * #onFragment(org.agrona.DirectBuffer, int, int, int, boolean)}, if any of them was deferred. The
+   * buffer passed to onFragment is valid until then.
+   *
+   * @return the number of the last deferred fragments which could not be handled; these are passed
+   *     again, together with all fragments received after them
+   */
+  int onFragmentsReceived();
+}
@@ -11,10 +11,11 @@ import io.zeebe.dispatcher.Dispatcher;
 import io.zeebe.dispatcher.FragmentHandler;
 import org.agrona.DirectBuffer;
 
+/**
+ * Offers the received messages to the receive buffer. Keeps no state of its own, so that all
+ * receivers of a transport can share it.
+ */
 public class ReceiveBufferHandler implements FragmentHandler {
-  private final TransportHeaderDescriptor transportHeaderDescriptor =
-      new TransportHeaderDescriptor();
-
   protected final Dispatcher receiveBuffer;
 
   public ReceiveBufferHandler(Dispatcher receiveBuffer) {
@@ -29,8 +30,11 @@ public class ReceiveBufferHandler implements FragmentHandler {
     }
 
     if (!isMarkedFailed) {
-      transportHeaderDescriptor.wrap(buffer, offset);
-      if (transportHeaderDescriptor.protocolId() == TransportHeaderDescriptor.CONTROL_MESSAGE) {
+      final short protocolId =
+          buffer.getShort(
+              TransportHeaderDescriptor.protocolIdOffset(offset),
+              TransportHeaderDescriptor.HEADER_BYTE_ORDER);
+      if (protocolId == TransportHeaderDescriptor.CONTROL_MESSAGE) {
         // don't forward control messages
         return CONSUME_FRAGMENT_RESULT;
       }
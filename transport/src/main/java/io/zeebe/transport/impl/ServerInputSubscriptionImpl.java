@@ -15,10 +15,12 @@ import io.zeebe.transport.ServerMessageHandler;
 import io.zeebe.transport.ServerOutput;
 import io.zeebe.transport.ServerRequestHandler;
 import io.zeebe.util.sched.ActorCondition;
+import org.agrona.DirectBuffer;
 
 public class ServerInputSubscriptionImpl implements ServerInputSubscription {
   protected final Subscription subscription;
   protected final FragmentHandler fragmentHandler;
+  protected final ServerReceiveHandler receiveHandler;
 
   public ServerInputSubscriptionImpl(
       ServerOutput output,
@@ -27,8 +29,26 @@ public class ServerInputSubscriptionImpl implements ServerInputSubscription {
       ServerMessageHandler messageHandler,
       ServerRequestHandler requestHandler) {
     this.subscription = subscription;
-    this.fragmentHandler =
+    this.receiveHandler =
         new ServerReceiveHandler(output, addressList, messageHandler, requestHandler, null);
+    this.fragmentHandler = this::onFragment;
+  }
+
+  /**
+   * The subscription can't pass a fragment again once it is polled, so a deferred request is
+   * completed right away. A request which can't be completed is handled like a rejected one.
+   */
+  private int onFragment(
+      DirectBuffer buffer, int offset, int length, int streamId, boolean isMarkedFailed) {
+    final int result = receiveHandler.onFragment(buffer, offset, length, streamId, isMarkedFailed);
+
+    if (result == DeferringFragmentHandler.DEFER_FRAGMENT_RESULT) {
+      return receiveHandler.onFragmentsReceived() == 0
+          ? FragmentHandler.CONSUME_FRAGMENT_RESULT
+          : FragmentHandler.POSTPONE_FRAGMENT_RESULT;
+    }
+
+    return result;
   }
 
   @Override
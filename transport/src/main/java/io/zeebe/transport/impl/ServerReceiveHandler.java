@@ -7,7 +7,6 @@
  */
 package io.zeebe.transport.impl;
 
-import io.zeebe.dispatcher.FragmentHandler;
 import io.zeebe.transport.RemoteAddress;
 import io.zeebe.transport.RemoteAddressList;
 import io.zeebe.transport.ServerControlMessageListener;
@@ -16,11 +15,15 @@ import io.zeebe.transport.ServerOutput;
 import io.zeebe.transport.ServerRequestHandler;
 import org.agrona.DirectBuffer;
 
-public class ServerReceiveHandler implements FragmentHandler {
-  private final TransportHeaderDescriptor transportHeaderDescriptor =
-      new TransportHeaderDescriptor();
-  private final RequestResponseHeaderDescriptor requestResponseHeaderDescriptor =
-      new RequestResponseHeaderDescriptor();
+/**
+ * Decodes the transport headers of received messages and passes them to the handlers. Keeps no
+ * state of its own, so that all receivers of a transport can share it; the handlers are called
+ * concurrently if the transport has more than one receiver.
+ *
+ * <p>Accepted requests are deferred, so that the request handler can complete them together once
+ * all requests read from a channel at once were passed to it.
+ */
+public class ServerReceiveHandler implements DeferringFragmentHandler {
   private final RemoteAddressList remoteAddressList;
   private final ServerMessageHandler messageHandler;
   private final ServerRequestHandler requestHandler;
@@ -47,23 +50,24 @@ public class ServerReceiveHandler implements FragmentHandler {
 
     final RemoteAddress remoteAddress = remoteAddressList.getByStreamId(streamId);
 
-    transportHeaderDescriptor.wrap(buffer, readOffset);
+    final int protocolId =
+        buffer.getShort(
+            TransportHeaderDescriptor.protocolIdOffset(readOffset),
+            TransportHeaderDescriptor.HEADER_BYTE_ORDER);
     readOffset += TransportHeaderDescriptor.headerLength();
     length -= TransportHeaderDescriptor.headerLength();
 
-    final int protocolId = transportHeaderDescriptor.protocolId();
-
     switch (protocolId) {
       case TransportHeaderDescriptor.REQUEST_RESPONSE:
         if (requestHandler != null) {
-          requestResponseHeaderDescriptor.wrap(buffer, readOffset);
+          final long requestId =
+              buffer.getLong(RequestResponseHeaderDescriptor.requestIdOffset(readOffset));
           readOffset += RequestResponseHeaderDescriptor.headerLength();
           length -= RequestResponseHeaderDescriptor.headerLength();
 
-          final long requestId = requestResponseHeaderDescriptor.requestId();
           result =
               requestHandler.onRequest(output, remoteAddress, buffer, readOffset, length, requestId)
-                  ? CONSUME_FRAGMENT_RESULT
+                  ? DEFER_FRAGMENT_RESULT
                   : POSTPONE_FRAGMENT_RESULT;
         }
 
@@ -95,4 +99,9 @@ public class ServerReceiveHandler implements FragmentHandler {
 
     return result;
   }
+
+  @Override
+  public int onFragmentsReceived() {
+    return requestHandler != null ? requestHandler.onRequestsReceived() : 0;
+  }
 }
@@ -26,6 +26,7 @@ import java.util.List;
 import java.util.concurrent.atomic.AtomicIntegerFieldUpdater;
 import org.agrona.DirectBuffer;
 import org.agrona.LangUtil;
+import org.agrona.collections.IntArrayList;
 import org.agrona.concurrent.UnsafeBuffer;
 
 public class TransportChannel {
@@ -48,6 +49,8 @@ public class TransportChannel {
 
   private final ChannelLifecycleListener listener;
   private final FragmentHandler readHandler;
+  private final DeferringFragmentHandler deferringReadHandler;
+  private final IntArrayList deferredFrameOffsets = new IntArrayList();
 
   private SocketChannel media;
 
@@ -63,6 +66,10 @@ public class TransportChannel {
     this.listener = listener;
     this.remoteAddress = remoteAddress;
     this.readHandler = readHandler;
+    this.deferringReadHandler =
+        readHandler instanceof DeferringFragmentHandler
+            ? (DeferringFragmentHandler) readHandler
+            : null;
     this.allocatedBuffer = BufferAllocators.allocateDirect(2 * maxMessageSize);
     this.channelReadBuffer = allocatedBuffer.getRawBuffer();
     this.channelReadBufferView = new UnsafeBuffer(channelReadBuffer);
@@ -110,11 +117,15 @@ public class TransportChannel {
       if (remaining < frameLength) {
         break;
       } else {
-        final boolean handled = handleMessage(channelReadBufferView, msgOffset, msgLength);
+        final int result = handleMessage(channelReadBufferView, msgOffset, msgLength);
 
-        if (handled) {
+        if (result != FragmentHandler.POSTPONE_FRAGMENT_RESULT) {
           LOG.trace("Handler has handled message of {} bytes", framedLength);
 
+          if (result == DeferringFragmentHandler.DEFER_FRAGMENT_RESULT) {
+            deferredFrameOffsets.addInt(offset);
+          }
+
           remaining -= frameLength;
           offset += frameLength;
         } else {
@@ -123,6 +134,10 @@ public class TransportChannel {
       }
     }
 
+    if (!deferredFrameOffsets.isEmpty()) {
+      offset = handleDeferredMessages(offset);
+    }
+
     if (offset > 0) {
       channelReadBuffer.limit(available);
       channelReadBuffer.position(offset);
@@ -132,14 +147,32 @@ public class TransportChannel {
     return workCount;
   }
 
-  private boolean handleMessage(DirectBuffer buffer, int msgOffset, int msgLength) {
+  private int handleMessage(DirectBuffer buffer, int msgOffset, int msgLength) {
     try {
-      return readHandler.onFragment(buffer, msgOffset, msgLength, getStreamId(), false)
-          != FragmentHandler.POSTPONE_FRAGMENT_RESULT;
+      return readHandler.onFragment(buffer, msgOffset, msgLength, getStreamId(), false);
     } catch (Exception e) {
       LOG.trace("Failed to handle message", e);
-      return true;
+      return FragmentHandler.CONSUME_FRAGMENT_RESULT;
+    }
+  }
+
+  /** @return the offset up to which the received messages are handled */
+  private int handleDeferredMessages(int offset) {
+    int incompleteMessages = 0;
+
+    try {
+      incompleteMessages = deferringReadHandler.onFragmentsReceived();
+    } catch (Exception e) {
+      LOG.trace("Failed to handle deferred messages", e);
+    }
+
+    if (incompleteMessages > 0) {
+      // read the incomplete messages again
+      offset = deferredFrameOffsets.getInt(deferredFrameOffsets.size() - incompleteMessages);
     }
+
+    deferredFrameOffsets.clear();
+    return offset;
   }
 
   private int mediaReceive(SocketChannel media, ByteBuffer receiveBuffer) {
@@ -166,6 +199,18 @@ public class TransportChannel {
     return bytesWritten;
   }
 
+  public long write(ByteBuffer[] buffers, int offset, int length) {
+    long bytesWritten = -1;
+
+    try {
+      bytesWritten = media.write(buffers, offset, length);
+    } catch (IOException e) {
+      doClose();
+    }
+
+    return bytesWritten;
+  }
+
   public int getStreamId() {
     return remoteAddress.getStreamId();
   }
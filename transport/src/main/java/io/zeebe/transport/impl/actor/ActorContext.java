@@ -7,21 +7,30 @@
  */
 package io.zeebe.transport.impl.actor;
 
+import io.zeebe.transport.ReceiverAssignment;
+import io.zeebe.transport.RemoteAddress;
 import io.zeebe.transport.TransportListener;
 import io.zeebe.transport.impl.sender.Sender;
 import io.zeebe.util.sched.future.ActorFuture;
+import java.util.ArrayList;
+import java.util.List;
 
 public abstract class ActorContext {
   private Conductor conductor;
   private Sender sender;
-  private Receiver receiver;
+  private final List<Receiver> receivers = new ArrayList<>();
+  private ReceiverAssignment receiverAssignment = ReceiverAssignment.ROUND_ROBIN;
 
   public void setConductor(Conductor clientConductor) {
     this.conductor = clientConductor;
   }
 
-  public void setReceiver(Receiver receiver) {
-    this.receiver = receiver;
+  public void addReceiver(Receiver receiver) {
+    receivers.add(receiver);
+  }
+
+  public void setReceiverAssignment(ReceiverAssignment receiverAssignment) {
+    this.receiverAssignment = receiverAssignment;
   }
 
   public void removeListener(TransportListener listener) {
@@ -44,8 +53,12 @@ public abstract class ActorContext {
     return conductor.interruptAllChannels();
   }
 
-  public ActorFuture<Void> closeReceiver() {
-    return receiver.close();
+  public List<ActorFuture<Void>> closeReceivers() {
+    final List<ActorFuture<Void>> closeFutures = new ArrayList<>(receivers.size());
+    for (int i = 0; i < receivers.size(); i++) {
+      closeFutures.add(receivers.get(i).close());
+    }
+    return closeFutures;
   }
 
   public Conductor getConductor() {
@@ -60,8 +73,18 @@ public abstract class ActorContext {
     return (ServerConductor) conductor;
   }
 
-  public Receiver getReceiver() {
-    return receiver;
+  /** @return the receiver which reads from the channel of the given remote */
+  public Receiver getReceiver(RemoteAddress remoteAddress) {
+    final int receiverCount = receivers.size();
+    if (receiverCount == 1) {
+      return receivers.get(0);
+    } else {
+      return receivers.get(receiverAssignment.select(remoteAddress, receiverCount));
+    }
+  }
+
+  public List<Receiver> getReceivers() {
+    return receivers;
   }
 
   public Sender getSender() {
@@ -74,7 +74,8 @@ public abstract class Conductor extends Actor implements ChannelLifecycleListene
   public void onChannelConnected(TransportChannel ch) {
     channels.put(ch.getRemoteAddress().getStreamId(), ch);
 
-    final ActorFuture<Void> f1 = actorContext.getReceiver().registerChannel(ch);
+    final ActorFuture<Void> f1 =
+        actorContext.getReceiver(ch.getRemoteAddress()).registerChannel(ch);
     final ActorFuture<Void> f2 = actorContext.getSender().onChannelConnected(ch);
 
     actor.runOnCompletion(
@@ -105,7 +106,8 @@ public abstract class Conductor extends Actor implements ChannelLifecycleListene
           if (channels.remove(ch.getRemoteAddress().getStreamId()) != null) {
             if (wasConnected) {
               failRequestsOnChannel(ch, "Socket channel has been disconnected");
-              final ActorFuture<Void> f1 = actorContext.getReceiver().removeChannel(ch);
+              final ActorFuture<Void> f1 =
+                  actorContext.getReceiver(ch.getRemoteAddress()).removeChannel(ch);
               final ActorFuture<Void> f2 = actorContext.getSender().onChannelClosed(ch);
 
               // wait for deregistration in order to not mix up the order of listener callbacks
@@ -136,11 +138,12 @@ public abstract class Conductor extends Actor implements ChannelLifecycleListene
 
     new ArrayList<>(channels.values()).forEach(TransportChannel::close);
 
-    final ActorFuture<Void> senderClose = actorContext.closeSender();
-    final ActorFuture<Void> receiverClose = actorContext.closeReceiver();
+    final List<ActorFuture<Void>> closeFutures = new ArrayList<>();
+    closeFutures.add(actorContext.closeSender());
+    closeFutures.addAll(actorContext.closeReceivers());
 
     actor.runOnCompletion(
-        Arrays.asList(senderClose, receiverClose),
+        closeFutures,
         (t) -> {
           onSenderAndReceiverClosed();
         });
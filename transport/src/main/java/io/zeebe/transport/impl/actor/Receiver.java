@@ -18,9 +18,20 @@ public class Receiver extends Actor {
   private String name;
 
   public Receiver(ActorContext actorContext, TransportContext context) {
+    this(actorContext, context, 0);
+  }
+
+  /**
+   * @param index the index of the receiver, if the transport reads its channels with more than one
+   *     receiver
+   */
+  public Receiver(ActorContext actorContext, TransportContext context, int index) {
     this.transportPoller = new ReadTransportPoller(actor);
-    this.name = String.format("%s-receiver", context.getName());
-    actorContext.setReceiver(this);
+    this.name =
+        index == 0
+            ? String.format("%s-receiver", context.getName())
+            : String.format("%s-receiver-%d", context.getName(), index);
+    actorContext.addReceiver(this);
   }
 
   @Override
@@ -0,0 +1,223 @@
+/*
+ * Copyright Camunda Services GmbH and/or licensed to Camunda Services GmbH under
+ * one or more contributor license agreements. See the NOTICE file distributed
+ * with this work for additional information regarding copyright ownership.
+ * Licensed under the Zeebe Community License 1.0. You may not use this file
+ * except in compliance with the Zeebe Community License 1.0.
+ */
+package io.zeebe.transport.impl.netty;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.channel.ChannelHandlerContext;
+import io.netty.channel.ChannelInboundHandlerAdapter;
+import io.netty.handler.codec.ByteToMessageDecoder;
+import io.zeebe.dispatcher.FragmentHandler;
+import io.zeebe.dispatcher.impl.log.DataFrameDescriptor;
+import io.zeebe.transport.Loggers;
+import io.zeebe.transport.RemoteAddress;
+import io.zeebe.transport.impl.DeferringFragmentHandler;
+import java.util.concurrent.TimeUnit;
+import org.agrona.collections.IntArrayList;
+import org.agrona.concurrent.UnsafeBuffer;
+import org.slf4j.Logger;
+
+/**
+ * Splits the bytes read from a channel into frames and passes them to the receive handler, like
+ * {@link io.zeebe.transport.impl.TransportChannel#receive()} does for the default transport.
+ *
+ * <p>If the receive handler postpones a message, e.g. because the log's write buffer is full, the
+ * channel stops reading and retries the message shortly after.
+ */
+final class NettyServerChannelHandler extends ChannelInboundHandlerAdapter {
+  private static final Logger LOG = Loggers.TRANSPORT_LOGGER;
+  private static final long POSTPONE_RETRY_MILLIS = 1;
+
+  private final NettyServerTransport transport;
+  private final FragmentHandler receiveHandler;
+  private final DeferringFragmentHandler deferringReceiveHandler;
+  private final IntArrayList deferredFrameOffsets = new IntArrayList();
+  private final int maxFrameLength;
+  private final UnsafeBuffer bufferView = new UnsafeBuffer(0, 0);
+
+  private RemoteAddress remoteAddress;
+  private ByteBuf cumulation;
+  private boolean postponed;
+
+  NettyServerChannelHandler(
+      NettyServerTransport transport, FragmentHandler receiveHandler, int maxFrameLength) {
+    this.transport = transport;
+    this.receiveHandler = receiveHandler;
+    this.deferringReceiveHandler =
+        receiveHandler instanceof DeferringFragmentHandler
+            ? (DeferringFragmentHandler) receiveHandler
+            : null;
+    this.maxFrameLength = maxFrameLength;
+  }
+
+  @Override
+  public void channelActive(ChannelHandlerContext ctx) {
+    remoteAddress = transport.onChannelConnected(ctx.channel());
+    ctx.fireChannelActive();
+  }
+
+  @Override
+  public void channelInactive(ChannelHandlerContext ctx) {
+    releaseCumulation();
+
+    if (remoteAddress != null) {
+      transport.onChannelClosed(remoteAddress);
+    }
+    ctx.fireChannelInactive();
+  }
+
+  @Override
+  public void channelRead(ChannelHandlerContext ctx, Object msg) {
+    final ByteBuf received = (ByteBuf) msg;
+
+    if (cumulation == null) {
+      cumulation = received;
+    } else {
+      cumulation = ByteToMessageDecoder.MERGE_CUMULATOR.cumulate(ctx.alloc(), cumulation, received);
+    }
+
+    if (!postponed) {
+      handleFrames(ctx);
+    }
+  }
+
+  @Override
+  public void exceptionCaught(ChannelHandlerContext ctx, Throwable cause) {
+    LOG.debug("Closing channel {} after failure", remoteAddress, cause);
+    ctx.close();
+  }
+
+  private void handleFrames(ChannelHandlerContext ctx) {
+    final int available = cumulation.readableBytes();
+    wrap(cumulation, available);
+
+    int remaining = available;
+    int offset = 0;
+
+    while (remaining >= DataFrameDescriptor.HEADER_LENGTH) {
+      final int framedLength = bufferView.getInt(DataFrameDescriptor.lengthOffset(offset));
+      final int frameLength = DataFrameDescriptor.alignedLength(framedLength);
+
+      if (frameLength > maxFrameLength) {
+        LOG.warn(
+            "Closing channel {}, received frame of {} bytes exceeds maximum of {} bytes",
+            remoteAddress,
+            frameLength,
+            maxFrameLength);
+
+        if (!deferredFrameOffsets.isEmpty()) {
+          // complete the messages received before, regardless of the outcome
+          handleDeferredMessages(ctx, offset);
+        }
+
+        ctx.close();
+        return;
+      } else if (remaining < frameLength) {
+        break;
+      }
+
+      final int msgOffset = DataFrameDescriptor.messageOffset(offset);
+      final int msgLength = DataFrameDescriptor.messageLength(framedLength);
+
+      final int result = handleMessage(msgOffset, msgLength);
+
+      if (result != FragmentHandler.POSTPONE_FRAGMENT_RESULT) {
+        if (result == DeferringFragmentHandler.DEFER_FRAGMENT_RESULT) {
+          deferredFrameOffsets.addInt(offset);
+        }
+
+        remaining -= frameLength;
+        offset += frameLength;
+      } else {
+        postpone(ctx);
+        break;
+      }
+    }
+
+    if (!deferredFrameOffsets.isEmpty()) {
+      offset = handleDeferredMessages(ctx, offset);
+    }
+
+    cumulation.skipBytes(offset);
+
+    if (cumulation.isReadable()) {
+      cumulation.discardSomeReadBytes();
+    } else {
+      releaseCumulation();
+    }
+  }
+
+  private int handleMessage(int msgOffset, int msgLength) {
+    try {
+      return receiveHandler.onFragment(
+          bufferView, msgOffset, msgLength, remoteAddress.getStreamId(), false);
+    } catch (Exception e) {
+      LOG.trace("Failed to handle message", e);
+      return FragmentHandler.CONSUME_FRAGMENT_RESULT;
+    }
+  }
+
+  /** @return the offset up to which the received messages are handled */
+  private int handleDeferredMessages(ChannelHandlerContext ctx, int offset) {
+    int incompleteMessages = 0;
+
+    try {
+      incompleteMessages = deferringReceiveHandler.onFragmentsReceived();
+    } catch (Exception e) {
+      LOG.trace("Failed to handle deferred messages", e);
+    }
+
+    if (incompleteMessages > 0) {
+      // read the incomplete messages again
+      offset = deferredFrameOffsets.getInt(deferredFrameOffsets.size() - incompleteMessages);
+
+      if (!postponed) {
+        postpone(ctx);
+      }
+    }
+
+    deferredFrameOffsets.clear();
+    return offset;
+  }
+
+  private void postpone(ChannelHandlerContext ctx) {
+    postponed = true;
+    ctx.channel().config().setAutoRead(false);
+    ctx.executor().schedule(() -> resume(ctx), POSTPONE_RETRY_MILLIS, TimeUnit.MILLISECONDS);
+  }
+
+  private void resume(ChannelHandlerContext ctx) {
+    postponed = false;
+
+    if (cumulation != null && ctx.channel().isActive()) {
+      handleFrames(ctx);
+    }
+
+    if (!postponed) {
+      ctx.channel().config().setAutoRead(true);
+    }
+  }
+
+  private void wrap(ByteBuf buffer, int length) {
+    final int readerIndex = buffer.readerIndex();
+
+    if (buffer.hasMemoryAddress()) {
+      bufferView.wrap(buffer.memoryAddress() + readerIndex, length);
+    } else if (buffer.hasArray()) {
+      bufferView.wrap(buffer.array(), buffer.arrayOffset() + readerIndex, length);
+    } else {
+      bufferView.wrap(buffer.nioBuffer(readerIndex, length));
+    }
+  }
+
+  private void releaseCumulation() {
+    if (cumulation != null) {
+      cumulation.release();
+      cumulation = null;
+    }
+  }
+}
@@ -0,0 +1,122 @@
+/*
+ * Copyright Camunda Services GmbH and/or licensed to Camunda Services GmbH under
+ * one or more contributor license agreements. See the NOTICE file distributed
+ * with this work for additional information regarding copyright ownership.
+ * Licensed under the Zeebe Community License 1.0. You may not use this file
+ * except in compliance with the Zeebe Community License 1.0.
+ */
+package io.zeebe.transport.impl.netty;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.channel.Channel;
+import io.zeebe.dispatcher.impl.log.DataFrameDescriptor;
+import io.zeebe.transport.ServerOutput;
+import io.zeebe.transport.ServerResponse;
+import io.zeebe.transport.impl.sender.TransportHeaderWriter;
+import io.zeebe.util.buffer.BufferWriter;
+import org.agrona.collections.Int2ObjectHashMap;
+import org.agrona.concurrent.UnsafeBuffer;
+
+/**
+ * Writes the framed messages and responses directly into pooled buffers of the channel, which are
+ * flushed by the channel's event loop.
+ *
+ * <p>Like the default transport, messages to a stream which is not connected (anymore) are dropped,
+ * and a message is rejected while the channel is not writable, i.e. while its outbound buffer
+ * exceeds the high water mark.
+ */
+public class NettyServerOutput implements ServerOutput {
+  private volatile Int2ObjectHashMap<Channel> channels = new Int2ObjectHashMap<>();
+
+  synchronized void addChannel(int streamId, Channel channel) {
+    final Int2ObjectHashMap<Channel> newChannels = new Int2ObjectHashMap<>(channels);
+    newChannels.put(streamId, channel);
+    channels = newChannels;
+  }
+
+  synchronized void removeChannel(int streamId) {
+    final Int2ObjectHashMap<Channel> newChannels = new Int2ObjectHashMap<>(channels);
+    newChannels.remove(streamId);
+    channels = newChannels;
+  }
+
+  Iterable<Channel> getChannels() {
+    return channels.values();
+  }
+
+  @Override
+  public boolean sendMessage(int remoteStreamId, BufferWriter writer) {
+    final Channel channel = channels.get(remoteStreamId);
+    if (channel == null) {
+      return true;
+    } else if (!channel.isWritable()) {
+      return false;
+    }
+
+    final int framedLength = TransportHeaderWriter.getFramedMessageLength(writer.getLength());
+    final ByteBuf buffer = allocate(channel, framedLength);
+
+    try {
+      final UnsafeBuffer bufferView = wrap(buffer, framedLength);
+      final TransportHeaderWriter headerWriter = new TransportHeaderWriter();
+      headerWriter.wrapMessage(bufferView, writer, remoteStreamId);
+      clearAlignment(bufferView, framedLength);
+    } catch (RuntimeException e) {
+      buffer.release();
+      throw e;
+    }
+
+    channel.writeAndFlush(buffer, channel.voidPromise());
+    return true;
+  }
+
+  @Override
+  public boolean sendResponse(ServerResponse response) {
+    final int remoteStreamId = response.getRemoteStreamId();
+    final Channel channel = channels.get(remoteStreamId);
+    if (channel == null) {
+      return true;
+    } else if (!channel.isWritable()) {
+      return false;
+    }
+
+    final BufferWriter writer = response.getWriter();
+    final int framedLength = TransportHeaderWriter.getFramedRequestLength(writer.getLength());
+    final ByteBuf buffer = allocate(channel, framedLength);
+
+    try {
+      final UnsafeBuffer bufferView = wrap(buffer, framedLength);
+      final TransportHeaderWriter headerWriter = new TransportHeaderWriter();
+      headerWriter.wrapRequest(bufferView, writer);
+      headerWriter.setStreamId(remoteStreamId).setRequestId(response.getRequestId());
+      clearAlignment(bufferView, framedLength);
+    } catch (RuntimeException e) {
+      buffer.release();
+      throw e;
+    }
+
+    channel.writeAndFlush(buffer, channel.voidPromise());
+    return true;
+  }
+
+  private static ByteBuf allocate(Channel channel, int framedLength) {
+    final ByteBuf buffer = channel.alloc().directBuffer(framedLength, framedLength);
+    // pooled memory is not cleared, but the header writer only sets the fields it needs
+    buffer.setZero(0, DataFrameDescriptor.HEADER_LENGTH);
+    buffer.writerIndex(framedLength);
+    return buffer;
+  }
+
+  private static void clearAlignment(UnsafeBuffer bufferView, int framedLength) {
+    final int frameLength = bufferView.getInt(DataFrameDescriptor.lengthOffset(0));
+    bufferView.setMemory(frameLength, framedLength - frameLength, (byte) 0);
+  }
+
+  private static UnsafeBuffer wrap(ByteBuf buffer, int framedLength) {
+    if (buffer.hasMemoryAddress()) {
+      return new UnsafeBuffer(buffer.memoryAddress(), framedLength);
+    } else {
+      return new UnsafeBuffer(buffer.nioBuffer(0, framedLength));
+    }
+  }
+}
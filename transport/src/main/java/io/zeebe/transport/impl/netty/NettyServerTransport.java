@@ -0,0 +1,210 @@
+/*
+ * Copyright Camunda Services GmbH and/or licensed to Camunda Services GmbH under
+ * one or more contributor license agreements. See the NOTICE file distributed
+ * with this work for additional information regarding copyright ownership.
+ * Licensed under the Zeebe Community License 1.0. You may not use this file
+ * except in compliance with the Zeebe Community License 1.0.
+ */
+package io.zeebe.transport.impl.netty;
+
+import io.netty.bootstrap.ServerBootstrap;
+import io.netty.buffer.PooledByteBufAllocator;
+import io.netty.channel.Channel;
+import io.netty.channel.ChannelInitializer;
+import io.netty.channel.ChannelOption;
+import io.netty.channel.EventLoopGroup;
+import io.netty.channel.ServerChannel;
+import io.netty.channel.epoll.Epoll;
+import io.netty.channel.epoll.EpollEventLoopGroup;
+import io.netty.channel.epoll.EpollServerSocketChannel;
+import io.netty.channel.nio.NioEventLoopGroup;
+import io.netty.channel.socket.SocketChannel;
+import io.netty.channel.socket.nio.NioServerSocketChannel;
+import io.netty.handler.flush.FlushConsolidationHandler;
+import io.netty.util.concurrent.DefaultThreadFactory;
+import io.netty.util.concurrent.Future;
+import io.zeebe.dispatcher.FragmentHandler;
+import io.zeebe.dispatcher.impl.log.DataFrameDescriptor;
+import io.zeebe.transport.Loggers;
+import io.zeebe.transport.RemoteAddress;
+import io.zeebe.transport.ServerTransport;
+import io.zeebe.transport.SocketAddress;
+import io.zeebe.transport.TransportListener;
+import io.zeebe.transport.impl.RemoteAddressImpl;
+import io.zeebe.transport.impl.RemoteAddressListImpl;
+import io.zeebe.util.sched.future.ActorFuture;
+import io.zeebe.util.sched.future.CompletableActorFuture;
+import java.net.InetSocketAddress;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import org.slf4j.Logger;
+
+/**
+ * A server transport which reads and writes its channels with Netty event loops instead of the
+ * transport actors. It uses the native epoll transport if it is available, and NIO otherwise.
+ */
+public class NettyServerTransport extends ServerTransport {
+  private static final Logger LOG = Loggers.TRANSPORT_LOGGER;
+  private static final long SHUTDOWN_TIMEOUT_SECONDS = 5;
+
+  private final String name;
+  private final NettyServerOutput output;
+  private final RemoteAddressListImpl remoteAddressList;
+  private final FragmentHandler receiveHandler;
+  private final int ioThreads;
+  private final int maxFrameLength;
+
+  private final List<TransportListener> listeners = new CopyOnWriteArrayList<>();
+  private final CompletableActorFuture<Void> closeFuture = new CompletableActorFuture<>();
+  private final AtomicBoolean isClosing = new AtomicBoolean();
+
+  private EventLoopGroup bossGroup;
+  private EventLoopGroup workerGroup;
+  private Channel serverChannel;
+
+  public NettyServerTransport(
+      String name,
+      NettyServerOutput output,
+      RemoteAddressListImpl remoteAddressList,
+      FragmentHandler receiveHandler,
+      int ioThreads,
+      int messageMaxLength) {
+    super(output);
+    this.name = name;
+    this.output = output;
+    this.remoteAddressList = remoteAddressList;
+    this.receiveHandler = receiveHandler;
+    this.ioThreads = ioThreads;
+    this.maxFrameLength = DataFrameDescriptor.alignedFramedLength(messageMaxLength);
+  }
+
+  public void bind(InetSocketAddress bindAddress) {
+    final boolean useEpoll = Epoll.isAvailable();
+    final Class<? extends ServerChannel> channelClass;
+
+    if (useEpoll) {
+      bossGroup = new EpollEventLoopGroup(1, new DefaultThreadFactory(name + "-accept"));
+      workerGroup = new EpollEventLoopGroup(ioThreads, new DefaultThreadFactory(name + "-io"));
+      channelClass = EpollServerSocketChannel.class;
+    } else {
+      bossGroup = new NioEventLoopGroup(1, new DefaultThreadFactory(name + "-accept"));
+      workerGroup = new NioEventLoopGroup(ioThreads, new DefaultThreadFactory(name + "-io"));
+      channelClass = NioServerSocketChannel.class;
+    }
+
+    final ServerBootstrap bootstrap =
+        new ServerBootstrap()
+            .group(bossGroup, workerGroup)
+            .channel(channelClass)
+            .childOption(ChannelOption.TCP_NODELAY, true)
+            .childOption(ChannelOption.ALLOCATOR, PooledByteBufAllocator.DEFAULT)
+            .childHandler(
+                new ChannelInitializer<SocketChannel>() {
+                  @Override
+                  protected void initChannel(SocketChannel channel) {
+                    channel
+                        .pipeline()
+                        .addLast(new FlushConsolidationHandler())
+                        .addLast(
+                            new NettyServerChannelHandler(
+                                NettyServerTransport.this, receiveHandler, maxFrameLength));
+                  }
+                });
+
+    try {
+      serverChannel = bootstrap.bind(bindAddress).syncUninterruptibly().channel();
+    } catch (RuntimeException e) {
+      shutdownEventLoops();
+      throw e;
+    }
+
+    LOG.debug("Bound {} to {} using {}", name, bindAddress, useEpoll ? "epoll" : "nio");
+  }
+
+  RemoteAddress onChannelConnected(Channel channel) {
+    final SocketAddress socketAddress =
+        new SocketAddress((InetSocketAddress) channel.remoteAddress());
+
+    RemoteAddressImpl remoteAddress = remoteAddressList.getByAddress(socketAddress);
+    if (remoteAddress != null) {
+      // make sure to generate a new stream id
+      remoteAddressList.retire(remoteAddress);
+    }
+
+    remoteAddress = remoteAddressList.register(socketAddress);
+    output.addChannel(remoteAddress.getStreamId(), channel);
+
+    for (final TransportListener listener : listeners) {
+      try {
+        listener.onConnectionEstablished(remoteAddress);
+      } catch (Exception e) {
+        LOG.debug("Failed to call transport listener {} on channel connect", listener, e);
+      }
+    }
+
+    return remoteAddress;
+  }
+
+  void onChannelClosed(RemoteAddress remoteAddress) {
+    output.removeChannel(remoteAddress.getStreamId());
+
+    for (final TransportListener listener : listeners) {
+      try {
+        listener.onConnectionClosed(remoteAddress);
+      } catch (Exception e) {
+        LOG.debug("Failed to call transport listener {} on disconnect", listener, e);
+      }
+    }
+  }
+
+  @Override
+  public ActorFuture<Void> registerChannelListener(TransportListener channelListener) {
+    listeners.add(channelListener);
+    return CompletableActorFuture.completed(null);
+  }
+
+  @Override
+  public void removeChannelListener(TransportListener listener) {
+    listeners.remove(listener);
+  }
+
+  @Override
+  public ActorFuture<Void> interruptAllChannels() {
+    for (final Channel channel : output.getChannels()) {
+      channel.close();
+    }
+    return CompletableActorFuture.completed(null);
+  }
+
+  @Override
+  public ActorFuture<Void> closeAsync() {
+    if (isClosing.compareAndSet(false, true)) {
+      remoteAddressList.deactivateAll();
+      serverChannel.close();
+      shutdownEventLoops();
+    }
+    return closeFuture;
+  }
+
+  @Override
+  public void close() {
+    closeAsync().join();
+  }
+
+  @Override
+  public void releaseResources() {
+    closeAsync().join();
+  }
+
+  private void shutdownEventLoops() {
+    final Future<?> bossTermination =
+        bossGroup.shutdownGracefully(0, SHUTDOWN_TIMEOUT_SECONDS, TimeUnit.SECONDS);
+    final Future<?> workerTermination =
+        workerGroup.shutdownGracefully(0, SHUTDOWN_TIMEOUT_SECONDS, TimeUnit.SECONDS);
+
+    bossTermination.addListener(
+        b -> workerTermination.addListener(w -> closeFuture.complete(null)));
+  }
+}
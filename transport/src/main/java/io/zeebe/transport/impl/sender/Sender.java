@@ -18,12 +18,15 @@ import io.zeebe.transport.impl.actor.ActorContext;
 import io.zeebe.transport.impl.memory.TransportMemoryPool;
 import io.zeebe.util.ByteValue;
 import io.zeebe.util.sched.Actor;
+import io.zeebe.util.sched.ScheduledTimer;
 import io.zeebe.util.sched.channel.ConcurrentQueueChannel;
 import io.zeebe.util.sched.clock.ActorClock;
 import io.zeebe.util.sched.future.ActorFuture;
 import java.nio.ByteBuffer;
 import java.time.Duration;
+import java.util.ArrayDeque;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Deque;
 import java.util.Iterator;
 import java.util.LinkedList;
@@ -38,11 +41,32 @@ import org.agrona.concurrent.ManyToOneConcurrentLinkedQueue;
 import org.agrona.concurrent.UnsafeBuffer;
 import org.slf4j.Logger;
 
+/**
+ * Writes the submitted requests and messages to the channels.
+ *
+ * <p>The pending writes of a channel are written with a single gathering write. Requests are copied
+ * into batches, since their buffers are rewritten on retry and reclaimed on timeout; messages are
+ * written directly from their allocated buffers.
+ *
+ * <p>If a coalescing delay is configured, a channel which recently achieved batches of more than
+ * one message holds back its writes for at most that delay, or until the given number of messages
+ * is pending, so that more messages are written at once. Channels which send single messages are
+ * never held back.
+ */
 public class Sender extends Actor implements TimerHandler {
+  public static final Duration DEFAULT_COALESCING_DELAY = Duration.ZERO;
+  public static final int DEFAULT_COALESCING_THRESHOLD = 64;
+
   private static final int MAX_REQUEST_CONSUME_BATCH_SIZE = 100;
 
   private static final int DEFAULT_BATCH_SIZE = (int) ByteValue.ofKilobytes(128).toBytes();
 
+  /** Upper bound of buffers per gathering write, well below IOV_MAX of common platforms. */
+  private static final int MAX_GATHERING_WRITE_BUFFERS = 128;
+
+  /** Writes are only held back if the channel achieved at least this average batch size. */
+  private static final double MIN_AVERAGE_BATCH_SIZE_TO_COALESCE = 1.5;
+
   private static final Logger LOG = Loggers.TRANSPORT_LOGGER;
 
   private long nextRequestId = 0;
@@ -72,14 +96,46 @@ public class Sender extends Actor implements TimerHandler {
   private final TransportMemoryPool messageMemoryPool;
   private final TransportMemoryPool requestMemoryPool;
 
+  private final String transportName;
+  private final long coalescingDelayNanos;
+  private final int coalescingThreshold;
+
   public Sender(
       ActorContext actorContext,
       TransportMemoryPool messageMemoryPool,
       TransportMemoryPool requestMemoryPool,
       Duration keepalivePeriod) {
+    this(
+        actorContext,
+        "transport",
+        messageMemoryPool,
+        requestMemoryPool,
+        keepalivePeriod,
+        DEFAULT_COALESCING_DELAY,
+        DEFAULT_COALESCING_THRESHOLD);
+  }
+
+  /**
+   * @param transportName the name of the transport, used to label the metrics
+   * @param coalescingDelay the maximum time a write is held back to coalesce it with further
+   *     messages, or zero to write immediately
+   * @param coalescingThreshold the number of pending messages of a channel which are written
+   *     without further delay
+   */
+  public Sender(
+      ActorContext actorContext,
+      String transportName,
+      TransportMemoryPool messageMemoryPool,
+      TransportMemoryPool requestMemoryPool,
+      Duration keepalivePeriod,
+      Duration coalescingDelay,
+      int coalescingThreshold) {
+    this.transportName = transportName;
     this.messageMemoryPool = messageMemoryPool;
     this.requestMemoryPool = requestMemoryPool;
     this.keepAlivePeriod = keepalivePeriod;
+    this.coalescingDelayNanos = coalescingDelay.toNanos();
+    this.coalescingThreshold = coalescingThreshold;
 
     actorContext.setSender(this);
   }
@@ -208,11 +264,8 @@ public class Sender extends Actor implements TimerHandler {
     final int remoteStreamId = message.getRemoteStreamId();
     final ChannelWriteQueue sendQueue = channelMap.get(remoteStreamId);
     if (sendQueue != null) {
-      try {
-        sendQueue.offer(message);
-      } finally {
-        reclaimMessageBuffer(message.getAllocatedBuffer());
-      }
+      // the buffer is reclaimed once the message is written
+      sendQueue.offer(message);
     } else if (ActorClock.currentTimeMillis() < message.getDeadline()) {
       // channel not open, retry
       actor.runDelayed(Duration.ofMillis(10), () -> submittedMessages.offer(message));
@@ -230,7 +283,8 @@ public class Sender extends Actor implements TimerHandler {
 
       channelSendQueue.write();
 
-      hasPending |= channelSendQueue.hasPending();
+      // a held back channel is woken up by its coalescing timer
+      hasPending |= channelSendQueue.hasPending() && !channelSendQueue.isHeldBack();
     }
 
     if (hasPending) {
@@ -241,9 +295,7 @@ public class Sender extends Actor implements TimerHandler {
   private void sendKeepalives() {
     for (ChannelWriteQueue channelWriteQueue : channelList) {
       if (!channelWriteQueue.hasPending()) {
-        channelWriteQueue
-            .getPendingWrites()
-            .addLast(new ControlMessage(ControlMessages.KEEP_ALIVE));
+        channelWriteQueue.offer(new ControlMessage(ControlMessages.KEEP_ALIVE));
       }
     }
 
@@ -251,41 +303,126 @@ public class Sender extends Actor implements TimerHandler {
   }
 
   public class ChannelWriteQueue {
-    private final Deque<Batch> pendingWrites = new LinkedList<>();
+    private final Deque<PendingWrite> pendingWrites = new ArrayDeque<>();
+    private final ByteBuffer[] writeBuffers = new ByteBuffer[MAX_GATHERING_WRITE_BUFFERS];
 
     private final TransportChannel channel;
+    private final SenderMetrics metrics;
+    private final Runnable onCoalescingDelayElapsed = this::onCoalescingDelayElapsed;
 
-    private Batch currentWrite;
+    private int pendingMessages;
+    private long firstPendingNanos;
+    private double averageBatchSize = 1;
+    private ScheduledTimer coalescingTimer;
 
-    public ChannelWriteQueue(TransportChannel channel) {
+    public ChannelWriteQueue(TransportChannel channel, SenderMetrics metrics) {
       this.channel = channel;
+      this.metrics = metrics;
     }
 
     public boolean hasPending() {
-      return currentWrite != null || !pendingWrites.isEmpty();
+      return !pendingWrites.isEmpty();
     }
 
     public void write() {
-      if (hasPending()) {
-        if (currentWrite == null) {
-          currentWrite = pendingWrites.poll();
-          currentWrite.prepareWrite();
+      if (!hasPending()) {
+        return;
+      }
+
+      if (shouldHoldBack()) {
+        scheduleCoalescingTimer();
+        return;
+      }
+      cancelCoalescingTimer();
+
+      int bufferCount = 0;
+      for (PendingWrite pendingWrite : pendingWrites) {
+        if (bufferCount == writeBuffers.length) {
+          break;
         }
+        writeBuffers[bufferCount++] = pendingWrite.prepareWrite();
+      }
+
+      final long bytesWritten = channel.write(writeBuffers, 0, bufferCount);
+      Arrays.fill(writeBuffers, 0, bufferCount, null);
+
+      if (bytesWritten > 0) {
+        onWritten(bufferCount);
+      }
+    }
 
-        currentWrite.writeTo(channel);
+    private void onWritten(int bufferCount) {
+      int writtenMessages = 0;
 
-        if (!currentWrite.hasRemaining()) {
-          currentWrite.recycle();
-          currentWrite = null;
+      for (int i = 0; i < bufferCount; i++) {
+        final PendingWrite pendingWrite = pendingWrites.peekFirst();
+        if (pendingWrite.getBuffer().hasRemaining()) {
+          break;
         }
+
+        pendingWrites.pollFirst();
+        writtenMessages += pendingWrite.getMessageCount();
+        pendingWrite.onWritten();
+      }
+
+      if (writtenMessages > 0) {
+        pendingMessages -= writtenMessages;
+        averageBatchSize += (writtenMessages - averageBatchSize) / 8;
+        metrics.observeBatchSize(writtenMessages);
+      }
+    }
+
+    private boolean shouldHoldBack() {
+      if (coalescingDelayNanos <= 0
+          || pendingMessages >= coalescingThreshold
+          || averageBatchSize < MIN_AVERAGE_BATCH_SIZE_TO_COALESCE
+          || pendingWrites.peekFirst().isPrepared()) {
+        return false;
+      }
+
+      return getRemainingCoalescingDelayNanos() > 0;
+    }
+
+    private long getRemainingCoalescingDelayNanos() {
+      return coalescingDelayNanos - (ActorClock.current().getNanoTime() - firstPendingNanos);
+    }
+
+    boolean isHeldBack() {
+      return coalescingTimer != null;
+    }
+
+    private void scheduleCoalescingTimer() {
+      if (coalescingTimer == null) {
+        coalescingTimer =
+            actor.runDelayed(
+                Duration.ofNanos(getRemainingCoalescingDelayNanos()), onCoalescingDelayElapsed);
+      }
+    }
+
+    private void cancelCoalescingTimer() {
+      if (coalescingTimer != null) {
+        coalescingTimer.cancel();
+        coalescingTimer = null;
       }
     }
 
+    private void onCoalescingDelayElapsed() {
+      coalescingTimer = null;
+      sendNext();
+    }
+
+    private void onOffered(PendingWrite pendingWrite) {
+      if (!hasPending()) {
+        firstPendingNanos = ActorClock.current().getNanoTime();
+      }
+      pendingWrites.addLast(pendingWrite);
+    }
+
     public void offer(OutgoingRequest request) {
       // try to fit into last pending batch
-      final Batch existingBatch = pendingWrites.peekLast();
+      final PendingWrite lastWrite = pendingWrites.peekLast();
 
-      if (existingBatch == null || !existingBatch.addToBatch(request, channel)) {
+      if (lastWrite == null || !lastWrite.addToBatch(request, channel)) {
         // try to recycle existing batch
         final Iterator<Batch> recycledBuffersIterator = recycledBuffers.iterator();
         while (recycledBuffersIterator.hasNext()) {
@@ -293,7 +430,8 @@ public class Sender extends Actor implements TimerHandler {
 
           if (batch.addToBatch(request, channel)) {
             recycledBuffersIterator.remove();
-            pendingWrites.addLast(batch);
+            onOffered(batch);
+            pendingMessages++;
             return;
           }
         }
@@ -302,45 +440,96 @@ public class Sender extends Actor implements TimerHandler {
         final Batch batch =
             new Batch(Math.max(DEFAULT_BATCH_SIZE, request.getRequestBuffer().capacity()));
         batch.addToBatch(request, channel);
-        pendingWrites.addLast(batch);
+        onOffered(batch);
       }
+
+      pendingMessages++;
     }
 
     public void offer(OutgoingMessage message) {
-      // try to fit into last pending batch
-      Batch batch = pendingWrites.peekLast();
+      onOffered(new MessageWrite(message));
+      pendingMessages++;
+    }
 
-      if (batch == null || !batch.addToBatch(message)) {
-        boolean hasRecycled = false;
+    void offer(ControlMessage controlMessage) {
+      onOffered(controlMessage);
+      pendingMessages++;
+    }
 
-        // try to recycle existing batch
-        final Iterator<Batch> recycledBuffersIterator = recycledBuffers.iterator();
-        while (recycledBuffersIterator.hasNext()) {
-          batch = recycledBuffersIterator.next();
+    void close() {
+      // re-submit pending requests so that they can be retried
+      pendingWrites.forEach(PendingWrite::onChannelClosed);
+      pendingWrites.clear();
+      cancelCoalescingTimer();
+      metrics.close();
+    }
+  }
 
-          if (batch.addToBatch(message)) {
-            recycledBuffersIterator.remove();
-            hasRecycled = true;
-            break;
-          }
-        }
+  private abstract class PendingWrite {
+    boolean prepared;
 
-        if (!hasRecycled) {
-          // allocate new batch
-          batch = new Batch(Math.max(DEFAULT_BATCH_SIZE, message.getBuffer().capacity()));
-          batch.addToBatch(message);
-        }
+    /** @return the buffer to write, positioned at the remaining bytes */
+    abstract ByteBuffer prepareWrite();
+
+    abstract ByteBuffer getBuffer();
+
+    abstract int getMessageCount();
+
+    abstract void onWritten();
+
+    abstract void onChannelClosed();
+
+    boolean isPrepared() {
+      return prepared;
+    }
+
+    boolean addToBatch(OutgoingRequest request, TransportChannel channel) {
+      return false;
+    }
+  }
+
+  /** A message which is written from its allocated buffer, without copying it into a batch. */
+  private final class MessageWrite extends PendingWrite {
+    final ByteBuffer allocatedBuffer;
+    final int length;
+
+    MessageWrite(OutgoingMessage message) {
+      allocatedBuffer = message.getAllocatedBuffer();
+      length = message.getBuffer().capacity();
+    }
 
-        pendingWrites.addLast(batch);
+    @Override
+    ByteBuffer prepareWrite() {
+      if (!prepared) {
+        allocatedBuffer.limit(length);
+        allocatedBuffer.position(0);
+        prepared = true;
       }
+      return allocatedBuffer;
+    }
+
+    @Override
+    ByteBuffer getBuffer() {
+      return allocatedBuffer;
+    }
+
+    @Override
+    int getMessageCount() {
+      return 1;
+    }
+
+    @Override
+    void onWritten() {
+      reclaimMessageBuffer(allocatedBuffer);
     }
 
-    public Deque<Batch> getPendingWrites() {
-      return pendingWrites;
+    @Override
+    void onChannelClosed() {
+      reclaimMessageBuffer(allocatedBuffer);
     }
   }
 
-  private class Batch {
+  private class Batch extends PendingWrite {
     final List<OutgoingRequest> requestsInBatch = new ArrayList<>();
 
     final UnsafeBuffer view = new UnsafeBuffer();
@@ -352,11 +541,13 @@ public class Sender extends Actor implements TimerHandler {
       view.wrap(batchBuffer);
     }
 
+    @Override
     public boolean addToBatch(OutgoingRequest request, TransportChannel channel) {
       final DirectBuffer requestBuffer = request.getRequestBuffer();
       final int requestLength = requestBuffer.capacity();
 
-      if (writeOffset + requestLength <= batchBuffer.capacity()) {
+      // a batch which is (partially) written can't be extended anymore
+      if (!prepared && writeOffset + requestLength <= batchBuffer.capacity()) {
         final long requestId = ++nextRequestId;
 
         request.setLastRequestId(requestId);
@@ -375,40 +566,41 @@ public class Sender extends Actor implements TimerHandler {
       }
     }
 
-    public boolean addToBatch(OutgoingMessage message) {
-      final DirectBuffer buffer = message.getBuffer();
-      final int requiredLength = buffer.capacity();
-
-      if (writeOffset + requiredLength <= batchBuffer.capacity()) {
-        buffer.getBytes(0, batchBuffer, writeOffset, requiredLength);
-        writeOffset += requiredLength;
-
-        return true;
-      } else {
-        return false;
+    @Override
+    ByteBuffer prepareWrite() {
+      if (!prepared) {
+        batchBuffer.position(0);
+        batchBuffer.limit(writeOffset);
+        prepared = true;
       }
+      return batchBuffer;
     }
 
-    public boolean writeTo(TransportChannel channel) {
-      return channel.write(batchBuffer) > 0;
+    @Override
+    ByteBuffer getBuffer() {
+      return batchBuffer;
     }
 
-    public void prepareWrite() {
-      batchBuffer.position(0);
-      batchBuffer.limit(writeOffset);
+    @Override
+    int getMessageCount() {
+      return Math.max(1, requestsInBatch.size());
     }
 
-    public boolean hasRemaining() {
-      return batchBuffer.hasRemaining();
+    @Override
+    void onWritten() {
+      recycle();
     }
 
     public void recycle() {
       writeOffset = 0;
+      prepared = false;
+      batchBuffer.clear();
       view.setMemory(0, view.capacity(), (byte) 0);
       requestsInBatch.clear();
       recycledBuffers.push(this);
     }
 
+    @Override
     public void onChannelClosed() {
       requestsInBatch.forEach(Sender.this::submitRequest);
       recycle();
@@ -448,7 +640,9 @@ public class Sender extends Actor implements TimerHandler {
   public ActorFuture<Void> onChannelConnected(TransportChannel ch) {
     return actor.call(
         () -> {
-          final ChannelWriteQueue sendQueue = new ChannelWriteQueue(ch);
+          final String remoteAddress = ch.getRemoteAddress().getAddress().toString();
+          final ChannelWriteQueue sendQueue =
+              new ChannelWriteQueue(ch, new SenderMetrics(transportName, remoteAddress));
           channelMap.put(ch.getStreamId(), sendQueue);
           channelList.add(sendQueue);
         });
@@ -460,8 +654,7 @@ public class Sender extends Actor implements TimerHandler {
           final ChannelWriteQueue sendQueue = channelMap.remove(channel.getStreamId());
           if (sendQueue != null) {
             channelList.remove(sendQueue);
-            // re-submit pending requests so that they can be retried
-            sendQueue.pendingWrites.forEach(Batch::onChannelClosed);
+            sendQueue.close();
           }
         });
   }
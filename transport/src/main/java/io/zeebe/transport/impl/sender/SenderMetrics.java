@@ -0,0 +1,66 @@
+/*
+ * Copyright Camunda Services GmbH and/or licensed to Camunda Services GmbH under
+ * one or more contributor license agreements. See the NOTICE file distributed
+ * with this work for additional information regarding copyright ownership.
+ * Licensed under the Zeebe Community License 1.0. You may not use this file
+ * except in compliance with the Zeebe Community License 1.0.
+ */
+package io.zeebe.transport.impl.sender;
+
+import io.prometheus.client.Histogram;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * The metrics of the writes to a channel. The metrics are labeled by the remote address, so the
+ * channels which are opened again after a reconnect share them. They are removed once the last
+ * channel of the remote address is closed.
+ */
+public class SenderMetrics {
+
+  private static final Histogram WRITE_BATCH_SIZE =
+      Histogram.build()
+          .namespace("zeebe")
+          .name("transport_write_batch_size")
+          .help("Number of messages written to a channel with a single write")
+          .labelNames("transport", "remote")
+          .buckets(1, 2, 4, 8, 16, 32, 64, 128, 256)
+          .register();
+
+  /** The number of open channels which use the metrics of the given labels. */
+  private static final Map<List<String>, Integer> REFERENCES = new HashMap<>();
+
+  private final List<String> labels;
+  private final Histogram.Child writeBatchSize;
+  private boolean closed;
+
+  public SenderMetrics(String transportName, String remoteAddress) {
+    this.labels = Arrays.asList(transportName, remoteAddress);
+
+    synchronized (REFERENCES) {
+      REFERENCES.merge(labels, 1, Integer::sum);
+      this.writeBatchSize = WRITE_BATCH_SIZE.labels(transportName, remoteAddress);
+    }
+  }
+
+  public void observeBatchSize(int messageCount) {
+    writeBatchSize.observe(messageCount);
+  }
+
+  public void close() {
+    if (closed) {
+      return;
+    }
+    closed = true;
+
+    synchronized (REFERENCES) {
+      final Integer references =
+          REFERENCES.computeIfPresent(labels, (key, count) -> count > 1 ? count - 1 : null);
+      if (references == null) {
+        WRITE_BATCH_SIZE.remove(labels.get(0), labels.get(1));
+      }
+    }
+  }
+}
@@ -0,0 +1,150 @@
+/*
+ * Copyright Camunda Services GmbH and/or licensed to Camunda Services GmbH under
+ * one or more contributor license agreements. See the NOTICE file distributed
+ * with this work for additional information regarding copyright ownership.
+ * Licensed under the Zeebe Community License 1.0. You may not use this file
+ * except in compliance with the Zeebe Community License 1.0.
+ */
+package io.zeebe.transport;
+
+import static io.zeebe.test.util.BufferAssert.assertThatBuffer;
+import static io.zeebe.test.util.TestUtil.doRepeatedly;
+import static io.zeebe.test.util.TestUtil.waitUntil;
+import static io.zeebe.util.buffer.DirectBufferWriter.writerFor;
+import static org.assertj.core.api.Assertions.assertThat;
+
+import io.zeebe.dispatcher.Dispatcher;
+import io.zeebe.dispatcher.Dispatchers;
+import io.zeebe.test.util.AutoCloseableRule;
+import io.zeebe.transport.impl.util.SocketUtil;
+import io.zeebe.transport.util.RecordingChannelListener;
+import io.zeebe.transport.util.RecordingMessageHandler;
+import io.zeebe.util.ByteValue;
+import io.zeebe.util.buffer.BufferUtil;
+import io.zeebe.util.sched.future.ActorFuture;
+import io.zeebe.util.sched.testing.ActorSchedulerRule;
+import java.util.ArrayList;
+import java.util.List;
+import org.agrona.DirectBuffer;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.RuleChain;
+
+public class NettyServerTransportTest {
+  public static final DirectBuffer BUF1 = BufferUtil.wrapBytes(1, 2, 3, 4);
+  public static final DirectBuffer BUF2 = BufferUtil.wrapBytes(5, 6, 7, 8, 9);
+
+  public static final int NODE_ID = 1;
+  public static final SocketAddress SERVER_ADDRESS = SocketUtil.getNextAddress();
+
+  public ActorSchedulerRule actorSchedulerRule = new ActorSchedulerRule(3);
+  public AutoCloseableRule closeables = new AutoCloseableRule();
+
+  @Rule public RuleChain ruleChain = RuleChain.outerRule(actorSchedulerRule).around(closeables);
+
+  protected ClientTransport clientTransport;
+  protected ServerTransport serverTransport;
+
+  protected RecordingMessageHandler serverHandler = new RecordingMessageHandler();
+  protected RecordingMessageHandler clientHandler = new RecordingMessageHandler();
+  protected RecordingChannelListener serverListener = new RecordingChannelListener();
+
+  @Before
+  public void setUp() {
+    final Dispatcher clientReceiveBuffer =
+        Dispatchers.create("clientReceiveBuffer")
+            .bufferSize(ByteValue.ofKilobytes(16))
+            .actorScheduler(actorSchedulerRule.get())
+            .build();
+    closeables.manage(clientReceiveBuffer);
+
+    clientTransport =
+        Transports.newClientTransport("test")
+            .messageReceiveBuffer(clientReceiveBuffer)
+            .scheduler(actorSchedulerRule.get())
+            .build();
+    closeables.manage(clientTransport);
+
+    serverTransport =
+        Transports.newNettyServerTransport()
+            .bindAddress(SERVER_ADDRESS.toInetSocketAddress())
+            .build(
+                serverHandler,
+                (output, remoteAddress, buffer, offset, length, requestId) -> {
+                  final ServerResponse response =
+                      new ServerResponse()
+                          .buffer(buffer, offset, length)
+                          .requestId(requestId)
+                          .remoteStreamId(remoteAddress.getStreamId());
+                  return output.sendResponse(response);
+                });
+    closeables.manage(serverTransport);
+
+    serverTransport.registerChannelListener(serverListener).join();
+    clientTransport.registerEndpoint(NODE_ID, SERVER_ADDRESS);
+  }
+
+  @Test
+  public void shouldRespondToRequests() {
+    // given
+    final ClientOutput output = clientTransport.getOutput();
+
+    // when
+    final List<ActorFuture<ClientResponse>> responses = new ArrayList<>();
+    for (int i = 0; i < 100; i++) {
+      responses.add(output.sendRequest(NODE_ID, writerFor(i % 2 == 0 ? BUF1 : BUF2)));
+    }
+
+    // then
+    for (int i = 0; i < responses.size(); i++) {
+      final DirectBuffer response = responses.get(i).join().getResponseBuffer();
+      assertThatBuffer(response).hasBytes(i % 2 == 0 ? BUF1 : BUF2);
+    }
+  }
+
+  @Test
+  public void shouldReceiveMessages() {
+    // when
+    clientTransport.getOutput().sendMessage(NODE_ID, writerFor(BUF1));
+    clientTransport.getOutput().sendMessage(NODE_ID, writerFor(BUF2));
+
+    // then
+    waitUntil(() -> serverHandler.numReceivedMessages() == 2);
+    assertThatBuffer(serverHandler.getMessage(0).getBuffer()).hasBytes(BUF1);
+    assertThatBuffer(serverHandler.getMessage(1).getBuffer()).hasBytes(BUF2);
+  }
+
+  @Test
+  public void shouldSendMessagesToClient() {
+    // given
+    final ClientInputMessageSubscription clientSubscription =
+        clientTransport.openSubscription("receiver", clientHandler).join();
+
+    clientTransport.getOutput().sendMessage(NODE_ID, writerFor(BUF1));
+    waitUntil(() -> serverHandler.numReceivedMessages() == 1);
+    final RemoteAddress remote = serverHandler.getMessage(0).getRemote();
+
+    // when
+    serverTransport.getOutput().sendMessage(remote.getStreamId(), writerFor(BUF2));
+
+    // then
+    doRepeatedly(clientSubscription::poll).until(i -> clientHandler.numReceivedMessages() == 1);
+    assertThatBuffer(clientHandler.getMessage(0).getBuffer()).hasBytes(BUF2);
+  }
+
+  @Test
+  public void shouldNotifyListenersOnConnectAndDisconnect() {
+    // given
+    clientTransport.getOutput().sendMessage(NODE_ID, writerFor(BUF1));
+    waitUntil(() -> serverListener.getOpenedConnections().size() == 1);
+
+    // when
+    clientTransport.closeAllChannels().join();
+
+    // then
+    waitUntil(() -> serverListener.getClosedConnections().size() >= 1);
+    assertThat(serverListener.getClosedConnections().get(0))
+        .isEqualTo(serverListener.getOpenedConnections().get(0));
+  }
+}
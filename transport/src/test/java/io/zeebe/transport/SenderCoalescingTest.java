@@ -0,0 +1,188 @@
+/*
+ * Copyright Camunda Services GmbH and/or licensed to Camunda Services GmbH under
+ * one or more contributor license agreements. See the NOTICE file distributed
+ * with this work for additional information regarding copyright ownership.
+ * Licensed under the Zeebe Community License 1.0. You may not use this file
+ * except in compliance with the Zeebe Community License 1.0.
+ */
+package io.zeebe.transport;
+
+import static io.zeebe.test.util.TestUtil.doRepeatedly;
+import static io.zeebe.test.util.TestUtil.waitUntil;
+import static org.assertj.core.api.Assertions.assertThat;
+
+import io.prometheus.client.CollectorRegistry;
+import io.zeebe.dispatcher.Dispatcher;
+import io.zeebe.dispatcher.Dispatchers;
+import io.zeebe.test.util.AutoCloseableRule;
+import io.zeebe.transport.impl.memory.UnboundedMemoryPool;
+import io.zeebe.transport.impl.sender.SenderMetrics;
+import io.zeebe.transport.impl.util.SocketUtil;
+import io.zeebe.transport.util.RecordingMessageHandler;
+import io.zeebe.util.ByteValue;
+import io.zeebe.util.buffer.DirectBufferWriter;
+import io.zeebe.util.sched.testing.ActorSchedulerRule;
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.agrona.concurrent.UnsafeBuffer;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.RuleChain;
+
+public class SenderCoalescingTest {
+  public static final SocketAddress SERVER_ADDRESS = SocketUtil.getNextAddress();
+  public static final String CLIENT_NAME = "coalescing-client";
+  public static final int NODE_ID = 1;
+  public static final int MESSAGE_COUNT = 10_000;
+
+  public ActorSchedulerRule actorSchedulerRule = new ActorSchedulerRule(3);
+  public AutoCloseableRule closeables = new AutoCloseableRule();
+
+  @Rule public RuleChain ruleChain = RuleChain.outerRule(actorSchedulerRule).around(closeables);
+
+  protected final RecordingMessageHandler serverHandler = new RecordingMessageHandler();
+  protected final UnsafeBuffer message = new UnsafeBuffer(new byte[4]);
+  protected final DirectBufferWriter messageWriter = new DirectBufferWriter();
+
+  protected ClientTransport clientTransport;
+  protected ServerInputSubscription serverSubscription;
+
+  @Before
+  public void setUp() {
+    final Dispatcher serverReceiveBuffer =
+        Dispatchers.create("serverReceiveBuffer")
+            .bufferSize(ByteValue.ofMegabytes(4))
+            .actorScheduler(actorSchedulerRule.get())
+            .build();
+    closeables.manage(serverReceiveBuffer);
+
+    final BufferingServerTransport serverTransport =
+        Transports.newServerTransport()
+            .scheduler(actorSchedulerRule.get())
+            .bindAddress(SERVER_ADDRESS.toInetSocketAddress())
+            .buildBuffering(serverReceiveBuffer);
+    closeables.manage(serverTransport);
+
+    clientTransport =
+        Transports.newClientTransport(CLIENT_NAME)
+            .scheduler(actorSchedulerRule.get())
+            .messageMemoryPool(new UnboundedMemoryPool())
+            .coalescingDelay(Duration.ofMillis(5))
+            .coalescingThreshold(32)
+            .build();
+    closeables.manage(clientTransport);
+    clientTransport.registerEndpoint(NODE_ID, SERVER_ADDRESS);
+
+    serverSubscription = serverTransport.openSubscription("foo", serverHandler, null).join();
+
+    // messages submitted before the channel is connected are retried and may be reordered
+    sendMessage(-1);
+    awaitMessages(1);
+  }
+
+  @Test
+  public void shouldWriteSingleMessage() {
+    // when
+    sendMessage(1);
+
+    // then
+    awaitMessages(1);
+    assertThat(serverHandler.getMessage(1).getBuffer().getInt(0)).isEqualTo(1);
+  }
+
+  @Test
+  public void shouldWriteCoalescedMessagesInOrder() {
+    // when
+    for (int i = 0; i < MESSAGE_COUNT; i++) {
+      sendMessage(i);
+    }
+
+    // then
+    awaitMessages(MESSAGE_COUNT);
+    for (int i = 0; i < MESSAGE_COUNT; i++) {
+      assertThat(serverHandler.getMessage(i + 1).getBuffer().getInt(0)).isEqualTo(i);
+    }
+  }
+
+  @Test
+  public void shouldReportWriteBatchSize() {
+    // when
+    for (int i = 0; i < MESSAGE_COUNT; i++) {
+      sendMessage(i);
+    }
+    awaitMessages(MESSAGE_COUNT);
+
+    // then
+    final Double writtenMessages =
+        CollectorRegistry.defaultRegistry.getSampleValue(
+            "zeebe_transport_write_batch_size_sum",
+            new String[] {"transport", "remote"},
+            new String[] {CLIENT_NAME, SERVER_ADDRESS.toString()});
+    final Double writes =
+        CollectorRegistry.defaultRegistry.getSampleValue(
+            "zeebe_transport_write_batch_size_count",
+            new String[] {"transport", "remote"},
+            new String[] {CLIENT_NAME, SERVER_ADDRESS.toString()});
+
+    assertThat(writtenMessages).isGreaterThanOrEqualTo(MESSAGE_COUNT);
+    assertThat(writes).isPositive().isLessThan(writtenMessages);
+  }
+
+  @Test
+  public void shouldWriteHeldBackMessageAfterDelay() {
+    // given
+    for (int i = 0; i < MESSAGE_COUNT; i++) {
+      sendMessage(i);
+    }
+    awaitMessages(MESSAGE_COUNT);
+
+    // when
+    sendMessage(MESSAGE_COUNT);
+
+    // then
+    awaitMessages(1);
+    assertThat(serverHandler.getMessage(MESSAGE_COUNT + 1).getBuffer().getInt(0))
+        .isEqualTo(MESSAGE_COUNT);
+  }
+
+  @Test
+  public void shouldKeepWriteBatchSizeUntilLastChannelIsClosed() {
+    // given
+    final SenderMetrics closedChannelMetrics = new SenderMetrics("reconnecting", "remote:1");
+    final SenderMetrics openChannelMetrics = new SenderMetrics("reconnecting", "remote:1");
+
+    // when
+    closedChannelMetrics.close();
+    closedChannelMetrics.close();
+    openChannelMetrics.observeBatchSize(3);
+
+    // then
+    assertThat(getWriteBatchSizeSum("reconnecting", "remote:1")).isEqualTo(3);
+
+    // when
+    openChannelMetrics.close();
+
+    // then
+    assertThat(getWriteBatchSizeSum("reconnecting", "remote:1")).isNull();
+  }
+
+  private Double getWriteBatchSizeSum(String transportName, String remoteAddress) {
+    return CollectorRegistry.defaultRegistry.getSampleValue(
+        "zeebe_transport_write_batch_size_sum",
+        new String[] {"transport", "remote"},
+        new String[] {transportName, remoteAddress});
+  }
+
+  private void sendMessage(int value) {
+    message.putInt(0, value);
+    messageWriter.wrap(message);
+    doRepeatedly(() -> clientTransport.getOutput().sendMessage(NODE_ID, messageWriter))
+        .until(sent -> sent);
+  }
+
+  private void awaitMessages(int count) {
+    final AtomicInteger receivedMessages = new AtomicInteger(0);
+    waitUntil(() -> receivedMessages.addAndGet(serverSubscription.poll()) >= count);
+  }
+}
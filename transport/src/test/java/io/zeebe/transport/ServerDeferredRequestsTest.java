@@ -0,0 +1,211 @@
+/*
+ * Copyright Camunda Services GmbH and/or licensed to Camunda Services GmbH under
+ * one or more contributor license agreements. See the NOTICE file distributed
+ * with this work for additional information regarding copyright ownership.
+ * Licensed under the Zeebe Community License 1.0. You may not use this file
+ * except in compliance with the Zeebe Community License 1.0.
+ */
+package io.zeebe.transport;
+
+import static io.zeebe.test.util.TestUtil.waitUntil;
+import static org.assertj.core.api.Assertions.assertThat;
+
+import io.zeebe.dispatcher.Dispatcher;
+import io.zeebe.dispatcher.Dispatchers;
+import io.zeebe.test.util.AutoCloseableRule;
+import io.zeebe.transport.impl.util.SocketUtil;
+import io.zeebe.transport.util.RecordingChannelListener;
+import io.zeebe.util.ByteValue;
+import io.zeebe.util.buffer.DirectBufferWriter;
+import io.zeebe.util.sched.future.ActorFuture;
+import io.zeebe.util.sched.testing.ActorSchedulerRule;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import org.agrona.DirectBuffer;
+import org.agrona.concurrent.UnsafeBuffer;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.RuleChain;
+
+public class ServerDeferredRequestsTest {
+  public static final int NODE_ID = 1;
+  public static final int BUFFERING_NODE_ID = 2;
+  public static final SocketAddress SERVER_ADDRESS = SocketUtil.getNextAddress();
+  public static final SocketAddress BUFFERING_SERVER_ADDRESS = SocketUtil.getNextAddress();
+  public static final int REQUEST_COUNT = 100;
+
+  public ActorSchedulerRule actorSchedulerRule = new ActorSchedulerRule(3);
+  public AutoCloseableRule closeables = new AutoCloseableRule();
+
+  @Rule public RuleChain ruleChain = RuleChain.outerRule(actorSchedulerRule).around(closeables);
+
+  protected final DeferringRequestHandler requestHandler = new DeferringRequestHandler();
+  protected final DeferringRequestHandler bufferingRequestHandler = new DeferringRequestHandler();
+  protected ClientTransport clientTransport;
+  protected ServerInputSubscription bufferingSubscription;
+
+  @Before
+  public void setUp() {
+    clientTransport =
+        Transports.newClientTransport("test").scheduler(actorSchedulerRule.get()).build();
+    closeables.manage(clientTransport);
+
+    final ServerTransport serverTransport =
+        Transports.newServerTransport()
+            .scheduler(actorSchedulerRule.get())
+            .bindAddress(SERVER_ADDRESS.toInetSocketAddress())
+            .build(null, requestHandler);
+    closeables.manage(serverTransport);
+
+    final Dispatcher serverReceiveBuffer =
+        Dispatchers.create("serverReceiveBuffer")
+            .bufferSize(ByteValue.ofMegabytes(4))
+            .actorScheduler(actorSchedulerRule.get())
+            .build();
+    closeables.manage(serverReceiveBuffer);
+
+    final BufferingServerTransport bufferingServerTransport =
+        Transports.newServerTransport()
+            .scheduler(actorSchedulerRule.get())
+            .bindAddress(BUFFERING_SERVER_ADDRESS.toInetSocketAddress())
+            .buildBuffering(serverReceiveBuffer);
+    closeables.manage(bufferingServerTransport);
+    bufferingSubscription =
+        bufferingServerTransport.openSubscription("deferred", null, bufferingRequestHandler).join();
+
+    final RecordingChannelListener channelListener = new RecordingChannelListener();
+    clientTransport.registerChannelListener(channelListener);
+    clientTransport.registerEndpoint(NODE_ID, SERVER_ADDRESS);
+    clientTransport.registerEndpoint(BUFFERING_NODE_ID, BUFFERING_SERVER_ADDRESS);
+    waitUntil(() -> channelListener.getOpenedConnections().size() == 2);
+  }
+
+  @Test
+  public void shouldCompleteDeferredRequests() {
+    // when
+    final List<ActorFuture<ClientResponse>> responses = sendRequests();
+
+    // then
+    for (int i = 0; i < REQUEST_COUNT; i++) {
+      assertThat(responses.get(i).join().getResponseBuffer().getInt(0)).isEqualTo(i);
+    }
+    assertThat(requestHandler.completedRequests).containsExactlyElementsOf(expectedRequests());
+  }
+
+  @Test
+  public void shouldPassIncompleteRequestsAgain() {
+    // given
+    requestHandler.failCycles = 3;
+
+    // when
+    final List<ActorFuture<ClientResponse>> responses = sendRequests();
+
+    // then
+    for (int i = 0; i < REQUEST_COUNT; i++) {
+      assertThat(responses.get(i).join().getResponseBuffer().getInt(0)).isEqualTo(i);
+    }
+    assertThat(requestHandler.failCycles).isEqualTo(0);
+    assertThat(requestHandler.completedRequests).containsExactlyElementsOf(expectedRequests());
+  }
+
+  @Test
+  public void shouldCompleteDeferredRequestsOfBufferingTransport() {
+    // when
+    final List<ActorFuture<ClientResponse>> responses = sendRequests(BUFFERING_NODE_ID);
+    pollUntilCompleted(responses);
+
+    // then
+    for (int i = 0; i < REQUEST_COUNT; i++) {
+      assertThat(responses.get(i).join().getResponseBuffer().getInt(0)).isEqualTo(i);
+    }
+    assertThat(bufferingRequestHandler.completedRequests)
+        .containsExactlyElementsOf(expectedRequests());
+  }
+
+  private void pollUntilCompleted(List<ActorFuture<ClientResponse>> responses) {
+    waitUntil(
+        () -> {
+          bufferingSubscription.poll();
+          return responses.stream().allMatch(ActorFuture::isDone);
+        });
+  }
+
+  private List<ActorFuture<ClientResponse>> sendRequests() {
+    return sendRequests(NODE_ID);
+  }
+
+  private List<ActorFuture<ClientResponse>> sendRequests(int nodeId) {
+    final List<ActorFuture<ClientResponse>> responses = new ArrayList<>();
+    for (int i = 0; i < REQUEST_COUNT; i++) {
+      final UnsafeBuffer request = new UnsafeBuffer(new byte[4]);
+      request.putInt(0, i);
+      responses.add(
+          clientTransport.getOutput().sendRequest(nodeId, new DirectBufferWriter().wrap(request)));
+    }
+    return responses;
+  }
+
+  private static List<Integer> expectedRequests() {
+    return IntStream.range(0, REQUEST_COUNT).boxed().collect(Collectors.toList());
+  }
+
+  /**
+   * Completes the requests only once all requests read at once were received, and fails to complete
+   * them for the given number of times.
+   */
+  private static class DeferringRequestHandler implements ServerRequestHandler {
+    final List<Integer> completedRequests = new CopyOnWriteArrayList<>();
+    final List<long[]> acceptedRequests = new ArrayList<>();
+    final ServerResponse response = new ServerResponse();
+    final UnsafeBuffer responseBuffer = new UnsafeBuffer(new byte[4]);
+
+    volatile int failCycles;
+    ServerOutput output;
+
+    @Override
+    public boolean onRequest(
+        ServerOutput output,
+        RemoteAddress remoteAddress,
+        DirectBuffer buffer,
+        int offset,
+        int length,
+        long requestId) {
+      this.output = output;
+      acceptedRequests.add(
+          new long[] {buffer.getInt(offset), requestId, remoteAddress.getStreamId()});
+      return true;
+    }
+
+    @Override
+    public int onRequestsReceived() {
+      final int acceptedCount = acceptedRequests.size();
+
+      if (failCycles > 0) {
+        failCycles--;
+        acceptedRequests.clear();
+        return acceptedCount;
+      }
+
+      for (long[] request : acceptedRequests) {
+        final int value = (int) request[0];
+        responseBuffer.putInt(0, value);
+        response
+            .reset()
+            .buffer(responseBuffer)
+            .requestId(request[1])
+            .remoteStreamId((int) request[2]);
+        while (!output.sendResponse(response)) {
+          Thread.yield();
+        }
+        completedRequests.add(value);
+      }
+
+      acceptedRequests.clear();
+      return 0;
+    }
+  }
+}
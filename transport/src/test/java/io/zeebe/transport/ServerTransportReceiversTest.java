@@ -0,0 +1,135 @@
+/*
+ * Copyright Camunda Services GmbH and/or licensed to Camunda Services GmbH under
+ * one or more contributor license agreements. See the NOTICE file distributed
+ * with this work for additional information regarding copyright ownership.
+ * Licensed under the Zeebe Community License 1.0. You may not use this file
+ * except in compliance with the Zeebe Community License 1.0.
+ */
+package io.zeebe.transport;
+
+import static io.zeebe.test.util.TestUtil.doRepeatedly;
+import static io.zeebe.util.buffer.DirectBufferWriter.writerFor;
+import static org.assertj.core.api.Assertions.assertThat;
+
+import io.zeebe.dispatcher.Dispatcher;
+import io.zeebe.dispatcher.Dispatchers;
+import io.zeebe.test.util.AutoCloseableRule;
+import io.zeebe.transport.impl.RemoteAddressImpl;
+import io.zeebe.transport.impl.util.SocketUtil;
+import io.zeebe.transport.util.RecordingMessageHandler;
+import io.zeebe.util.ByteValue;
+import io.zeebe.util.buffer.BufferUtil;
+import io.zeebe.util.sched.testing.ActorSchedulerRule;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.agrona.DirectBuffer;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.RuleChain;
+
+public class ServerTransportReceiversTest {
+  public static final DirectBuffer BUF = BufferUtil.wrapBytes(1, 2, 3, 4);
+  public static final SocketAddress SERVER_ADDRESS = SocketUtil.getNextAddress();
+  public static final int NODE_ID = 1;
+
+  public static final int RECEIVER_COUNT = 3;
+  public static final int CLIENT_COUNT = 4;
+  public static final int MESSAGES_PER_CLIENT = 100;
+
+  public ActorSchedulerRule actorSchedulerRule = new ActorSchedulerRule(3);
+  public AutoCloseableRule closeables = new AutoCloseableRule();
+
+  @Rule public RuleChain ruleChain = RuleChain.outerRule(actorSchedulerRule).around(closeables);
+
+  protected final List<ClientTransport> clientTransports = new ArrayList<>();
+  protected BufferingServerTransport serverTransport;
+
+  protected RecordingMessageHandler serverHandler = new RecordingMessageHandler();
+
+  @Before
+  public void setUp() {
+    final Dispatcher serverReceiveBuffer =
+        Dispatchers.create("serverReceiveBuffer")
+            .bufferSize(ByteValue.ofMegabytes(1))
+            .actorScheduler(actorSchedulerRule.get())
+            .build();
+    closeables.manage(serverReceiveBuffer);
+
+    serverTransport =
+        Transports.newServerTransport()
+            .scheduler(actorSchedulerRule.get())
+            .bindAddress(SERVER_ADDRESS.toInetSocketAddress())
+            .receivers(RECEIVER_COUNT)
+            .buildBuffering(serverReceiveBuffer);
+    closeables.manage(serverTransport);
+
+    for (int i = 0; i < CLIENT_COUNT; i++) {
+      final ClientTransport clientTransport =
+          Transports.newClientTransport("client-" + i).scheduler(actorSchedulerRule.get()).build();
+      closeables.manage(clientTransport);
+      clientTransport.registerEndpoint(NODE_ID, SERVER_ADDRESS);
+      clientTransports.add(clientTransport);
+    }
+  }
+
+  @Test
+  public void shouldReceiveMessagesOfAllChannels() {
+    // given
+    final ServerInputSubscription serverSubscription =
+        serverTransport.openSubscription("foo", serverHandler, null).join();
+
+    // when
+    for (int i = 0; i < MESSAGES_PER_CLIENT; i++) {
+      for (final ClientTransport clientTransport : clientTransports) {
+        doRepeatedly(() -> clientTransport.getOutput().sendMessage(NODE_ID, writerFor(BUF)))
+            .until(sent -> sent);
+      }
+    }
+
+    // then
+    final int expectedMessages = CLIENT_COUNT * MESSAGES_PER_CLIENT;
+    final AtomicInteger receivedMessages = new AtomicInteger(0);
+    doRepeatedly(() -> receivedMessages.addAndGet(serverSubscription.poll()))
+        .until(m -> m == expectedMessages);
+
+    final Set<Integer> remoteStreamIds = new HashSet<>();
+    for (int i = 0; i < serverHandler.numReceivedMessages(); i++) {
+      remoteStreamIds.add(serverHandler.getMessage(i).getRemote().getStreamId());
+    }
+    assertThat(remoteStreamIds).hasSize(CLIENT_COUNT);
+  }
+
+  @Test
+  public void shouldAssignChannelsRoundRobin() {
+    // given
+    final SocketAddress address = new SocketAddress("localhost", 1234);
+
+    // when
+    final List<Integer> receivers = new ArrayList<>();
+    for (int streamId = 0; streamId < 6; streamId++) {
+      receivers.add(
+          ReceiverAssignment.ROUND_ROBIN.select(new RemoteAddressImpl(streamId, address), 3));
+    }
+
+    // then
+    assertThat(receivers).containsExactly(0, 1, 2, 0, 1, 2);
+  }
+
+  @Test
+  public void shouldAssignChannelsOfSameHostToSameReceiver() {
+    // given
+    final RemoteAddress first = new RemoteAddressImpl(0, new SocketAddress("10.0.0.1", 1234));
+    final RemoteAddress second = new RemoteAddressImpl(1, new SocketAddress("10.0.0.1", 5678));
+
+    // when
+    final int firstReceiver = ReceiverAssignment.REMOTE_ADDRESS.select(first, 4);
+    final int secondReceiver = ReceiverAssignment.REMOTE_ADDRESS.select(second, 4);
+
+    // then
+    assertThat(firstReceiver).isEqualTo(secondReceiver).isBetween(0, 3);
+  }
+}
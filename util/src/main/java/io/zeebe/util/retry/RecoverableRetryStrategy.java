@@ -10,13 +10,20 @@ package io.zeebe.util.retry;
 import io.zeebe.util.exception.RecoverableException;
 import io.zeebe.util.sched.ActorControl;
 import io.zeebe.util.sched.future.ActorFuture;
+import io.zeebe.util.sched.future.ActorFutureRecycler;
 import io.zeebe.util.sched.future.CompletableActorFuture;
 import java.util.function.BooleanSupplier;
 
+/**
+ * The returned futures are recycled: a future is only valid until the next call of {@link
+ * #runWithRetry(OperationToRetry, BooleanSupplier)}, see {@link ActorFutureRecycler}.
+ */
 public class RecoverableRetryStrategy implements RetryStrategy {
 
   private final ActorControl actor;
   private final ActorRetryMechanism retryMechanism;
+  private final ActorFutureRecycler<Boolean> futureRecycler = new ActorFutureRecycler<>();
+  private final Runnable runner = this::run;
   private CompletableActorFuture<Boolean> currentFuture;
   private BooleanSupplier terminateCondition;
 
@@ -32,11 +39,11 @@ public class RecoverableRetryStrategy implements RetryStrategy {
 
   @Override
   public ActorFuture<Boolean> runWithRetry(OperationToRetry callable, BooleanSupplier condition) {
-    currentFuture = new CompletableActorFuture<>();
+    currentFuture = futureRecycler.next();
     terminateCondition = condition;
     retryMechanism.wrap(callable, terminateCondition, currentFuture);
 
-    actor.runUntilDone(this::run);
+    actor.runUntilDone(runner);
 
     return currentFuture;
   }
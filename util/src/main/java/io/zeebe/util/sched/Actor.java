@@ -10,12 +10,25 @@ package io.zeebe.util.sched;
 import java.util.function.Consumer;
 
 public abstract class Actor {
+  public static final int NO_PLACEMENT_KEY = -1;
+
   protected final ActorControl actor = new ActorControl(this);
 
   public String getName() {
     return getClass().getName();
   }
 
+  /**
+   * Actors which return the same non-negative key are placed on the same actor thread of a group,
+   * if the scheduler pins actors to threads; e.g. the actors of one partition. Pinned actors are
+   * not stolen by other threads.
+   *
+   * @return the placement key, or a negative value if the actor can run on any thread
+   */
+  protected int getPlacementKey() {
+    return NO_PLACEMENT_KEY;
+  }
+
   protected void onActorStarting() {
     // setup
   }
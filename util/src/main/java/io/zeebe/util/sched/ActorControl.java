@@ -14,14 +14,12 @@ import io.zeebe.util.sched.channel.ConsumableChannel;
 import io.zeebe.util.sched.future.ActorFuture;
 import io.zeebe.util.sched.future.AllCompletedFutureConsumer;
 import io.zeebe.util.sched.future.FirstSuccessfullyCompletedFutureConsumer;
-import io.zeebe.util.sched.future.FutureContinuationRunnable;
 import java.time.Duration;
 import java.util.Collection;
 import java.util.concurrent.Callable;
 import java.util.concurrent.TimeUnit;
 import java.util.function.BiConsumer;
 import java.util.function.Consumer;
-import java.util.function.Function;
 
 public class ActorControl {
   private final Actor actor;
@@ -303,10 +301,7 @@ public class ActorControl {
     final ActorLifecyclePhase lifecyclePhase = task.getLifecyclePhase();
     if (lifecyclePhase != ActorLifecyclePhase.CLOSE_REQUESTED
         && lifecyclePhase != ActorLifecyclePhase.CLOSED) {
-      this.submitContinuationJob(
-          future,
-          callback,
-          (job) -> new ActorFutureSubscription(future, job, lifecyclePhase.getValue()));
+      this.submitContinuationJob(future, callback, lifecyclePhase.getValue());
     }
   }
 
@@ -331,25 +326,20 @@ public class ActorControl {
       this.submitContinuationJob(
           future,
           callback,
-          (job) ->
-              new ActorFutureSubscription(
-                  future,
-                  job,
-                  (task.getLifecyclePhase().getValue()
-                      | ActorLifecyclePhase.CLOSE_REQUESTED.getValue())));
+          lifecyclePhase.getValue() | ActorLifecyclePhase.CLOSE_REQUESTED.getValue());
     }
   }
 
   private <T> void submitContinuationJob(
-      ActorFuture<T> future,
-      BiConsumer<T, Throwable> callback,
-      Function<ActorJob, ActorFutureSubscription> futureSubscriptionSupplier) {
-    final ActorJob continuationJob = new ActorJob();
-    continuationJob.setRunnable(new FutureContinuationRunnable<>(future, callback));
+      ActorFuture<T> future, BiConsumer<T, Throwable> callback, int phaseMask) {
+    // the job and the subscription are recycled once the continuation completed
+    final ActorThread thread = ActorThread.current();
+    final ActorJob continuationJob = thread.newJob();
+    final ActorFutureSubscription subscription = thread.newFutureSubscription();
+
+    subscription.wrap(future, callback, continuationJob, phaseMask);
     continuationJob.setAutoCompleting(true);
     continuationJob.onJobAddedToTask(task);
-
-    final ActorFutureSubscription subscription = futureSubscriptionSupplier.apply(continuationJob);
     continuationJob.setSubscription(subscription);
 
     future.block(task);
@@ -10,9 +10,17 @@ package io.zeebe.util.sched;
 import io.zeebe.util.sched.ActorScheduler.ActorSchedulerBuilder;
 import io.zeebe.util.sched.future.ActorFuture;
 import java.time.Duration;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ThreadPoolExecutor;
 import java.util.concurrent.TimeUnit;
+import java.util.function.BiConsumer;
+import java.util.function.Consumer;
 
 /**
  * Used to submit {@link ActorTask ActorTasks} and Blocking Actions to the scheduler's internal
@@ -22,6 +30,10 @@ public class ActorExecutor {
   private final ActorThreadGroup cpuBoundThreads;
   private final ActorThreadGroup ioBoundThreads;
   private final ThreadPoolExecutor blockingTasksRunner;
+  private final Set<ActorTask> activeTasks = ConcurrentHashMap.newKeySet();
+  // the summed up metrics of the closed tasks per name, guarded by itself; bounded by the number of
+  // distinct actor names
+  private final Map<String, ActorTaskMetrics> closedTaskMetrics = new HashMap<>();
   private Duration blockingTasksShutdownTime;
 
   public ActorExecutor(ActorSchedulerBuilder builder) {
@@ -46,11 +58,40 @@ public class ActorExecutor {
 
   private ActorFuture<Void> submitTask(ActorTask task, ActorThreadGroup threadGroup) {
     final ActorFuture<Void> startingFuture = task.onTaskScheduled(this, threadGroup);
+    activeTasks.add(task);
 
     threadGroup.submit(task);
     return startingFuture;
   }
 
+  void onTaskClosed(ActorTask task) {
+    synchronized (closedTaskMetrics) {
+      closedTaskMetrics
+          .computeIfAbsent(task.getName(), name -> new ActorTaskMetrics())
+          .add(task.getMetrics());
+      activeTasks.remove(task);
+    }
+  }
+
+  /**
+   * Passes the tasks which are not closed yet, and the summed up metrics of the closed tasks per
+   * name, to the given consumers. A closing task moves its metrics to the closed ones atomically,
+   * so that the sampled totals never decrease.
+   */
+  void sampleTasks(
+      Consumer<ActorTask> activeTaskConsumer,
+      BiConsumer<String, ActorTaskMetrics> closedTaskMetricsConsumer) {
+    synchronized (closedTaskMetrics) {
+      activeTasks.forEach(activeTaskConsumer);
+      closedTaskMetrics.forEach(closedTaskMetricsConsumer);
+    }
+  }
+
+  /** @return the tasks which were submitted and are not closed yet */
+  public Collection<ActorTask> getActiveTasks() {
+    return Collections.unmodifiableSet(activeTasks);
+  }
+
   /**
    * Sumbit a blocking action to run using the scheduler's blocking thread pool
    *
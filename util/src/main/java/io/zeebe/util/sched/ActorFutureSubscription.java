@@ -9,11 +9,22 @@ package io.zeebe.util.sched;
 
 import io.zeebe.util.sched.ActorTask.ActorLifecyclePhase;
 import io.zeebe.util.sched.future.ActorFuture;
+import io.zeebe.util.sched.future.FutureContinuationRunnable;
+import java.util.function.BiConsumer;
 
+/**
+ * Triggers a continuation job once a future is done. The subscriptions of {@link
+ * ActorControl#runOnCompletion(ActorFuture, BiConsumer)} are recycled by the actor threads together
+ * with their job once the continuation completed.
+ */
 public class ActorFutureSubscription implements ActorSubscription {
-  private final ActorJob callbackJob;
+  private final FutureContinuationRunnable<?> continuation = new FutureContinuationRunnable<>();
+  private ActorJob callbackJob;
   private ActorFuture<?> future;
-  private final int phaseMask;
+  private int phaseMask;
+  private boolean recyclable;
+
+  ActorFutureSubscription() {}
 
   public ActorFutureSubscription(ActorFuture<?> future, ActorJob callbackJob, int phaseMask) {
     this.future = future;
@@ -21,6 +32,22 @@ public class ActorFutureSubscription implements ActorSubscription {
     this.phaseMask = phaseMask;
   }
 
+  /**
+   * Prepares this subscription and the given job to run the callback once the future is done. The
+   * subscription and the job are recycled once the job completed.
+   */
+  @SuppressWarnings({"unchecked", "rawtypes"})
+  <T> void wrap(
+      ActorFuture<T> future, BiConsumer<T, Throwable> callback, ActorJob job, int phaseMask) {
+    this.future = future;
+    this.callbackJob = job;
+    this.phaseMask = phaseMask;
+    this.recyclable = true;
+
+    ((FutureContinuationRunnable) continuation).wrap(future, callback);
+    job.setRunnable(continuation);
+  }
+
   @Override
   public boolean triggersInPhase(ActorLifecyclePhase phase) {
     // triggers in all phases
@@ -41,4 +68,24 @@ public class ActorFutureSubscription implements ActorSubscription {
   public boolean isRecurring() {
     return false;
   }
+
+  @Override
+  public void onJobCompleted() {
+    final ActorThread thread = ActorThread.current();
+
+    if (recyclable && thread != null) {
+      final ActorJob job = callbackJob;
+      reset();
+      thread.recycleJob(job);
+      thread.recycleFutureSubscription(this);
+    }
+  }
+
+  private void reset() {
+    continuation.reset();
+    future = null;
+    callbackJob = null;
+    phaseMask = 0;
+    recyclable = false;
+  }
 }
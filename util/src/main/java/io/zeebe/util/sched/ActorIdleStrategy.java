@@ -0,0 +1,55 @@
+/*
+ * Copyright Camunda Services GmbH and/or licensed to Camunda Services GmbH under
+ * one or more contributor license agreements. See the NOTICE file distributed
+ * with this work for additional information regarding copyright ownership.
+ * Licensed under the Zeebe Community License 1.0. You may not use this file
+ * except in compliance with the Zeebe Community License 1.0.
+ */
+package io.zeebe.util.sched;
+
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+import org.agrona.concurrent.BackoffIdleStrategy;
+import org.agrona.concurrent.BusySpinIdleStrategy;
+import org.agrona.concurrent.IdleStrategy;
+import org.agrona.concurrent.SleepingIdleStrategy;
+import org.agrona.concurrent.YieldingIdleStrategy;
+
+/**
+ * The strategies an {@link ActorThread} can use to wait while it has no task to execute. Submitting
+ * work to an idle thread unparks it, so the strategies which park are woken up early.
+ */
+public enum ActorIdleStrategy implements Supplier<IdleStrategy> {
+  /** Spins on the CPU: lowest latency, but each thread burns a core. */
+  BUSY_SPIN(BusySpinIdleStrategy::new),
+
+  /** Yields the CPU to other threads between checking for work. */
+  YIELD(YieldingIdleStrategy::new),
+
+  /** Spins, then yields and finally parks for up to 1 ms. */
+  BACKOFF(() -> new BackoffIdleStrategy(100, 100, 1, TimeUnit.MILLISECONDS.toNanos(1))),
+
+  /** Parks right away for up to 1 ms, relying on being woken up when work is submitted. */
+  PARK(() -> new SleepingIdleStrategy(TimeUnit.MILLISECONDS.toNanos(1)));
+
+  private final Supplier<IdleStrategy> factory;
+
+  ActorIdleStrategy(Supplier<IdleStrategy> factory) {
+    this.factory = factory;
+  }
+
+  /** @return a new idle strategy instance; instances must not be shared between threads */
+  @Override
+  public IdleStrategy get() {
+    return factory.get();
+  }
+
+  /**
+   * Parses the configured name of a strategy, e.g. {@code busy-spin}.
+   *
+   * @throws IllegalArgumentException if no strategy has the given name
+   */
+  public static ActorIdleStrategy parse(String name) {
+    return valueOf(name.trim().toUpperCase().replace('-', '_'));
+  }
+}
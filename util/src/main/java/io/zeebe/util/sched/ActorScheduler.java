@@ -10,22 +10,38 @@ package io.zeebe.util.sched;
 import io.zeebe.util.sched.clock.ActorClock;
 import io.zeebe.util.sched.future.ActorFuture;
 import java.time.Duration;
+import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.Executors;
 import java.util.concurrent.Future;
+import java.util.concurrent.ScheduledExecutorService;
 import java.util.concurrent.SynchronousQueue;
 import java.util.concurrent.ThreadFactory;
 import java.util.concurrent.ThreadPoolExecutor;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicLong;
 import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.BiConsumer;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+import org.agrona.concurrent.IdleStrategy;
 
 public class ActorScheduler {
   private final AtomicReference<SchedulerState> state = new AtomicReference<>();
   private final ActorExecutor actorTaskExecutor;
+  private final String name;
+  private final Duration blockedActorThreshold;
+  private final boolean migrateTasksOfBlockedThreads;
+  private ScheduledExecutorService watchdogExecutor;
 
   public ActorScheduler(ActorSchedulerBuilder builder) {
     state.set(SchedulerState.NEW);
     actorTaskExecutor = builder.getActorExecutor();
+    name = builder.getSchedulerName();
+    blockedActorThreshold = builder.getBlockedActorThreshold();
+    migrateTasksOfBlockedThreads = builder.isMigrateTasksOfBlockedThreads();
   }
 
   /**
@@ -70,13 +86,38 @@ public class ActorScheduler {
   public void start() {
     if (state.compareAndSet(SchedulerState.NEW, SchedulerState.RUNNING)) {
       actorTaskExecutor.start();
+      startWatchdog();
     } else {
       throw new IllegalStateException("Cannot start scheduler already started.");
     }
   }
 
+  private void startWatchdog() {
+    if (blockedActorThreshold.isZero() || blockedActorThreshold.isNegative()) {
+      return;
+    }
+
+    final ActorThreadWatchdog watchdog =
+        new ActorThreadWatchdog(
+            getActorThreads(), blockedActorThreshold, migrateTasksOfBlockedThreads);
+    final long intervalNanos = blockedActorThreshold.toNanos();
+
+    watchdogExecutor =
+        Executors.newSingleThreadScheduledExecutor(
+            runnable -> {
+              final Thread thread = new Thread(runnable, name + "-zb-actors-watchdog");
+              thread.setDaemon(true);
+              return thread;
+            });
+    watchdogExecutor.scheduleAtFixedRate(
+        watchdog, intervalNanos, intervalNanos, TimeUnit.NANOSECONDS);
+  }
+
   public Future<Void> stop() {
     if (state.compareAndSet(SchedulerState.RUNNING, SchedulerState.TERMINATING)) {
+      if (watchdogExecutor != null) {
+        watchdogExecutor.shutdownNow();
+      }
 
       return actorTaskExecutor
           .closeAsync()
@@ -89,6 +130,40 @@ public class ActorScheduler {
     }
   }
 
+  public String getName() {
+    return name;
+  }
+
+  /**
+   * Returns the actors which are currently submitted to this scheduler, e.g. to sample their {@link
+   * ActorTask#getMetrics() runtime statistics}.
+   */
+  public Collection<ActorTask> getActorTasks() {
+    return actorTaskExecutor.getActiveTasks();
+  }
+
+  /**
+   * Samples the {@link ActorTask#getMetrics() runtime statistics} of the actors which are currently
+   * submitted to this scheduler, and of the actors which were closed, summed up per actor name. The
+   * statistics of a closing actor are never missing or counted twice.
+   *
+   * @param activeTaskConsumer called for each actor which is currently submitted
+   * @param closedTaskMetricsConsumer called with the name and the summed up statistics of the
+   *     closed actors of that name
+   */
+  public void sampleActorTasks(
+      Consumer<ActorTask> activeTaskConsumer,
+      BiConsumer<String, ActorTaskMetrics> closedTaskMetricsConsumer) {
+    actorTaskExecutor.sampleTasks(activeTaskConsumer, closedTaskMetricsConsumer);
+  }
+
+  public List<ActorThread> getActorThreads() {
+    final List<ActorThread> threads = new ArrayList<>();
+    threads.addAll(actorTaskExecutor.getCpuBoundThreads().getThreads());
+    threads.addAll(actorTaskExecutor.getIoBoundThreads().getThreads());
+    return threads;
+  }
+
   public void setBlockingTasksShutdownTime(Duration shutdownTime) {
     actorTaskExecutor.setBlockingTasksShutdownTime(shutdownTime);
   }
@@ -119,6 +194,15 @@ public class ActorScheduler {
 
     private ActorTimerQueue actorTimerQueue;
 
+    private Duration blockedActorThreshold = Duration.ZERO;
+    private boolean migrateTasksOfBlockedThreads = false;
+
+    private boolean pinActors = false;
+    private ActorThreadAffinity actorThreadAffinity = ActorThreadAffinity.NONE;
+
+    private Supplier<IdleStrategy> cpuBoundIdleStrategy = ActorIdleStrategy.BACKOFF;
+    private Supplier<IdleStrategy> ioBoundIdleStrategy = ActorIdleStrategy.BACKOFF;
+
     public ActorSchedulerBuilder setActorTimerQueue(ActorTimerQueue actorTimerQueue) {
       this.actorTimerQueue = actorTimerQueue;
       return this;
@@ -154,6 +238,58 @@ public class ActorScheduler {
       return this;
     }
 
+    /**
+     * Enables the watchdog which reports actors that execute a single task for longer than the
+     * given threshold. A zero threshold disables the watchdog.
+     */
+    public ActorSchedulerBuilder setBlockedActorThreshold(Duration blockedActorThreshold) {
+      this.blockedActorThreshold = blockedActorThreshold;
+      return this;
+    }
+
+    /**
+     * If enabled, the watchdog moves the actors queued for a blocked thread to the other threads of
+     * its group.
+     */
+    public ActorSchedulerBuilder setMigrateTasksOfBlockedThreads(
+        boolean migrateTasksOfBlockedThreads) {
+      this.migrateTasksOfBlockedThreads = migrateTasksOfBlockedThreads;
+      return this;
+    }
+
+    /**
+     * If enabled, actors with a {@link Actor#getPlacementKey() placement key} are always executed
+     * by the same thread of their group and can not be stolen by other threads. Actors with the
+     * same key share their thread, which keeps e.g. the actors of one partition on one core. Other
+     * threads can still steal actors without a placement key.
+     */
+    public ActorSchedulerBuilder setPinActors(boolean pinActors) {
+      this.pinActors = pinActors;
+      return this;
+    }
+
+    public ActorSchedulerBuilder setActorThreadAffinity(ActorThreadAffinity actorThreadAffinity) {
+      this.actorThreadAffinity = actorThreadAffinity;
+      return this;
+    }
+
+    /**
+     * Sets the strategy the CPU-bound threads use to wait for work, e.g. one of {@link
+     * ActorIdleStrategy}. The supplier is called once per thread.
+     */
+    public ActorSchedulerBuilder setCpuBoundIdleStrategy(
+        Supplier<IdleStrategy> cpuBoundIdleStrategy) {
+      this.cpuBoundIdleStrategy = cpuBoundIdleStrategy;
+      return this;
+    }
+
+    /** @see #setCpuBoundIdleStrategy(Supplier) */
+    public ActorSchedulerBuilder setIoBoundIdleStrategy(
+        Supplier<IdleStrategy> ioBoundIdleStrategy) {
+      this.ioBoundIdleStrategy = ioBoundIdleStrategy;
+      return this;
+    }
+
     public String getSchedulerName() {
       return schedulerName;
     }
@@ -174,6 +310,30 @@ public class ActorScheduler {
       return ioBoundThreadsCount;
     }
 
+    public Duration getBlockedActorThreshold() {
+      return blockedActorThreshold;
+    }
+
+    public boolean isMigrateTasksOfBlockedThreads() {
+      return migrateTasksOfBlockedThreads;
+    }
+
+    public boolean isPinActors() {
+      return pinActors;
+    }
+
+    public ActorThreadAffinity getActorThreadAffinity() {
+      return actorThreadAffinity;
+    }
+
+    public Supplier<IdleStrategy> getCpuBoundIdleStrategy() {
+      return cpuBoundIdleStrategy;
+    }
+
+    public Supplier<IdleStrategy> getIoBoundIdleStrategy() {
+      return ioBoundIdleStrategy;
+    }
+
     public double[] getPriorityQuotas() {
       return Arrays.copyOf(priorityQuotas, priorityQuotas.length);
     }
@@ -103,6 +103,11 @@ public class ActorTask {
    */
   private int priority = ActorPriority.REGULAR.getPriorityClass();
 
+  private final ActorTaskMetrics metrics = new ActorTaskMetrics();
+
+  /** set by the thread group on submit; pinned tasks must not be stolen by other threads */
+  private boolean pinned;
+
   public ActorTask(Actor actor) {
     this.actor = actor;
   }
@@ -165,8 +170,12 @@ public class ActorTask {
     schedulingState = TaskSchedulingState.ACTIVE;
 
     boolean resubmit = false;
+    boolean yielded = false;
+    long executedJobs = 0;
+
     while (!resubmit && (currentJob != null || poll())) {
       currentJob.execute(runner);
+      executedJobs++;
 
       switch (currentJob.schedulingState) {
         case TERMINATED:
@@ -200,11 +209,14 @@ public class ActorTask {
 
       if (shouldYield) {
         shouldYield = false;
+        yielded = true;
         resubmit = currentJob != null;
         break;
       }
     }
 
+    metrics.onExecuted(executedJobs, yielded);
+
     if (currentJob == null) {
       resubmit = onAllJobsDone();
     }
@@ -291,6 +303,7 @@ public class ActorTask {
 
   private void onClosed() {
     schedulingState = TaskSchedulingState.NOT_SCHEDULED;
+    actorExecutor.onTaskClosed(this);
 
     for (int i = 0; i < subscriptions.length; i++) {
       subscriptions[i].cancel();
@@ -536,6 +549,26 @@ public class ActorTask {
     this.priority = priority;
   }
 
+  boolean isPinned() {
+    return pinned;
+  }
+
+  void setPinned(boolean pinned) {
+    this.pinned = pinned;
+  }
+
+  public ActorTaskMetrics getMetrics() {
+    return metrics;
+  }
+
+  /**
+   * Counts the jobs which were submitted from outside of the actor and are not yet executed. The
+   * submitted jobs queue is traversed to count them, so this is only meant to be sampled.
+   */
+  public int getSubmittedJobsCount() {
+    return submittedJobs.size();
+  }
+
   public ActorExecutor getActorExecutor() {
     return actorExecutor;
   }
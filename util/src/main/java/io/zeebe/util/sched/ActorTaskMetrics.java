@@ -0,0 +1,72 @@
+/*
+ * Copyright Camunda Services GmbH and/or licensed to Camunda Services GmbH under
+ * one or more contributor license agreements. See the NOTICE file distributed
+ * with this work for additional information regarding copyright ownership.
+ * Licensed under the Zeebe Community License 1.0. You may not use this file
+ * except in compliance with the Zeebe Community License 1.0.
+ */
+package io.zeebe.util.sched;
+
+/**
+ * Runtime statistics of a single {@link ActorTask}. The counters are only written by the thread
+ * which currently executes the task and are meant to be sampled from other threads, e.g. when
+ * metrics are scraped.
+ */
+public final class ActorTaskMetrics {
+  private volatile long executionTimeNanos;
+  private volatile long executionCount;
+  private volatile long executedJobsCount;
+  private volatile long yieldCount;
+  private volatile long blockedCount;
+
+  void onExecuted(long executedJobs, boolean yielded) {
+    executionCount++;
+    executedJobsCount += executedJobs;
+
+    if (yielded) {
+      yieldCount++;
+    }
+  }
+
+  void onExecutionTime(long nanos) {
+    executionTimeNanos += nanos;
+  }
+
+  /** Called by the {@link ActorThreadWatchdog}, which is the only writer of the blocked count. */
+  void onBlocked() {
+    blockedCount++;
+  }
+
+  /** Adds the statistics of a closed task, must only be called by one thread at a time. */
+  void add(ActorTaskMetrics other) {
+    executionTimeNanos += other.executionTimeNanos;
+    executionCount += other.executionCount;
+    executedJobsCount += other.executedJobsCount;
+    yieldCount += other.yieldCount;
+    blockedCount += other.blockedCount;
+  }
+
+  /** @return the accumulated time the task was executed by an actor thread */
+  public long getExecutionTimeNanos() {
+    return executionTimeNanos;
+  }
+
+  /** @return how often the task was picked up by an actor thread */
+  public long getExecutionCount() {
+    return executionCount;
+  }
+
+  public long getExecutedJobsCount() {
+    return executedJobsCount;
+  }
+
+  /** @return how often the task gave up its thread while it still had jobs to execute */
+  public long getYieldCount() {
+    return yieldCount;
+  }
+
+  /** @return how often the watchdog detected that the task blocked its actor thread */
+  public long getBlockedCount() {
+    return blockedCount;
+  }
+}
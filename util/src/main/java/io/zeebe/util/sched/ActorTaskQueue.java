@@ -121,7 +121,7 @@ public class ActorTaskQueue extends ActorTaskQueueHead {
 
     while (node != null && node != empty) {
       final ActorTask task = node.task;
-      if (task.claim(node.stateCount)) {
+      if (!task.isPinned() && task.claim(node.stateCount)) {
         return task;
       }
 
@@ -26,11 +26,10 @@ import io.zeebe.util.BoundedArrayQueue;
 import io.zeebe.util.sched.clock.ActorClock;
 import io.zeebe.util.sched.clock.DefaultActorClock;
 import java.util.concurrent.CompletableFuture;
-import java.util.concurrent.TimeUnit;
 import java.util.concurrent.locks.LockSupport;
 import java.util.function.Consumer;
 import org.agrona.UnsafeAccess;
-import org.agrona.concurrent.BackoffIdleStrategy;
+import org.agrona.concurrent.IdleStrategy;
 import org.agrona.concurrent.ManyToManyConcurrentArrayQueue;
 import org.slf4j.MDC;
 import sun.misc.Unsafe;
@@ -53,6 +52,8 @@ public class ActorThread extends Thread implements Consumer<Runnable> {
   static {
     try {
       STATE_OFFSET = UNSAFE.objectFieldOffset(ActorThread.class.getDeclaredField("state"));
+      WAKEUP_HINT_OFFSET =
+          UNSAFE.objectFieldOffset(ActorThread.class.getDeclaredField("wakeupHintNanos"));
     } catch (Exception e) {
       throw new RuntimeException(e);
     }
@@ -65,12 +66,25 @@ public class ActorThread extends Thread implements Consumer<Runnable> {
   protected final ActorTimerQueue timerJobQueue;
 
   private final BoundedArrayQueue<ActorJob> jobs = new BoundedArrayQueue<>(2048);
+  private final BoundedArrayQueue<ActorFutureSubscription> futureSubscriptions =
+      new BoundedArrayQueue<>(2048);
   private final ActorThreadGroup actorThreadGroup;
 
   protected ActorTaskRunnerIdleStrategy idleStrategy = new ActorTaskRunnerIdleStrategy();
 
   ActorTask currentTask;
 
+  private ActorThreadAffinity affinity = ActorThreadAffinity.NONE;
+
+  private static final long WAKEUP_HINT_OFFSET;
+
+  private volatile long busyTimeNanos;
+  private volatile long wakeupHintNanos;
+  private volatile long wakeupCount;
+  private volatile long wakeupLatencyNanos;
+  private volatile long startedTasksCount;
+  private volatile long executedTasksCount;
+
   public ActorThread(
       String name,
       int id,
@@ -89,6 +103,7 @@ public class ActorThread extends Thread implements Consumer<Runnable> {
 
   @Override
   public void run() {
+    affinity.bind(this);
     idleStrategy.init();
 
     while (state == ActorThreadState.RUNNING) {
@@ -127,7 +142,9 @@ public class ActorThread extends Thread implements Consumer<Runnable> {
   private void executeCurrentTask() {
     MDC.put("actor-name", currentTask.getName());
     idleStrategy.onTaskExecuted();
+    startedTasksCount++;
 
+    final long executionStartNanos = clock.getNanoTime();
     boolean resubmit = false;
 
     try {
@@ -143,6 +160,7 @@ public class ActorThread extends Thread implements Consumer<Runnable> {
       MDC.remove("actor-name");
 
       clock.update();
+      onTaskExecuted(clock.getNanoTime() - executionStartNanos);
     }
 
     if (resubmit) {
@@ -150,13 +168,31 @@ public class ActorThread extends Thread implements Consumer<Runnable> {
     }
   }
 
+  private void onTaskExecuted(long executionTimeNanos) {
+    currentTask.getMetrics().onExecutionTime(executionTimeNanos);
+    busyTimeNanos += executionTimeNanos;
+    executedTasksCount++;
+  }
+
+  void setAffinity(ActorThreadAffinity affinity) {
+    this.affinity = affinity;
+  }
+
+  void setIdleStrategy(IdleStrategy idleStrategy) {
+    this.idleStrategy.strategy = idleStrategy;
+  }
+
   public void hintWorkAvailable() {
+    // only the first hint since the thread became idle is relevant for the wakeup latency
+    if (wakeupHintNanos == 0) {
+      UNSAFE.compareAndSwapLong(this, WAKEUP_HINT_OFFSET, 0, System.nanoTime());
+    }
+
     idleStrategy.hintWorkAvailable();
   }
 
   protected class ActorTaskRunnerIdleStrategy {
-    final BackoffIdleStrategy backoff =
-        new BackoffIdleStrategy(100, 100, 1, TimeUnit.MILLISECONDS.toNanos(1));
+    IdleStrategy strategy = ActorIdleStrategy.BACKOFF.get();
     boolean isIdle;
 
     long idleTimeStart;
@@ -176,21 +212,33 @@ public class ActorThread extends Thread implements Consumer<Runnable> {
         clock.update();
         idleTimeStart = clock.getNanoTime();
         isIdle = true;
+        wakeupHintNanos = 0;
       }
 
-      backoff.idle();
+      strategy.idle();
     }
 
     protected void onTaskExecuted() {
-      backoff.reset();
+      strategy.reset();
 
       if (isIdle) {
         busyTimeStart = clock.getNanoTime();
         isIdle = false;
+        onWakeup();
       }
     }
   }
 
+  private void onWakeup() {
+    final long hintNanos = wakeupHintNanos;
+
+    if (hintNanos != 0) {
+      wakeupLatencyNanos += System.nanoTime() - hintNanos;
+      wakeupCount++;
+      wakeupHintNanos = 0;
+    }
+  }
+
   /** Must be called from this thread, schedules a job to be run later. */
   public void scheduleTimer(TimerSubscription timer) {
     timerJobQueue.schedule(timer, clock);
@@ -236,6 +284,20 @@ public class ActorThread extends Thread implements Consumer<Runnable> {
     jobs.offer(j);
   }
 
+  ActorFutureSubscription newFutureSubscription() {
+    ActorFutureSubscription subscription = futureSubscriptions.poll();
+
+    if (subscription == null) {
+      subscription = new ActorFutureSubscription();
+    }
+
+    return subscription;
+  }
+
+  void recycleFutureSubscription(ActorFutureSubscription subscription) {
+    futureSubscriptions.offer(subscription);
+  }
+
   public int getRunnerId() {
     return threadId;
   }
@@ -284,6 +346,44 @@ public class ActorThread extends Thread implements Consumer<Runnable> {
     return clock;
   }
 
+  /**
+   * @return the accumulated time this thread spent executing tasks; the remaining time since it was
+   *     started it was idle or looking for work
+   */
+  public long getBusyTimeNanos() {
+    return busyTimeNanos;
+  }
+
+  /**
+   * @return the number of tasks this thread started to execute; differs from the {@link
+   *     #getExecutedTasksCount() executed tasks} while the thread executes a task
+   */
+  public long getStartedTasksCount() {
+    return startedTasksCount;
+  }
+
+  /** @return how often this thread was woken up by submitted work while it was idle */
+  public long getWakeupCount() {
+    return wakeupCount;
+  }
+
+  /**
+   * @return the accumulated time between submitting work to this thread while it was idle and the
+   *     thread executing its next task
+   */
+  public long getWakeupLatencyNanos() {
+    return wakeupLatencyNanos;
+  }
+
+  public long getExecutedTasksCount() {
+    return executedTasksCount;
+  }
+
+  /** @return the number of timers scheduled on this thread, sampled without synchronization */
+  public long getTimerCount() {
+    return timerJobQueue.timerCount();
+  }
+
   public ActorThreadGroup getActorThreadGroup() {
     return actorThreadGroup;
   }
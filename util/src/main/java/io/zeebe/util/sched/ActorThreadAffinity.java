@@ -0,0 +1,25 @@
+/*
+ * Copyright Camunda Services GmbH and/or licensed to Camunda Services GmbH under
+ * one or more contributor license agreements. See the NOTICE file distributed
+ * with this work for additional information regarding copyright ownership.
+ * Licensed under the Zeebe Community License 1.0. You may not use this file
+ * except in compliance with the Zeebe Community License 1.0.
+ */
+package io.zeebe.util.sched;
+
+/**
+ * Binds actor threads to CPU cores. The JVM offers no API for this, so implementations usually
+ * delegate to a native library or to the operating system, e.g. based on the thread's {@link
+ * ActorThread#getRunnerId() id} within its group.
+ */
+@FunctionalInterface
+public interface ActorThreadAffinity {
+  ActorThreadAffinity NONE = thread -> {};
+
+  /**
+   * Called on the given thread when it is started, before it executes any task.
+   *
+   * @param thread the thread to bind, which is the current thread
+   */
+  void bind(ActorThread thread);
+}
@@ -8,8 +8,13 @@
 package io.zeebe.util.sched;
 
 import io.zeebe.util.sched.ActorScheduler.ActorSchedulerBuilder;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.Supplier;
+import org.agrona.concurrent.IdleStrategy;
 
 /**
  * A thread group is a group of threads which process the same kind of tasks (ie. blocking I/O vs.
@@ -22,11 +27,17 @@ public abstract class ActorThreadGroup {
 
   protected final ActorThread[] threads;
   protected final MultiLevelWorkstealingGroup tasks;
+  private final boolean pinActors;
 
   public ActorThreadGroup(
-      String groupName, int numOfThreads, int numOfQueuesPerThread, ActorSchedulerBuilder builder) {
+      String groupName,
+      int numOfThreads,
+      int numOfQueuesPerThread,
+      Supplier<IdleStrategy> idleStrategy,
+      ActorSchedulerBuilder builder) {
     this.groupName = groupName;
     this.numOfThreads = numOfThreads;
+    this.pinActors = builder.isPinActors();
 
     this.tasks = new MultiLevelWorkstealingGroup(numOfThreads, numOfQueuesPerThread);
 
@@ -47,6 +58,8 @@ public abstract class ActorThreadGroup {
                   builder.getActorClock(),
                   builder.getActorTimerQueue());
 
+      thread.setAffinity(builder.getActorThreadAffinity());
+      thread.setIdleStrategy(idleStrategy.get());
       threads[t] = thread;
     }
   }
@@ -56,9 +69,20 @@ public abstract class ActorThreadGroup {
 
   public void submit(ActorTask actorTask) {
     final int level = getLevel(actorTask);
-
     final ActorThread current = ActorThread.current();
-    if (current != null && current.getActorThreadGroup() == this) {
+
+    final int placementKey = actorTask.getActor().getPlacementKey();
+    final boolean pinned = pinActors && placementKey >= 0;
+    actorTask.setPinned(pinned);
+
+    if (pinned) {
+      final ActorThread pinnedThread = threads[placementKey % numOfThreads];
+      tasks.submit(actorTask, level, pinnedThread.getRunnerId());
+
+      if (current != pinnedThread) {
+        pinnedThread.hintWorkAvailable();
+      }
+    } else if (current != null && current.getActorThreadGroup() == this) {
       tasks.submit(actorTask, level, current.getRunnerId());
     } else {
       final int threadId = ThreadLocalRandom.current().nextInt(numOfThreads);
@@ -77,6 +101,30 @@ public abstract class ActorThreadGroup {
     return numOfThreads;
   }
 
+  /**
+   * Moves the tasks which are queued for the given thread to the other threads of this group, e.g.
+   * if the given thread is blocked. Must not be called by the given thread itself.
+   *
+   * @return the number of moved tasks
+   */
+  public int migrateQueuedTasks(ActorThread thread) {
+    final int migratedTasks = tasks.migrate(thread.getRunnerId());
+
+    if (migratedTasks > 0) {
+      for (final ActorThread otherThread : threads) {
+        if (otherThread != thread) {
+          otherThread.hintWorkAvailable();
+        }
+      }
+    }
+
+    return migratedTasks;
+  }
+
+  public List<ActorThread> getThreads() {
+    return Collections.unmodifiableList(Arrays.asList(threads));
+  }
+
   public void start() {
     for (ActorThread actorThread : threads) {
       actorThread.start();
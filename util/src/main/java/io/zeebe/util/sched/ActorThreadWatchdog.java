@@ -0,0 +1,101 @@
+/*
+ * Copyright Camunda Services GmbH and/or licensed to Camunda Services GmbH under
+ * one or more contributor license agreements. See the NOTICE file distributed
+ * with this work for additional information regarding copyright ownership.
+ * Licensed under the Zeebe Community License 1.0. You may not use this file
+ * except in compliance with the Zeebe Community License 1.0.
+ */
+package io.zeebe.util.sched;
+
+import io.zeebe.util.Loggers;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.List;
+import org.slf4j.Logger;
+
+/**
+ * Detects actors which block their actor thread, i.e. which execute a single task for longer than
+ * the threshold. The watchdog runs on its own thread every threshold interval and compares the task
+ * counters of the actor threads with the previous run, so the actor threads don't need to take any
+ * timestamps for it.
+ *
+ * <p>A blocked actor is counted in its {@link ActorTaskMetrics#getBlockedCount() metrics} and
+ * logged together with the stack trace of its thread. Optionally, the tasks queued for the blocked
+ * thread are moved to the other threads of its group.
+ */
+final class ActorThreadWatchdog implements Runnable {
+  private static final Logger LOG = Loggers.ACTOR_LOGGER;
+  private static final long NOT_EXECUTING = -1L;
+
+  private final List<ActorThread> threads;
+  private final Duration threshold;
+  private final boolean migrateQueuedTasks;
+
+  private final long[] observedExecutions;
+  private final long[] reportedExecutions;
+
+  ActorThreadWatchdog(List<ActorThread> threads, Duration threshold, boolean migrateQueuedTasks) {
+    this.threads = threads;
+    this.threshold = threshold;
+    this.migrateQueuedTasks = migrateQueuedTasks;
+
+    observedExecutions = new long[threads.size()];
+    reportedExecutions = new long[threads.size()];
+    Arrays.fill(observedExecutions, NOT_EXECUTING);
+    Arrays.fill(reportedExecutions, NOT_EXECUTING);
+  }
+
+  @Override
+  public void run() {
+    for (int i = 0; i < threads.size(); i++) {
+      final ActorThread thread = threads.get(i);
+
+      final long executedTasks = thread.getExecutedTasksCount();
+      final long startedTasks = thread.getStartedTasksCount();
+
+      if (startedTasks == executedTasks) {
+        observedExecutions[i] = NOT_EXECUTING;
+      } else if (startedTasks != observedExecutions[i]) {
+        observedExecutions[i] = startedTasks;
+      } else if (startedTasks != reportedExecutions[i]) {
+        // the same execution was observed in the previous run already
+        reportedExecutions[i] = startedTasks;
+        onBlocked(thread);
+      }
+    }
+  }
+
+  private void onBlocked(ActorThread thread) {
+    final ActorTask task = thread.getCurrentTask();
+    final String actorName = task != null ? task.getName() : "unknown";
+
+    if (task != null) {
+      task.getMetrics().onBlocked();
+    }
+
+    LOG.warn(
+        "Actor '{}' blocks thread '{}' for more than {}: {}",
+        actorName,
+        thread.getName(),
+        threshold,
+        formatStackTrace(thread.getStackTrace()));
+
+    if (migrateQueuedTasks) {
+      final int migratedTasks = thread.getActorThreadGroup().migrateQueuedTasks(thread);
+      if (migratedTasks > 0) {
+        LOG.info(
+            "Moved {} queued actors from blocked thread '{}' to other threads",
+            migratedTasks,
+            thread.getName());
+      }
+    }
+  }
+
+  private static String formatStackTrace(StackTraceElement[] stackTrace) {
+    final StringBuilder builder = new StringBuilder();
+    for (final StackTraceElement element : stackTrace) {
+      builder.append(System.lineSeparator()).append("\tat ").append(element);
+    }
+    return builder.toString();
+  }
+}
@@ -16,6 +16,7 @@ public class IoThreadGroup extends ActorThreadGroup {
         String.format("%s-%s", builder.getSchedulerName(), "zb-fs-workers"),
         builder.getIoBoundActorThreadCount(),
         1,
+        builder.getIoBoundIdleStrategy(),
         builder);
   }
 
@@ -28,4 +28,13 @@ public class MultiLevelWorkstealingGroup {
   public void submit(ActorTask task, int level, int threadId) {
     workStealingGroups[level].submit(task, threadId);
   }
+
+  /** @see WorkStealingGroup#migrate(int) */
+  public int migrate(int threadId) {
+    int migratedTasks = 0;
+    for (final WorkStealingGroup workStealingGroup : workStealingGroups) {
+      migratedTasks += workStealingGroup.migrate(threadId);
+    }
+    return migratedTasks;
+  }
 }
@@ -35,6 +35,31 @@ public class WorkStealingGroup {
     taskQueues[threadId].append(task);
   }
 
+  /**
+   * Moves all tasks from the given thread's queue to the queues of the other threads, distributing
+   * them round-robin. The tasks are claimed like stolen tasks, so this can be called from any
+   * thread other than the given one.
+   *
+   * @param threadId the id of the thread whose queue should be emptied
+   * @return the number of moved tasks
+   */
+  public int migrate(int threadId) {
+    int migratedTasks = 0;
+
+    if (numOfThreads < 2) {
+      return migratedTasks;
+    }
+
+    ActorTask task;
+    while ((task = taskQueues[threadId].trySteal()) != null) {
+      final int targetThreadId = (threadId + 1 + migratedTasks % (numOfThreads - 1)) % numOfThreads;
+      submit(task, targetThreadId);
+      migratedTasks++;
+    }
+
+    return migratedTasks;
+  }
+
   /**
    * Attempts to acquire the next task to execute
    *
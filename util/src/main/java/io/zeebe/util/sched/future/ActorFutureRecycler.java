@@ -0,0 +1,59 @@
+/*
+ * Copyright Camunda Services GmbH and/or licensed to Camunda Services GmbH under
+ * one or more contributor license agreements. See the NOTICE file distributed
+ * with this work for additional information regarding copyright ownership.
+ * Licensed under the Zeebe Community License 1.0. You may not use this file
+ * except in compliance with the Zeebe Community License 1.0.
+ */
+package io.zeebe.util.sched.future;
+
+/**
+ * Reuses the future of an owner which runs one operation at a time, e.g. a retry strategy, instead
+ * of allocating a new future for every operation.
+ *
+ * <p>Protocol: the owner calls {@link #next()} when it starts an operation and completes the
+ * returned future when the operation is done. The future stays valid until the owner calls {@link
+ * #next()} again, so consumers must not keep it beyond their completion callback, e.g. one
+ * registered with {@code ActorControl#runOnCompletion}. Like all actor futures, it must only be
+ * used by the owning actor and its consumers.
+ *
+ * <p>In debug mode, enabled by the system property {@value #DEBUG_PROPERTY}, each operation gets a
+ * new future and the previous one is released: any further access to it fails with an {@link
+ * IllegalStateException}, which reveals consumers violating the protocol.
+ */
+public final class ActorFutureRecycler<V> {
+  public static final String DEBUG_PROPERTY = "zeebe.debug.recycledFutures";
+
+  private final boolean debug;
+  private CompletableActorFuture<V> future;
+
+  public ActorFutureRecycler() {
+    this(Boolean.getBoolean(DEBUG_PROPERTY));
+  }
+
+  ActorFutureRecycler(boolean debug) {
+    this.debug = debug;
+  }
+
+  /**
+   * Releases the previously returned future and returns a future awaiting the result of the next
+   * operation.
+   */
+  public CompletableActorFuture<V> next() {
+    if (future == null) {
+      future = newFuture();
+    } else if (debug) {
+      ((RecyclableActorFuture<V>) future).release();
+      future = newFuture();
+    } else {
+      future.close();
+      future.setAwaitingResult();
+    }
+
+    return future;
+  }
+
+  private CompletableActorFuture<V> newFuture() {
+    return debug ? new RecyclableActorFuture<>() : new CompletableActorFuture<>();
+  }
+}
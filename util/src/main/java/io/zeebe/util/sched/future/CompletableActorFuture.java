@@ -37,7 +37,7 @@ public class CompletableActorFuture<V> implements ActorFuture<V> {
   private volatile int state = CLOSED;
 
   private final ReentrantLock completionLock = new ReentrantLock();
-  private Condition isDoneCondition;
+  private final Condition isDoneCondition = completionLock.newCondition();
 
   protected V value;
   protected String failure;
@@ -67,7 +67,6 @@ public class CompletableActorFuture<V> implements ActorFuture<V> {
 
   public void setAwaitingResult() {
     state = AWAITING_RESULT;
-    isDoneCondition = completionLock.newCondition();
   }
 
   public static <V> CompletableActorFuture<V> completed(V result) {
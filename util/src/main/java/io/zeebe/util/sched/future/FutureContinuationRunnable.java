@@ -14,11 +14,23 @@ public class FutureContinuationRunnable<T> implements Runnable {
   private ActorFuture<T> future;
   private BiConsumer<T, Throwable> consumer;
 
+  public FutureContinuationRunnable() {}
+
   public FutureContinuationRunnable(ActorFuture<T> future, BiConsumer<T, Throwable> consumer) {
+    wrap(future, consumer);
+  }
+
+  /** Prepares this runnable to continue on the given future, allows to reuse the runnable. */
+  public void wrap(ActorFuture<T> future, BiConsumer<T, Throwable> consumer) {
     this.future = future;
     this.consumer = consumer;
   }
 
+  public void reset() {
+    future = null;
+    consumer = null;
+  }
+
   @Override
   public void run() {
     if (!future.isCompletedExceptionally()) {
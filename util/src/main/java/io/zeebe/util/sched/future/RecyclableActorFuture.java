@@ -0,0 +1,76 @@
+/*
+ * Copyright Camunda Services GmbH and/or licensed to Camunda Services GmbH under
+ * one or more contributor license agreements. See the NOTICE file distributed
+ * with this work for additional information regarding copyright ownership.
+ * Licensed under the Zeebe Community License 1.0. You may not use this file
+ * except in compliance with the Zeebe Community License 1.0.
+ */
+package io.zeebe.util.sched.future;
+
+import io.zeebe.util.sched.ActorTask;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * Future handed out by an {@link ActorFutureRecycler} in debug mode. Once released, every access
+ * fails, which reveals consumers that still use the future after the recycler moved on.
+ */
+final class RecyclableActorFuture<V> extends CompletableActorFuture<V> {
+  private volatile boolean released;
+
+  void release() {
+    released = true;
+    close();
+  }
+
+  private void ensureNotReleased() {
+    if (released) {
+      throw new IllegalStateException(
+          "Expected to access a future which is in use, but it was already released to its recycler");
+    }
+  }
+
+  @Override
+  public boolean isDone() {
+    ensureNotReleased();
+    return super.isDone();
+  }
+
+  @Override
+  public boolean isCompletedExceptionally() {
+    ensureNotReleased();
+    return super.isCompletedExceptionally();
+  }
+
+  @Override
+  public void block(ActorTask onCompletion) {
+    ensureNotReleased();
+    super.block(onCompletion);
+  }
+
+  @Override
+  public V get(long timeout, TimeUnit unit)
+      throws ExecutionException, TimeoutException, InterruptedException {
+    ensureNotReleased();
+    return super.get(timeout, unit);
+  }
+
+  @Override
+  public void complete(V value) {
+    ensureNotReleased();
+    super.complete(value);
+  }
+
+  @Override
+  public void completeExceptionally(String failure, Throwable throwable) {
+    ensureNotReleased();
+    super.completeExceptionally(failure, throwable);
+  }
+
+  @Override
+  public Throwable getException() {
+    ensureNotReleased();
+    return super.getException();
+  }
+}
@@ -0,0 +1,72 @@
+/*
+ * Copyright Camunda Services GmbH and/or licensed to Camunda Services GmbH under
+ * one or more contributor license agreements. See the NOTICE file distributed
+ * with this work for additional information regarding copyright ownership.
+ * Licensed under the Zeebe Community License 1.0. You may not use this file
+ * except in compliance with the Zeebe Community License 1.0.
+ */
+package io.zeebe.util.sched;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.util.function.Supplier;
+import org.agrona.concurrent.BackoffIdleStrategy;
+import org.agrona.concurrent.BusySpinIdleStrategy;
+import org.agrona.concurrent.IdleStrategy;
+import org.junit.Test;
+
+public class ActorIdleStrategyTest {
+
+  @Test
+  public void shouldParseStrategyName() {
+    assertThat(ActorIdleStrategy.parse("busy-spin")).isEqualTo(ActorIdleStrategy.BUSY_SPIN);
+    assertThat(ActorIdleStrategy.parse("Park")).isEqualTo(ActorIdleStrategy.PARK);
+    assertThat(ActorIdleStrategy.BUSY_SPIN.get()).isInstanceOf(BusySpinIdleStrategy.class);
+    assertThat(ActorIdleStrategy.BACKOFF.get()).isInstanceOf(BackoffIdleStrategy.class);
+  }
+
+  @Test
+  public void shouldRejectUnknownStrategyName() {
+    assertThatThrownBy(() -> ActorIdleStrategy.parse("sleep"))
+        .isInstanceOf(IllegalArgumentException.class);
+  }
+
+  @Test
+  public void shouldExecuteActorsWithBusySpinningThreads() {
+    shouldExecuteActors(ActorIdleStrategy.BUSY_SPIN);
+  }
+
+  @Test
+  public void shouldExecuteActorsWithParkingThreads() {
+    shouldExecuteActors(ActorIdleStrategy.PARK);
+  }
+
+  private void shouldExecuteActors(Supplier<IdleStrategy> idleStrategy) {
+    // given
+    final ActorScheduler scheduler =
+        ActorScheduler.newActorScheduler()
+            .setCpuBoundActorThreadCount(1)
+            .setIoBoundActorThreadCount(1)
+            .setCpuBoundIdleStrategy(idleStrategy)
+            .setIoBoundIdleStrategy(idleStrategy)
+            .build();
+    scheduler.start();
+
+    try {
+      final Actor actor = new Actor() {};
+      scheduler.submitActor(actor).join();
+
+      // when
+      final int result = actor.actor.call(() -> 42).join();
+
+      // then
+      assertThat(result).isEqualTo(42);
+      assertThat(scheduler.getActorThreads())
+          .extracting(ActorThread::getWakeupCount)
+          .anyMatch(count -> count > 0);
+    } finally {
+      FutureUtil.join(scheduler.stop());
+    }
+  }
+}
@@ -0,0 +1,124 @@
+/*
+ * Copyright Camunda Services GmbH and/or licensed to Camunda Services GmbH under
+ * one or more contributor license agreements. See the NOTICE file distributed
+ * with this work for additional information regarding copyright ownership.
+ * Licensed under the Zeebe Community License 1.0. You may not use this file
+ * except in compliance with the Zeebe Community License 1.0.
+ */
+package io.zeebe.util.sched;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.fail;
+
+import io.zeebe.util.sched.testing.ControlledActorSchedulerRule;
+import java.util.HashMap;
+import java.util.Map;
+import org.junit.Rule;
+import org.junit.Test;
+
+public class ActorTaskMetricsTest {
+  @Rule public ControlledActorSchedulerRule scheduler = new ControlledActorSchedulerRule();
+
+  @Test
+  public void shouldCountExecutedJobs() {
+    // given
+    final Actor actor = new Actor() {};
+    scheduler.submitActor(actor);
+    scheduler.workUntilDone();
+
+    final ActorTaskMetrics metrics = actor.actor.task.getMetrics();
+    final long executedJobs = metrics.getExecutedJobsCount();
+
+    // when
+    actor.actor.run(() -> {});
+    actor.actor.run(() -> {});
+    actor.actor.run(() -> {});
+    assertThat(actor.actor.task.getSubmittedJobsCount()).isEqualTo(3);
+
+    scheduler.workUntilDone();
+
+    // then
+    assertThat(metrics.getExecutedJobsCount()).isEqualTo(executedJobs + 3);
+    assertThat(metrics.getExecutionCount()).isPositive();
+    assertThat(actor.actor.task.getSubmittedJobsCount()).isEqualTo(0);
+  }
+
+  @Test
+  public void shouldCountYields() {
+    // given
+    final Actor actor =
+        new Actor() {
+          @Override
+          protected void onActorStarted() {
+            actor.run(actor::yield);
+            actor.run(() -> {});
+          }
+        };
+
+    // when
+    scheduler.submitActor(actor);
+    scheduler.workUntilDone();
+
+    // then
+    assertThat(actor.actor.task.getMetrics().getYieldCount()).isEqualTo(1);
+  }
+
+  @Test
+  public void shouldCountExecutedTasksPerThread() {
+    // given
+    final Actor actor = new Actor() {};
+
+    // when
+    scheduler.submitActor(actor);
+    scheduler.workUntilDone();
+
+    // then
+    assertThat(scheduler.get().getActorThreads())
+        .extracting(ActorThread::getExecutedTasksCount)
+        .anyMatch(count -> count > 0);
+  }
+
+  @Test
+  public void shouldRemoveClosedActorFromScheduler() {
+    // given
+    final Actor actor = new Actor() {};
+    scheduler.submitActor(actor);
+    scheduler.workUntilDone();
+    assertThat(scheduler.get().getActorTasks()).containsExactly(actor.actor.task);
+
+    // when
+    actor.actor.close();
+    scheduler.workUntilDone();
+
+    // then
+    assertThat(scheduler.get().getActorTasks()).isEmpty();
+  }
+
+  @Test
+  public void shouldKeepMetricsOfClosedActors() {
+    // given
+    final Actor actor = new Actor() {};
+    scheduler.submitActor(actor);
+    scheduler.workUntilDone();
+    actor.actor.run(() -> {});
+    scheduler.workUntilDone();
+
+    // when
+    actor.actor.close();
+    scheduler.workUntilDone();
+
+    // then
+    final long executedJobs = actor.actor.task.getMetrics().getExecutedJobsCount();
+    final Map<String, ActorTaskMetrics> closedTaskMetrics = new HashMap<>();
+    scheduler
+        .get()
+        .sampleActorTasks(
+            task -> fail("Expected no active actor, but found %s", task.getName()),
+            closedTaskMetrics::put);
+
+    assertThat(closedTaskMetrics).containsOnlyKeys(actor.getName());
+    assertThat(closedTaskMetrics.get(actor.getName()).getExecutedJobsCount())
+        .isEqualTo(executedJobs)
+        .isPositive();
+  }
+}
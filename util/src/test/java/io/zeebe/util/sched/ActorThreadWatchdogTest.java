@@ -0,0 +1,88 @@
+/*
+ * Copyright Camunda Services GmbH and/or licensed to Camunda Services GmbH under
+ * one or more contributor license agreements. See the NOTICE file distributed
+ * with this work for additional information regarding copyright ownership.
+ * Licensed under the Zeebe Community License 1.0. You may not use this file
+ * except in compliance with the Zeebe Community License 1.0.
+ */
+package io.zeebe.util.sched;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.time.Duration;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+public class ActorThreadWatchdogTest {
+  private static final Duration BLOCKED_ACTOR_THRESHOLD = Duration.ofMillis(50);
+
+  private final CountDownLatch unblockLatch = new CountDownLatch(1);
+  private ActorScheduler scheduler;
+
+  @Before
+  public void setUp() {
+    scheduler =
+        ActorScheduler.newActorScheduler()
+            .setCpuBoundActorThreadCount(2)
+            .setIoBoundActorThreadCount(1)
+            .setBlockedActorThreshold(BLOCKED_ACTOR_THRESHOLD)
+            .setMigrateTasksOfBlockedThreads(true)
+            .build();
+    scheduler.start();
+  }
+
+  @After
+  public void tearDown() {
+    unblockLatch.countDown();
+    FutureUtil.join(scheduler.stop());
+  }
+
+  @Test
+  public void shouldDetectBlockedActor() throws Exception {
+    // given
+    final Actor blockingActor = new Actor() {};
+    scheduler.submitActor(blockingActor).join();
+
+    // when
+    blockingActor.actor.run(this::awaitUnblock);
+
+    // then
+    final ActorTaskMetrics metrics = blockingActor.actor.task.getMetrics();
+    waitUntilBlocked(metrics);
+    assertThat(metrics.getBlockedCount()).isEqualTo(1);
+  }
+
+  @Test
+  public void shouldNotDetectActorAsBlockedIfItExecutesShortJobs() throws Exception {
+    // given
+    final Actor actor = new Actor() {};
+    scheduler.submitActor(actor).join();
+
+    // when
+    for (int i = 0; i < 10; i++) {
+      actor.actor.call(() -> null).join();
+      Thread.sleep(BLOCKED_ACTOR_THRESHOLD.toMillis() / 2);
+    }
+
+    // then
+    assertThat(actor.actor.task.getMetrics().getBlockedCount()).isEqualTo(0);
+  }
+
+  private void awaitUnblock() {
+    try {
+      unblockLatch.await(10, TimeUnit.SECONDS);
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+    }
+  }
+
+  private static void waitUntilBlocked(ActorTaskMetrics metrics) throws InterruptedException {
+    final long deadline = System.currentTimeMillis() + 5_000;
+    while (metrics.getBlockedCount() == 0 && System.currentTimeMillis() < deadline) {
+      Thread.sleep(10);
+    }
+  }
+}
@@ -0,0 +1,97 @@
+/*
+ * Copyright Camunda Services GmbH and/or licensed to Camunda Services GmbH under
+ * one or more contributor license agreements. See the NOTICE file distributed
+ * with this work for additional information regarding copyright ownership.
+ * Licensed under the Zeebe Community License 1.0. You may not use this file
+ * except in compliance with the Zeebe Community License 1.0.
+ */
+package io.zeebe.util.sched;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import org.junit.After;
+import org.junit.Test;
+
+public class PinnedActorPlacementTest {
+  private ActorScheduler scheduler;
+
+  @After
+  public void tearDown() {
+    FutureUtil.join(scheduler.stop());
+  }
+
+  @Test
+  public void shouldExecuteActorsWithSamePlacementKeyOnSameThread() {
+    // given
+    final List<ActorThread> boundThreads = new CopyOnWriteArrayList<>();
+    startScheduler(boundThreads::add);
+
+    final PlacedActor first = new PlacedActor(1);
+    final PlacedActor second = new PlacedActor(4);
+    scheduler.submitActor(first).join();
+    scheduler.submitActor(second).join();
+
+    // when
+    for (int i = 0; i < 100; i++) {
+      first.actor.call(first::recordThread).join();
+      second.actor.call(second::recordThread).join();
+    }
+
+    // then
+    final ActorThread expectedThread = scheduler.getActorThreads().get(1);
+    assertThat(first.threads).containsExactly(expectedThread);
+    assertThat(second.threads).containsExactly(expectedThread);
+    assertThat(boundThreads).containsAll(scheduler.getActorThreads());
+  }
+
+  @Test
+  public void shouldNotPinActorWithoutPlacementKey() {
+    // given
+    startScheduler(ActorThreadAffinity.NONE);
+    final PlacedActor actor = new PlacedActor(Actor.NO_PLACEMENT_KEY);
+
+    // when
+    scheduler.submitActor(actor).join();
+
+    // then
+    assertThat(actor.actor.task.isPinned()).isFalse();
+  }
+
+  private void startScheduler(ActorThreadAffinity affinity) {
+    scheduler =
+        ActorScheduler.newActorScheduler()
+            .setCpuBoundActorThreadCount(3)
+            .setIoBoundActorThreadCount(1)
+            .setPinActors(true)
+            .setActorThreadAffinity(affinity)
+            .build();
+    scheduler.start();
+  }
+
+  private static final class PlacedActor extends Actor {
+    private final Set<ActorThread> threads = ConcurrentHashMap.newKeySet();
+    private final int placementKey;
+
+    private PlacedActor(int placementKey) {
+      this.placementKey = placementKey;
+    }
+
+    @Override
+    protected int getPlacementKey() {
+      return placementKey;
+    }
+
+    @Override
+    protected void onActorStarted() {
+      recordThread();
+    }
+
+    private boolean recordThread() {
+      return threads.add(ActorThread.current());
+    }
+  }
+}
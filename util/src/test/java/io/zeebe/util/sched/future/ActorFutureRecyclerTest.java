@@ -0,0 +1,65 @@
+/*
+ * Copyright Camunda Services GmbH and/or licensed to Camunda Services GmbH under
+ * one or more contributor license agreements. See the NOTICE file distributed
+ * with this work for additional information regarding copyright ownership.
+ * Licensed under the Zeebe Community License 1.0. You may not use this file
+ * except in compliance with the Zeebe Community License 1.0.
+ */
+package io.zeebe.util.sched.future;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import org.junit.Test;
+
+public class ActorFutureRecyclerTest {
+
+  @Test
+  public void shouldReuseFuture() {
+    // given
+    final ActorFutureRecycler<String> recycler = new ActorFutureRecycler<>(false);
+    final CompletableActorFuture<String> first = recycler.next();
+    first.complete("foo");
+
+    // when
+    final CompletableActorFuture<String> second = recycler.next();
+
+    // then
+    assertThat(second).isSameAs(first);
+    assertThat(second.isDone()).isFalse();
+
+    second.complete("bar");
+    assertThat(second.join()).isEqualTo("bar");
+  }
+
+  @Test
+  public void shouldResetExceptionOfReusedFuture() {
+    // given
+    final ActorFutureRecycler<String> recycler = new ActorFutureRecycler<>(false);
+    recycler.next().completeExceptionally(new RuntimeException("expected"));
+
+    // when
+    final CompletableActorFuture<String> future = recycler.next();
+    future.complete("foo");
+
+    // then
+    assertThat(future.isCompletedExceptionally()).isFalse();
+    assertThat(future.join()).isEqualTo("foo");
+  }
+
+  @Test
+  public void shouldCreateNewFutureInDebugMode() {
+    // given
+    final ActorFutureRecycler<String> recycler = new ActorFutureRecycler<>(true);
+    final CompletableActorFuture<String> first = recycler.next();
+    first.complete("foo");
+
+    // when
+    final CompletableActorFuture<String> second = recycler.next();
+
+    // then
+    assertThat(second).isNotSameAs(first);
+    assertThatThrownBy(first::isDone).isInstanceOf(IllegalStateException.class);
+    assertThatThrownBy(first::join).isInstanceOf(IllegalStateException.class);
+  }
+}